@@ -17,11 +17,16 @@
 package org.apache.commons.lang3;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>A set of characters.</p>
@@ -77,7 +82,7 @@ public class CharSet implements Serializable {
 
     /**
      * A Map of the common cases used in the factory.
-     * Subclasses can add more common patterns if desired
+     * Subclasses can add more common patterns if desired.
      * @since 2.0
      */
     protected static final Map<String, CharSet> COMMON = Collections.synchronizedMap(new HashMap<String, CharSet>());
@@ -92,9 +97,23 @@ public class CharSet implements Serializable {
         COMMON.put("0-9", ASCII_NUMERIC);
     }
 
+    /**
+     * The maximum number of instances held in the factory cache.
+     */
+    private static final int MAX_CACHE_SIZE = 256;
+
+    /**
+     * The cache of instances created by the factory methods, keyed by
+     * the definition String or a List of definition Strings.
+     */
+    private static final ConcurrentMap<Object, CharSet> CACHE = new ConcurrentHashMap<Object, CharSet>();
+
     /** The set of CharRange objects. */
     private final Set<CharRange> set = new HashSet<CharRange>();
 
+    /** The compiled form of the set, created on demand and discarded when the set changes. */
+    private transient volatile Compiled compiled;
+
     //-----------------------------------------------------------------------
     /**
      * <p>Factory method to create a new CharSet using a special syntax.</p>
@@ -140,11 +159,18 @@ public class CharSet implements Serializable {
      * @since 2.0
      */
     public static CharSet getInstance(String setStr) {
-        Object set = COMMON.get(setStr);
+        CharSet set = COMMON.get(setStr);
         if (set != null) {
-            return (CharSet) set;
+            return set;
+        }
+        if (setStr == null) {
+            return new CharSet(setStr);
+        }
+        set = CACHE.get(setStr);
+        if (set == null) {
+            set = cache(setStr, new CharSet(setStr));
         }
-        return new CharSet(setStr);
+        return set;
     }
 
     /**
@@ -159,7 +185,37 @@ public class CharSet implements Serializable {
         if (setStrs == null) {
             return null;
         }
-        return new CharSet(setStrs); 
+        if (setStrs.length == 1) {
+            return getInstance(setStrs[0]);
+        }
+        Object key = Arrays.asList(setStrs.clone());
+        CharSet set = CACHE.get(key);
+        if (set == null) {
+            set = cache(key, new CharSet(setStrs));
+        }
+        return set;
+    }
+
+    /**
+     * <p>Adds an instance to the factory cache, evicting arbitrary
+     * entries if the cache is full.</p>
+     *
+     * @param key  the cache key
+     * @param set  the new instance
+     * @return the cached instance, which may have been added by another thread
+     */
+    private static CharSet cache(Object key, CharSet set) {
+        CharSet previous = CACHE.putIfAbsent(key, set);
+        if (previous != null) {
+            return previous;
+        }
+        if (CACHE.size() > MAX_CACHE_SIZE) {
+            for (Iterator<Object> it = CACHE.keySet().iterator(); it.hasNext() && CACHE.size() > MAX_CACHE_SIZE;) {
+                it.next();
+                it.remove();
+            }
+        }
+        return set;
     }
 
     //-----------------------------------------------------------------------
@@ -199,6 +255,7 @@ public class CharSet implements Serializable {
         if (str == null) {
             return;
         }
+        compiled = null;
 
         int len = str.length();
         int pos = 0;
@@ -240,16 +297,19 @@ public class CharSet implements Serializable {
      * <p>Does the <code>CharSet</code> contain the specified
      * character <code>ch</code>.</p>
      *
+     * <p>The ranges are compiled on first use into a lookup table,
+     * so the cost does not depend on the number of ranges.</p>
+     *
      * @param ch  the character to check for
      * @return <code>true</code> if the set contains the characters
      */
     public boolean contains(char ch) {
-        for (CharRange range : set) {
-            if (range.contains(ch)) {
-                return true;
-            }
+        Compiled table = compiled;
+        if (table == null) {
+            table = new Compiled(set);
+            compiled = table;
         }
-        return false;
+        return table.contains(ch);
     }
 
     // Basics
@@ -298,4 +358,120 @@ public class CharSet implements Serializable {
         return set.toString();
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * <p>The set of characters compiled into sorted, disjoint intervals.</p>
+     *
+     * <p>Characters below 256 are looked up in a bitmap. Higher characters are
+     * found by binary search of the intervals or, where there are many
+     * intervals, in a bitmap covering all characters.</p>
+     */
+    private static final class Compiled {
+        /** The number of intervals above which a full bitmap is used. */
+        private static final int MAX_INTERVALS = 32;
+
+        /** The bitmap of the characters below 256. */
+        private final long[] latin1 = new long[4];
+        /** The bitmap of all characters, null if the intervals are searched. */
+        private final long[] bitmap;
+        /** The start of each interval, inclusive. */
+        private final char[] starts;
+        /** The end of each interval, inclusive. */
+        private final char[] ends;
+
+        /**
+         * <p>Compiles the ranges.</p>
+         *
+         * @param ranges  the ranges to compile
+         */
+        Compiled(Set<CharRange> ranges) {
+            // each range gives at most two intervals
+            int[][] intervals = new int[ranges.size() * 2][];
+            int count = 0;
+            for (CharRange range : ranges) {
+                int start = range.getStart();
+                int end = range.getEnd();
+                if (range.isNegated()) {
+                    if (start > Character.MIN_VALUE) {
+                        intervals[count++] = new int[] {Character.MIN_VALUE, start - 1};
+                    }
+                    if (end < Character.MAX_VALUE) {
+                        intervals[count++] = new int[] {end + 1, Character.MAX_VALUE};
+                    }
+                } else {
+                    intervals[count++] = new int[] {start, end};
+                }
+            }
+            Arrays.sort(intervals, 0, count, new Comparator<int[]>() {
+                public int compare(int[] a, int[] b) {
+                    return a[0] - b[0];
+                }
+            });
+            // merge overlapping and adjacent intervals
+            int merged = 0;
+            for (int i = 0; i < count; i++) {
+                if (merged > 0 && intervals[i][0] <= intervals[merged - 1][1] + 1) {
+                    intervals[merged - 1][1] = Math.max(intervals[merged - 1][1], intervals[i][1]);
+                } else {
+                    intervals[merged++] = intervals[i];
+                }
+            }
+            starts = new char[merged];
+            ends = new char[merged];
+            for (int i = 0; i < merged; i++) {
+                starts[i] = (char) intervals[i][0];
+                ends[i] = (char) intervals[i][1];
+                setBits(latin1, intervals[i][0], Math.min(intervals[i][1], 255));
+            }
+            if (merged > MAX_INTERVALS) {
+                bitmap = new long[(Character.MAX_VALUE + 1) >> 6];
+                for (int i = 0; i < merged; i++) {
+                    setBits(bitmap, starts[i], ends[i]);
+                }
+            } else {
+                bitmap = null;
+            }
+        }
+
+        /**
+         * <p>Sets the bits for an inclusive range of characters.</p>
+         *
+         * @param bits  the bitmap to update
+         * @param start  the first character
+         * @param end  the last character, ignored if less than start
+         */
+        private static void setBits(long[] bits, int start, int end) {
+            for (int ch = start; ch <= end; ch++) {
+                bits[ch >> 6] |= 1L << ch;
+            }
+        }
+
+        /**
+         * <p>Checks whether the compiled set contains a character.</p>
+         *
+         * @param ch  the character to check for
+         * @return <code>true</code> if the character is in the set
+         */
+        boolean contains(char ch) {
+            if (ch < 256) {
+                return (latin1[ch >> 6] & (1L << ch)) != 0;
+            }
+            if (bitmap != null) {
+                return (bitmap[ch >> 6] & (1L << ch)) != 0;
+            }
+            // find the last interval starting at or before ch
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= ch) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high >= 0 && ch <= ends[high];
+        }
+    }
+
 }
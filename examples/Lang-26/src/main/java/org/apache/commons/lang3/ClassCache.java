@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>A concurrent cache of values calculated from classes.</p>
+ *
+ * <p>The keys are weak. The values usually refer back to their class, so
+ * they are only held softly when the class is visible to the class loader of
+ * this cache, which outlives the cache anyway. Values for classes from other
+ * class loaders are held weakly, so the cache does not prevent those classes
+ * and their loaders from being unloaded, but the values are only reused while
+ * the caller keeps them reachable. Keys whose class has been collected are
+ * removed on later lookups.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @param <V> the type of the cached values
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+abstract class ClassCache<V> {
+
+    /** The cached values. */
+    private final ConcurrentMap<ClassKey, Reference<V>> cache =
+        new ConcurrentHashMap<ClassKey, Reference<V>>();
+
+    /** The queue of keys whose class has been collected. */
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+
+    /**
+     * Gets the value for a class, calculating it if necessary.
+     *
+     * @param cls  the class to look up, not null
+     * @return the value, not null
+     */
+    V get(Class<?> cls) {
+        Reference<? extends Class<?>> cleared;
+        while ((cleared = queue.poll()) != null) {
+            cache.remove(cleared);
+        }
+        Reference<V> ref = cache.get(new ClassKey(cls, null));
+        V value = ref == null ? null : ref.get();
+        if (value == null) {
+            value = calculate(cls);
+            if (isCacheSafe(cls)) {
+                ref = new SoftReference<V>(value);
+            } else {
+                ref = new WeakReference<V>(value);
+            }
+            cache.put(new ClassKey(cls, queue), ref);
+        }
+        return value;
+    }
+
+    /**
+     * Checks whether a class is loaded by the class loader of this cache or
+     * one of its parents, so cannot be unloaded before the cache itself.
+     *
+     * @param cls  the class to check, not null
+     * @return true if a value for the class can be held softly
+     */
+    private boolean isCacheSafe(Class<?> cls) {
+        try {
+            ClassLoader target = cls.getClassLoader();
+            if (target == null) {
+                return true;
+            }
+            for (ClassLoader loader = ClassCache.class.getClassLoader(); loader != null; loader = loader.getParent()) {
+                if (loader == target) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (SecurityException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Calculates the value for a class that is not in the cache.
+     *
+     * @param cls  the class, not null
+     * @return the value, not null
+     */
+    protected abstract V calculate(Class<?> cls);
+
+    /**
+     * A weak reference to a class, usable as a key by identity.
+     */
+    private static final class ClassKey extends WeakReference<Class<?>> {
+        /** The identity hash code of the class. */
+        private final int hash;
+
+        /**
+         * Constructs a key.
+         *
+         * @param cls  the class, not null
+         * @param queue  the queue to register with, null for a lookup key
+         */
+        ClassKey(Class<?> cls, ReferenceQueue<Class<?>> queue) {
+            super(cls, queue);
+            hash = System.identityHashCode(cls);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof ClassKey == false) {
+                return false;
+            }
+            Class<?> cls = get();
+            return cls != null && cls == ((ClassKey) obj).get();
+        }
+    }
+
+}
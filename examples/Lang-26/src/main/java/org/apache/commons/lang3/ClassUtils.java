@@ -19,6 +19,7 @@ package org.apache.commons.lang3;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -96,6 +97,93 @@ public class ClassUtils {
         }
     }
 
+    /**
+     * The primitive widening conversions, indexed by {@link #primitiveIndex(Class)}
+     * of the source and then the destination type.
+     */
+    private static final boolean[][] primitiveWidening = new boolean[9][9];
+    static {
+        for (int i = 0; i < primitiveWidening.length; i++) {
+            primitiveWidening[i][i] = true;
+        }
+        addWidening(Byte.TYPE, Short.TYPE, Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE);
+        addWidening(Short.TYPE, Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE);
+        addWidening(Character.TYPE, Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE);
+        addWidening(Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE);
+        addWidening(Long.TYPE, Float.TYPE, Double.TYPE);
+        addWidening(Float.TYPE, Double.TYPE);
+    }
+
+    /**
+     * Add the widening conversions from a primitive type.
+     *
+     * @param from the primitive type to convert from
+     * @param to the primitive types it widens to
+     */
+    private static void addWidening(Class<?> from, Class<?>... to) {
+        for (Class<?> cls : to) {
+            primitiveWidening[primitiveIndex(from)][primitiveIndex(cls)] = true;
+        }
+    }
+
+    /**
+     * Gets the index of a primitive type in the widening table.
+     *
+     * @param cls the primitive type
+     * @return the index, -1 if not a primitive type
+     */
+    private static int primitiveIndex(Class<?> cls) {
+        if (cls == Integer.TYPE) {
+            return 0;
+        } else if (cls == Long.TYPE) {
+            return 1;
+        } else if (cls == Double.TYPE) {
+            return 2;
+        } else if (cls == Float.TYPE) {
+            return 3;
+        } else if (cls == Boolean.TYPE) {
+            return 4;
+        } else if (cls == Byte.TYPE) {
+            return 5;
+        } else if (cls == Character.TYPE) {
+            return 6;
+        } else if (cls == Short.TYPE) {
+            return 7;
+        } else if (cls == Void.TYPE) {
+            return 8;
+        }
+        return -1;
+    }
+
+    /**
+     * The cached unmodifiable lists of the superclasses of classes.
+     * The lists themselves are cached, so that holding a list keeps it cached.
+     */
+    private static final ClassCache<List<Class<?>>> superclassCache = new ClassCache<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> calculate(Class<?> cls) {
+            List<Class<?>> classes = new ArrayList<Class<?>>();
+            Class<?> superclass = cls.getSuperclass();
+            while (superclass != null) {
+                classes.add(superclass);
+                superclass = superclass.getSuperclass();
+            }
+            return Collections.unmodifiableList(classes);
+        }
+    };
+
+    /**
+     * The cached unmodifiable lists of the interfaces of classes.
+     */
+    private static final ClassCache<List<Class<?>>> interfaceCache = new ClassCache<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> calculate(Class<?> cls) {
+            LinkedHashSet<Class<?>> interfacesFound = new LinkedHashSet<Class<?>>();
+            getAllInterfaces(cls, interfacesFound);
+            return Collections.unmodifiableList(new ArrayList<Class<?>>(interfacesFound));
+        }
+    };
+
     /**
      * Maps a primitive class name to its corresponding abbreviation used in array class names.
      */
@@ -288,13 +376,27 @@ public class ClassUtils {
         if (cls == null) {
             return null;
         }
-        List<Class<?>> classes = new ArrayList<Class<?>>();
-        Class<?> superclass = cls.getSuperclass();
-        while (superclass != null) {
-            classes.add(superclass);
-            superclass = superclass.getSuperclass();
+        return new ArrayList<Class<?>>(superclassCache.get(cls));
+    }
+
+    /**
+     * <p>Gets an unmodifiable <code>List</code> of superclasses for the given class.</p>
+     *
+     * <p>The list is as returned by {@link #getAllSuperclasses(Class)}, but is
+     * calculated once per class and then shared, so is suitable for repeated use.
+     * The list of a class from an unrelated class loader is only shared while it
+     * is still referenced by the caller, so that the class can still be unloaded.</p>
+     *
+     * @param cls  the class to look up, may be <code>null</code>
+     * @return the unmodifiable <code>List</code> of superclasses in order going up from this one,
+     *  <code>null</code> if null input
+     * @since 3.2
+     */
+    public static List<Class<?>> getCachedSuperclasses(Class<?> cls) {
+        if (cls == null) {
+            return null;
         }
-        return classes;
+        return superclassCache.get(cls);
     }
 
     /**
@@ -314,11 +416,28 @@ public class ClassUtils {
         if (cls == null) {
             return null;
         }
+        return new ArrayList<Class<?>>(interfaceCache.get(cls));
+    }
 
-        LinkedHashSet<Class<?>> interfacesFound = new LinkedHashSet<Class<?>>();
-        getAllInterfaces(cls, interfacesFound);
-
-        return new ArrayList<Class<?>>(interfacesFound);
+    /**
+     * <p>Gets an unmodifiable <code>List</code> of all interfaces implemented by
+     * the given class and its superclasses.</p>
+     *
+     * <p>The list is as returned by {@link #getAllInterfaces(Class)}, but is
+     * calculated once per class and then shared, so is suitable for repeated use.
+     * The list of a class from an unrelated class loader is only shared while it
+     * is still referenced by the caller, so that the class can still be unloaded.</p>
+     *
+     * @param cls  the class to look up, may be <code>null</code>
+     * @return the unmodifiable <code>List</code> of interfaces in order,
+     *  <code>null</code> if null input
+     * @since 3.2
+     */
+    public static List<Class<?>> getCachedInterfaces(Class<?> cls) {
+        if (cls == null) {
+            return null;
+        }
+        return interfaceCache.get(cls);
     }
 
     /**
@@ -436,7 +555,7 @@ public class ClassUtils {
      * @return <code>true</code> if assignment possible
      */
     public static boolean isAssignable(Class<?>[] classArray, Class<?>[] toClassArray) {
-        return isAssignable(classArray, toClassArray, SystemUtils.isJavaVersionAtLeast(1.5f));
+        return isAssignable(classArray, toClassArray, SystemInfo.isJavaVersionAtLeast(1.5f));
     }
 
     /**
@@ -521,7 +640,7 @@ public class ClassUtils {
      * @return <code>true</code> if assignment possible
      */
     public static boolean isAssignable(Class<?> cls, Class<?> toClass) {
-        return isAssignable(cls, toClass, SystemUtils.isJavaVersionAtLeast(1.5f));
+        return isAssignable(cls, toClass, SystemInfo.isJavaVersionAtLeast(1.5f));
     }
 
     /**
@@ -574,52 +693,14 @@ public class ClassUtils {
                 }
             }
         }
-        if (cls.equals(toClass)) {
+        if (cls == toClass) {
             return true;
         }
         if (cls.isPrimitive()) {
             if (toClass.isPrimitive() == false) {
                 return false;
             }
-            if (Integer.TYPE.equals(cls)) {
-                return Long.TYPE.equals(toClass)
-                    || Float.TYPE.equals(toClass)
-                    || Double.TYPE.equals(toClass);
-            }
-            if (Long.TYPE.equals(cls)) {
-                return Float.TYPE.equals(toClass)
-                    || Double.TYPE.equals(toClass);
-            }
-            if (Boolean.TYPE.equals(cls)) {
-                return false;
-            }
-            if (Double.TYPE.equals(cls)) {
-                return false;
-            }
-            if (Float.TYPE.equals(cls)) {
-                return Double.TYPE.equals(toClass);
-            }
-            if (Character.TYPE.equals(cls)) {
-                return Integer.TYPE.equals(toClass)
-                    || Long.TYPE.equals(toClass)
-                    || Float.TYPE.equals(toClass)
-                    || Double.TYPE.equals(toClass);
-            }
-            if (Short.TYPE.equals(cls)) {
-                return Integer.TYPE.equals(toClass)
-                    || Long.TYPE.equals(toClass)
-                    || Float.TYPE.equals(toClass)
-                    || Double.TYPE.equals(toClass);
-            }
-            if (Byte.TYPE.equals(cls)) {
-                return Short.TYPE.equals(toClass)
-                    || Integer.TYPE.equals(toClass)
-                    || Long.TYPE.equals(toClass)
-                    || Float.TYPE.equals(toClass)
-                    || Double.TYPE.equals(toClass);
-            }
-            // should never get here
-            return false;
+            return primitiveWidening[primitiveIndex(cls)][primitiveIndex(toClass)];
         }
         return toClass.isAssignableFrom(cls);
     }
@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * <p><code>DoubleRangeSet</code> represents an immutable set of <code>double</code>
+ * values made up of inclusive ranges.</p>
+ *
+ * <p>This is the primitive form of {@link RangeSet}. Overlapping ranges,
+ * and ranges that share an end point, are merged when the set is created,
+ * leaving sorted arrays of disjoint bounds. <code>NaN</code> is never
+ * in the set. Each query is then a binary search on
+ * <code>double</code>s, without boxing.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public final class DoubleRangeSet {
+
+    /**
+     * The minimum of each disjoint range, in ascending order.
+     */
+    private final double[] minimums;
+
+    /**
+     * The maximum of each disjoint range.
+     */
+    private final double[] maximums;
+
+    /**
+     * <p>Creates a set of the values in any of the specified ranges.</p>
+     *
+     * @param ranges  the ranges, not null and containing no null ranges
+     * @return the new set, not null
+     * @throws IllegalArgumentException if the collection is null or contains null
+     */
+    public static DoubleRangeSet of(Collection<Range<Double>> ranges) {
+        Validate.isTrue(ranges != null, "The ranges must not be null");
+        double[] minimums = new double[ranges.size()];
+        double[] maximums = new double[ranges.size()];
+        int i = 0;
+        for (Range<Double> range : ranges) {
+            Validate.isTrue(range != null, "The ranges must not contain null");
+            minimums[i] = range.getMinimum().doubleValue();
+            maximums[i] = range.getMaximum().doubleValue();
+            i++;
+        }
+        return new DoubleRangeSet(minimums, maximums);
+    }
+
+    /**
+     * <p>Constructs a set of the values in any of the specified ranges.</p>
+     *
+     * <p>The range at each index runs from the minimum to the maximum
+     * at that index, inclusive. The arrays are not modified. Infinite
+     * bounds are allowed.</p>
+     *
+     * @param minimums  the minimum of each range, not null
+     * @param maximums  the maximum of each range, not null
+     * @throws IllegalArgumentException if either array is null, the arrays have
+     *  different lengths, a bound is <code>NaN</code>, or a minimum is greater
+     *  than its maximum
+     */
+    public DoubleRangeSet(final double[] minimums, final double[] maximums) {
+        super();
+        Validate.isTrue(minimums != null && maximums != null, "The bounds must not be null");
+        Validate.isTrue(minimums.length == maximums.length, "The bounds must have the same length");
+        int size = minimums.length;
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Validate.isTrue(minimums[i] <= maximums[i], "The bounds must not be NaN and the minimum must not exceed the maximum: %s", i);
+            sorted[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            public int compare(Integer index1, Integer index2) {
+                double min1 = minimums[index1.intValue()];
+                double min2 = minimums[index2.intValue()];
+                return min1 < min2 ? -1 : (min1 == min2 ? 0 : 1);
+            }
+        });
+        double[] mins = new double[size];
+        double[] maxs = new double[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int index = sorted[i].intValue();
+            double min = minimums[index];
+            double max = maximums[index];
+            if (count > 0 && min <= maxs[count - 1]) {
+                // overlapping
+                if (max > maxs[count - 1]) {
+                    maxs[count - 1] = max;
+                }
+            } else {
+                mins[count] = min;
+                maxs[count] = max;
+                count++;
+            }
+        }
+        this.minimums = ArrayUtils.subarray(mins, 0, count);
+        this.maximums = ArrayUtils.subarray(maxs, 0, count);
+    }
+
+    // Accessors
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the number of disjoint ranges after merging.</p>
+     *
+     * @return the number of ranges
+     */
+    public int size() {
+        return minimums.length;
+    }
+
+    /**
+     * <p>Gets the minimum of a disjoint range.</p>
+     *
+     * @param index  the index of the range, ranges are in ascending order
+     * @return the minimum value of the range
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public double getMinimum(int index) {
+        return minimums[index];
+    }
+
+    /**
+     * <p>Gets the maximum of a disjoint range.</p>
+     *
+     * @param index  the index of the range, ranges are in ascending order
+     * @return the maximum value of the range
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public double getMaximum(int index) {
+        return maximums[index];
+    }
+
+    // Queries
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the index of the range containing a value.</p>
+     *
+     * @param value  the value to find
+     * @return the index of the range, or -1 if no range contains the value
+     */
+    public int indexOf(double value) {
+        int index = lastStartingAtOrBefore(value);
+        return index >= 0 && value <= maximums[index] ? index : -1;
+    }
+
+    /**
+     * <p>Checks whether any of the ranges contains a value.</p>
+     *
+     * @param value  the value to check
+     * @return true if the value is in the set
+     */
+    public boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * <p>Checks whether every value of a range is in the set.</p>
+     *
+     * @param min  the minimum of the range, inclusive
+     * @param max  the maximum of the range, inclusive
+     * @return true if every value from min to max is in the set
+     */
+    public boolean containsRange(double min, double max) {
+        int index = indexOf(min);
+        return index >= 0 && max <= maximums[index];
+    }
+
+    /**
+     * <p>Checks whether any value of a range is in the set.</p>
+     *
+     * @param min  the minimum of the range, inclusive
+     * @param max  the maximum of the range, inclusive
+     * @return true if any value from min to max is in the set
+     */
+    public boolean overlapsRange(double min, double max) {
+        int index = lastStartingAtOrBefore(max);
+        return index >= 0 && min <= maximums[index];
+    }
+
+    /**
+     * <p>Finds the last range whose minimum is not after a value.</p>
+     *
+     * @param value  the value
+     * @return the index of the range, -1 if all the ranges start after the value
+     */
+    private int lastStartingAtOrBefore(double value) {
+        int low = 0;
+        int high = minimums.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (minimums[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    // Basics
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Compares this set to another object to test if they are equal.</p>
+     *
+     * <p>To be equal, the merged ranges must be equal.</p>
+     *
+     * @param obj the reference object with which to compare
+     * @return <code>true</code> if this object is equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof DoubleRangeSet == false) {
+            return false;
+        }
+        DoubleRangeSet other = (DoubleRangeSet) obj;
+        return Arrays.equals(minimums, other.minimums) && Arrays.equals(maximums, other.maximums);
+    }
+
+    /**
+     * <p>Gets a hashCode for the set.</p>
+     *
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(minimums) * 37 + Arrays.hashCode(maximums);
+    }
+
+    /**
+     * <p>Gets the set as a <code>String</code>.</p>
+     *
+     * <p>The format of the String is 'DoubleRangeSet[<i>min</i>..<i>max</i>, ...]'.</p>
+     *
+     * @return the <code>String</code> representation of this set
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(16 + minimums.length * 16);
+        buf.append("DoubleRangeSet[");
+        for (int i = 0; i < minimums.length; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(minimums[i]).append("..").append(maximums[i]);
+        }
+        buf.append(']');
+        return buf.toString();
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>An immutable index of the constants of an <code>enum</code> by name.</p>
+ *
+ * <p>Instances are cached per class by {@link EnumUtils#getEnumIndex(Class)},
+ * although the index of an enum from an unrelated class loader is only cached
+ * while it is otherwise reachable. Indices are best held in a constant where
+ * names are looked up often:</p>
+ * <pre>
+ * private static final EnumIndex&lt;Command&gt; COMMANDS = EnumUtils.getEnumIndex(Command.class);
+ * ...
+ * Command command = COMMANDS.getIgnoreCase(token);
+ * </pre>
+ *
+ * <p>Unlike {@link Enum#valueOf(Class, String)}, an unknown name returns
+ * <code>null</code> rather than throwing an exception. Case-insensitive and
+ * prefix lookups are binary searches of sorted names, so do not allocate.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @param <E> the type of the enum
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public final class EnumIndex<E extends Enum<E>> {
+
+    /**
+     * Orders constants by name, ignoring case, then by ordinal.
+     */
+    private static final Comparator<Enum<?>> CASE_INSENSITIVE_ORDER = new Comparator<Enum<?>>() {
+        public int compare(Enum<?> e1, Enum<?> e2) {
+            int result = String.CASE_INSENSITIVE_ORDER.compare(e1.name(), e2.name());
+            return result != 0 ? result : e1.ordinal() - e2.ordinal();
+        }
+    };
+
+    /**
+     * Orders constants by name.
+     */
+    private static final Comparator<Enum<?>> NAME_ORDER = new Comparator<Enum<?>>() {
+        public int compare(Enum<?> e1, Enum<?> e2) {
+            return e1.name().compareTo(e2.name());
+        }
+    };
+
+    /** The enum class. */
+    private final Class<E> enumClass;
+    /** The constants in declaration order. */
+    private final E[] constants;
+    /** The constants by exact name. */
+    private final Map<String, E> byName;
+    /** The unmodifiable map of constants by name, in declaration order. */
+    private final Map<String, E> map;
+    /** The unmodifiable list of constants in declaration order. */
+    private final List<E> list;
+    /** The constants sorted by name ignoring case, then by ordinal. */
+    private final E[] sortedIgnoreCase;
+    /** The constants sorted by name. */
+    private final E[] sortedByName;
+
+    /**
+     * <p>Constructs an index of the constants of an enum class.</p>
+     *
+     * @param enumClass  the enum class, not null
+     */
+    EnumIndex(Class<E> enumClass) {
+        super();
+        this.enumClass = enumClass;
+        this.constants = enumClass.getEnumConstants();
+        this.byName = new HashMap<String, E>(constants.length * 2);
+        Map<String, E> ordered = new LinkedHashMap<String, E>(constants.length * 2);
+        for (E e : constants) {
+            byName.put(e.name(), e);
+            ordered.put(e.name(), e);
+        }
+        this.map = Collections.unmodifiableMap(ordered);
+        this.list = Collections.unmodifiableList(Arrays.asList(constants.clone()));
+        this.sortedIgnoreCase = constants.clone();
+        Arrays.sort(sortedIgnoreCase, CASE_INSENSITIVE_ORDER);
+        this.sortedByName = constants.clone();
+        Arrays.sort(sortedByName, NAME_ORDER);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the enum class.</p>
+     *
+     * @return the enum class, not null
+     */
+    public Class<E> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * <p>Gets the number of constants.</p>
+     *
+     * @return the number of constants
+     */
+    public int size() {
+        return constants.length;
+    }
+
+    /**
+     * <p>Gets the constants in declaration order.</p>
+     *
+     * @return the unmodifiable list of constants, not null
+     */
+    public List<E> asList() {
+        return list;
+    }
+
+    /**
+     * <p>Gets the constants by name, in declaration order.</p>
+     *
+     * @return the unmodifiable map of names to constants, not null
+     */
+    public Map<String, E> asMap() {
+        return map;
+    }
+
+    /**
+     * <p>Gets the constant with an ordinal.</p>
+     *
+     * @param ordinal  the ordinal of the constant
+     * @return the constant, null if the ordinal is out of range
+     */
+    public E get(int ordinal) {
+        return ordinal >= 0 && ordinal < constants.length ? constants[ordinal] : null;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the constant with a name.</p>
+     *
+     * @param name  the name of the constant, null returns null
+     * @return the constant, null if not found
+     */
+    public E get(String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    /**
+     * <p>Checks whether a name is the name of a constant.</p>
+     *
+     * @param name  the name to check, null returns false
+     * @return true if a constant has the name
+     */
+    public boolean isValid(String name) {
+        return get(name) != null;
+    }
+
+    /**
+     * <p>Gets the constant with a name, ignoring case.</p>
+     *
+     * <p>If the names of several constants differ only in case, the
+     * first declared is returned.</p>
+     *
+     * @param name  the name of the constant, null returns null
+     * @return the constant, null if not found
+     */
+    public E getIgnoreCase(String name) {
+        if (name == null) {
+            return null;
+        }
+        int low = 0;
+        int high = sortedIgnoreCase.length - 1;
+        E found = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = String.CASE_INSENSITIVE_ORDER.compare(sortedIgnoreCase[mid].name(), name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                if (cmp == 0) {
+                    // keep searching left for an earlier declared match
+                    found = sortedIgnoreCase[mid];
+                }
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * <p>Gets the constants whose names start with a prefix.</p>
+     *
+     * @param prefix  the case-sensitive prefix, null returns an empty list
+     * @return the matching constants in declaration order, not null
+     */
+    public List<E> getByPrefix(String prefix) {
+        if (prefix == null) {
+            return new ArrayList<E>(0);
+        }
+        int low = 0;
+        int high = sortedByName.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sortedByName[mid].name().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        EnumSet<E> matches = EnumSet.noneOf(enumClass);
+        for (int i = low; i < sortedByName.length && sortedByName[i].name().startsWith(prefix); i++) {
+            matches.add(sortedByName[i]);
+        }
+        return new ArrayList<E>(matches);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets a debugging string version of this index.</p>
+     *
+     * @return a debugging string
+     */
+    @Override
+    public String toString() {
+        return "EnumIndex[" + enumClass.getName() + "]";
+    }
+
+}
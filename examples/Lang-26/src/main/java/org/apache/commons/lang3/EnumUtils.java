@@ -17,7 +17,7 @@
 package org.apache.commons.lang3;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +31,17 @@ import java.util.Map;
  */
 public class EnumUtils {
 
+    /**
+     * The cached indices of enum classes.
+     */
+    private static final ClassCache<EnumIndex<?>> INDEX_CACHE = new ClassCache<EnumIndex<?>>() {
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected EnumIndex<?> calculate(Class<?> cls) {
+            return new EnumIndex(cls);
+        }
+    };
+
     /**
      * This constructor is public to permit tools that require a JavaBean
      * instance to operate.
@@ -47,11 +58,7 @@ public class EnumUtils {
      * @return the modifiable map of enum names to enums, never null
      */
     public static <E extends Enum<E>> Map<String, E> getEnumMap(Class<E> enumClass) {
-        Map<String, E> map = new LinkedHashMap<String, E>();
-        for (E e: enumClass.getEnumConstants()) {
-            map.put(e.name(), e);
-        }
-        return map;
+        return new LinkedHashMap<String, E>(getEnumIndex(enumClass).asMap());
     }
 
     /**
@@ -63,7 +70,26 @@ public class EnumUtils {
      * @return the modifiable list of enums, never null
      */
     public static <E extends Enum<E>> List<E> getEnumList(Class<E> enumClass) {
-        return new ArrayList<E>(Arrays.asList(enumClass.getEnumConstants()));
+        return new ArrayList<E>(getEnumIndex(enumClass).asList());
+    }
+
+    /**
+     * Gets the cached index of the <code>enums</code> of a class by name.
+     * <p>
+     * The index is immutable and shared, so this is the fastest way to
+     * look up many names, and also supports case-insensitive and prefix lookups.
+     *
+     * @param enumClass  the class of the <code>enum</code> to index, not null
+     * @return the shared index, never null
+     * @throws NullPointerException if the class is null
+     * @throws IllegalArgumentException if the class is not an enum
+     * @since 3.2
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumIndex<E> getEnumIndex(Class<E> enumClass) {
+        Validate.notNull(enumClass, "The enum class must not be null");
+        Validate.isTrue(enumClass.isEnum(), "The class %s is not an enum", enumClass);
+        return (EnumIndex<E>) INDEX_CACHE.get(enumClass);
     }
 
     /**
@@ -73,16 +99,13 @@ public class EnumUtils {
      * a valid enum without needing to catch the exception.
      *
      * @param enumClass  the class of the <code>enum</code> to get, not null
-     * @param enumName   the enum name
+     * @param enumName   the enum name, not null
      * @return true if the enum name is valid, otherwise false
+     * @throws NullPointerException if the name is null
      */
     public static <E extends Enum<E>> boolean isValidEnum(Class<E> enumClass, String enumName) {
-        try {
-            Enum.valueOf(enumClass, enumName);
-            return true;
-        } catch (IllegalArgumentException ex) {
-            return false;
-        }
+        Validate.notNull(enumName, "The enum name must not be null");
+        return getEnumIndex(enumClass).isValid(enumName);
     }
 
     /**
@@ -92,15 +115,159 @@ public class EnumUtils {
      * for an invalid enum name.
      *
      * @param enumClass  the class of the <code>enum</code> to get, not null
-     * @param enumName   the enum name
+     * @param enumName   the enum name, not null
      * @return the enum or null if not found
+     * @throws NullPointerException if the name is null
      */
     public static <E extends Enum<E>> E getEnum(Class<E> enumClass, String enumName) {
-        try {
-            return Enum.valueOf(enumClass, enumName);
-        } catch (IllegalArgumentException ex) {
-            return null;
+        Validate.notNull(enumName, "The enum name must not be null");
+        return getEnumIndex(enumClass).get(enumName);
+    }
+
+    /**
+     * Gets the <code>enum</code> for the class ignoring the case of the name,
+     * returning <code>null</code> if not found.
+     *
+     * @param enumClass  the class of the <code>enum</code> to get, not null
+     * @param enumName   the enum name, null returns null
+     * @return the enum or null if not found
+     * @since 3.2
+     */
+    public static <E extends Enum<E>> E getEnumIgnoreCase(Class<E> enumClass, String enumName) {
+        return getEnumIndex(enumClass).getIgnoreCase(enumName);
+    }
+
+    /**
+     * Gets the <code>enums</code> for the class whose names start with a prefix.
+     *
+     * @param enumClass  the class of the <code>enum</code> to get, not null
+     * @param prefix   the case-sensitive prefix, null returns an empty list
+     * @return a new modifiable list of the matching enums in declaration order, never null
+     * @since 3.2
+     */
+    public static <E extends Enum<E>> List<E> getEnumsByPrefix(Class<E> enumClass, String prefix) {
+        return getEnumIndex(enumClass).getByPrefix(prefix);
+    }
+
+    // Bit vectors
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a bit vector representation of a set of <code>enums</code>.
+     * <p>
+     * Bit <code>n</code> is set if the constant with ordinal <code>n</code> is in
+     * the set, so the result is only valid for enums of up to 64 constants.
+     *
+     * @param enumClass  the class of the <code>enum</code>, not null
+     * @param values  the values to encode, not null and containing no nulls
+     * @return a long whose bits represent the values
+     * @throws NullPointerException if the class or values are null
+     * @throws IllegalArgumentException if the class is not an enum, or has more than 64 constants
+     * @since 3.2
+     */
+    public static <E extends Enum<E>> long generateBitVector(Class<E> enumClass, Iterable<E> values) {
+        checkBitVectorCapacity(enumClass);
+        Validate.notNull(values, "The values must not be null");
+        long total = 0;
+        for (E constant : values) {
+            total |= 1L << constant.ordinal();
+        }
+        return total;
+    }
+
+    /**
+     * Creates a bit vector representation of a set of <code>enums</code>
+     * with any number of constants.
+     * <p>
+     * Bit <code>n % 64</code> of element <code>n / 64</code> is set if the constant
+     * with ordinal <code>n</code> is in the set.
+     *
+     * @param enumClass  the class of the <code>enum</code>, not null
+     * @param values  the values to encode, not null and containing no nulls
+     * @return an array of <code>(constants + 63) / 64</code> longs whose bits represent the values
+     * @throws NullPointerException if the class or values are null
+     * @throws IllegalArgumentException if the class is not an enum
+     * @since 3.2
+     */
+    public static <E extends Enum<E>> long[] generateBitVectors(Class<E> enumClass, Iterable<E> values) {
+        EnumIndex<E> index = getEnumIndex(enumClass);
+        Validate.notNull(values, "The values must not be null");
+        long[] result = new long[(index.size() + 63) / 64];
+        for (E constant : values) {
+            int ordinal = constant.ordinal();
+            result[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return result;
+    }
+
+    /**
+     * Converts a bit vector created by {@link #generateBitVector(Class, Iterable)}
+     * back to a set of <code>enums</code>.
+     * <p>
+     * Bits that do not correspond to a constant are ignored.
+     *
+     * @param enumClass  the class of the <code>enum</code>, not null
+     * @param value  the bit vector
+     * @return a new modifiable set of the values, never null
+     * @throws NullPointerException if the class is null
+     * @throws IllegalArgumentException if the class is not an enum, or has more than 64 constants
+     * @since 3.2
+     */
+    public static <E extends Enum<E>> EnumSet<E> processBitVector(Class<E> enumClass, long value) {
+        EnumIndex<E> index = checkBitVectorCapacity(enumClass);
+        EnumSet<E> results = EnumSet.noneOf(enumClass);
+        while (value != 0) {
+            E constant = index.get(Long.numberOfTrailingZeros(value));
+            if (constant == null) {
+                break;
+            }
+            results.add(constant);
+            value &= value - 1;
+        }
+        return results;
+    }
+
+    /**
+     * Converts bit vectors created by {@link #generateBitVectors(Class, Iterable)}
+     * back to a set of <code>enums</code>.
+     * <p>
+     * Bits that do not correspond to a constant are ignored.
+     *
+     * @param enumClass  the class of the <code>enum</code>, not null
+     * @param values  the bit vectors, not null
+     * @return a new modifiable set of the values, never null
+     * @throws NullPointerException if the class or values are null
+     * @throws IllegalArgumentException if the class is not an enum
+     * @since 3.2
+     */
+    public static <E extends Enum<E>> EnumSet<E> processBitVectors(Class<E> enumClass, long... values) {
+        EnumIndex<E> index = getEnumIndex(enumClass);
+        Validate.notNull(values, "The values must not be null");
+        EnumSet<E> results = EnumSet.noneOf(enumClass);
+        for (int i = 0; i < values.length; i++) {
+            long value = values[i];
+            while (value != 0) {
+                E constant = index.get(i * 64 + Long.numberOfTrailingZeros(value));
+                if (constant == null) {
+                    return results;
+                }
+                results.add(constant);
+                value &= value - 1;
+            }
         }
+        return results;
+    }
+
+    /**
+     * Checks that an enum class has few enough constants for a single <code>long</code> bit vector.
+     *
+     * @param enumClass  the class of the <code>enum</code>, not null
+     * @return the index of the class
+     */
+    private static <E extends Enum<E>> EnumIndex<E> checkBitVectorCapacity(Class<E> enumClass) {
+        EnumIndex<E> index = getEnumIndex(enumClass);
+        Validate.isTrue(index.size() <= Long.SIZE,
+                "Cannot store %s %s values in %s bits", index.size(), enumClass.getSimpleName(), Long.SIZE);
+        return index;
     }
 
 }
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * <p><code>IntRangeSet</code> represents an immutable set of <code>int</code>
+ * values made up of inclusive ranges.</p>
+ *
+ * <p>This is the primitive form of {@link RangeSet}. Overlapping and
+ * adjacent ranges are merged when the set is created, leaving sorted
+ * arrays of disjoint bounds. Each query is then a binary search on
+ * <code>int</code>s, without boxing.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public final class IntRangeSet {
+
+    /**
+     * The minimum of each disjoint range, in ascending order.
+     */
+    private final int[] minimums;
+
+    /**
+     * The maximum of each disjoint range.
+     */
+    private final int[] maximums;
+
+    /**
+     * <p>Creates a set of the values in any of the specified ranges.</p>
+     *
+     * @param ranges  the ranges, not null and containing no null ranges
+     * @return the new set, not null
+     * @throws IllegalArgumentException if the collection is null or contains null
+     */
+    public static IntRangeSet of(Collection<Range<Integer>> ranges) {
+        Validate.isTrue(ranges != null, "The ranges must not be null");
+        int[] minimums = new int[ranges.size()];
+        int[] maximums = new int[ranges.size()];
+        int i = 0;
+        for (Range<Integer> range : ranges) {
+            Validate.isTrue(range != null, "The ranges must not contain null");
+            minimums[i] = range.getMinimum().intValue();
+            maximums[i] = range.getMaximum().intValue();
+            i++;
+        }
+        return new IntRangeSet(minimums, maximums);
+    }
+
+    /**
+     * <p>Constructs a set of the values in any of the specified ranges.</p>
+     *
+     * <p>The range at each index runs from the minimum to the maximum
+     * at that index, inclusive. The arrays are not modified.</p>
+     *
+     * @param minimums  the minimum of each range, not null
+     * @param maximums  the maximum of each range, not null
+     * @throws IllegalArgumentException if either array is null, the arrays have
+     *  different lengths, or a minimum is greater than its maximum
+     */
+    public IntRangeSet(final int[] minimums, final int[] maximums) {
+        super();
+        Validate.isTrue(minimums != null && maximums != null, "The bounds must not be null");
+        Validate.isTrue(minimums.length == maximums.length, "The bounds must have the same length");
+        int size = minimums.length;
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Validate.isTrue(minimums[i] <= maximums[i], "The minimum must not exceed the maximum: %s", i);
+            sorted[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            public int compare(Integer index1, Integer index2) {
+                int min1 = minimums[index1.intValue()];
+                int min2 = minimums[index2.intValue()];
+                return min1 < min2 ? -1 : (min1 == min2 ? 0 : 1);
+            }
+        });
+        int[] mins = new int[size];
+        int[] maxs = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int index = sorted[i].intValue();
+            int min = minimums[index];
+            int max = maximums[index];
+            if (count > 0 && (maxs[count - 1] == Integer.MAX_VALUE || min <= maxs[count - 1] + 1)) {
+                // overlapping or adjacent
+                if (max > maxs[count - 1]) {
+                    maxs[count - 1] = max;
+                }
+            } else {
+                mins[count] = min;
+                maxs[count] = max;
+                count++;
+            }
+        }
+        this.minimums = ArrayUtils.subarray(mins, 0, count);
+        this.maximums = ArrayUtils.subarray(maxs, 0, count);
+    }
+
+    // Accessors
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the number of disjoint ranges after merging.</p>
+     *
+     * @return the number of ranges
+     */
+    public int size() {
+        return minimums.length;
+    }
+
+    /**
+     * <p>Gets the minimum of a disjoint range.</p>
+     *
+     * @param index  the index of the range, ranges are in ascending order
+     * @return the minimum value of the range
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getMinimum(int index) {
+        return minimums[index];
+    }
+
+    /**
+     * <p>Gets the maximum of a disjoint range.</p>
+     *
+     * @param index  the index of the range, ranges are in ascending order
+     * @return the maximum value of the range
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getMaximum(int index) {
+        return maximums[index];
+    }
+
+    // Queries
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the index of the range containing a value.</p>
+     *
+     * @param value  the value to find
+     * @return the index of the range, or -1 if no range contains the value
+     */
+    public int indexOf(int value) {
+        int index = lastStartingAtOrBefore(value);
+        return index >= 0 && value <= maximums[index] ? index : -1;
+    }
+
+    /**
+     * <p>Checks whether any of the ranges contains a value.</p>
+     *
+     * @param value  the value to check
+     * @return true if the value is in the set
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * <p>Checks whether every value of a range is in the set.</p>
+     *
+     * @param min  the minimum of the range, inclusive
+     * @param max  the maximum of the range, inclusive
+     * @return true if every value from min to max is in the set
+     */
+    public boolean containsRange(int min, int max) {
+        int index = indexOf(min);
+        return index >= 0 && max <= maximums[index];
+    }
+
+    /**
+     * <p>Checks whether any value of a range is in the set.</p>
+     *
+     * @param min  the minimum of the range, inclusive
+     * @param max  the maximum of the range, inclusive
+     * @return true if any value from min to max is in the set
+     */
+    public boolean overlapsRange(int min, int max) {
+        int index = lastStartingAtOrBefore(max);
+        return index >= 0 && min <= maximums[index];
+    }
+
+    /**
+     * <p>Finds the last range whose minimum is not after a value.</p>
+     *
+     * @param value  the value
+     * @return the index of the range, -1 if all the ranges start after the value
+     */
+    private int lastStartingAtOrBefore(int value) {
+        int low = 0;
+        int high = minimums.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (minimums[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    // Basics
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Compares this set to another object to test if they are equal.</p>
+     *
+     * <p>To be equal, the merged ranges must be equal.</p>
+     *
+     * @param obj the reference object with which to compare
+     * @return <code>true</code> if this object is equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof IntRangeSet == false) {
+            return false;
+        }
+        IntRangeSet other = (IntRangeSet) obj;
+        return Arrays.equals(minimums, other.minimums) && Arrays.equals(maximums, other.maximums);
+    }
+
+    /**
+     * <p>Gets a hashCode for the set.</p>
+     *
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(minimums) * 37 + Arrays.hashCode(maximums);
+    }
+
+    /**
+     * <p>Gets the set as a <code>String</code>.</p>
+     *
+     * <p>The format of the String is 'IntRangeSet[<i>min</i>..<i>max</i>, ...]'.</p>
+     *
+     * @return the <code>String</code> representation of this set
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(16 + minimums.length * 16);
+        buf.append("IntRangeSet[");
+        for (int i = 0; i < minimums.length; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(minimums[i]).append("..").append(maximums[i]);
+        }
+        buf.append(']');
+        return buf.toString();
+    }
+
+}
@@ -21,10 +21,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>Operations to assist when working with a {@link Locale}.</p>
@@ -39,19 +42,19 @@ import java.util.Set;
  */
 public class LocaleUtils {
 
-    /** Unmodifiable list of available locales. */
-    //@GuardedBy("this")
-    private static List<Locale> cAvailableLocaleList; // lazily created by availableLocaleList()
+    /** The maximum number of entries held by each cache. */
+    private static final int MAX_CACHE_SIZE = 1024;
 
-    /** Unmodifiable set of available locales. */
-    //@GuardedBy("this")
-    private static Set<Locale> cAvailableLocaleSet;   // lazily created by availableLocaleSet()
+    /** The locales parsed by toLocale, by locale string. */
+    private static final ConcurrentMap<String, Locale> cLocales = new ConcurrentHashMap<String, Locale>();
 
-    /** Unmodifiable map of language locales by country. */
-    private static final Map<String, List<Locale>> cLanguagesByCountry = Collections.synchronizedMap(new HashMap<String, List<Locale>>());
+    /** Unmodifiable lookup lists, by locale, where the default locale is already in the list. */
+    private static final ConcurrentMap<Locale, List<Locale>> cLookupLists =
+        new ConcurrentHashMap<Locale, List<Locale>>();
 
-    /** Unmodifiable map of country locales by language. */
-    private static final Map<String, List<Locale>> cCountriesByLanguage = Collections.synchronizedMap(new HashMap<String, List<Locale>>());
+    /** Unmodifiable lookup lists, by locale and default locale. */
+    private static final ConcurrentMap<Pair<Locale, Locale>, List<Locale>> cLookupListsWithDefault =
+        new ConcurrentHashMap<Pair<Locale, Locale>, List<Locale>>();
 
     /**
      * <p><code>LocaleUtils</code> instances should NOT be constructed in standard programming.
@@ -88,6 +91,9 @@ public class LocaleUtils {
      * The length must be correct.
      * </p>
      *
+     * <p>Valid results are cached, so converting the same string again
+     * returns the same Locale without validating it.</p>
+     *
      * @param str  the locale String to convert, null returns null
      * @return a Locale, null if null input
      * @throws IllegalArgumentException if the string is an invalid format
@@ -96,6 +102,22 @@ public class LocaleUtils {
         if (str == null) {
             return null;
         }
+        Locale locale = cLocales.get(str);
+        if (locale == null) {
+            locale = parseLocale(str);
+            putInCache(cLocales, str, locale);
+        }
+        return locale;
+    }
+
+    /**
+     * <p>Validates and parses a locale String.</p>
+     *
+     * @param str  the locale String to convert, not null
+     * @return a new Locale, not null
+     * @throws IllegalArgumentException if the string is an invalid format
+     */
+    private static Locale parseLocale(String str) {
         int len = str.length();
         if (len != 2 && len != 5 && len < 7) {
             throw new IllegalArgumentException("Invalid locale format: " + str);
@@ -161,13 +183,19 @@ public class LocaleUtils {
      * next more general and so on, finishing with the default locale.
      * The list will never contain the same locale twice.</p>
      *
+     * <p>The lists are cached, so repeated calls return the same list.</p>
+     *
      * @param locale  the locale to start from, null returns empty list
      * @param defaultLocale  the default locale to use if no other is found
      * @return the unmodifiable list of Locale objects, 0 being locale, never null
      */
     public static List<Locale> localeLookupList(Locale locale, Locale defaultLocale) {
-        List<Locale> list = new ArrayList<Locale>(4);
-        if (locale != null) {
+        if (locale == null) {
+            return Collections.emptyList();
+        }
+        List<Locale> lookupList = cLookupLists.get(locale);
+        if (lookupList == null) {
+            List<Locale> list = new ArrayList<Locale>(3);
             list.add(locale);
             if (locale.getVariant().length() > 0) {
                 list.add(new Locale(locale.getLanguage(), locale.getCountry()));
@@ -175,11 +203,22 @@ public class LocaleUtils {
             if (locale.getCountry().length() > 0) {
                 list.add(new Locale(locale.getLanguage(), ""));
             }
-            if (list.contains(defaultLocale) == false) {
-                list.add(defaultLocale);
-            }
+            lookupList = Collections.unmodifiableList(list);
+            putInCache(cLookupLists, locale, lookupList);
+        }
+        if (lookupList.contains(defaultLocale)) {
+            return lookupList;
         }
-        return Collections.unmodifiableList(list);
+        Pair<Locale, Locale> key = Pair.of(locale, defaultLocale);
+        List<Locale> withDefault = cLookupListsWithDefault.get(key);
+        if (withDefault == null) {
+            List<Locale> list = new ArrayList<Locale>(lookupList.size() + 1);
+            list.addAll(lookupList);
+            list.add(defaultLocale);
+            withDefault = Collections.unmodifiableList(list);
+            putInCache(cLookupListsWithDefault, key, withDefault);
+        }
+        return withDefault;
     }
 
     //-----------------------------------------------------------------------
@@ -193,22 +232,7 @@ public class LocaleUtils {
      * @return the unmodifiable list of available locales
      */
     public static List<Locale> availableLocaleList() {
-        if(cAvailableLocaleList == null) { 
-            initAvailableLocaleList(); 
-        }
-        return cAvailableLocaleList;
-    }
-
-    /**
-     * Initializes the availableLocaleList. It is separate from availableLocaleList() 
-     * to avoid the synchronized block affecting normal use, yet synchronized and 
-     * lazy loading to avoid a static block affecting other methods in this class. 
-     */
-    private static synchronized void initAvailableLocaleList() {
-        if(cAvailableLocaleList == null) {
-            List<Locale> list = Arrays.asList(Locale.getAvailableLocales());
-            cAvailableLocaleList = Collections.unmodifiableList(list);
-        }
+        return SyncAvoid.AVAILABLE_LOCALE_LIST;
     }
 
     //-----------------------------------------------------------------------
@@ -222,21 +246,7 @@ public class LocaleUtils {
      * @return the unmodifiable set of available locales
      */
     public static Set<Locale> availableLocaleSet() {
-        if(cAvailableLocaleSet == null) { 
-            initAvailableLocaleSet(); 
-        }
-        return cAvailableLocaleSet;
-    }
-
-    /**
-     * Initializes the availableLocaleSet. It is separate from availableLocaleSet() 
-     * to avoid the synchronized block affecting normal use, yet synchronized and 
-     * lazy loading to avoid a static block affecting other methods in this class. 
-     */
-    private static synchronized void initAvailableLocaleSet() {
-        if(cAvailableLocaleSet == null) {
-            cAvailableLocaleSet = Collections.unmodifiableSet( new HashSet<Locale>(availableLocaleList()) );
-        }
+        return SyncAvoid.AVAILABLE_LOCALE_SET;
     }
 
     //-----------------------------------------------------------------------
@@ -247,7 +257,7 @@ public class LocaleUtils {
      * @return true if the locale is a known locale
      */
     public static boolean isAvailableLocale(Locale locale) {
-        return availableLocaleList().contains(locale);
+        return availableLocaleSet().contains(locale);
     }
 
     //-----------------------------------------------------------------------
@@ -261,23 +271,9 @@ public class LocaleUtils {
      * @return an unmodifiable List of Locale objects, never null
      */
     public static List<Locale> languagesByCountry(String countryCode) {
-        List<Locale> langs = cLanguagesByCountry.get(countryCode);  //syncd
+        List<Locale> langs = LocaleIndex.LANGUAGES_BY_COUNTRY.get(countryCode);
         if (langs == null) {
-            if (countryCode != null) {
-                langs = new ArrayList<Locale>();
-                List<Locale> locales = availableLocaleList();
-                for (int i = 0; i < locales.size(); i++) {
-                    Locale locale = locales.get(i);
-                    if (countryCode.equals(locale.getCountry()) &&
-                            locale.getVariant().length() == 0) {
-                        langs.add(locale);
-                    }
-                }
-                langs = Collections.unmodifiableList(langs);
-            } else {
-                langs = Collections.emptyList();
-            }
-            cLanguagesByCountry.put(countryCode, langs);  //syncd
+            return Collections.emptyList();
         }
         return langs;
     }
@@ -293,26 +289,103 @@ public class LocaleUtils {
      * @return an unmodifiable List of Locale objects, never null
      */
     public static List<Locale> countriesByLanguage(String languageCode) {
-        List<Locale> countries = cCountriesByLanguage.get(languageCode);  //syncd
+        List<Locale> countries = LocaleIndex.COUNTRIES_BY_LANGUAGE.get(languageCode);
         if (countries == null) {
-            if (languageCode != null) {
-                countries = new ArrayList<Locale>();
-                List<Locale> locales = availableLocaleList();
-                for (int i = 0; i < locales.size(); i++) {
-                    Locale locale = locales.get(i);
-                    if (languageCode.equals(locale.getLanguage()) &&
-                            locale.getCountry().length() != 0 &&
-                            locale.getVariant().length() == 0) {
-                        countries.add(locale);
+            return Collections.emptyList();
+        }
+        return countries;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Adds an entry to a cache, discarding arbitrary entries if the cache
+     * has grown too large.</p>
+     *
+     * @param cache  the cache
+     * @param key  the key
+     * @param value  the value
+     */
+    private static <K, V> void putInCache(ConcurrentMap<K, V> cache, K key, V value) {
+        cache.putIfAbsent(key, value);
+        if (cache.size() > MAX_CACHE_SIZE) {
+            for (Iterator<K> it = cache.keySet().iterator(); it.hasNext() && cache.size() > MAX_CACHE_SIZE;) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Holds the available locales, created when first used without
+     * synchronization by the class loading rules.</p>
+     */
+    private static class SyncAvoid {
+        /** Unmodifiable list of available locales. */
+        private static final List<Locale> AVAILABLE_LOCALE_LIST;
+        /** Unmodifiable set of available locales. */
+        private static final Set<Locale> AVAILABLE_LOCALE_SET;
+
+        static {
+            List<Locale> list = new ArrayList<Locale>(Arrays.asList(Locale.getAvailableLocales()));
+            AVAILABLE_LOCALE_LIST = Collections.unmodifiableList(list);
+            AVAILABLE_LOCALE_SET = Collections.unmodifiableSet(new HashSet<Locale>(list));
+        }
+    }
+
+    /**
+     * <p>Holds the available locales indexed by country and by language,
+     * created when first used.</p>
+     */
+    private static class LocaleIndex {
+        /** Unmodifiable lists of language locales by country. */
+        private static final Map<String, List<Locale>> LANGUAGES_BY_COUNTRY;
+        /** Unmodifiable lists of country locales by language. */
+        private static final Map<String, List<Locale>> COUNTRIES_BY_LANGUAGE;
+
+        static {
+            Map<String, List<Locale>> languagesByCountry = new HashMap<String, List<Locale>>();
+            Map<String, List<Locale>> countriesByLanguage = new HashMap<String, List<Locale>>();
+            for (Locale locale : SyncAvoid.AVAILABLE_LOCALE_LIST) {
+                if (locale.getVariant().length() == 0) {
+                    addToIndex(languagesByCountry, locale.getCountry(), locale);
+                    if (locale.getCountry().length() != 0) {
+                        addToIndex(countriesByLanguage, locale.getLanguage(), locale);
                     }
                 }
-                countries = Collections.unmodifiableList(countries);
-            } else {
-                countries = Collections.emptyList();
             }
-            cCountriesByLanguage.put(languageCode, countries);  //syncd
+            LANGUAGES_BY_COUNTRY = freezeIndex(languagesByCountry);
+            COUNTRIES_BY_LANGUAGE = freezeIndex(countriesByLanguage);
+        }
+
+        /**
+         * <p>Adds a locale to the list for a key.</p>
+         *
+         * @param index  the index being built
+         * @param key  the country or language code
+         * @param locale  the locale to add
+         */
+        private static void addToIndex(Map<String, List<Locale>> index, String key, Locale locale) {
+            List<Locale> locales = index.get(key);
+            if (locales == null) {
+                locales = new ArrayList<Locale>(4);
+                index.put(key, locales);
+            }
+            locales.add(locale);
+        }
+
+        /**
+         * <p>Makes the lists of an index unmodifiable.</p>
+         *
+         * @param index  the index being built
+         * @return the unmodifiable index
+         */
+        private static Map<String, List<Locale>> freezeIndex(Map<String, List<Locale>> index) {
+            for (Map.Entry<String, List<Locale>> entry : index.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(index);
         }
-        return countries;
     }
 
 }
@@ -0,0 +1,406 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+/**
+ * <p>A growable <code>long</code> array.</p>
+ *
+ * <p>{@link ArrayUtils#add(long[], long)} and {@link ArrayUtils#addAll(long[], long[])}
+ * allocate a new array on every call, so appending in a loop costs O(n<sup>2</sup>).
+ * This class keeps a backing array with spare capacity which grows geometrically,
+ * so appending is amortized O(1). The result can be obtained as a trimmed
+ * copy with {@link #toArray()}, or the backing array can be accessed directly
+ * with {@link #getBuffer()}.</p>
+ *
+ * <p>The API follows that of {@link org.apache.commons.lang3.text.StrBuilder}.
+ * Note that this class is not synchronized.</p>
+ *
+ * <p>#NotThreadSafe#</p>
+ * @author Apache Software Foundation
+ * @see IntArrayBuilder
+ * @see DoubleArrayBuilder
+ * @since 3.2
+ * @version $Id$
+ */
+public class LongArrayBuilder {
+
+    /**
+     * The default capacity for new builders.
+     */
+    static final int CAPACITY = 16;
+
+    /** Internal data storage. */
+    protected long[] buffer;
+    /** Number of elements in use. */
+    protected int size;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Constructor that creates an empty builder with an initial capacity of 16 elements.
+     */
+    public LongArrayBuilder() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Constructor that creates an empty builder with the specified initial capacity.
+     *
+     * @param initialCapacity  the initial capacity, zero or less will be converted to 16
+     */
+    public LongArrayBuilder(int initialCapacity) {
+        super();
+        if (initialCapacity <= 0) {
+            initialCapacity = CAPACITY;
+        }
+        buffer = new long[initialCapacity];
+    }
+
+    /**
+     * Constructor that creates a builder holding a copy of the array,
+     * allocating 16 extra elements for growth.
+     *
+     * @param array  the array to copy, null treated as empty
+     */
+    public LongArrayBuilder(long[] array) {
+        super();
+        if (array == null) {
+            buffer = new long[CAPACITY];
+        } else {
+            buffer = new long[array.length + CAPACITY];
+            System.arraycopy(array, 0, buffer, 0, array.length);
+            size = array.length;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of elements in the builder.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the builder is empty.
+     *
+     * @return <code>true</code> if the size is <code>0</code>
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the builder.
+     * <p>
+     * This method does not reduce the size of the internal array.
+     * To do that, call <code>clear()</code> followed by {@link #minimizeCapacity()}.
+     *
+     * @return this, to enable chaining
+     */
+    public LongArrayBuilder clear() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * Gets the current size of the internal array.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Checks the capacity and ensures that it is at least the size specified.
+     *
+     * @param capacity  the capacity to ensure
+     * @return this, to enable chaining
+     */
+    public LongArrayBuilder ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            long[] old = buffer;
+            buffer = new long[Math.max(capacity, old.length * 2)];
+            System.arraycopy(old, 0, buffer, 0, size);
+        }
+        return this;
+    }
+
+    /**
+     * Minimizes the capacity to the number of elements in the builder.
+     *
+     * @return this, to enable chaining
+     */
+    public LongArrayBuilder minimizeCapacity() {
+        if (buffer.length > size) {
+            long[] old = buffer;
+            buffer = new long[size];
+            System.arraycopy(old, 0, buffer, 0, size);
+        }
+        return this;
+    }
+
+    /**
+     * Gets the internal array without copying it.
+     * <p>
+     * Only the first {@link #size()} elements are valid. The returned array is
+     * replaced whenever the builder grows or is trimmed, so it should not be
+     * retained across modifications.
+     *
+     * @return the internal array, not null
+     */
+    public long[] getBuffer() {
+        return buffer;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the element at the specified index.
+     *
+     * @param index  the index to retrieve, must be valid
+     * @return the element at the index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return buffer[index];
+    }
+
+    /**
+     * Sets the element at the specified index.
+     *
+     * @param index  the index to set, must be valid
+     * @param value  the new value
+     * @return this, to enable chaining
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public LongArrayBuilder set(int index, long value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        buffer[index] = value;
+        return this;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Appends a value to the end of the builder.
+     *
+     * @param value  the value to append
+     * @return this, to enable chaining
+     */
+    public LongArrayBuilder append(long value) {
+        if (size == buffer.length) {
+            ensureCapacity(size + 1);
+        }
+        buffer[size++] = value;
+        return this;
+    }
+
+    /**
+     * Appends all the values of an array to the end of the builder.
+     *
+     * @param array  the values to append, null is ignored
+     * @return this, to enable chaining
+     */
+    public LongArrayBuilder appendAll(long... array) {
+        if (array != null) {
+            appendAll(array, 0, array.length);
+        }
+        return this;
+    }
+
+    /**
+     * Appends part of an array to the end of the builder.
+     *
+     * @param array  the array to append from, null is ignored
+     * @param startIndex  the start index, inclusive, must be valid
+     * @param length  the number of elements to append, must be valid
+     * @return this, to enable chaining
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public LongArrayBuilder appendAll(long[] array, int startIndex, int length) {
+        if (array == null) {
+            return this;
+        }
+        if (startIndex < 0 || startIndex > array.length) {
+            throw new IndexOutOfBoundsException("Invalid startIndex: " + startIndex);
+        }
+        if (length < 0 || startIndex + length > array.length) {
+            throw new IndexOutOfBoundsException("Invalid length: " + length);
+        }
+        if (length > 0) {
+            ensureCapacity(size + length);
+            System.arraycopy(array, startIndex, buffer, size, length);
+            size += length;
+        }
+        return this;
+    }
+
+    /**
+     * Appends all the values of a <code>Long</code> array to the end of the builder.
+     *
+     * @param array  the values to append, null is ignored
+     * @param valueForNull  the value to append for <code>null</code> elements
+     * @return this, to enable chaining
+     * @see ArrayUtils#toPrimitive(Long[], long)
+     */
+    public LongArrayBuilder appendAll(Long[] array, long valueForNull) {
+        if (array != null && array.length > 0) {
+            ensureCapacity(size + array.length);
+            for (Long value : array) {
+                buffer[size++] = value == null ? valueForNull : value.longValue();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends the contents of another builder to the end of this builder.
+     *
+     * @param other  the builder to append, null is ignored
+     * @return this, to enable chaining
+     */
+    public LongArrayBuilder appendAll(LongArrayBuilder other) {
+        if (other != null) {
+            appendAll(other.buffer, 0, other.size);
+        }
+        return this;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the index of the given value in the builder.
+     *
+     * @param valueToFind  the value to find
+     * @return the index of the value, or {@link ArrayUtils#INDEX_NOT_FOUND} (<code>-1</code>)
+     * @see ArrayUtils#indexOf(long[], long)
+     */
+    public int indexOf(long valueToFind) {
+        for (int i = 0; i < size; i++) {
+            if (buffer[i] == valueToFind) {
+                return i;
+            }
+        }
+        return ArrayUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Checks if the value is in the builder.
+     *
+     * @param valueToFind  the value to find
+     * @return <code>true</code> if the builder contains the value
+     */
+    public boolean contains(long valueToFind) {
+        return indexOf(valueToFind) != ArrayUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Reverses the order of the elements in the builder.
+     *
+     * @return this, to enable chaining
+     * @see ArrayUtils#reverse(long[])
+     */
+    public LongArrayBuilder reverse() {
+        int i = 0;
+        int j = size - 1;
+        long tmp;
+        while (j > i) {
+            tmp = buffer[j];
+            buffer[j] = buffer[i];
+            buffer[i] = tmp;
+            j--;
+            i++;
+        }
+        return this;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Copies the builder's elements into a new array of exactly the right length.
+     *
+     * @return a new array, empty if the builder is empty
+     */
+    public long[] toArray() {
+        if (size == 0) {
+            return ArrayUtils.EMPTY_LONG_ARRAY;
+        }
+        long[] array = new long[size];
+        System.arraycopy(buffer, 0, array, 0, size);
+        return array;
+    }
+
+    /**
+     * Copies a range of the builder's elements into a new array.
+     * <p>
+     * Indices are treated as in {@link ArrayUtils#subarray(long[], int, int)}:
+     * a negative start is promoted to zero and an end past the size is demoted
+     * to the size.
+     *
+     * @param startIndexInclusive  the starting index
+     * @param endIndexExclusive  elements up to endIndex-1 are copied
+     * @return a new array containing the elements between the start and end indices
+     */
+    public long[] subarray(int startIndexInclusive, int endIndexExclusive) {
+        if (startIndexInclusive < 0) {
+            startIndexInclusive = 0;
+        }
+        if (endIndexExclusive > size) {
+            endIndexExclusive = size;
+        }
+        int newSize = endIndexExclusive - startIndexInclusive;
+        if (newSize <= 0) {
+            return ArrayUtils.EMPTY_LONG_ARRAY;
+        }
+        long[] subarray = new long[newSize];
+        System.arraycopy(buffer, startIndexInclusive, subarray, 0, newSize);
+        return subarray;
+    }
+
+    /**
+     * Copies the builder's elements into a new <code>Long</code> array.
+     *
+     * @return a new <code>Long</code> array, empty if the builder is empty
+     * @see ArrayUtils#toObject(long[])
+     */
+    public Long[] toObject() {
+        if (size == 0) {
+            return ArrayUtils.EMPTY_LONG_OBJECT_ARRAY;
+        }
+        Long[] result = new Long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = Long.valueOf(buffer[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Outputs the elements in the same format as {@link ArrayUtils#toString(Object)},
+     * for example <code>{1,2,3}</code>.
+     *
+     * @return a String representation of the elements
+     */
+    @Override
+    public String toString() {
+        return ArrayUtils.toString(toArray());
+    }
+
+}
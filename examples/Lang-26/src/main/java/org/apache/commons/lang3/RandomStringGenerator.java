@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Random;
+
+/**
+ * <p>Generates random <code>String</code>s from a fixed alphabet.</p>
+ *
+ * <p>This is a faster alternative to {@link RandomStringUtils} for generating
+ * large numbers of strings, such as tokens. The alphabet is computed once,
+ * when the generator is constructed, so no characters are drawn and then
+ * rejected by the letter and digit filters. Each random <code>long</code>
+ * supplies several characters, and the bulk methods fill a <code>char[]</code>
+ * or create many strings in one call.</p>
+ *
+ * <p>Each character is chosen uniformly from the alphabet. A character that
+ * appears more than once in the alphabet is chosen proportionally more often.
+ * Surrogate characters are never generated.</p>
+ *
+ * <p>The methods without a <code>Random</code> argument use a source private
+ * to the calling thread, so threads do not contend on a shared generator.
+ * Passing a <code>Random</code> allows seeded, repeatable output.
+ * The per-thread sources are not cryptographically secure; pass a
+ * <code>java.security.SecureRandom</code> where that is required.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public class RandomStringGenerator {
+
+    /**
+     * A generator of characters from the ASCII printable range, 32 to 126.
+     */
+    public static final RandomStringGenerator ASCII = new RandomStringGenerator(32, 127, false, false);
+
+    /**
+     * A generator of ASCII alphabetic characters "a-zA-Z".
+     */
+    public static final RandomStringGenerator ALPHABETIC = new RandomStringGenerator(0, 0, true, false);
+
+    /**
+     * A generator of ASCII alphanumeric characters "a-zA-Z0-9".
+     */
+    public static final RandomStringGenerator ALPHANUMERIC = new RandomStringGenerator(0, 0, true, true);
+
+    /**
+     * A generator of ASCII digits "0-9".
+     */
+    public static final RandomStringGenerator NUMERIC = new RandomStringGenerator(0, 0, false, true);
+
+    /**
+     * The per-thread random sources.
+     */
+    private static final ThreadLocal<Random> SOURCES = new ThreadLocal<Random>() {
+        @Override
+        protected Random initialValue() {
+            return new Random();
+        }
+    };
+
+    /** The characters to choose from. */
+    private final char[] alphabet;
+    /** The number of random bits needed to index the alphabet. */
+    private final int bits;
+    /** The mask selecting that number of bits. */
+    private final int mask;
+    /** The number of indices taken from each random long. */
+    private final int perLong;
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Constructs a generator choosing from the specified characters.</p>
+     *
+     * @param chars  the characters to choose from, not empty
+     * @throws IllegalArgumentException if the array is null or empty, or
+     *  contains a surrogate character
+     */
+    public RandomStringGenerator(char... chars) {
+        super();
+        Validate.isTrue(chars != null && chars.length > 0, "The alphabet must not be empty");
+        for (char ch : chars) {
+            Validate.isTrue(!isSurrogate(ch), "The alphabet must not contain surrogates: %d", Integer.valueOf(ch));
+        }
+        alphabet = chars.clone();
+        bits = 32 - Integer.numberOfLeadingZeros(alphabet.length - 1);
+        mask = (1 << bits) - 1;
+        perLong = bits == 0 ? 0 : 64 / bits;
+    }
+
+    /**
+     * <p>Constructs a generator choosing from the characters of the specified String.</p>
+     *
+     * @param chars  the characters to choose from, not empty
+     * @throws IllegalArgumentException if the String is null or empty, or
+     *  contains a surrogate character
+     */
+    public RandomStringGenerator(String chars) {
+        this(chars == null ? null : chars.toCharArray());
+    }
+
+    /**
+     * <p>Constructs a generator choosing from a range of characters, optionally
+     * restricted to letters and digits.</p>
+     *
+     * <p>The arguments are interpreted as by
+     * {@link RandomStringUtils#random(int, int, int, boolean, boolean)}: if
+     * start and end are both zero, the range is the printable ASCII characters
+     * or, if neither letters nor numbers are requested, all characters.</p>
+     *
+     * @param start  the position in the set of characters to start at, inclusive
+     * @param end  the position in the set of characters to end before, values over 65536 are reduced to it
+     * @param letters  only allow letters
+     * @param numbers  only allow numbers
+     * @throws IllegalArgumentException if no characters satisfy the arguments
+     */
+    public RandomStringGenerator(int start, int end, boolean letters, boolean numbers) {
+        this(alphabet(start, end, letters, numbers));
+    }
+
+    /**
+     * <p>Computes the alphabet for a range of characters.</p>
+     *
+     * @param start  the position in the set of characters to start at, inclusive
+     * @param end  the position in the set of characters to end before
+     * @param letters  only allow letters
+     * @param numbers  only allow numbers
+     * @return the accepted characters, in order
+     */
+    private static char[] alphabet(int start, int end, boolean letters, boolean numbers) {
+        if (start == 0 && end == 0) {
+            end = 'z' + 1;
+            start = ' ';
+            if (!letters && !numbers) {
+                start = 0;
+                end = Integer.MAX_VALUE;
+            }
+        }
+        end = Math.min(end, Character.MAX_VALUE + 1);
+        Validate.isTrue(start >= 0 && start < end, "Invalid character range: %d to %d", start, end);
+        StringBuilder accepted = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char ch = (char) i;
+            if (isSurrogate(ch)) {
+                continue;
+            }
+            if ((letters && Character.isLetter(ch))
+                || (numbers && Character.isDigit(ch))
+                || (!letters && !numbers)) {
+                accepted.append(ch);
+            }
+        }
+        return accepted.toString().toCharArray();
+    }
+
+    /**
+     * <p>Checks whether a character is a high or low surrogate.</p>
+     *
+     * @param ch  the character to check
+     * @return <code>true</code> if the character is a surrogate
+     */
+    private static boolean isSurrogate(char ch) {
+        return ch >= Character.MIN_HIGH_SURROGATE && ch <= Character.MAX_LOW_SURROGATE;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets a copy of the characters chosen from.</p>
+     *
+     * @return the alphabet, not null
+     */
+    public char[] getAlphabet() {
+        return alphabet.clone();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Creates a random string using the calling thread's source.</p>
+     *
+     * @param count  the length of random string to create
+     * @return the random string
+     * @throws IllegalArgumentException if <code>count</code> &lt; 0
+     */
+    public String generate(int count) {
+        return generate(count, SOURCES.get());
+    }
+
+    /**
+     * <p>Creates a random string using the specified source.</p>
+     *
+     * @param count  the length of random string to create
+     * @param random  the source of randomness, not null
+     * @return the random string
+     * @throws IllegalArgumentException if <code>count</code> &lt; 0
+     */
+    public String generate(int count, Random random) {
+        Validate.isTrue(count >= 0, "Requested random string length %d is less than 0.", count);
+        if (count == 0) {
+            return "";
+        }
+        return new String(fill(new char[count], 0, count, random));
+    }
+
+    /**
+     * <p>Creates many random strings of the same length using the calling thread's source.</p>
+     *
+     * @param number  the number of strings to create
+     * @param count  the length of each string
+     * @return the random strings
+     * @throws IllegalArgumentException if <code>number</code> or <code>count</code> &lt; 0
+     */
+    public String[] generate(int number, int count) {
+        return generate(number, count, SOURCES.get());
+    }
+
+    /**
+     * <p>Creates many random strings of the same length using the specified source.</p>
+     *
+     * <p>The characters of all the strings are generated in one pass.</p>
+     *
+     * @param number  the number of strings to create
+     * @param count  the length of each string
+     * @param random  the source of randomness, not null
+     * @return the random strings
+     * @throws IllegalArgumentException if <code>number</code> or <code>count</code> &lt; 0
+     */
+    public String[] generate(int number, int count, Random random) {
+        Validate.isTrue(number >= 0, "Requested number of strings %d is less than 0.", number);
+        Validate.isTrue(count >= 0, "Requested random string length %d is less than 0.", count);
+        Validate.isTrue((long) number * count <= Integer.MAX_VALUE, "Requested %d strings of length %d is too many",
+                number, count);
+        String[] result = new String[number];
+        char[] buffer = fill(new char[number * count], 0, number * count, random);
+        for (int i = 0; i < number; i++) {
+            result[i] = new String(buffer, i * count, count);
+        }
+        return result;
+    }
+
+    /**
+     * <p>Fills an array with random characters using the calling thread's source.</p>
+     *
+     * @param buffer  the array to fill, not null
+     * @return the array
+     */
+    public char[] fill(char[] buffer) {
+        return fill(buffer, 0, buffer.length, SOURCES.get());
+    }
+
+    /**
+     * <p>Fills part of an array with random characters using the specified source.</p>
+     *
+     * @param buffer  the array to fill, not null
+     * @param offset  the index of the first character to fill
+     * @param length  the number of characters to fill
+     * @param random  the source of randomness, not null
+     * @return the array
+     * @throws IndexOutOfBoundsException if the offset or length are invalid
+     */
+    public char[] fill(char[] buffer, int offset, int length, Random random) {
+        if (offset < 0 || length < 0 || offset > buffer.length - length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " or length " + length
+                    + " for array of length " + buffer.length);
+        }
+        int end = offset + length;
+        if (perLong == 0) {
+            // a single character alphabet
+            for (int i = offset; i < end; i++) {
+                buffer[i] = alphabet[0];
+            }
+            return buffer;
+        }
+        int size = alphabet.length;
+        int i = offset;
+        while (i < end) {
+            long value = random.nextLong();
+            for (int k = perLong; k > 0 && i < end; k--) {
+                // indices past the alphabet are rejected to keep the choice uniform
+                int index = (int) value & mask;
+                value >>>= bits;
+                if (index < size) {
+                    buffer[i++] = alphabet[index];
+                }
+            }
+        }
+        return buffer;
+    }
+
+}
@@ -28,6 +28,10 @@ import java.util.Random;
  * 56320 (dc00) to 57343 (dfff) then it is placed after a randomly 
  * chosen high surrogate. </p>
  *
+ * <p>To generate many strings from the same set of characters, such as
+ * tokens, {@link RandomStringGenerator} is faster and avoids contention
+ * on the shared <code>Random</code>.</p>
+ *
  * <p>#ThreadSafe#</p>
  * @author Apache Software Foundation
  * @author <a href="mailto:steven@caswell.name">Steven Caswell</a>
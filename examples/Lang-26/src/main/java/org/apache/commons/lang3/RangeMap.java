@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p><code>RangeMap</code> is an immutable index of values keyed by
+ * {@link Range}s, which may overlap.</p>
+ *
+ * <p>The ranges are held as an interval tree: sorted by minimum, with each
+ * subtree recording its greatest maximum. Finding the values of the ranges
+ * containing an element, or overlapping a range, takes
+ * <code>O(log n + k)</code> time, where <code>k</code> is the number of
+ * matches.</p>
+ *
+ * <pre>
+ * Map&lt;Range&lt;Integer&gt;, String&gt; bands = new LinkedHashMap&lt;Range&lt;Integer&gt;, String&gt;();
+ * bands.put(Range.between(0, 17), "child");
+ * bands.put(Range.between(18, 64), "adult");
+ * bands.put(Range.between(65, 150), "senior");
+ * RangeMap&lt;Integer, String&gt; index = RangeMap.of(bands);
+ * index.get(42);   // "adult"
+ * </pre>
+ *
+ * <p>Where several ranges match, values are returned in the iteration order
+ * of the map the index was created from. All the ranges must use equal
+ * comparators.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @param <T> the type of the range elements
+ * @param <V> the type of the values
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ * @see RangeSet
+ */
+public final class RangeMap<T, V> {
+
+    /**
+     * The ordering scheme used by the ranges, null if the map is empty.
+     */
+    private final Comparator<T> comparator;
+
+    /**
+     * The ranges, sorted by minimum.
+     */
+    private final Range<T>[] ranges;
+
+    /**
+     * The value of each range.
+     */
+    private final Object[] values;
+
+    /**
+     * The position of each range in the original iteration order.
+     */
+    private final int[] order;
+
+    /**
+     * The greatest maximum of the ranges in the subtree rooted at each index.
+     */
+    private final Object[] subtreeMaximums;
+
+    /**
+     * <p>Creates an index of the entries of a map.</p>
+     *
+     * <p>The map is copied, so later changes to it do not affect the index.</p>
+     *
+     * @param <T> the type of the range elements
+     * @param <V> the type of the values
+     * @param map  the values keyed by range, not null and containing no null ranges
+     * @return the new index, not null
+     * @throws IllegalArgumentException if the map is null, contains a null range,
+     *  or the ranges have different comparators
+     */
+    public static <T, V> RangeMap<T, V> of(Map<Range<T>, ? extends V> map) {
+        Validate.isTrue(map != null, "The map must not be null");
+        return new RangeMap<T, V>(map);
+    }
+
+    /**
+     * <p>Constructs an index, building the interval tree.</p>
+     *
+     * @param map  the values keyed by range, not null
+     */
+    private RangeMap(Map<Range<T>, ? extends V> map) {
+        final int size = map.size();
+        final Range<T>[] keys = RangeSet.<T>newArray(size);
+        final Object[] entryValues = new Object[size];
+        int n = 0;
+        for (Map.Entry<Range<T>, ? extends V> entry : map.entrySet()) {
+            keys[n] = entry.getKey();
+            entryValues[n] = entry.getValue();
+            n++;
+        }
+        this.comparator = RangeSet.checkComparators(keys);
+
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = Integer.valueOf(i);
+        }
+        final Comparator<T> c = comparator;
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            public int compare(Integer index1, Integer index2) {
+                return c.compare(keys[index1.intValue()].getMinimum(), keys[index2.intValue()].getMinimum());
+            }
+        });
+
+        this.ranges = RangeSet.<T>newArray(size);
+        this.values = new Object[size];
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) {
+            int index = sorted[i].intValue();
+            ranges[i] = keys[index];
+            values[i] = entryValues[index];
+            order[i] = index;
+        }
+        this.subtreeMaximums = new Object[size];
+        buildSubtree(0, size);
+    }
+
+    /**
+     * <p>Records the greatest maximum of each subtree.</p>
+     *
+     * @param low  the first index of the subtree, inclusive
+     * @param high  the last index of the subtree, exclusive
+     * @return the greatest maximum in the subtree, null if empty
+     */
+    private T buildSubtree(int low, int high) {
+        if (low >= high) {
+            return null;
+        }
+        int mid = (low + high) >>> 1;
+        T max = ranges[mid].getMaximum();
+        T left = buildSubtree(low, mid);
+        if (left != null && comparator.compare(left, max) > 0) {
+            max = left;
+        }
+        T right = buildSubtree(mid + 1, high);
+        if (right != null && comparator.compare(right, max) > 0) {
+            max = right;
+        }
+        subtreeMaximums[mid] = max;
+        return max;
+    }
+
+    // Accessors
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the number of ranges in the index.</p>
+     *
+     * @return the number of ranges
+     */
+    public int size() {
+        return ranges.length;
+    }
+
+    // Queries
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Checks whether any range contains an element.</p>
+     *
+     * @param element  the element to check, null returns false
+     * @return true if a range contains the element
+     */
+    public boolean contains(T element) {
+        if (element == null) {
+            return false;
+        }
+        return search(element, element, 0, ranges.length, null);
+    }
+
+    /**
+     * <p>Gets the value of the first range that contains an element.</p>
+     *
+     * <p>Where several ranges contain the element, the value returned is that of
+     * the range earliest in the original map's iteration order.</p>
+     *
+     * @param element  the element to find, null returns null
+     * @return the value, or null if no range contains the element
+     */
+    @SuppressWarnings("unchecked")
+    public V get(T element) {
+        int[] matches = find(element, element);
+        return matches.length == 0 ? null : (V) values[matches[0]];
+    }
+
+    /**
+     * <p>Gets the values of all the ranges that contain an element.</p>
+     *
+     * @param element  the element to find, null returns an empty list
+     * @return the values in the original map's iteration order, not null
+     */
+    public List<V> getAll(T element) {
+        return toValues(find(element, element));
+    }
+
+    /**
+     * <p>Gets the values of all the ranges that overlap a range.</p>
+     *
+     * @param range  the range to find, null returns an empty list
+     * @return the values in the original map's iteration order, not null
+     */
+    public List<V> getOverlapping(Range<T> range) {
+        if (range == null) {
+            return new ArrayList<V>(0);
+        }
+        return toValues(find(range.getMinimum(), range.getMaximum()));
+    }
+
+    /**
+     * <p>Finds the ranges that overlap the range from low to high.</p>
+     *
+     * @param low  the lowest element, null finds nothing
+     * @param high  the highest element
+     * @return the indices of the matching ranges, sorted by original iteration order
+     */
+    private int[] find(T low, T high) {
+        if (low == null) {
+            return ArrayUtils.EMPTY_INT_ARRAY;
+        }
+        IntArrayBuilder matches = new IntArrayBuilder(4);
+        search(low, high, 0, ranges.length, matches);
+        int[] result = matches.toArray();
+        // insertion sort into the original order, as few ranges usually match
+        for (int i = 1; i < result.length; i++) {
+            int index = result[i];
+            int j = i - 1;
+            while (j >= 0 && order[result[j]] > order[index]) {
+                result[j + 1] = result[j];
+                j--;
+            }
+            result[j + 1] = index;
+        }
+        return result;
+    }
+
+    /**
+     * <p>Searches a subtree for ranges overlapping the range from low to high.</p>
+     *
+     * @param low  the lowest element
+     * @param high  the highest element
+     * @param start  the first index of the subtree, inclusive
+     * @param end  the last index of the subtree, exclusive
+     * @param matches  the builder to add matching indices to, null to stop at the first match
+     * @return true if a match was found and <code>matches</code> is null
+     */
+    @SuppressWarnings("unchecked")
+    private boolean search(T low, T high, int start, int end, IntArrayBuilder matches) {
+        while (start < end) {
+            int mid = (start + end) >>> 1;
+            if (comparator.compare((T) subtreeMaximums[mid], low) < 0) {
+                // nothing in this subtree reaches the low element
+                return false;
+            }
+            if (search(low, high, start, mid, matches)) {
+                return true;
+            }
+            if (comparator.compare(ranges[mid].getMinimum(), high) > 0) {
+                // this range, and all those to the right, start after the high element
+                return false;
+            }
+            if (comparator.compare(ranges[mid].getMaximum(), low) >= 0) {
+                if (matches == null) {
+                    return true;
+                }
+                matches.append(mid);
+            }
+            start = mid + 1;
+        }
+        return false;
+    }
+
+    /**
+     * <p>Gets the values at the specified indices.</p>
+     *
+     * @param indices  the indices of the ranges
+     * @return a new list of the values
+     */
+    @SuppressWarnings("unchecked")
+    private List<V> toValues(int[] indices) {
+        List<V> list = new ArrayList<V>(indices.length);
+        for (int index : indices) {
+            list.add((V) values[index]);
+        }
+        return list;
+    }
+
+    // Basics
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the index as a <code>String</code>.</p>
+     *
+     * <p>The format of the String is 'RangeMap{<i>range</i>=<i>value</i>, ...}',
+     * in order of range minimum.</p>
+     *
+     * @return the <code>String</code> representation of this index
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(16 + ranges.length * 24);
+        buf.append("RangeMap{");
+        for (int i = 0; i < ranges.length; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(ranges[i]).append('=').append(values[i]);
+        }
+        buf.append('}');
+        return buf.toString();
+    }
+
+}
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p><code>RangeSet</code> represents an immutable set of values made up of
+ * {@link Range}s.</p>
+ *
+ * <p>Overlapping ranges, and ranges that share an end point, are merged
+ * when the set is created, leaving a sorted list of disjoint ranges.
+ * Each query is then a binary search, taking <code>O(log n)</code> time
+ * however many ranges were added.</p>
+ *
+ * <p>All the ranges must use equal comparators. See {@link RangeMap} for
+ * associating values with ranges that may overlap, and {@link IntRangeSet},
+ * {@link LongRangeSet} and {@link DoubleRangeSet} for sets of primitive
+ * values.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @param <T> the type of the elements
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public final class RangeSet<T> {
+
+    /**
+     * The ordering scheme used by the ranges, null if the set is empty.
+     */
+    private final Comparator<T> comparator;
+
+    /**
+     * The disjoint ranges, in ascending order.
+     */
+    private final Range<T>[] ranges;
+
+    /**
+     * <p>Creates a set of the values in any of the specified ranges.</p>
+     *
+     * <p>As the ranges are generic, callers see an unchecked warning for the
+     * creation of the varargs array. Use {@link #of(Collection)} to avoid it.</p>
+     *
+     * @param <T> the type of the elements
+     * @param ranges  the ranges, not null and containing no null ranges
+     * @return the new set, not null
+     * @throws IllegalArgumentException if any range is null, or the ranges
+     *  have different comparators
+     */
+    public static <T> RangeSet<T> of(Range<T>... ranges) {
+        Validate.isTrue(ranges != null, "The ranges must not be null");
+        return new RangeSet<T>(Arrays.asList(ranges));
+    }
+
+    /**
+     * <p>Creates a set of the values in any of the specified ranges.</p>
+     *
+     * @param <T> the type of the elements
+     * @param ranges  the ranges, not null and containing no null ranges
+     * @return the new set, not null
+     * @throws IllegalArgumentException if any range is null, or the ranges
+     *  have different comparators
+     */
+    public static <T> RangeSet<T> of(Collection<Range<T>> ranges) {
+        Validate.isTrue(ranges != null, "The ranges must not be null");
+        return new RangeSet<T>(ranges);
+    }
+
+    /**
+     * <p>Constructs a set, merging the ranges.</p>
+     *
+     * @param input  the ranges, not null
+     */
+    private RangeSet(Collection<Range<T>> input) {
+        Range<T>[] sorted = input.toArray(RangeSet.<T>newArray(input.size()));
+        this.comparator = checkComparators(sorted);
+        List<Range<T>> merged = new ArrayList<Range<T>>();
+        if (sorted.length > 0) {
+            final Comparator<T> c = comparator;
+            Arrays.sort(sorted, new Comparator<Range<T>>() {
+                public int compare(Range<T> range1, Range<T> range2) {
+                    return c.compare(range1.getMinimum(), range2.getMinimum());
+                }
+            });
+            Range<T> current = sorted[0];
+            for (int i = 1; i < sorted.length; i++) {
+                Range<T> next = sorted[i];
+                if (c.compare(next.getMinimum(), current.getMaximum()) <= 0) {
+                    if (c.compare(next.getMaximum(), current.getMaximum()) > 0) {
+                        current = Range.between(current.getMinimum(), next.getMaximum(), c);
+                    }
+                } else {
+                    merged.add(current);
+                    current = next;
+                }
+            }
+            merged.add(current);
+        }
+        this.ranges = merged.toArray(RangeSet.<T>newArray(merged.size()));
+    }
+
+    /**
+     * <p>Creates an array of ranges.</p>
+     *
+     * @param <T> the type of the elements
+     * @param size  the length of the array
+     * @return the new array of nulls, not null
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" }) // the array only ever holds ranges of T
+    static <T> Range<T>[] newArray(int size) {
+        return new Range[size];
+    }
+
+    /**
+     * <p>Checks that ranges are not null and have equal comparators.</p>
+     *
+     * @param <T> the type of the elements
+     * @param ranges  the ranges to check
+     * @return the common comparator, null if there are no ranges
+     */
+    static <T> Comparator<T> checkComparators(Range<T>[] ranges) {
+        Comparator<T> comparator = null;
+        for (Range<T> range : ranges) {
+            Validate.isTrue(range != null, "The ranges must not contain null");
+            if (comparator == null) {
+                comparator = range.getComparator();
+            } else {
+                Validate.isTrue(comparator.equals(range.getComparator()),
+                        "The ranges must have equal comparators");
+            }
+        }
+        return comparator;
+    }
+
+    // Accessors
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the number of disjoint ranges after merging.</p>
+     *
+     * @return the number of ranges
+     */
+    public int size() {
+        return ranges.length;
+    }
+
+    /**
+     * <p>Gets the disjoint ranges, in ascending order.</p>
+     *
+     * @return an unmodifiable list of the ranges, not null
+     */
+    public List<Range<T>> asRanges() {
+        return Collections.unmodifiableList(Arrays.asList(ranges));
+    }
+
+    // Queries
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Gets the index of the range containing an element.</p>
+     *
+     * @param element  the element to find, null returns -1
+     * @return the index into {@link #asRanges()}, or -1 if no range contains the element
+     */
+    public int indexOf(T element) {
+        if (element == null) {
+            return -1;
+        }
+        int index = lastStartingAtOrBefore(element);
+        if (index >= 0 && comparator.compare(element, ranges[index].getMaximum()) <= 0) {
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * <p>Checks whether any of the ranges contains an element.</p>
+     *
+     * @param element  the element to check, null returns false
+     * @return true if the element is in the set
+     */
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * <p>Gets the merged range containing an element.</p>
+     *
+     * @param element  the element to find, null returns null
+     * @return the range, or null if no range contains the element
+     */
+    public Range<T> getRangeContaining(T element) {
+        int index = indexOf(element);
+        return index < 0 ? null : ranges[index];
+    }
+
+    /**
+     * <p>Checks whether a range lies entirely within one of the ranges of this set.</p>
+     *
+     * @param range  the range to check, null returns false
+     * @return true if every value of the range is in the set
+     */
+    public boolean containsRange(Range<T> range) {
+        if (range == null) {
+            return false;
+        }
+        int index = indexOf(range.getMinimum());
+        return index >= 0 && comparator.compare(range.getMaximum(), ranges[index].getMaximum()) <= 0;
+    }
+
+    /**
+     * <p>Checks whether a range overlaps any of the ranges of this set.</p>
+     *
+     * @param range  the range to check, null returns false
+     * @return true if any value of the range is in the set
+     */
+    public boolean overlapsRange(Range<T> range) {
+        if (range == null) {
+            return false;
+        }
+        int index = lastStartingAtOrBefore(range.getMaximum());
+        return index >= 0 && comparator.compare(range.getMinimum(), ranges[index].getMaximum()) <= 0;
+    }
+
+    /**
+     * <p>Finds the last range whose minimum is not after an element.</p>
+     *
+     * @param element  the element, not null
+     * @return the index of the range, -1 if all the ranges start after the element
+     */
+    private int lastStartingAtOrBefore(T element) {
+        int low = 0;
+        int high = ranges.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(ranges[mid].getMinimum(), element) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    // Basics
+    //--------------------------------------------------------------------
+
+    /**
+     * <p>Compares this set to another object to test if they are equal.</p>
+     *
+     * <p>To be equal, the merged ranges must be equal.</p>
+     *
+     * @param obj the reference object with which to compare
+     * @return <code>true</code> if this object is equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof RangeSet<?> == false) {
+            return false;
+        }
+        return Arrays.equals(ranges, ((RangeSet<?>) obj).ranges);
+    }
+
+    /**
+     * <p>Gets a hashCode for the set.</p>
+     *
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ranges);
+    }
+
+    /**
+     * <p>Gets the set as a <code>String</code>.</p>
+     *
+     * <p>The format of the String is 'RangeSet[<i>range</i>, <i>range</i>]'.</p>
+     *
+     * @return the <code>String</code> representation of this set
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(16 + ranges.length * 16);
+        buf.append("RangeSet[");
+        for (int i = 0; i < ranges.length; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(ranges[i]);
+        }
+        buf.append(']');
+        return buf.toString();
+    }
+
+}
@@ -49,7 +49,17 @@ import java.io.Serializable;
  * @version $Id$
  */
 public class SerializationUtils {
-    
+
+    /**
+     * The per-thread buffer used by {@link #clone(Serializable)}.
+     */
+    private static final ThreadLocal<CloneBuffer> CLONE_BUFFER = new ThreadLocal<CloneBuffer>() {
+        @Override
+        protected CloneBuffer initialValue() {
+            return new CloneBuffer();
+        }
+    };
+
     /**
      * <p>SerializationUtils instances should NOT be constructed in standard programming.
      * Instead, the class should be used as <code>SerializationUtils.clone(object)</code>.</p>
@@ -73,21 +83,38 @@ public class SerializationUtils {
      * be a simple alternative implementation. Of course all the objects
      * must be <code>Serializable</code>.</p>
      * 
+     * <p>The serialized form is held in a buffer that is reused by later
+     * calls on the same thread, and is read back in place without copying.</p>
+     * 
      * @param object  the <code>Serializable</code> object to clone
      * @return the cloned object
      * @throws SerializationException (runtime) if the serialization fails
      */
     public static <T extends Serializable> T clone(T object) {
-        /*
-         * when we serialize and deserialize an object,
-         * it is reasonable to assume the deserialized object
-         * is of the same type as the original serialized object
-         */
-        @SuppressWarnings("unchecked")
-        final T result = (T) deserialize(serialize(object));
-        return result;
+        // take ownership of the thread's buffer, a nested clone
+        // from a writeObject or readObject method gets a new one
+        CloneBuffer buffer = CLONE_BUFFER.get();
+        if (buffer == null) {
+            buffer = new CloneBuffer();
+        } else {
+            CLONE_BUFFER.set(null);
+        }
+        try {
+            serialize(object, buffer);
+            /*
+             * when we serialize and deserialize an object,
+             * it is reasonable to assume the deserialized object
+             * is of the same type as the original serialized object
+             */
+            @SuppressWarnings("unchecked")
+            final T result = (T) deserialize(buffer.toInputStream());
+            return result;
+        } finally {
+            buffer.recycle();
+            CLONE_BUFFER.set(buffer);
+        }
     }
-    
+
     // Serialize
     //-----------------------------------------------------------------------
     /**
@@ -199,5 +226,38 @@ public class SerializationUtils {
         ByteArrayInputStream bais = new ByteArrayInputStream(objectData);
         return deserialize(bais);
     }
-    
+
+    /**
+     * <p>A growable byte buffer that can be read back without copying.</p>
+     */
+    private static final class CloneBuffer extends ByteArrayOutputStream {
+        /** The initial size of the buffer. */
+        private static final int INITIAL_SIZE = 512;
+        /** The largest buffer retained between calls. */
+        private static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+        CloneBuffer() {
+            super(INITIAL_SIZE);
+        }
+
+        /**
+         * <p>Gets a stream over the bytes written so far, sharing the buffer.</p>
+         *
+         * @return the input stream
+         */
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+
+        /**
+         * <p>Empties the buffer for reuse, discarding it if it has grown too large.</p>
+         */
+        void recycle() {
+            if (buf.length > MAX_RETAINED_SIZE) {
+                buf = new byte[INITIAL_SIZE];
+            }
+            reset();
+        }
+    }
+
 }
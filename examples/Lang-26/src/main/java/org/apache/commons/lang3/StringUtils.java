@@ -638,7 +638,7 @@ public class StringUtils {
         if(input == null) {
             return null;
         }
-        if(SystemUtils.isJavaVersionAtLeast(1.6f)) {
+        if(SystemInfo.isJavaVersionAtLeast(1.6f)) {
 
             // String decomposed = Normalizer.normalize(input, Normalizer.Form.NFD);
 
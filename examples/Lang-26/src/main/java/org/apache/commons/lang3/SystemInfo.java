@@ -0,0 +1,568 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+/**
+ * <p>
+ * Lazily evaluated helpers for <code>java.lang.System</code>.
+ * </p>
+ *
+ * <p>
+ * {@link SystemUtils} reads and parses about eighty system properties into
+ * constants as soon as the class is first used. This class gives access to the
+ * most used of those values with the same results, but groups them into holder
+ * classes that are only initialized when a value of the group is first
+ * requested. Checking the operating system, for example, does not read or
+ * parse the Java version. This keeps the start up time of short lived
+ * applications, such as command line tools, low.
+ * </p>
+ *
+ * <p>
+ * The groups are:
+ * </p>
+ * <ul>
+ * <li>separators - <code>line.separator</code>, <code>file.separator</code> and <code>path.separator</code></li>
+ * <li>Java version - <code>java.version</code>, parsed as for <code>SystemUtils.JAVA_VERSION_FLOAT</code>
+ * and <code>SystemUtils.JAVA_VERSION_INT</code></li>
+ * <li>operating system - <code>os.name</code>, <code>os.version</code> and <code>os.arch</code>,
+ * and the flags derived from them</li>
+ * </ul>
+ *
+ * <p>
+ * If a system property cannot be read due to security restrictions, the value
+ * is <code>null</code> and a message is written to <code>System.err</code>.
+ * </p>
+ *
+ * <p>
+ * #ThreadSafe#
+ * </p>
+ *
+ * @author Apache Software Foundation
+ * @see SystemUtils
+ * @since 3.2
+ * @version $Id$
+ */
+public class SystemInfo {
+
+    /**
+     * The number of version parts read when parsing the Java version.
+     */
+    static final int JAVA_VERSION_TRIM_SIZE = 3;
+
+    /**
+     * The prefix String for all Windows OS.
+     */
+    static final String OS_NAME_WINDOWS_PREFIX = "Windows";
+
+    /**
+     * <p>
+     * <code>SystemInfo</code> instances should NOT be constructed in standard programming. Instead, the class should be
+     * used as <code>SystemInfo.getLineSeparator();</code>.
+     * </p>
+     *
+     * <p>
+     * This constructor is public to permit tools that require a JavaBean instance to operate.
+     * </p>
+     */
+    public SystemInfo() {
+        super();
+    }
+
+    // Separators
+    // -----------------------------------------------------------------------
+    /**
+     * <p>
+     * Gets the <code>line.separator</code> System Property, as for {@link SystemUtils#LINE_SEPARATOR}.
+     * </p>
+     *
+     * @return the line separator, <code>null</code> if the property cannot be read
+     */
+    public static String getLineSeparator() {
+        return Separators.LINE_SEPARATOR;
+    }
+
+    /**
+     * <p>
+     * Gets the <code>file.separator</code> System Property, as for {@link SystemUtils#FILE_SEPARATOR}.
+     * </p>
+     *
+     * @return the file separator, <code>null</code> if the property cannot be read
+     */
+    public static String getFileSeparator() {
+        return Separators.FILE_SEPARATOR;
+    }
+
+    /**
+     * <p>
+     * Gets the <code>path.separator</code> System Property, as for {@link SystemUtils#PATH_SEPARATOR}.
+     * </p>
+     *
+     * @return the path separator, <code>null</code> if the property cannot be read
+     */
+    public static String getPathSeparator() {
+        return Separators.PATH_SEPARATOR;
+    }
+
+    // Java version
+    // -----------------------------------------------------------------------
+    /**
+     * <p>
+     * Gets the <code>java.version</code> System Property, as for {@link SystemUtils#JAVA_VERSION}.
+     * </p>
+     *
+     * @return the Java version, <code>null</code> if the property cannot be read
+     */
+    public static String getJavaVersion() {
+        return JavaVersion.JAVA_VERSION;
+    }
+
+    /**
+     * <p>
+     * Gets the Java version trimmed to start with a number, as for {@link SystemUtils#JAVA_VERSION_TRIMMED}.
+     * </p>
+     *
+     * @return the trimmed Java version, <code>null</code> if the property cannot be read
+     */
+    public static String getJavaVersionTrimmed() {
+        return JavaVersion.JAVA_VERSION_TRIMMED;
+    }
+
+    /**
+     * <p>
+     * Gets the Java version as a <code>float</code>, as for {@link SystemUtils#JAVA_VERSION_FLOAT}.
+     * </p>
+     *
+     * @return the version, for example 1.31f for Java 1.3.1, zero if unknown
+     */
+    public static float getJavaVersionFloat() {
+        return JavaVersion.JAVA_VERSION_FLOAT;
+    }
+
+    /**
+     * <p>
+     * Gets the Java version as an <code>int</code>, as for {@link SystemUtils#JAVA_VERSION_INT}.
+     * </p>
+     *
+     * @return the version, for example 131 for Java 1.3.1, zero if unknown
+     */
+    public static int getJavaVersionInt() {
+        return JavaVersion.JAVA_VERSION_INT;
+    }
+
+    /**
+     * <p>
+     * Checks whether the trimmed Java version starts with a prefix.
+     * </p>
+     *
+     * <p>
+     * For example, <code>isJavaVersion("1.6")</code> is the same as {@link SystemUtils#IS_JAVA_1_6}.
+     * </p>
+     *
+     * @param versionPrefix  the prefix of the version, not null
+     * @return true if the version matches, false if not or it cannot be determined
+     */
+    public static boolean isJavaVersion(String versionPrefix) {
+        return isJavaVersionMatch(JavaVersion.JAVA_VERSION_TRIMMED, versionPrefix);
+    }
+
+    /**
+     * <p>
+     * Checks whether the Java version is at least the requested version,
+     * as for {@link SystemUtils#isJavaVersionAtLeast(float)}.
+     * </p>
+     *
+     * @param requiredVersion  the required version, for example 1.31f
+     * @return <code>true</code> if the actual version is equal or greater than the required version
+     */
+    public static boolean isJavaVersionAtLeast(float requiredVersion) {
+        return JavaVersion.JAVA_VERSION_FLOAT >= requiredVersion;
+    }
+
+    /**
+     * <p>
+     * Checks whether the Java version is at least the requested version,
+     * as for {@link SystemUtils#isJavaVersionAtLeast(int)}.
+     * </p>
+     *
+     * @param requiredVersion  the required version, for example 131
+     * @return <code>true</code> if the actual version is equal or greater than the required version
+     */
+    public static boolean isJavaVersionAtLeast(int requiredVersion) {
+        return JavaVersion.JAVA_VERSION_INT >= requiredVersion;
+    }
+
+    // Operating system
+    // -----------------------------------------------------------------------
+    /**
+     * <p>
+     * Gets the <code>os.name</code> System Property, as for {@link SystemUtils#OS_NAME}.
+     * </p>
+     *
+     * @return the operating system name, <code>null</code> if the property cannot be read
+     */
+    public static String getOsName() {
+        return OperatingSystem.OS_NAME;
+    }
+
+    /**
+     * <p>
+     * Gets the <code>os.version</code> System Property, as for {@link SystemUtils#OS_VERSION}.
+     * </p>
+     *
+     * @return the operating system version, <code>null</code> if the property cannot be read
+     */
+    public static String getOsVersion() {
+        return OperatingSystem.OS_VERSION;
+    }
+
+    /**
+     * <p>
+     * Gets the <code>os.arch</code> System Property, as for {@link SystemUtils#OS_ARCH}.
+     * </p>
+     *
+     * @return the operating system architecture, <code>null</code> if the property cannot be read
+     */
+    public static String getOsArch() {
+        return OperatingSystem.OS_ARCH;
+    }
+
+    /**
+     * <p>
+     * Checks whether the operating system name starts with a prefix.
+     * </p>
+     *
+     * <p>
+     * For example, <code>isOsName("Windows")</code> is the same as {@link SystemUtils#IS_OS_WINDOWS}.
+     * </p>
+     *
+     * @param osNamePrefix  the prefix of the name, not null
+     * @return true if the name matches, false if not or it cannot be determined
+     */
+    public static boolean isOsName(String osNamePrefix) {
+        return isOSNameMatch(OperatingSystem.OS_NAME, osNamePrefix);
+    }
+
+    /**
+     * <p>
+     * Checks whether the operating system name and version start with prefixes.
+     * </p>
+     *
+     * <p>
+     * For example, <code>isOs("Windows", "5.1")</code> is the same as {@link SystemUtils#IS_OS_WINDOWS_XP}.
+     * </p>
+     *
+     * @param osNamePrefix  the prefix of the name, not null
+     * @param osVersionPrefix  the prefix of the version, not null
+     * @return true if both match, false if not or they cannot be determined
+     */
+    public static boolean isOs(String osNamePrefix, String osVersionPrefix) {
+        return isOSMatch(OperatingSystem.OS_NAME, OperatingSystem.OS_VERSION, osNamePrefix, osVersionPrefix);
+    }
+
+    /**
+     * <p>
+     * Checks whether this is Windows, as for {@link SystemUtils#IS_OS_WINDOWS}.
+     * </p>
+     *
+     * @return true if this is Windows
+     */
+    public static boolean isOsWindows() {
+        return OperatingSystem.IS_OS_WINDOWS;
+    }
+
+    /**
+     * <p>
+     * Checks whether this is a Unix-like system, as for {@link SystemUtils#IS_OS_UNIX}.
+     * </p>
+     *
+     * @return true if this is AIX, HP-UX, Irix, Linux, Mac OS X, Solaris or SUN OS
+     */
+    public static boolean isOsUnix() {
+        return OperatingSystem.IS_OS_UNIX;
+    }
+
+    /**
+     * <p>
+     * Checks whether this is Linux, as for {@link SystemUtils#IS_OS_LINUX}.
+     * </p>
+     *
+     * @return true if this is Linux
+     */
+    public static boolean isOsLinux() {
+        return OperatingSystem.IS_OS_LINUX;
+    }
+
+    /**
+     * <p>
+     * Checks whether this is Mac OS X, as for {@link SystemUtils#IS_OS_MAC_OSX}.
+     * </p>
+     *
+     * @return true if this is Mac OS X
+     */
+    public static boolean isOsMacOsx() {
+        return OperatingSystem.IS_OS_MAC_OSX;
+    }
+
+    // Shared helpers
+    // -----------------------------------------------------------------------
+    /**
+     * <p>
+     * Gets a System property, defaulting to <code>null</code> if the property cannot be read.
+     * </p>
+     *
+     * <p>
+     * If a <code>SecurityException</code> is caught, the return value is <code>null</code> and a message is written to
+     * <code>System.err</code>.
+     * </p>
+     *
+     * @param property
+     *            the system property name
+     * @return the system property value or <code>null</code> if a security problem occurs
+     */
+    static String getSystemProperty(String property) {
+        try {
+            return System.getProperty(property);
+        } catch (SecurityException ex) {
+            // we are not allowed to look at this property
+            System.err.println("Caught a SecurityException reading the system property '" + property
+                    + "'; the SystemUtils property value will default to null.");
+            return null;
+        }
+    }
+
+    /**
+     * Trims the text of a java version to start with numbers.
+     *
+     * @param version
+     *            the version, may be null
+     * @return the trimmed java version, null if none
+     */
+    static String trimJavaVersion(String version) {
+        if (version != null) {
+            for (int i = 0; i < version.length(); i++) {
+                char ch = version.charAt(i);
+                if (ch >= '0' && ch <= '9') {
+                    return version.substring(i);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * <p>
+     * Decides if the Java version matches.
+     * </p>
+     *
+     * @param version
+     *            the actual Java version
+     * @param versionPrefix
+     *            the prefix for the expected Java version
+     * @return true if matches, or false if not or can't determine
+     */
+    static boolean isJavaVersionMatch(String version, String versionPrefix) {
+        if (version == null) {
+            return false;
+        }
+        return version.startsWith(versionPrefix);
+    }
+
+    /**
+     * <p>
+     * Decides if the operating system matches.
+     * </p>
+     *
+     * @param osName
+     *            the actual OS name
+     * @param osVersion
+     *            the actual OS version
+     * @param osNamePrefix
+     *            the prefix for the expected OS name
+     * @param osVersionPrefix
+     *            the prefix for the expected OS version
+     * @return true if matches, or false if not or can't determine
+     */
+    static boolean isOSMatch(String osName, String osVersion, String osNamePrefix, String osVersionPrefix) {
+        if (osName == null || osVersion == null) {
+            return false;
+        }
+        return osName.startsWith(osNamePrefix) && osVersion.startsWith(osVersionPrefix);
+    }
+
+    /**
+     * <p>
+     * Decides if the operating system matches.
+     * </p>
+     *
+     * @param osName
+     *            the actual OS name
+     * @param osNamePrefix
+     *            the prefix for the expected OS name
+     * @return true if matches, or false if not or can't determine
+     */
+    static boolean isOSNameMatch(String osName, String osNamePrefix) {
+        if (osName == null) {
+            return false;
+        }
+        return osName.startsWith(osNamePrefix);
+    }
+
+    /**
+     * <p>
+     * Converts the given Java version string to an <code>int[]</code> of maximum size <code>limit</code>.
+     * </p>
+     *
+     * @param version
+     *            the string to convert, may be null
+     * @param limit
+     *            the maximum number of version parts
+     * @return the version parts, never null
+     */
+    static int[] toJavaVersionIntArray(String version, int limit) {
+        if (version == null) {
+            return ArrayUtils.EMPTY_INT_ARRAY;
+        }
+        // split on non-digits, as Pattern.compile("[^\\d]").split(version) without the regex
+        int[] ints = new int[Math.min(limit, version.length())];
+        int j = 0;
+        int i = 0;
+        int len = version.length();
+        while (i < len && j < limit) {
+            char ch = version.charAt(i);
+            if (ch < '0' || ch > '9') {
+                i++;
+                continue;
+            }
+            int part = 0;
+            while (i < len && (ch = version.charAt(i)) >= '0' && ch <= '9') {
+                part = part * 10 + (ch - '0');
+                i++;
+            }
+            ints[j++] = part;
+        }
+        return j == ints.length ? ints : ArrayUtils.subarray(ints, 0, j);
+    }
+
+    /**
+     * <p>
+     * Converts Java version parts to a <code>float</code>, as for <code>SystemUtils.JAVA_VERSION_FLOAT</code>.
+     * </p>
+     *
+     * @param javaVersions
+     *            the version parts
+     * @return the float version, zero if unknown
+     */
+    static float toVersionFloat(int[] javaVersions) {
+        if (javaVersions == null || javaVersions.length == 0) {
+            return 0f;
+        }
+        if (javaVersions.length == 1) {
+            return javaVersions[0];
+        }
+        StringBuilder builder = new StringBuilder();
+        builder.append(javaVersions[0]);
+        builder.append('.');
+        for (int i = 1; i < javaVersions.length; i++) {
+            builder.append(javaVersions[i]);
+        }
+        try {
+            return Float.parseFloat(builder.toString());
+        } catch (Exception ex) {
+            return 0f;
+        }
+    }
+
+    /**
+     * <p>
+     * Converts Java version parts to an <code>int</code>, as for <code>SystemUtils.JAVA_VERSION_INT</code>.
+     * </p>
+     *
+     * @param javaVersions
+     *            the version parts
+     * @return the int version, zero if unknown
+     */
+    static int toVersionInt(int[] javaVersions) {
+        if (javaVersions == null) {
+            return 0;
+        }
+        int intVersion = 0;
+        int len = javaVersions.length;
+        if (len >= 1) {
+            intVersion = javaVersions[0] * 100;
+        }
+        if (len >= 2) {
+            intVersion += javaVersions[1] * 10;
+        }
+        if (len >= 3) {
+            intVersion += javaVersions[2];
+        }
+        return intVersion;
+    }
+
+    // Holders
+    // -----------------------------------------------------------------------
+    /**
+     * Holds the separators, initialized when first used.
+     */
+    private static class Separators {
+        /** The line separator. */
+        static final String LINE_SEPARATOR = getSystemProperty("line.separator");
+        /** The file separator. */
+        static final String FILE_SEPARATOR = getSystemProperty("file.separator");
+        /** The path separator. */
+        static final String PATH_SEPARATOR = getSystemProperty("path.separator");
+    }
+
+    /**
+     * Holds the Java version, initialized when first used.
+     */
+    private static class JavaVersion {
+        /** The Java version. */
+        static final String JAVA_VERSION = getSystemProperty("java.version");
+        /** The Java version trimmed to start with a number. */
+        static final String JAVA_VERSION_TRIMMED = trimJavaVersion(JAVA_VERSION);
+        /** The first parts of the Java version. */
+        private static final int[] PARTS = toJavaVersionIntArray(JAVA_VERSION, JAVA_VERSION_TRIM_SIZE);
+        /** The Java version as a float. */
+        static final float JAVA_VERSION_FLOAT = toVersionFloat(PARTS);
+        /** The Java version as an int. */
+        static final int JAVA_VERSION_INT = toVersionInt(PARTS);
+    }
+
+    /**
+     * Holds the operating system properties and flags, initialized when first used.
+     */
+    private static class OperatingSystem {
+        /** The OS architecture. */
+        static final String OS_ARCH = getSystemProperty("os.arch");
+        /** The OS name. */
+        static final String OS_NAME = getSystemProperty("os.name");
+        /** The OS version. */
+        static final String OS_VERSION = getSystemProperty("os.version");
+        /** Whether this is Linux. */
+        static final boolean IS_OS_LINUX = isOSNameMatch(OS_NAME, "Linux") || isOSNameMatch(OS_NAME, "LINUX");
+        /** Whether this is Mac OS X. */
+        static final boolean IS_OS_MAC_OSX = isOSNameMatch(OS_NAME, "Mac OS X");
+        /** Whether this is Windows. */
+        static final boolean IS_OS_WINDOWS = isOSNameMatch(OS_NAME, OS_NAME_WINDOWS_PREFIX);
+        /** Whether this is a Unix-like system. */
+        static final boolean IS_OS_UNIX = isOSNameMatch(OS_NAME, "AIX") || isOSNameMatch(OS_NAME, "HP-UX")
+                || isOSNameMatch(OS_NAME, "Irix") || IS_OS_LINUX || IS_OS_MAC_OSX
+                || isOSNameMatch(OS_NAME, "Solaris") || isOSNameMatch(OS_NAME, "SunOS");
+    }
+
+}
@@ -17,7 +17,6 @@
 package org.apache.commons.lang3;
 
 import java.io.File;
-import java.util.regex.Pattern;
 
 /**
  * <p>
@@ -30,6 +29,11 @@ import java.util.regex.Pattern;
  * </p>
  * 
  * <p>
+ * All the fields are read when the class is first used. Where start up time matters, {@link SystemInfo} gives lazy
+ * access to the separators, the Java version and the operating system flags.
+ * </p>
+ * 
+ * <p>
  * #ThreadSafe#
  * </p>
  * 
@@ -143,7 +147,7 @@ public class SystemUtils {
      * 
      * @since Java 1.1
      */
-    public static final String FILE_SEPARATOR = getSystemProperty("file.separator");
+    public static final String FILE_SEPARATOR = SystemInfo.getFileSeparator();
 
     /**
      * <p>
@@ -549,7 +553,7 @@ public class SystemUtils {
      * 
      * @since Java 1.1
      */
-    public static final String JAVA_VERSION = getSystemProperty("java.version");
+    public static final String JAVA_VERSION = SystemInfo.getJavaVersion();
 
     /**
      * <p>
@@ -702,7 +706,7 @@ public class SystemUtils {
      * 
      * @since Java 1.1
      */
-    public static final String LINE_SEPARATOR = getSystemProperty("line.separator");
+    public static final String LINE_SEPARATOR = SystemInfo.getLineSeparator();
 
     /**
      * <p>
@@ -721,7 +725,7 @@ public class SystemUtils {
      * 
      * @since Java 1.1
      */
-    public static final String OS_ARCH = getSystemProperty("os.arch");
+    public static final String OS_ARCH = SystemInfo.getOsArch();
 
     /**
      * <p>
@@ -740,7 +744,7 @@ public class SystemUtils {
      * 
      * @since Java 1.1
      */
-    public static final String OS_NAME = getSystemProperty("os.name");
+    public static final String OS_NAME = SystemInfo.getOsName();
 
     /**
      * <p>
@@ -759,7 +763,7 @@ public class SystemUtils {
      * 
      * @since Java 1.1
      */
-    public static final String OS_VERSION = getSystemProperty("os.version");
+    public static final String OS_VERSION = SystemInfo.getOsVersion();
 
     /**
      * <p>
@@ -778,7 +782,7 @@ public class SystemUtils {
      * 
      * @since Java 1.1
      */
-    public static final String PATH_SEPARATOR = getSystemProperty("path.separator");
+    public static final String PATH_SEPARATOR = SystemInfo.getPathSeparator();
 
     /**
      * <p>
@@ -914,7 +918,7 @@ public class SystemUtils {
      * 
      * @since 2.1
      */
-    public static final String JAVA_VERSION_TRIMMED = getJavaVersionTrimmed();
+    public static final String JAVA_VERSION_TRIMMED = SystemInfo.getJavaVersionTrimmed();
 
     // Java version values
     // -----------------------------------------------------------------------
@@ -940,7 +944,7 @@ public class SystemUtils {
      * 
      * @since 2.0
      */
-    public static final float JAVA_VERSION_FLOAT = getJavaVersionAsFloat();
+    public static final float JAVA_VERSION_FLOAT = SystemInfo.getJavaVersionFloat();
 
     /**
      * <p>
@@ -961,7 +965,7 @@ public class SystemUtils {
      * 
      * @since 2.0
      */
-    public static final int JAVA_VERSION_INT = getJavaVersionAsInt();
+    public static final int JAVA_VERSION_INT = SystemInfo.getJavaVersionInt();
 
     // Java version checks
     // -----------------------------------------------------------------------
@@ -1340,54 +1344,6 @@ public class SystemUtils {
         return new File(System.getProperty(JAVA_IO_TMPDIR_KEY));
     }
 
-    /**
-     * <p>
-     * Gets the Java version number as a <code>float</code>.
-     * </p>
-     * 
-     * <p>
-     * Example return values:
-     * </p>
-     * <ul>
-     * <li><code>1.2f</code> for Java 1.2</li>
-     * <li><code>1.31f</code> for Java 1.3.1</li>
-     * <li><code>1.6f</code> for Java 1.6.0_20</li>
-     * </ul>
-     * 
-     * <p>
-     * Patch releases are not reported.
-     * </p>
-     * 
-     * @return the version, for example 1.31f for Java 1.3.1
-     */
-    private static float getJavaVersionAsFloat() {
-        return toVersionFloat(toJavaVersionIntArray(SystemUtils.JAVA_VERSION, JAVA_VERSION_TRIM_SIZE));
-    }
-
-    /**
-     * <p>
-     * Gets the Java version number as an <code>int</code>.
-     * </p>
-     * 
-     * <p>
-     * Example return values:
-     * </p>
-     * <ul>
-     * <li><code>120</code> for Java 1.2</li>
-     * <li><code>131</code> for Java 1.3.1</li>
-     * <li><code>160</code> for Java 1.6.0_20</li>
-     * </ul>
-     * 
-     * <p>
-     * Patch releases are not reported.
-     * </p>
-     * 
-     * @return the version, for example 131 for Java 1.3.1
-     */
-    private static int getJavaVersionAsInt() {
-        return toVersionInt(toJavaVersionIntArray(SystemUtils.JAVA_VERSION, JAVA_VERSION_TRIM_SIZE));
-    }
-
     /**
      * <p>
      * Decides if the Java version matches.
@@ -1401,23 +1357,6 @@ public class SystemUtils {
         return isJavaVersionMatch(JAVA_VERSION_TRIMMED, versionPrefix);
     }
 
-    /**
-     * Trims the text of the java version to start with numbers.
-     * 
-     * @return the trimmed java version
-     */
-    private static String getJavaVersionTrimmed() {
-        if (JAVA_VERSION != null) {
-            for (int i = 0; i < JAVA_VERSION.length(); i++) {
-                char ch = JAVA_VERSION.charAt(i);
-                if (ch >= '0' && ch <= '9') {
-                    return JAVA_VERSION.substring(i);
-                }
-            }
-        }
-        return null;
-    }
-
     /**
      * Decides if the operating system matches.
      * 
@@ -1458,14 +1397,7 @@ public class SystemUtils {
      * @return the system property value or <code>null</code> if a security problem occurs
      */
     private static String getSystemProperty(String property) {
-        try {
-            return System.getProperty(property);
-        } catch (SecurityException ex) {
-            // we are not allowed to look at this property
-            System.err.println("Caught a SecurityException reading the system property '" + property
-                    + "'; the SystemUtils property value will default to null.");
-            return null;
-        }
+        return SystemInfo.getSystemProperty(property);
     }
 
     /**
@@ -1571,10 +1503,7 @@ public class SystemUtils {
      * @return true if matches, or false if not or can't determine
      */
     static boolean isJavaVersionMatch(String version, String versionPrefix) {
-        if (version == null) {
-            return false;
-        }
-        return version.startsWith(versionPrefix);
+        return SystemInfo.isJavaVersionMatch(version, versionPrefix);
     }
 
     /**
@@ -1594,10 +1523,7 @@ public class SystemUtils {
      * @return true if matches, or false if not or can't determine
      */
     static boolean isOSMatch(String osName, String osVersion, String osNamePrefix, String osVersionPrefix) {
-        if (osName == null || osVersion == null) {
-            return false;
-        }
-        return osName.startsWith(osNamePrefix) && osVersion.startsWith(osVersionPrefix);
+        return SystemInfo.isOSMatch(osName, osVersion, osNamePrefix, osVersionPrefix);
     }
 
     /**
@@ -1613,10 +1539,7 @@ public class SystemUtils {
      * @return true if matches, or false if not or can't determine
      */
     static boolean isOSNameMatch(String osName, String osNamePrefix) {
-        if (osName == null) {
-            return false;
-        }
-        return osName.startsWith(osNamePrefix);
+        return SystemInfo.isOSNameMatch(osName, osNamePrefix);
     }
 
     /**
@@ -1713,19 +1636,7 @@ public class SystemUtils {
      * @return the version, for example [1, 5, 0, 21] for Java 1.5.0_21
      */
     private static int[] toJavaVersionIntArray(String version, int limit) {
-        if (version == null) {
-            return ArrayUtils.EMPTY_INT_ARRAY;
-        }
-        String[] strings = Pattern.compile("[^\\d]").split(version);
-        int[] ints = new int[Math.min(limit, strings.length)];
-        int j = 0;
-        for (int i = 0; i < strings.length && j < limit; i++) {
-            String s = strings[i];
-            if (s.length() > 0) {
-                ints[j++] = Integer.parseInt(s);
-            }
-        }
-        return ints;
+        return SystemInfo.toJavaVersionIntArray(version, limit);
     }
 
     /**
@@ -1749,23 +1660,7 @@ public class SystemUtils {
      * @return the version, for example 1.31f for Java 1.3.1
      */
     private static float toVersionFloat(int[] javaVersions) {
-        if (javaVersions == null || javaVersions.length == 0) {
-            return 0f;
-        }
-        if (javaVersions.length == 1) {
-            return javaVersions[0];
-        }
-        StringBuilder builder = new StringBuilder();
-        builder.append(javaVersions[0]);
-        builder.append('.');
-        for (int i = 1; i < javaVersions.length; i++) {
-            builder.append(javaVersions[i]);
-        }
-        try {
-            return Float.parseFloat(builder.toString());
-        } catch (Exception ex) {
-            return 0f;
-        }
+        return SystemInfo.toVersionFloat(javaVersions);
     }
 
     /**
@@ -1789,21 +1684,7 @@ public class SystemUtils {
      * @return the version, for example 1.31f for Java 1.3.1
      */
     private static int toVersionInt(int[] javaVersions) {
-        if (javaVersions == null) {
-            return 0;
-        }
-        int intVersion = 0;
-        int len = javaVersions.length;
-        if (len >= 1) {
-            intVersion = javaVersions[0] * 100;
-        }
-        if (len >= 2) {
-            intVersion += javaVersions[1] * 10;
-        }
-        if (len >= 3) {
-            intVersion += javaVersions[2];
-        }
-        return intVersion;
+        return SystemInfo.toVersionInt(javaVersions);
     }
 
     // -----------------------------------------------------------------------
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.builder;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * <p>Classifies objects by array type, so the builders can <code>switch</code>
+ * to the handler for an array rather than testing each primitive array type
+ * with <code>instanceof</code> in turn.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+final class ArrayType {
+
+    /** The type of an object that is not an array. */
+    static final int NOT_ARRAY = 0;
+    /**
+     * The type of an array of objects, including multi-dimensional arrays.
+     * The types of the primitive arrays are all greater.
+     */
+    static final int OBJECT = 1;
+    /** The type of <code>long[]</code>. */
+    static final int LONG = 2;
+    /** The type of <code>int[]</code>. */
+    static final int INT = 3;
+    /** The type of <code>short[]</code>. */
+    static final int SHORT = 4;
+    /** The type of <code>char[]</code>. */
+    static final int CHAR = 5;
+    /** The type of <code>byte[]</code>. */
+    static final int BYTE = 6;
+    /** The type of <code>double[]</code>. */
+    static final int DOUBLE = 7;
+    /** The type of <code>float[]</code>. */
+    static final int FLOAT = 8;
+    /** The type of <code>boolean[]</code>. */
+    static final int BOOLEAN = 9;
+
+    /**
+     * The types of the primitive array classes, never modified after
+     * class initialization.
+     */
+    private static final Map<Class<?>, Integer> PRIMITIVE_ARRAYS = new IdentityHashMap<Class<?>, Integer>();
+    static {
+        PRIMITIVE_ARRAYS.put(long[].class, Integer.valueOf(LONG));
+        PRIMITIVE_ARRAYS.put(int[].class, Integer.valueOf(INT));
+        PRIMITIVE_ARRAYS.put(short[].class, Integer.valueOf(SHORT));
+        PRIMITIVE_ARRAYS.put(char[].class, Integer.valueOf(CHAR));
+        PRIMITIVE_ARRAYS.put(byte[].class, Integer.valueOf(BYTE));
+        PRIMITIVE_ARRAYS.put(double[].class, Integer.valueOf(DOUBLE));
+        PRIMITIVE_ARRAYS.put(float[].class, Integer.valueOf(FLOAT));
+        PRIMITIVE_ARRAYS.put(boolean[].class, Integer.valueOf(BOOLEAN));
+    }
+
+    /**
+     * <p><code>ArrayType</code> instances should NOT be constructed.</p>
+     */
+    private ArrayType() {
+        super();
+    }
+
+    /**
+     * <p>Gets the type of a class.</p>
+     *
+     * @param cls  the class, not null
+     * @return one of the type constants
+     */
+    static int of(Class<?> cls) {
+        if (!cls.isArray()) {
+            return NOT_ARRAY;
+        }
+        Integer type = PRIMITIVE_ARRAYS.get(cls);
+        return type == null ? OBJECT : type.intValue();
+    }
+
+}
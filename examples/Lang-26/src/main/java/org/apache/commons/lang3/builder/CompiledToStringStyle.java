@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.builder;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>A precompiled, immutable form of a {@link ToStringStyle}, which writes
+ * <code>toString</code> output directly to a <code>StringBuilder</code> or
+ * any other <code>Appendable</code>.</p>
+ *
+ * <p>The settings of the style are read once, when it is compiled. Field
+ * separators are written before each field rather than removed after the
+ * last, so the output can be streamed to a <code>Writer</code> without
+ * building an intermediate <code>String</code>:</p>
+ *
+ * <pre>
+ * private static final CompiledToStringStyle STYLE = CompiledToStringStyle.compile(ToStringStyle.SHORT_PREFIX_STYLE);
+ *
+ * public String toString() {
+ *   return STYLE.start(this).
+ *     append("name", name).
+ *     append("age", age).
+ *     toString();
+ * }
+ *
+ * public void appendTo(Writer writer) throws IOException {
+ *   STYLE.start(writer, this).
+ *     append("name", name).
+ *     append("age", age).
+ *     end();
+ * }
+ * </pre>
+ *
+ * <p>The output is the same as that of a {@link ToStringBuilder} using the
+ * style, including the detection of cycles. Only the settings are compiled,
+ * so a subclass of <code>ToStringStyle</code> that overrides its
+ * <code>append</code> methods to change the output should be used with
+ * <code>ToStringBuilder</code> instead. Later changes to a mutable style,
+ * such as a {@link StandardToStringStyle}, do not affect a compiled copy.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ * @see ToStringAppender
+ */
+public final class CompiledToStringStyle {
+
+    /** Whether to write the class name. */
+    final boolean useClassName;
+    /** Whether to write the short class name. */
+    final boolean useShortClassName;
+    /** Whether to write the identity hash code. */
+    final boolean useIdentityHashCode;
+    /** The separator between field name and value, null to omit field names. */
+    final String fieldNameValueSeparator;
+    /** The content start. */
+    final String contentStart;
+    /** The content end. */
+    final String contentEnd;
+    /** The field separator. */
+    final String fieldSeparator;
+    /** Whether the field separator is written before the first field. */
+    final boolean fieldSeparatorAtStart;
+    /** Whether the field separator is written after the last field. */
+    final boolean fieldSeparatorAtEnd;
+    /** The array start. */
+    final String arrayStart;
+    /** The array separator. */
+    final String arraySeparator;
+    /** The array end. */
+    final String arrayEnd;
+    /** Whether the contents of arrays of objects are written in detail. */
+    final boolean arrayContentDetail;
+    /** Whether values are written in detail unless requested otherwise. */
+    final boolean defaultFullDetail;
+    /** The text written for null. */
+    final String nullText;
+    /** The text written before the size of a summarized array, collection or map. */
+    final String sizeStartText;
+    /** The text written after the size of a summarized array, collection or map. */
+    final String sizeEndText;
+    /** The text written before the class name of a summarized object. */
+    final String summaryObjectStartText;
+    /** The text written after the class name of a summarized object. */
+    final String summaryObjectEndText;
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Compiles the current settings of a style.</p>
+     *
+     * @param style  the style to compile, not null
+     * @return the compiled style, not null
+     * @throws NullPointerException if the style is null
+     */
+    public static CompiledToStringStyle compile(ToStringStyle style) {
+        Validate.notNull(style, "The style must not be null");
+        return new CompiledToStringStyle(style);
+    }
+
+    /**
+     * <p>Constructs a compiled copy of the settings of a style.</p>
+     *
+     * @param style  the style, not null
+     */
+    private CompiledToStringStyle(ToStringStyle style) {
+        super();
+        this.useClassName = style.isUseClassName();
+        this.useShortClassName = style.isUseShortClassName();
+        this.useIdentityHashCode = style.isUseIdentityHashCode();
+        this.fieldNameValueSeparator = style.isUseFieldNames() ? style.getFieldNameValueSeparator() : null;
+        this.contentStart = style.getContentStart();
+        this.contentEnd = style.getContentEnd();
+        this.fieldSeparator = style.getFieldSeparator();
+        this.fieldSeparatorAtStart = style.isFieldSeparatorAtStart();
+        this.fieldSeparatorAtEnd = style.isFieldSeparatorAtEnd();
+        this.arrayStart = style.getArrayStart();
+        this.arraySeparator = style.getArraySeparator();
+        this.arrayEnd = style.getArrayEnd();
+        this.arrayContentDetail = style.isArrayContentDetail();
+        this.defaultFullDetail = style.isDefaultFullDetail();
+        this.nullText = style.getNullText();
+        this.sizeStartText = style.getSizeStartText();
+        this.sizeEndText = style.getSizeEndText();
+        this.summaryObjectStartText = style.getSummaryObjectStartText();
+        this.summaryObjectEndText = style.getSummaryObjectEndText();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Starts the <code>toString</code> of an object, to be read back with
+     * {@link ToStringAppender#toString()}.</p>
+     *
+     * @param object  the object to build a <code>toString</code> for, may be null
+     * @return the appender to add the fields to, not null
+     */
+    public ToStringAppender start(Object object) {
+        return new ToStringAppender(this, new StringBuilder(64), object);
+    }
+
+    /**
+     * <p>Starts the <code>toString</code> of an object, appending it to a
+     * <code>StringBuilder</code>.</p>
+     *
+     * @param builder  the builder to append to, not null
+     * @param object  the object to build a <code>toString</code> for, may be null
+     * @return the appender to add the fields to, not null
+     * @throws NullPointerException if the builder is null
+     */
+    public ToStringAppender start(StringBuilder builder, Object object) {
+        Validate.notNull(builder, "The builder must not be null");
+        return new ToStringAppender(this, builder, object);
+    }
+
+    /**
+     * <p>Starts the <code>toString</code> of an object, appending it to an
+     * <code>Appendable</code> such as a <code>Writer</code>.</p>
+     *
+     * <p>The appender records the first <code>IOException</code> thrown by
+     * the destination, stops writing, and throws it from
+     * {@link ToStringAppender#end()}.</p>
+     *
+     * @param appendable  the destination, not null
+     * @param object  the object to build a <code>toString</code> for, may be null
+     * @return the appender to add the fields to, not null
+     * @throws NullPointerException if the destination is null
+     */
+    public ToStringAppender start(Appendable appendable, Object object) {
+        Validate.notNull(appendable, "The appendable must not be null");
+        return new ToStringAppender(this, appendable, object);
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.lang3.builder;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -520,27 +521,38 @@ public class EqualsBuilder implements Builder<Boolean> {
             // Here when we compare different dimensions, for example: a boolean[][] to a boolean[] 
             this.setEquals(false);
         }
-        // 'Switch' on type of array, to dispatch to the correct handler
-        // This handles multi dimensional arrays of the same depth
-        else if (lhs instanceof long[]) {
-            append((long[]) lhs, (long[]) rhs);
-        } else if (lhs instanceof int[]) {
-            append((int[]) lhs, (int[]) rhs);
-        } else if (lhs instanceof short[]) {
-            append((short[]) lhs, (short[]) rhs);
-        } else if (lhs instanceof char[]) {
-            append((char[]) lhs, (char[]) rhs);
-        } else if (lhs instanceof byte[]) {
-            append((byte[]) lhs, (byte[]) rhs);
-        } else if (lhs instanceof double[]) {
-            append((double[]) lhs, (double[]) rhs);
-        } else if (lhs instanceof float[]) {
-            append((float[]) lhs, (float[]) rhs);
-        } else if (lhs instanceof boolean[]) {
-            append((boolean[]) lhs, (boolean[]) rhs);
-        } else {
-            // Not an array of primitives
-            append((Object[]) lhs, (Object[]) rhs);
+        else {
+            // 'Switch' on type of array, to dispatch to the correct handler
+            // This handles multi dimensional arrays of the same depth
+            switch (ArrayType.of(lhsClass)) {
+                case ArrayType.LONG:
+                    append((long[]) lhs, (long[]) rhs);
+                    break;
+                case ArrayType.INT:
+                    append((int[]) lhs, (int[]) rhs);
+                    break;
+                case ArrayType.SHORT:
+                    append((short[]) lhs, (short[]) rhs);
+                    break;
+                case ArrayType.CHAR:
+                    append((char[]) lhs, (char[]) rhs);
+                    break;
+                case ArrayType.BYTE:
+                    append((byte[]) lhs, (byte[]) rhs);
+                    break;
+                case ArrayType.DOUBLE:
+                    append((double[]) lhs, (double[]) rhs);
+                    break;
+                case ArrayType.FLOAT:
+                    append((float[]) lhs, (float[]) rhs);
+                    break;
+                case ArrayType.BOOLEAN:
+                    append((boolean[]) lhs, (boolean[]) rhs);
+                    break;
+                default:
+                    // Not an array of primitives
+                    append((Object[]) lhs, (Object[]) rhs);
+            }
         }
         return this;
     }
@@ -714,7 +726,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>long</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(long, long)} is used.</p>
+     * <p>The values are compared as by {@link #append(long, long)}, using
+     * {@link Arrays#equals(long[], long[])}.</p>
      *
      * @param lhs  the left hand <code>long[]</code>
      * @param rhs  the right hand <code>long[]</code>
@@ -724,20 +737,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -745,7 +745,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>int</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(int, int)} is used.</p>
+     * <p>The values are compared as by {@link #append(int, int)}, using
+     * {@link Arrays#equals(int[], int[])}.</p>
      *
      * @param lhs  the left hand <code>int[]</code>
      * @param rhs  the right hand <code>int[]</code>
@@ -755,20 +756,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -776,7 +764,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>short</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(short, short)} is used.</p>
+     * <p>The values are compared as by {@link #append(short, short)}, using
+     * {@link Arrays#equals(short[], short[])}.</p>
      *
      * @param lhs  the left hand <code>short[]</code>
      * @param rhs  the right hand <code>short[]</code>
@@ -786,20 +775,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -807,7 +783,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>char</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(char, char)} is used.</p>
+     * <p>The values are compared as by {@link #append(char, char)}, using
+     * {@link Arrays#equals(char[], char[])}.</p>
      *
      * @param lhs  the left hand <code>char[]</code>
      * @param rhs  the right hand <code>char[]</code>
@@ -817,20 +794,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -838,7 +802,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>byte</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(byte, byte)} is used.</p>
+     * <p>The values are compared as by {@link #append(byte, byte)}, using
+     * {@link Arrays#equals(byte[], byte[])}.</p>
      *
      * @param lhs  the left hand <code>byte[]</code>
      * @param rhs  the right hand <code>byte[]</code>
@@ -848,20 +813,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -869,7 +821,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>double</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(double, double)} is used.</p>
+     * <p>The values are compared as by {@link #append(double, double)}, using
+     * {@link Arrays#equals(double[], double[])}.</p>
      *
      * @param lhs  the left hand <code>double[]</code>
      * @param rhs  the right hand <code>double[]</code>
@@ -879,20 +832,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -900,7 +840,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>float</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(float, float)} is used.</p>
+     * <p>The values are compared as by {@link #append(float, float)}, using
+     * {@link Arrays#equals(float[], float[])}.</p>
      *
      * @param lhs  the left hand <code>float[]</code>
      * @param rhs  the right hand <code>float[]</code>
@@ -910,20 +851,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -931,7 +859,8 @@ public class EqualsBuilder implements Builder<Boolean> {
      * <p>Deep comparison of array of <code>boolean</code>. Length and all
      * values are compared.</p>
      *
-     * <p>The method {@link #append(boolean, boolean)} is used.</p>
+     * <p>The values are compared as by {@link #append(boolean, boolean)}, using
+     * {@link Arrays#equals(boolean[], boolean[])}.</p>
      *
      * @param lhs  the left hand <code>boolean[]</code>
      * @param rhs  the right hand <code>boolean[]</code>
@@ -941,20 +870,7 @@ public class EqualsBuilder implements Builder<Boolean> {
         if (isEquals == false) {
             return this;
         }
-        if (lhs == rhs) {
-            return this;
-        }
-        if (lhs == null || rhs == null) {
-            this.setEquals(false);
-            return this;
-        }
-        if (lhs.length != rhs.length) {
-            this.setEquals(false);
-            return this;
-        }
-        for (int i = 0; i < lhs.length && isEquals; ++i) {
-            append(lhs[i], rhs[i]);
-        }
+        isEquals = Arrays.equals(lhs, rhs);
         return this;
     }
 
@@ -561,6 +561,12 @@ public class HashCodeBuilder implements Builder<Integer> {
      */
     private final int iConstant;
 
+    /**
+     * The constant squared, cubed and to the fourth power, used to mix
+     * four array elements at a time.
+     */
+    private final int iConstant2, iConstant3, iConstant4;
+
     /**
      * Running total of the hashCode.
      */
@@ -573,6 +579,9 @@ public class HashCodeBuilder implements Builder<Integer> {
      */
     public HashCodeBuilder() {
         iConstant = 37;
+        iConstant2 = iConstant * iConstant;
+        iConstant3 = iConstant2 * iConstant;
+        iConstant4 = iConstant2 * iConstant2;
         iTotal = 17;
     }
 
@@ -607,6 +616,9 @@ public class HashCodeBuilder implements Builder<Integer> {
             throw new IllegalArgumentException("HashCodeBuilder requires an odd multiplier");
         }
         iConstant = multiplierNonZeroOddNumber;
+        iConstant2 = iConstant * iConstant;
+        iConstant3 = iConstant2 * iConstant;
+        iConstant4 = iConstant2 * iConstant2;
         iTotal = initialNonZeroOddNumber;
     }
 
@@ -649,9 +661,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + (array[i] ? 0 : 1) * iConstant3
+                    + (array[i + 1] ? 0 : 1) * iConstant2
+                    + (array[i + 2] ? 0 : 1) * c
+                    + (array[i + 3] ? 0 : 1);
             }
+            for (; i < array.length; i++) {
+                total = total * c + (array[i] ? 0 : 1);
+            }
+            iTotal = total;
         }
         return this;
     }
@@ -687,9 +711,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + array[i] * iConstant3
+                    + array[i + 1] * iConstant2
+                    + array[i + 2] * c
+                    + array[i + 3];
+            }
+            for (; i < array.length; i++) {
+                total = total * c + array[i];
             }
+            iTotal = total;
         }
         return this;
     }
@@ -721,9 +757,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + array[i] * iConstant3
+                    + array[i + 1] * iConstant2
+                    + array[i + 2] * c
+                    + array[i + 3];
+            }
+            for (; i < array.length; i++) {
+                total = total * c + array[i];
             }
+            iTotal = total;
         }
         return this;
     }
@@ -754,9 +802,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + hash(Double.doubleToLongBits(array[i])) * iConstant3
+                    + hash(Double.doubleToLongBits(array[i + 1])) * iConstant2
+                    + hash(Double.doubleToLongBits(array[i + 2])) * c
+                    + hash(Double.doubleToLongBits(array[i + 3]));
             }
+            for (; i < array.length; i++) {
+                total = total * c + hash(Double.doubleToLongBits(array[i]));
+            }
+            iTotal = total;
         }
         return this;
     }
@@ -788,9 +848,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + Float.floatToIntBits(array[i]) * iConstant3
+                    + Float.floatToIntBits(array[i + 1]) * iConstant2
+                    + Float.floatToIntBits(array[i + 2]) * c
+                    + Float.floatToIntBits(array[i + 3]);
+            }
+            for (; i < array.length; i++) {
+                total = total * c + Float.floatToIntBits(array[i]);
             }
+            iTotal = total;
         }
         return this;
     }
@@ -822,9 +894,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + array[i] * iConstant3
+                    + array[i + 1] * iConstant2
+                    + array[i + 2] * c
+                    + array[i + 3];
+            }
+            for (; i < array.length; i++) {
+                total = total * c + array[i];
             }
+            iTotal = total;
         }
         return this;
     }
@@ -843,10 +927,23 @@ public class HashCodeBuilder implements Builder<Integer> {
     //       some stage. There are backwards compat issues, so 
     //       that will have to wait for the time being. cf LANG-342.
     public HashCodeBuilder append(long value) {
-        iTotal = iTotal * iConstant + ((int) (value ^ (value >> 32)));
+        iTotal = iTotal * iConstant + hash(value);
         return this;
     }
 
+    /**
+     * <p>
+     * Folds a <code>long</code> into an <code>int</code> for the <code>hashCode</code>.
+     * </p>
+     * 
+     * @param value
+     *            the long to fold
+     * @return the high bits exclusive-ored with the low bits
+     */
+    private static int hash(long value) {
+        return (int) (value ^ (value >> 32));
+    }
+
     /**
      * <p>
      * Append a <code>hashCode</code> for a <code>long</code> array.
@@ -860,9 +957,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + hash(array[i]) * iConstant3
+                    + hash(array[i + 1]) * iConstant2
+                    + hash(array[i + 2]) * c
+                    + hash(array[i + 3]);
+            }
+            for (; i < array.length; i++) {
+                total = total * c + hash(array[i]);
             }
+            iTotal = total;
         }
         return this;
     }
@@ -881,31 +990,39 @@ public class HashCodeBuilder implements Builder<Integer> {
             iTotal = iTotal * iConstant;
 
         } else {
-            if(object.getClass().isArray()) {
-                // 'Switch' on type of array, to dispatch to the correct handler
-                // This handles multi dimensional arrays
-                if (object instanceof long[]) {
+            // 'Switch' on type of array, to dispatch to the correct handler
+            // This handles multi dimensional arrays
+            switch (ArrayType.of(object.getClass())) {
+                case ArrayType.LONG:
                     append((long[]) object);
-                } else if (object instanceof int[]) {
+                    break;
+                case ArrayType.INT:
                     append((int[]) object);
-                } else if (object instanceof short[]) {
+                    break;
+                case ArrayType.SHORT:
                     append((short[]) object);
-                } else if (object instanceof char[]) {
+                    break;
+                case ArrayType.CHAR:
                     append((char[]) object);
-                } else if (object instanceof byte[]) {
+                    break;
+                case ArrayType.BYTE:
                     append((byte[]) object);
-                } else if (object instanceof double[]) {
+                    break;
+                case ArrayType.DOUBLE:
                     append((double[]) object);
-                } else if (object instanceof float[]) {
+                    break;
+                case ArrayType.FLOAT:
                     append((float[]) object);
-                } else if (object instanceof boolean[]) {
+                    break;
+                case ArrayType.BOOLEAN:
                     append((boolean[]) object);
-                } else {
-                    // Not an array of primitives
+                    break;
+                case ArrayType.OBJECT:
                     append((Object[]) object);
-                }
-            } else {
-                iTotal = iTotal * iConstant + object.hashCode();
+                    break;
+                default:
+                    // Not an array
+                    iTotal = iTotal * iConstant + object.hashCode();
             }
         }
         return this;
@@ -958,9 +1075,21 @@ public class HashCodeBuilder implements Builder<Integer> {
         if (array == null) {
             iTotal = iTotal * iConstant;
         } else {
-            for (int i = 0; i < array.length; i++) {
-                append(array[i]);
+            // the same as appending each element, but mixing four at a time
+            final int c = iConstant;
+            int total = iTotal;
+            int i = 0;
+            for (final int end = array.length - 3; i < end; i += 4) {
+                total = total * iConstant4
+                    + array[i] * iConstant3
+                    + array[i + 1] * iConstant2
+                    + array[i + 2] * c
+                    + array[i + 3];
+            }
+            for (; i < array.length; i++) {
+                total = total * c + array[i];
             }
+            iTotal = total;
         }
         return this;
     }
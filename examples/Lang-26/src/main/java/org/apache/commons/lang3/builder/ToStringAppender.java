@@ -0,0 +1,654 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.builder;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>Writes the <code>toString</code> of one object in a
+ * {@link CompiledToStringStyle}, directly to its destination.</p>
+ *
+ * <p>Appenders are obtained from {@link CompiledToStringStyle#start(Object)}
+ * and its overloads. The fields are added with the <code>append</code>
+ * methods, then the output is completed by {@link #end()} or
+ * {@link #toString()}.</p>
+ *
+ * <p>The <code>append</code> methods do not throw <code>IOException</code>.
+ * Instead, the first exception thrown by the destination is recorded, no
+ * more output is written, and the exception is thrown by {@link #end()}.</p>
+ *
+ * <p>#NotThreadSafe#</p>
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public final class ToStringAppender {
+
+    /** The compiled style. */
+    private final CompiledToStringStyle style;
+    /** The destination. */
+    private final Appendable appendable;
+    /** The destination if it is a <code>StringBuilder</code>, otherwise null. */
+    private final StringBuilder builder;
+    /** The object whose <code>toString</code> is being written, may be null. */
+    private final Object object;
+    /** Whether the object was registered to detect cycles. */
+    private final boolean registered;
+    /** Whether a field separator is due before the next field. */
+    private boolean separatorDue;
+    /** Whether the output has been completed. */
+    private boolean ended;
+    /** The first exception thrown by the destination. */
+    private IOException failure;
+
+    /**
+     * <p>Constructs an appender, writing the start of the <code>toString</code>.</p>
+     *
+     * @param style  the compiled style, not null
+     * @param appendable  the destination, not null
+     * @param object  the object to build a <code>toString</code> for, may be null
+     */
+    ToStringAppender(CompiledToStringStyle style, Appendable appendable, Object object) {
+        super();
+        this.style = style;
+        this.appendable = appendable;
+        this.builder = appendable instanceof StringBuilder ? (StringBuilder) appendable : null;
+        this.object = object;
+        this.registered = object != null && (style.useClassName || style.useIdentityHashCode);
+        if (object != null) {
+            if (registered) {
+                ToStringStyle.register(object);
+            }
+            try {
+                if (style.useClassName) {
+                    Class<?> cls = object.getClass();
+                    write(style.useShortClassName ? ClassUtils.getShortClassName(cls) : cls.getName());
+                }
+                if (style.useIdentityHashCode) {
+                    write('@');
+                    write(Integer.toHexString(System.identityHashCode(object)));
+                }
+                write(style.contentStart);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+            separatorDue = style.fieldSeparatorAtStart;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Appends an <code>Object</code> value, in the detail the style
+     * uses by default.</p>
+     *
+     * <p>Arrays, <code>Collection</code>s and <code>Map</code>s are written
+     * as by <code>ToStringBuilder</code>.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add, may be null
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, Object value) {
+        return append(fieldName, value, style.defaultFullDetail);
+    }
+
+    /**
+     * <p>Appends an <code>Object</code> value, in detail or as a summary.</p>
+     *
+     * <p>A summary of an array, <code>Collection</code> or <code>Map</code>
+     * is its size, and of any other object its short class name.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add, may be null
+     * @param fullDetail  <code>true</code> for detail, <code>false</code> for a summary
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, Object value, boolean fullDetail) {
+        if (fieldStart(fieldName)) {
+            try {
+                if (value == null) {
+                    write(style.nullText);
+                } else {
+                    writeValue(value, fullDetail);
+                }
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * <p>Appends a <code>boolean</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, boolean value) {
+        if (fieldStart(fieldName)) {
+            try {
+                write(value);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * <p>Appends a <code>byte</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, byte value) {
+        return append(fieldName, (int) value);
+    }
+
+    /**
+     * <p>Appends a <code>char</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, char value) {
+        if (fieldStart(fieldName)) {
+            try {
+                write(value);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * <p>Appends a <code>short</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, short value) {
+        return append(fieldName, (int) value);
+    }
+
+    /**
+     * <p>Appends an <code>int</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, int value) {
+        if (fieldStart(fieldName)) {
+            try {
+                write(value);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * <p>Appends a <code>long</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, long value) {
+        if (fieldStart(fieldName)) {
+            try {
+                write(value);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * <p>Appends a <code>float</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, float value) {
+        if (fieldStart(fieldName)) {
+            try {
+                write(value);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * <p>Appends a <code>double</code> value.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @param value  the value to add
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender append(String fieldName, double value) {
+        if (fieldStart(fieldName)) {
+            try {
+                write(value);
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        return this;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Appends the fields of the superclass <code>toString</code>, which
+     * must have been written in the same style.</p>
+     *
+     * @param superToString  the result of <code>super.toString()</code>, null ignored
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender appendSuper(String superToString) {
+        return appendToString(superToString);
+    }
+
+    /**
+     * <p>Appends the fields of another <code>toString</code>, which must
+     * have been written in the same style.</p>
+     *
+     * @param toString  the result of <code>toString()</code> on another object, null ignored
+     * @return this
+     * @throws IllegalStateException if the output has been completed
+     */
+    public ToStringAppender appendToString(String toString) {
+        Validate.validState(!ended, "The toString has been completed");
+        if (toString == null || failure != null) {
+            return this;
+        }
+        String contentStart = style.contentStart;
+        int pos1 = toString.indexOf(contentStart) + contentStart.length();
+        int pos2 = toString.lastIndexOf(style.contentEnd);
+        if (pos1 != pos2 && pos1 >= 0 && pos2 >= 0) {
+            try {
+                // with the separator at the start, the fields already begin with one
+                if (separatorDue && !style.fieldSeparatorAtStart) {
+                    write(style.fieldSeparator);
+                }
+                write(toString.substring(pos1, pos2));
+            } catch (IOException ex) {
+                failure = ex;
+            }
+            separatorDue = true;
+        }
+        return this;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Completes the output, writing the end of the <code>toString</code>.</p>
+     *
+     * <p>Calling this method again has no effect.</p>
+     *
+     * @return the destination
+     * @throws IOException if the destination threw an exception
+     */
+    public Appendable end() throws IOException {
+        if (!ended) {
+            ended = true;
+            if (registered) {
+                ToStringStyle.unregister(object);
+            }
+            if (failure == null) {
+                try {
+                    if (object == null) {
+                        // as ToStringBuilder, which never removes the last separator here
+                        if (separatorDue) {
+                            write(style.fieldSeparator);
+                        }
+                        write(style.nullText);
+                    } else {
+                        if (separatorDue && style.fieldSeparatorAtEnd) {
+                            write(style.fieldSeparator);
+                        }
+                        write(style.contentEnd);
+                    }
+                } catch (IOException ex) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Completes the output, if not already completed, and returns the
+     * contents of the destination.</p>
+     *
+     * @return the <code>toString</code> of the destination
+     * @throws IllegalStateException if the destination threw an exception
+     */
+    @Override
+    public String toString() {
+        try {
+            return end().toString();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Writes the separator due before a field and the field name.</p>
+     *
+     * @param fieldName  the field name, null to omit the name
+     * @return true if the value should be written, false after an exception
+     * @throws IllegalStateException if the output has been completed
+     */
+    private boolean fieldStart(String fieldName) {
+        Validate.validState(!ended, "The toString has been completed");
+        if (failure != null) {
+            return false;
+        }
+        try {
+            if (separatorDue) {
+                write(style.fieldSeparator);
+            }
+            separatorDue = true;
+            if (fieldName != null && style.fieldNameValueSeparator != null) {
+                write(fieldName);
+                write(style.fieldNameValueSeparator);
+            }
+            return true;
+        } catch (IOException ex) {
+            failure = ex;
+            return false;
+        }
+    }
+
+    /**
+     * <p>Writes a value, detecting cycles as <code>ToStringStyle</code> does.</p>
+     *
+     * <p>The <code>toString</code> of a <code>String</code>, number, boolean
+     * or character cannot reenter a builder, so these are written without
+     * registering them.</p>
+     *
+     * @param value  the value, not null
+     * @param detail  whether to write detail or a summary
+     * @throws IOException if the destination throws an exception
+     */
+    private void writeValue(Object value, boolean detail) throws IOException {
+        if (value instanceof String || value instanceof Number
+            || value instanceof Boolean || value instanceof Character) {
+            if (detail) {
+                write(value.toString());
+            } else {
+                writeSummary(value);
+            }
+            return;
+        }
+        int type = ArrayType.of(value.getClass());
+        if (type > ArrayType.OBJECT) {
+            // nor can an array of primitives
+            if (detail) {
+                writeArray(value, type);
+            } else {
+                writeSize(Array.getLength(value));
+            }
+            return;
+        }
+        if (ToStringStyle.isRegistered(value)) {
+            write(value.getClass().getName());
+            write('@');
+            write(Integer.toHexString(System.identityHashCode(value)));
+            return;
+        }
+        ToStringStyle.register(value);
+        try {
+            if (type == ArrayType.OBJECT) {
+                if (detail) {
+                    writeArray(value, type);
+                } else {
+                    writeSize(((Object[]) value).length);
+                }
+            } else if (value instanceof Collection<?>) {
+                if (detail) {
+                    write(value.toString());
+                } else {
+                    writeSize(((Collection<?>) value).size());
+                }
+            } else if (value instanceof Map<?, ?>) {
+                if (detail) {
+                    write(value.toString());
+                } else {
+                    writeSize(((Map<?, ?>) value).size());
+                }
+            } else if (detail) {
+                write(String.valueOf(value));
+            } else {
+                writeSummary(value);
+            }
+        } finally {
+            ToStringStyle.unregister(value);
+        }
+    }
+
+    /**
+     * <p>Writes the detail of an array.</p>
+     *
+     * @param array  the array, not null
+     * @param type  the <code>ArrayType</code> of the array
+     * @throws IOException if the destination throws an exception
+     */
+    private void writeArray(Object array, int type) throws IOException {
+        write(style.arrayStart);
+        switch (type) {
+            case ArrayType.LONG:
+                long[] longs = (long[]) array;
+                for (int i = 0; i < longs.length; i++) {
+                    writeArraySeparator(i);
+                    write(longs[i]);
+                }
+                break;
+            case ArrayType.INT:
+                int[] ints = (int[]) array;
+                for (int i = 0; i < ints.length; i++) {
+                    writeArraySeparator(i);
+                    write(ints[i]);
+                }
+                break;
+            case ArrayType.SHORT:
+                short[] shorts = (short[]) array;
+                for (int i = 0; i < shorts.length; i++) {
+                    writeArraySeparator(i);
+                    write(shorts[i]);
+                }
+                break;
+            case ArrayType.CHAR:
+                char[] chars = (char[]) array;
+                for (int i = 0; i < chars.length; i++) {
+                    writeArraySeparator(i);
+                    write(chars[i]);
+                }
+                break;
+            case ArrayType.BYTE:
+                byte[] bytes = (byte[]) array;
+                for (int i = 0; i < bytes.length; i++) {
+                    writeArraySeparator(i);
+                    write(bytes[i]);
+                }
+                break;
+            case ArrayType.DOUBLE:
+                double[] doubles = (double[]) array;
+                for (int i = 0; i < doubles.length; i++) {
+                    writeArraySeparator(i);
+                    write(doubles[i]);
+                }
+                break;
+            case ArrayType.FLOAT:
+                float[] floats = (float[]) array;
+                for (int i = 0; i < floats.length; i++) {
+                    writeArraySeparator(i);
+                    write(floats[i]);
+                }
+                break;
+            case ArrayType.BOOLEAN:
+                boolean[] booleans = (boolean[]) array;
+                for (int i = 0; i < booleans.length; i++) {
+                    writeArraySeparator(i);
+                    write(booleans[i]);
+                }
+                break;
+            default:
+                Object[] objects = (Object[]) array;
+                for (int i = 0; i < objects.length; i++) {
+                    writeArraySeparator(i);
+                    if (objects[i] == null) {
+                        write(style.nullText);
+                    } else {
+                        writeValue(objects[i], style.arrayContentDetail);
+                    }
+                }
+        }
+        write(style.arrayEnd);
+    }
+
+    /**
+     * <p>Writes the array separator before all but the first element.</p>
+     *
+     * @param index  the index of the element
+     * @throws IOException if the destination throws an exception
+     */
+    private void writeArraySeparator(int index) throws IOException {
+        if (index > 0) {
+            write(style.arraySeparator);
+        }
+    }
+
+    /**
+     * <p>Writes the summary size of an array, collection or map.</p>
+     *
+     * @param size  the size
+     * @throws IOException if the destination throws an exception
+     */
+    private void writeSize(int size) throws IOException {
+        write(style.sizeStartText);
+        write(size);
+        write(style.sizeEndText);
+    }
+
+    /**
+     * <p>Writes the summary of an object.</p>
+     *
+     * @param value  the value, not null
+     * @throws IOException if the destination throws an exception
+     */
+    private void writeSummary(Object value) throws IOException {
+        write(style.summaryObjectStartText);
+        write(ClassUtils.getShortClassName(value.getClass()));
+        write(style.summaryObjectEndText);
+    }
+
+    //-----------------------------------------------------------------------
+    // write directly to a StringBuilder, avoiding the String conversions
+    // that Appendable requires
+
+    private void write(String str) throws IOException {
+        if (builder != null) {
+            builder.append(str);
+        } else {
+            appendable.append(str);
+        }
+    }
+
+    private void write(char value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+        } else {
+            appendable.append(value);
+        }
+    }
+
+    private void write(boolean value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+        } else {
+            appendable.append(String.valueOf(value));
+        }
+    }
+
+    private void write(int value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+        } else {
+            appendable.append(String.valueOf(value));
+        }
+    }
+
+    private void write(long value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+        } else {
+            appendable.append(String.valueOf(value));
+        }
+    }
+
+    private void write(float value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+        } else {
+            appendable.append(String.valueOf(value));
+        }
+    }
+
+    private void write(double value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+        } else {
+            appendable.append(String.valueOf(value));
+        }
+    }
+
+}
@@ -83,6 +83,9 @@ import org.apache.commons.lang3.ObjectUtils;
  * <p>The exact format of the <code>toString</code> is determined by
  * the {@link ToStringStyle} passed into the constructor.</p>
  *
+ * <p>To write the <code>toString</code> directly to a <code>Writer</code> or
+ * other <code>Appendable</code>, see {@link CompiledToStringStyle}.</p>
+ *
  * @author Apache Software Foundation
  * @author Gary Gregory
  * @author Pete Gieser
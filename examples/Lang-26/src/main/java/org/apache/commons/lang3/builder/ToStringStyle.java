@@ -24,7 +24,7 @@ import java.util.WeakHashMap;
 
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.SystemInfo;
 
 /**
  * <p>Controls <code>String</code> formatting for {@link ToStringBuilder}.
@@ -2250,9 +2250,9 @@ public abstract class ToStringStyle implements Serializable {
         MultiLineToStringStyle() {
             super();
             this.setContentStart("[");
-            this.setFieldSeparator(SystemUtils.LINE_SEPARATOR + "  ");
+            this.setFieldSeparator(SystemInfo.getLineSeparator() + "  ");
             this.setFieldSeparatorAtStart(true);
-            this.setContentEnd(SystemUtils.LINE_SEPARATOR + "]");
+            this.setContentEnd(SystemInfo.getLineSeparator() + "]");
         }
 
         /**
@@ -0,0 +1,390 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.IntArrayBuilder;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>
+ * A concurrent map from {@code int} keys to {@link StripedLong} counts, for
+ * histogramming under high contention.
+ * </p>
+ * <p>
+ * A {@code ConcurrentHashMap<Integer, AtomicLong>} boxes each key and makes
+ * all the threads counting the same key contend for one value. This class
+ * holds the keys unboxed in open addressed tables, split into segments by
+ * hash, and counts with {@code StripedLong}s:
+ * </p>
+ * <pre>
+ * IntCounterMap latencies = new IntCounterMap();
+ * ...
+ * latencies.increment(millis);   // from any thread
+ * ...
+ * Map&lt;Integer, Long&gt; histogram = latencies.snapshot();
+ * </pre>
+ * <p>
+ * Updating the count of a key already in the map takes no lock and allocates
+ * nothing. Adding a new key locks only its segment. Keys are never removed;
+ * {@link #reset()} sets all the counts back to zero.
+ * </p>
+ * <p>
+ * #ThreadSafe#
+ * </p>
+ *
+ * @see StripedLong
+ * @author Apache Software Foundation
+ * @version $Id$
+ * @since 3.2
+ */
+public class IntCounterMap {
+
+    /** The initial capacity of each segment table. */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** The segments, a power of two in number. */
+    private final Segment[] segments;
+
+    /** The shift selecting the segment from the high bits of a hash. */
+    private final int segmentShift;
+
+    /**
+     * Constructs an empty map with a number of segments suited to the
+     * number of processors.
+     */
+    public IntCounterMap() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Constructs an empty map.
+     *
+     * @param concurrencyLevel  the estimated number of threads adding new keys
+     *  concurrently, rounded up to a power of two
+     * @throws IllegalArgumentException if the concurrency level is less than one
+     */
+    public IntCounterMap(int concurrencyLevel) {
+        super();
+        Validate.isTrue(concurrencyLevel > 0, "The concurrency level must be positive: %d", concurrencyLevel);
+        int bits = 0;
+        while (bits < 16 && (1 << bits) < concurrencyLevel) {
+            bits++;
+        }
+        segments = new Segment[1 << bits];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+        segmentShift = 32 - bits;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the counter for a key, adding it with a count of zero if necessary.
+     * <p>
+     * The counter can be held and updated directly, avoiding the lookup.
+     *
+     * @param key  the key
+     * @return the counter, not null
+     */
+    public StripedLong getCounter(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        Entry entry = Segment.find(segment.table, key, hash);
+        return entry != null ? entry : segment.add(key, hash);
+    }
+
+    /**
+     * Increments the count of a key.
+     *
+     * @param key  the key to count
+     */
+    public void increment(int key) {
+        getCounter(key).increment();
+    }
+
+    /**
+     * Adds to the count of a key.
+     *
+     * @param key  the key to count
+     * @param delta  the amount to add
+     */
+    public void add(int key, long delta) {
+        getCounter(key).add(delta);
+    }
+
+    /**
+     * Gets the count of a key, without adding it to the map.
+     *
+     * @param key  the key
+     * @return the count, zero if the key is not in the map
+     */
+    public long get(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        Entry entry = Segment.find(segment.table, key, hash);
+        if (entry == null) {
+            synchronized (segment) {
+                entry = Segment.find(segment.table, key, hash);
+            }
+        }
+        return entry == null ? 0 : entry.longValue();
+    }
+
+    /**
+     * Checks whether a key has been added to the map.
+     *
+     * @param key  the key
+     * @return true if the key is in the map
+     */
+    public boolean containsKey(int key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            return Segment.find(segment.table, key, hash) != null;
+        }
+    }
+
+    /**
+     * Gets the number of keys in the map.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the sum of the counts of all the keys.
+     *
+     * @return the total count
+     */
+    public long total() {
+        long total = 0;
+        for (Segment segment : segments) {
+            for (Entry entry : segment.entries()) {
+                total += entry.longValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the keys in the map.
+     *
+     * @return a new array of the keys in ascending order, not null
+     */
+    public int[] keys() {
+        IntArrayBuilder keys = new IntArrayBuilder();
+        for (Segment segment : segments) {
+            for (Entry entry : segment.entries()) {
+                keys.append(entry.key);
+            }
+        }
+        int[] result = keys.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Gets the counts of all the keys.
+     * <p>
+     * Each count is read separately, so the result is not an atomic snapshot
+     * while there are concurrent updates.
+     *
+     * @return an unmodifiable map of the counts by key, in key order, not null
+     */
+    public Map<Integer, Long> snapshot() {
+        Map<Integer, Long> snapshot = new TreeMap<Integer, Long>();
+        for (Segment segment : segments) {
+            for (Entry entry : segment.entries()) {
+                snapshot.put(Integer.valueOf(entry.key), Long.valueOf(entry.longValue()));
+            }
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Resets the counts of all the keys to zero, keeping the keys.
+     * <p>
+     * This is not atomic: updates made concurrently may or may not be included.
+     */
+    public void reset() {
+        for (Segment segment : segments) {
+            for (Entry entry : segment.entries()) {
+                entry.reset();
+            }
+        }
+    }
+
+    /**
+     * Gets a string representation of the counts.
+     *
+     * @return the counts in key order, as for a map
+     */
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Spreads the bits of a key, so that nearby keys fall in different segments.
+     *
+     * @param key  the key
+     * @return the hash
+     */
+    private static int hash(int key) {
+        int h = key * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Gets the segment for a hash.
+     *
+     * @param hash  the hash of the key
+     * @return the segment, not null
+     */
+    private Segment segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A counter that records its key.
+     * <p>
+     * The key is final, so an entry read from a table without locking is
+     * always seen fully constructed.
+     */
+    private static final class Entry extends StripedLong {
+        /** Serialization version. */
+        private static final long serialVersionUID = 1L;
+        /** The key. */
+        final int key;
+
+        /**
+         * Creates an entry with a count of zero.
+         *
+         * @param key  the key
+         */
+        Entry(int key) {
+            super();
+            this.key = key;
+        }
+    }
+
+    /**
+     * An open addressed table of entries, which is read without locking and
+     * locked to add entries.
+     */
+    private static final class Segment {
+        /** The table, at most half full; its length is a power of two. */
+        volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+        /** The number of entries, guarded by the segment. */
+        int size;
+
+        /**
+         * Finds the entry for a key by linear probing.
+         *
+         * @param table  the table to search
+         * @param key  the key
+         * @param hash  the hash of the key
+         * @return the entry, null if not found
+         */
+        static Entry find(Entry[] table, int key, int hash) {
+            int mask = table.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Entry entry = table[i];
+                if (entry == null || entry.key == key) {
+                    return entry;
+                }
+            }
+        }
+
+        /**
+         * Adds an entry for a key, unless another thread has just added it.
+         *
+         * @param key  the key
+         * @param hash  the hash of the key
+         * @return the entry for the key, not null
+         */
+        synchronized Entry add(int key, int hash) {
+            Entry[] tab = table;
+            Entry entry = find(tab, key, hash);
+            if (entry != null) {
+                return entry;
+            }
+            if ((size + 1) * 2 > tab.length) {
+                Entry[] grown = new Entry[tab.length * 2];
+                for (Entry e : tab) {
+                    if (e != null) {
+                        insert(grown, e);
+                    }
+                }
+                tab = grown;
+            }
+            entry = new Entry(key);
+            insert(tab, entry);
+            size++;
+            // the volatile write publishes the new entry
+            table = tab;
+            return entry;
+        }
+
+        /**
+         * Gets the entries of the segment.
+         *
+         * @return a new array of the entries, not null
+         */
+        synchronized Entry[] entries() {
+            Entry[] result = new Entry[size];
+            int count = 0;
+            for (Entry entry : table) {
+                if (entry != null) {
+                    result[count++] = entry;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Inserts an entry known not to be in a table.
+         *
+         * @param table  the table, not full
+         * @param entry  the entry to insert
+         */
+        private static void insert(Entry[] table, Entry entry) {
+            int mask = table.length - 1;
+            int i = hash(entry.key) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = entry;
+        }
+    }
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableDouble;
+
+/**
+ * <p>
+ * A {@code double} sum that scales under concurrent updates: the
+ * thread-safe sibling of {@link MutableDouble}.
+ * </p>
+ * <p>
+ * Updates from different threads are spread over separate cells once they
+ * collide, as for {@link StripedLong}. Reading the value sums the cells.
+ * As floating point addition is not associative, the order in which the
+ * updates are combined, and so the rounding of the result, may vary.
+ * </p>
+ * <p>
+ * The value read is not an atomic snapshot while there are concurrent updates,
+ * {@link #setValue(double)} is not atomic with respect to concurrent updates,
+ * and objects are only {@code equal} if they are the same instance.
+ * </p>
+ * <p>
+ * #ThreadSafe#
+ * </p>
+ *
+ * @see MutableDouble
+ * @see StripedLong
+ * @author Apache Software Foundation
+ * @version $Id$
+ * @since 3.2
+ */
+public class StripedDouble extends StripedNumber implements Mutable<Number> {
+
+    /**
+     * Required for serialization support.
+     *
+     * @see java.io.Serializable
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new StripedDouble with the default value of zero.
+     */
+    public StripedDouble() {
+        super();
+    }
+
+    /**
+     * Constructs a new StripedDouble with the specified value.
+     *
+     * @param value  the initial value to store
+     */
+    public StripedDouble(double value) {
+        super();
+        update(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Constructs a new StripedDouble with the specified value.
+     *
+     * @param value  the initial value to store, not null
+     * @throws NullPointerException if the object is null
+     */
+    public StripedDouble(Number value) {
+        this(value.doubleValue());
+    }
+
+    /**
+     * Constructs a new StripedDouble parsing the given string.
+     *
+     * @param value  the string to parse, not null
+     * @throws NumberFormatException if the string cannot be parsed into a double
+     */
+    public StripedDouble(String value) throws NumberFormatException {
+        this(Double.parseDouble(value));
+    }
+
+    /**
+     * Adds two values held as bits.
+     *
+     * @param value  the bits of the current value
+     * @param operand  the bits of the value to add
+     * @return the bits of the sum
+     */
+    @Override
+    final long combine(long value, long operand) {
+        return Double.doubleToRawLongBits(Double.longBitsToDouble(value) + Double.longBitsToDouble(operand));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the value as a Double instance.
+     *
+     * @return the value as a Double, never null
+     */
+    public Double getValue() {
+        return Double.valueOf(doubleValue());
+    }
+
+    /**
+     * Sets the value.
+     * <p>
+     * This is not atomic: updates made concurrently may or may not be included.
+     *
+     * @param value  the value to set
+     */
+    public void setValue(double value) {
+        clear();
+        update(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Sets the value from any Number instance.
+     * <p>
+     * This is not atomic: updates made concurrently may or may not be included.
+     *
+     * @param value  the value to set, not null
+     * @throws NullPointerException if the object is null
+     */
+    public void setValue(Number value) {
+        setValue(value.doubleValue());
+    }
+
+    /**
+     * Resets the value to zero.
+     * <p>
+     * This is not atomic: updates made concurrently may or may not be included.
+     */
+    public void reset() {
+        clear();
+    }
+
+    /**
+     * Gets the value and resets it to zero.
+     * <p>
+     * Updates made concurrently are included in either the value returned
+     * or the value remaining, so no update is lost.
+     *
+     * @return the value before the reset
+     */
+    public double getAndReset() {
+        return Double.longBitsToDouble(sumAndClear());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Increments the value.
+     */
+    public void increment() {
+        add(1d);
+    }
+
+    /**
+     * Decrements the value.
+     */
+    public void decrement() {
+        add(-1d);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds a value to the value of this instance.
+     *
+     * @param operand  the value to add
+     */
+    public void add(double operand) {
+        update(Double.doubleToRawLongBits(operand));
+    }
+
+    /**
+     * Adds a value to the value of this instance.
+     *
+     * @param operand  the value to add, not null
+     * @throws NullPointerException if the object is null
+     */
+    public void add(Number operand) {
+        add(operand.doubleValue());
+    }
+
+    /**
+     * Subtracts a value from the value of this instance.
+     *
+     * @param operand  the value to subtract
+     */
+    public void subtract(double operand) {
+        add(-operand);
+    }
+
+    /**
+     * Subtracts a value from the value of this instance.
+     *
+     * @param operand  the value to subtract, not null
+     * @throws NullPointerException if the object is null
+     */
+    public void subtract(Number operand) {
+        add(-operand.doubleValue());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks whether the double value is the special NaN value.
+     *
+     * @return true if NaN
+     */
+    public boolean isNaN() {
+        return Double.isNaN(doubleValue());
+    }
+
+    /**
+     * Checks whether the double value is infinite.
+     *
+     * @return true if infinite
+     */
+    public boolean isInfinite() {
+        return Double.isInfinite(doubleValue());
+    }
+
+    //-----------------------------------------------------------------------
+    // shortValue and bytValue rely on Number implementation
+    /**
+     * Returns the value of this StripedDouble as an int.
+     *
+     * @return the numeric value represented by this object after conversion to type int.
+     */
+    @Override
+    public int intValue() {
+        return (int) doubleValue();
+    }
+
+    /**
+     * Returns the value of this StripedDouble as a long.
+     *
+     * @return the numeric value represented by this object after conversion to type long.
+     */
+    @Override
+    public long longValue() {
+        return (long) doubleValue();
+    }
+
+    /**
+     * Returns the value of this StripedDouble as a float.
+     *
+     * @return the numeric value represented by this object after conversion to type float.
+     */
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    /**
+     * Returns the value of this StripedDouble as a double.
+     *
+     * @return the numeric value represented by this object after conversion to type double.
+     */
+    @Override
+    public double doubleValue() {
+        return Double.longBitsToDouble(sum());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets this sum as an instance of Double.
+     *
+     * @return a Double instance containing the value from this sum, never null
+     */
+    public Double toDouble() {
+        return Double.valueOf(doubleValue());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns the String value of this sum.
+     *
+     * @return the sum value as a string
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(doubleValue());
+    }
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableLong;
+
+/**
+ * <p>
+ * A {@code long} counter that scales under concurrent updates: the
+ * thread-safe sibling of {@link MutableLong}.
+ * </p>
+ * <p>
+ * {@code MutableLong} is not synchronized, and guarding it with a lock, or
+ * replacing it with an {@code AtomicLong}, makes every thread that counts
+ * contend for the same memory. This class instead spreads updates from
+ * different threads over separate cells once they collide, so
+ * {@link #increment()} and {@link #add(long)} scale with the number of
+ * processors. Reading the value sums the cells, so is slower; this suits
+ * statistics that are updated far more often than they are read.
+ * </p>
+ * <p>
+ * The value read is exact when there are no concurrent updates, but is not an
+ * atomic snapshot while there are. For the same reason {@link #setValue(long)}
+ * is not atomic with respect to concurrent updates, and objects are only
+ * {@code equal} if they are the same instance.
+ * </p>
+ * <p>
+ * #ThreadSafe#
+ * </p>
+ *
+ * @see MutableLong
+ * @see IntCounterMap
+ * @author Apache Software Foundation
+ * @version $Id$
+ * @since 3.2
+ */
+public class StripedLong extends StripedNumber implements Mutable<Number> {
+
+    /**
+     * Required for serialization support.
+     *
+     * @see java.io.Serializable
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new StripedLong with the default value of zero.
+     */
+    public StripedLong() {
+        super();
+    }
+
+    /**
+     * Constructs a new StripedLong with the specified value.
+     *
+     * @param value  the initial value to store
+     */
+    public StripedLong(long value) {
+        super();
+        update(value);
+    }
+
+    /**
+     * Constructs a new StripedLong with the specified value.
+     *
+     * @param value  the initial value to store, not null
+     * @throws NullPointerException if the object is null
+     */
+    public StripedLong(Number value) {
+        this(value.longValue());
+    }
+
+    /**
+     * Constructs a new StripedLong parsing the given string.
+     *
+     * @param value  the string to parse, not null
+     * @throws NumberFormatException if the string cannot be parsed into a long
+     */
+    public StripedLong(String value) throws NumberFormatException {
+        this(Long.parseLong(value));
+    }
+
+    /**
+     * Adds two values.
+     *
+     * @param value  the current value
+     * @param operand  the value to add
+     * @return the sum
+     */
+    @Override
+    final long combine(long value, long operand) {
+        return value + operand;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the value as a Long instance.
+     *
+     * @return the value as a Long, never null
+     */
+    public Long getValue() {
+        return Long.valueOf(sum());
+    }
+
+    /**
+     * Sets the value.
+     * <p>
+     * This is not atomic: updates made concurrently may or may not be included.
+     *
+     * @param value  the value to set
+     */
+    public void setValue(long value) {
+        clear();
+        update(value);
+    }
+
+    /**
+     * Sets the value from any Number instance.
+     * <p>
+     * This is not atomic: updates made concurrently may or may not be included.
+     *
+     * @param value  the value to set, not null
+     * @throws NullPointerException if the object is null
+     */
+    public void setValue(Number value) {
+        setValue(value.longValue());
+    }
+
+    /**
+     * Resets the value to zero.
+     * <p>
+     * This is not atomic: updates made concurrently may or may not be included.
+     */
+    public void reset() {
+        clear();
+    }
+
+    /**
+     * Gets the value and resets it to zero.
+     * <p>
+     * Updates made concurrently are included in either the value returned
+     * or the value remaining, so no update is lost.
+     *
+     * @return the value before the reset
+     */
+    public long getAndReset() {
+        return sumAndClear();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Increments the value.
+     */
+    public void increment() {
+        update(1L);
+    }
+
+    /**
+     * Decrements the value.
+     */
+    public void decrement() {
+        update(-1L);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds a value to the value of this instance.
+     *
+     * @param operand  the value to add
+     */
+    public void add(long operand) {
+        update(operand);
+    }
+
+    /**
+     * Adds a value to the value of this instance.
+     *
+     * @param operand  the value to add, not null
+     * @throws NullPointerException if the object is null
+     */
+    public void add(Number operand) {
+        update(operand.longValue());
+    }
+
+    /**
+     * Subtracts a value from the value of this instance.
+     *
+     * @param operand  the value to subtract
+     */
+    public void subtract(long operand) {
+        update(-operand);
+    }
+
+    /**
+     * Subtracts a value from the value of this instance.
+     *
+     * @param operand  the value to subtract, not null
+     * @throws NullPointerException if the object is null
+     */
+    public void subtract(Number operand) {
+        update(-operand.longValue());
+    }
+
+    //-----------------------------------------------------------------------
+    // shortValue and bytValue rely on Number implementation
+    /**
+     * Returns the value of this StripedLong as an int.
+     *
+     * @return the numeric value represented by this object after conversion to type int.
+     */
+    @Override
+    public int intValue() {
+        return (int) sum();
+    }
+
+    /**
+     * Returns the value of this StripedLong as a long.
+     *
+     * @return the numeric value represented by this object after conversion to type long.
+     */
+    @Override
+    public long longValue() {
+        return sum();
+    }
+
+    /**
+     * Returns the value of this StripedLong as a float.
+     *
+     * @return the numeric value represented by this object after conversion to type float.
+     */
+    @Override
+    public float floatValue() {
+        return sum();
+    }
+
+    /**
+     * Returns the value of this StripedLong as a double.
+     *
+     * @return the numeric value represented by this object after conversion to type double.
+     */
+    @Override
+    public double doubleValue() {
+        return sum();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets this counter as an instance of Long.
+     *
+     * @return a Long instance containing the value from this counter, never null
+     */
+    public Long toLong() {
+        return Long.valueOf(sum());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns the String value of this counter.
+     *
+     * @return the counter value as a string
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(sum());
+    }
+
+}
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * <p>
+ * The base class of numbers that are updated concurrently by spreading the
+ * updates over a table of cells.
+ * </p>
+ * <p>
+ * While there is no contention, updates are applied to a single base value.
+ * Once two threads collide on the base, a table of cells is created, and each
+ * thread updates the cell selected by a per-thread hash. The table doubles
+ * on further collisions until it has at least as many cells as processors.
+ * Reading the value combines the base and all the cells, so is slower than
+ * updating it, and is not an atomic snapshot while updates are in progress.
+ * </p>
+ * <p>
+ * The values are held as the bits of a {@code long}, combined by
+ * {@link #combine(long, long)}, for which zero must be the identity.
+ * </p>
+ *
+ * @author Apache Software Foundation
+ * @version $Id$
+ * @since 3.2
+ */
+abstract class StripedNumber extends Number {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /** The number of processors, which bounds the number of cells. */
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /** The updater of the base value. */
+    private static final AtomicLongFieldUpdater<StripedNumber> BASE =
+        AtomicLongFieldUpdater.newUpdater(StripedNumber.class, "base");
+
+    /** The updater of the lock used when creating or resizing the cells. */
+    private static final AtomicIntegerFieldUpdater<StripedNumber> BUSY =
+        AtomicIntegerFieldUpdater.newUpdater(StripedNumber.class, "busy");
+
+    /** The source of initial per-thread hashes. */
+    private static final AtomicInteger HASH_SEED = new AtomicInteger();
+
+    /** The per-thread hash, held in an array so that it can be changed on collision. */
+    private static final ThreadLocal<int[]> THREAD_HASH = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            int hash = HASH_SEED.addAndGet(0x9e3779b9);
+            return new int[] {hash == 0 ? 1 : hash};
+        }
+    };
+
+    /** The value used while there is no contention. */
+    private transient volatile long base;
+
+    /** The cells, null until contention occurs; the length is a power of two. */
+    private transient volatile Cell[] cells;
+
+    /** The lock used when creating or resizing the cells, 1 when held. */
+    private transient volatile int busy;
+
+    /**
+     * Creates a new instance with a value of zero.
+     */
+    StripedNumber() {
+        super();
+    }
+
+    /**
+     * Combines two values.
+     *
+     * @param value  the current value bits
+     * @param operand  the operand bits
+     * @return the combined value bits
+     */
+    abstract long combine(long value, long operand);
+
+    /**
+     * Applies an update to the base, or to the cell of this thread.
+     *
+     * @param operand  the operand bits
+     */
+    final void update(long operand) {
+        Cell[] cs = cells;
+        long b = base;
+        if (cs == null && BASE.compareAndSet(this, b, combine(b, operand))) {
+            return;
+        }
+        int[] hash = THREAD_HASH.get();
+        boolean uncontended = true;
+        if (cs != null) {
+            Cell c = cs[hash[0] & (cs.length - 1)];
+            if (c != null) {
+                long v = c.value;
+                uncontended = Cell.VALUE.compareAndSet(c, v, combine(v, operand));
+                if (uncontended) {
+                    return;
+                }
+            }
+        }
+        retryUpdate(operand, hash, uncontended);
+    }
+
+    /**
+     * Applies an update after contention, creating or growing the cells as needed.
+     *
+     * @param operand  the operand bits
+     * @param hash  the holder of the hash of this thread
+     * @param wasUncontended  false if a CAS on the cell of this thread has just failed
+     */
+    private void retryUpdate(long operand, int[] hash, boolean wasUncontended) {
+        int h = hash[0];
+        boolean collide = false;
+        for (;;) {
+            Cell[] cs = cells;
+            if (cs != null) {
+                int n = cs.length;
+                Cell c = cs[h & (n - 1)];
+                if (c == null) {
+                    if (busy == 0 && BUSY.compareAndSet(this, 0, 1)) {
+                        boolean created = false;
+                        try {
+                            Cell[] current = cells;
+                            int index = h & (current.length - 1);
+                            if (current[index] == null) {
+                                current[index] = new Cell(operand);
+                                created = true;
+                            }
+                        } finally {
+                            busy = 0;
+                        }
+                        if (created) {
+                            return;
+                        }
+                        continue;
+                    }
+                    collide = false;
+                } else if (wasUncontended == false) {
+                    // rehash before retrying the cell
+                    wasUncontended = true;
+                } else {
+                    long v = c.value;
+                    if (Cell.VALUE.compareAndSet(c, v, combine(v, operand))) {
+                        return;
+                    }
+                    if (n >= NCPU || cells != cs) {
+                        collide = false;
+                    } else if (collide == false) {
+                        collide = true;
+                    } else if (busy == 0 && BUSY.compareAndSet(this, 0, 1)) {
+                        try {
+                            if (cells == cs) {
+                                Cell[] grown = new Cell[n << 1];
+                                System.arraycopy(cs, 0, grown, 0, n);
+                                cells = grown;
+                            }
+                        } finally {
+                            busy = 0;
+                        }
+                        collide = false;
+                        continue;
+                    }
+                }
+                // xorshift to a new cell
+                h ^= h << 13;
+                h ^= h >>> 17;
+                h ^= h << 5;
+                hash[0] = h;
+            } else if (busy == 0 && BUSY.compareAndSet(this, 0, 1)) {
+                boolean created = false;
+                try {
+                    if (cells == null) {
+                        Cell[] initial = new Cell[2];
+                        initial[h & 1] = new Cell(operand);
+                        cells = initial;
+                        created = true;
+                    }
+                } finally {
+                    busy = 0;
+                }
+                if (created) {
+                    return;
+                }
+            } else {
+                long b = base;
+                if (BASE.compareAndSet(this, b, combine(b, operand))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Combines the base and all the cells.
+     *
+     * @return the value bits
+     */
+    final long sum() {
+        long sum = base;
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell c : cs) {
+                if (c != null) {
+                    sum = combine(sum, c.value);
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Resets the base and all the cells to zero.
+     */
+    final void clear() {
+        base = 0;
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell c : cs) {
+                if (c != null) {
+                    c.value = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Combines the base and all the cells, resetting each to zero as it is read.
+     *
+     * @return the value bits
+     */
+    final long sumAndClear() {
+        long sum = BASE.getAndSet(this, 0);
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell c : cs) {
+                if (c != null) {
+                    sum = combine(sum, Cell.VALUE.getAndSet(c, 0));
+                }
+            }
+        }
+        return sum;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Writes the combined value, rather than the cells.
+     *
+     * @param out  the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeLong(sum());
+    }
+
+    /**
+     * Reads the combined value into the base.
+     *
+     * @param in  the input stream
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        base = in.readLong();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A cell, padded to reduce false sharing with neighbouring cells.
+     */
+    static final class Cell {
+        /** The updater of the value. */
+        static final AtomicLongFieldUpdater<Cell> VALUE = AtomicLongFieldUpdater.newUpdater(Cell.class, "value");
+
+        /** Padding before the value. */
+        long p0, p1, p2, p3, p4, p5, p6;
+        /** The value bits. */
+        volatile long value;
+        /** Padding after the value. */
+        long q0, q1, q2, q3, q4, q5, q6;
+
+        /**
+         * Creates a cell.
+         *
+         * @param value  the initial value bits
+         */
+        Cell(long value) {
+            this.value = value;
+        }
+    }
+
+}
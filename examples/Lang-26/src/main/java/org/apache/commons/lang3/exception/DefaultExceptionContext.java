@@ -21,7 +21,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.SystemInfo;
 
 /**
  * Default implementation of the context storing the label-value pairs for contexted exceptions.
@@ -115,10 +115,10 @@ class DefaultExceptionContext implements ExceptionContext, Serializable {
         
         if (contextValueMap.size() > 0) {
             if (buffer.length() > 0l) {
-                buffer.append(SystemUtils.LINE_SEPARATOR);
+                buffer.append(SystemInfo.getLineSeparator());
             }
             buffer.append("Exception Context:");
-            buffer.append(SystemUtils.LINE_SEPARATOR); 
+            buffer.append(SystemInfo.getLineSeparator()); 
             buffer.append("\t");  
             
             Object value;
@@ -141,7 +141,7 @@ class DefaultExceptionContext implements ExceptionContext, Serializable {
                     buffer.append(valueStr);
                 }
                 buffer.append("]");
-                buffer.append(SystemUtils.LINE_SEPARATOR);  
+                buffer.append(SystemInfo.getLineSeparator());  
                 buffer.append("\t");  
             }
             buffer.append("---------------------------------");
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.lang3.exception;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -28,7 +29,7 @@ import java.util.StringTokenizer;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.SystemInfo;
 
 /**
  * <p>Provides utilities for manipulating and examining 
@@ -52,6 +53,16 @@ public class ExceptionUtils {
      */
     static final String WRAPPED_MARKER = " [wrapped] ";
 
+    /**
+     * <p>The FNV-1a 64 bit offset basis, used for stack trace fingerprints.</p>
+     */
+    private static final long FINGERPRINT_OFFSET = 0xcbf29ce484222325L;
+
+    /**
+     * <p>The FNV-1a 64 bit prime, used for stack trace fingerprints.</p>
+     */
+    private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+
     /**
      * <p>The names of methods commonly used to access a wrapped exception.</p>
      */
@@ -581,6 +592,164 @@ public class ExceptionUtils {
         }
     }
 
+    /**
+     * <p>Removes common frames from the cause trace given the two stack traces,
+     * working directly on the stack trace elements.</p>
+     *
+     * <p>This matches {@link #removeCommonFrames(List, List)}: the traces are
+     * aligned from their ends and each cause frame equal to the wrapper frame
+     * at the same position is removed. No text is rendered.</p>
+     *
+     * @param causeFrames  stack trace of a cause throwable
+     * @param wrapperFrames  stack trace of a wrapper throwable
+     * @return the cause frames less the common frames, the input array if none are common
+     * @throws IllegalArgumentException if either argument is null
+     * @since 3.2
+     */
+    public static StackTraceElement[] removeCommonElements(StackTraceElement[] causeFrames,
+            StackTraceElement[] wrapperFrames) {
+        if (causeFrames == null || wrapperFrames == null) {
+            throw new IllegalArgumentException("The array must not be null");
+        }
+        int offset = wrapperFrames.length - causeFrames.length;
+        int start = Math.max(0, -offset);
+        int kept = causeFrames.length;
+        for (int i = start; i < causeFrames.length; i++) {
+            if (causeFrames[i].equals(wrapperFrames[i + offset])) {
+                kept--;
+            }
+        }
+        if (kept == causeFrames.length) {
+            return causeFrames;
+        }
+        StackTraceElement[] result = new StackTraceElement[kept];
+        System.arraycopy(causeFrames, 0, result, 0, start);
+        int count = start;
+        for (int i = start; i < causeFrames.length; i++) {
+            if (!causeFrames[i].equals(wrapperFrames[i + offset])) {
+                result[count++] = causeFrames[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>Appends a compact stack trace for the root cause of a throwable,
+     * limiting the number of frames output for each throwable.</p>
+     *
+     * <p>The output has the same layout as {@link #getRootCauseStackTrace(Throwable)},
+     * one line per entry, but is built from {@link Throwable#getStackTrace()}
+     * rather than by rendering and re-parsing <code>printStackTrace</code>.
+     * Where frames are omitted, a line of the form <code>\t... n more</code>
+     * is output.</p>
+     *
+     * @param throwable  the throwable to output, null outputs nothing
+     * @param appendable  the destination, not null
+     * @param maxFrames  the maximum number of frames per throwable, negative for no limit
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the appendable is <code>null</code>
+     * @since 3.2
+     */
+    public static void appendRootCauseStackTrace(Throwable throwable, Appendable appendable, int maxFrames)
+            throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("The Appendable must not be null");
+        }
+        if (throwable == null) {
+            return;
+        }
+        String linebreak = SystemInfo.getLineSeparator();
+        Throwable throwables[] = getThrowables(throwable);
+        int count = throwables.length;
+        StackTraceElement[] nextTrace = throwables[count - 1].getStackTrace();
+        for (int i = count; --i >= 0;) {
+            StackTraceElement[] trace = nextTrace;
+            if (i != 0) {
+                nextTrace = throwables[i - 1].getStackTrace();
+                trace = removeCommonElements(trace, nextTrace);
+            }
+            if (i != count - 1) {
+                appendable.append(WRAPPED_MARKER);
+            }
+            appendable.append(throwables[i].toString()).append(linebreak);
+            int frames = maxFrames < 0 ? trace.length : Math.min(maxFrames, trace.length);
+            for (int j = 0; j < frames; j++) {
+                appendable.append("\tat ").append(trace[j].toString()).append(linebreak);
+            }
+            if (frames < trace.length) {
+                appendable.append("\t... ").append(Integer.toString(trace.length - frames)).append(" more")
+                    .append(linebreak);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets a fingerprint of the stack traces of a throwable and its causes.</p>
+     *
+     * <p>The fingerprint is a hash of the class of each throwable in the chain
+     * and the class, method and line number of each stack frame. Messages are
+     * not included, so repeated failures at the same place share a fingerprint
+     * and can be deduplicated without rendering the stack trace.
+     * Unequal fingerprints always denote different traces; equal fingerprints
+     * denote the same trace with high probability.</p>
+     *
+     * @param throwable  the throwable to examine, may be null
+     * @return the fingerprint, zero for null
+     * @since 3.2
+     */
+    public static long getStackTraceFingerprint(Throwable throwable) {
+        return getStackTraceFingerprint(throwable, -1);
+    }
+
+    /**
+     * <p>Gets a fingerprint of the stack traces of a throwable and its causes,
+     * considering only the innermost frames of each trace.</p>
+     *
+     * <p>Limiting the frames allows failures at the same place to be grouped
+     * even when reached through different callers.</p>
+     *
+     * @param throwable  the throwable to examine, may be null
+     * @param maxFrames  the maximum number of frames per throwable, negative for no limit
+     * @return the fingerprint, zero for null
+     * @see #getStackTraceFingerprint(Throwable)
+     * @since 3.2
+     */
+    public static long getStackTraceFingerprint(Throwable throwable, int maxFrames) {
+        if (throwable == null) {
+            return 0L;
+        }
+        long hash = FINGERPRINT_OFFSET;
+        for (Throwable th : getThrowableList(throwable)) {
+            hash = fingerprint(hash, th.getClass().getName().hashCode());
+            StackTraceElement[] trace = th.getStackTrace();
+            int frames = maxFrames < 0 ? trace.length : Math.min(maxFrames, trace.length);
+            hash = fingerprint(hash, frames);
+            for (int i = 0; i < frames; i++) {
+                StackTraceElement element = trace[i];
+                hash = fingerprint(hash, element.getClassName().hashCode());
+                hash = fingerprint(hash, element.getMethodName().hashCode());
+                hash = fingerprint(hash, element.getLineNumber());
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * <p>Mixes a value into a fingerprint.</p>
+     *
+     * @param hash  the fingerprint so far
+     * @param value  the value to add
+     * @return the new fingerprint
+     */
+    private static long fingerprint(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FINGERPRINT_PRIME;
+        }
+        return hash;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * <p>Gets the stack trace from a Throwable as a String.</p>
@@ -625,13 +794,13 @@ public class ExceptionUtils {
     /**
      * <p>Returns an array where each element is a line from the argument.</p>
      *
-     * <p>The end of line is determined by the value of {@link SystemUtils#LINE_SEPARATOR}.</p>
+     * <p>The end of line is determined by the value of {@link SystemInfo#getLineSeparator()}.</p>
      *
      * @param stackTrace  a stack trace String
      * @return an array where each element is a line from the argument
      */
     static String[] getStackFrames(String stackTrace) {
-        String linebreak = SystemUtils.LINE_SEPARATOR;
+        String linebreak = SystemInfo.getLineSeparator();
         StringTokenizer frames = new StringTokenizer(stackTrace, linebreak);
         List<String> list = new ArrayList<String>();
         while (frames.hasMoreTokens()) {
@@ -654,7 +823,7 @@ public class ExceptionUtils {
      */
     static List<String> getStackFrameList(Throwable t) {
         String stackTrace = getStackTrace(t);
-        String linebreak = SystemUtils.LINE_SEPARATOR;
+        String linebreak = SystemInfo.getLineSeparator();
         StringTokenizer frames = new StringTokenizer(stackTrace, linebreak);
         List<String> list = new ArrayList<String>();
         boolean traceStarted = false;
@@ -17,6 +17,9 @@
 package org.apache.commons.lang3.math;
 
 import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p><code>Fraction</code> is a <code>Number</code> implementation that
@@ -25,6 +28,12 @@ import java.math.BigInteger;
  * <p>This class is immutable, and interoperable with most methods that accept
  * a <code>Number</code>.</p>
  *
+ * <p>Small non-negative fractions, with denominators up to 16, are interned:
+ * the factory and arithmetic methods return a shared instance for them
+ * rather than allocating. The results of {@link #getFraction(String)} are
+ * also cached. See {@link org.apache.commons.lang3.mutable.MutableFraction}
+ * for summing many fractions without allocating a result for each.</p>
+ *
  * @author Apache Software Foundation
  * @author Travis Reeder
  * @author Tim O'Brien
@@ -91,6 +100,37 @@ public final class Fraction extends Number implements Comparable<Fraction> {
      */
     public static final Fraction FOUR_FIFTHS = new Fraction(4, 5);
 
+    /**
+     * The largest denominator of the interned fractions.
+     */
+    private static final int MAX_INTERNED_DENOMINATOR = 16;
+    /**
+     * The interned fractions, indexed by denominator then numerator, from 0/d to d/d.
+     */
+    private static final Fraction[][] INTERNED = new Fraction[MAX_INTERNED_DENOMINATOR + 1][];
+    static {
+        for (int d = 1; d <= MAX_INTERNED_DENOMINATOR; d++) {
+            INTERNED[d] = new Fraction[d + 1];
+            for (int n = 0; n <= d; n++) {
+                INTERNED[d][n] = new Fraction(n, d);
+            }
+        }
+        Fraction[] constants = new Fraction[] {ZERO, ONE, ONE_HALF, ONE_THIRD, TWO_THIRDS,
+            ONE_QUARTER, TWO_QUARTERS, THREE_QUARTERS, ONE_FIFTH, TWO_FIFTHS, THREE_FIFTHS, FOUR_FIFTHS};
+        for (Fraction constant : constants) {
+            INTERNED[constant.denominator][constant.numerator] = constant;
+        }
+    }
+
+    /**
+     * The maximum number of parsed strings held by the cache.
+     */
+    private static final int MAX_CACHE_SIZE = 1024;
+    /**
+     * The fractions parsed by {@link #getFraction(String)}, keyed by string.
+     */
+    private static final ConcurrentMap<String, Fraction> PARSE_CACHE = new ConcurrentHashMap<String, Fraction>();
+
 
     /**
      * The numerator number part of the fraction (the three in three sevenths).
@@ -127,6 +167,21 @@ public final class Fraction extends Number implements Comparable<Fraction> {
         this.denominator = denominator;
     }
 
+    /**
+     * <p>Obtains a <code>Fraction</code> from its normalized parts, using the
+     * interned instance where there is one.</p>
+     *
+     * @param numerator  the numerator
+     * @param denominator  the denominator, positive
+     * @return the fraction, not null
+     */
+    private static Fraction of(int numerator, int denominator) {
+        if (denominator <= MAX_INTERNED_DENOMINATOR && numerator >= 0 && numerator <= denominator) {
+            return INTERNED[denominator][numerator];
+        }
+        return new Fraction(numerator, denominator);
+    }
+
     /**
      * <p>Creates a <code>Fraction</code> instance with the 2 parts
      * of a fraction Y/Z.</p>
@@ -150,7 +205,7 @@ public final class Fraction extends Number implements Comparable<Fraction> {
             numerator = -numerator;
             denominator = -denominator;
         }
-        return new Fraction(numerator, denominator);
+        return of(numerator, denominator);
     }
 
     /**
@@ -189,7 +244,7 @@ public final class Fraction extends Number implements Comparable<Fraction> {
                 numeratorValue > Integer.MAX_VALUE)  {
             throw new ArithmeticException("Numerator too large to represent as an Integer.");
         }
-        return new Fraction((int) numeratorValue, denominator);
+        return of((int) numeratorValue, denominator);
     }
 
     /**
@@ -229,7 +284,7 @@ public final class Fraction extends Number implements Comparable<Fraction> {
         int gcd = greatestCommonDivisor(numerator, denominator);
         numerator /= gcd;
         denominator /= gcd;
-        return new Fraction(numerator, denominator);
+        return of(numerator, denominator);
     }
 
     /**
@@ -311,8 +366,11 @@ public final class Fraction extends Number implements Comparable<Fraction> {
      * </ol>
      * and a .</p>
      *
+     * <p>Recently parsed strings are cached, so the same instance may be returned
+     * for the same string.</p>
+     *
      * @param str  the string to parse, must not be <code>null</code>
-     * @return the new <code>Fraction</code> instance
+     * @return the <code>Fraction</code> instance
      * @throws IllegalArgumentException if the string is <code>null</code>
      * @throws NumberFormatException if the number format is invalid
      */
@@ -320,6 +378,30 @@ public final class Fraction extends Number implements Comparable<Fraction> {
         if (str == null) {
             throw new IllegalArgumentException("The string must not be null");
         }
+        Fraction fraction = PARSE_CACHE.get(str);
+        if (fraction == null) {
+            fraction = parse(str);
+            PARSE_CACHE.putIfAbsent(str, fraction);
+            if (PARSE_CACHE.size() > MAX_CACHE_SIZE) {
+                for (Iterator<String> it = PARSE_CACHE.keySet().iterator();
+                        it.hasNext() && PARSE_CACHE.size() > MAX_CACHE_SIZE;) {
+                    it.next();
+                    it.remove();
+                }
+            }
+        }
+        return fraction;
+    }
+
+    /**
+     * <p>Parses a Fraction from a <code>String</code>, in the formats
+     * accepted by {@link #getFraction(String)}.</p>
+     *
+     * @param str  the string to parse, not null
+     * @return the new <code>Fraction</code> instance
+     * @throws NumberFormatException if the number format is invalid
+     */
+    private static Fraction parse(String str) {
         // parse double format
         int pos = str.indexOf('.');
         if (pos >= 0) {
@@ -494,9 +576,9 @@ public final class Fraction extends Number implements Comparable<Fraction> {
             throw new ArithmeticException("overflow: can't negate numerator");
         }
         if (numerator<0) {
-            return new Fraction(-denominator, -numerator);
+            return of(-denominator, -numerator);
         } else {
-            return new Fraction(denominator, numerator);
+            return of(denominator, numerator);
         }
     }
 
@@ -512,7 +594,7 @@ public final class Fraction extends Number implements Comparable<Fraction> {
         if (numerator==Integer.MIN_VALUE) {
             throw new ArithmeticException("overflow: too large to negate");
         }
-        return new Fraction(-numerator, denominator);
+        return of(-numerator, denominator);
     }
 
     /**
@@ -748,9 +830,8 @@ public final class Fraction extends Number implements Comparable<Fraction> {
             // result is ( (u*v' +/- u'v) / u'v')
             int uvp = mulAndCheck(numerator, fraction.denominator);
             int upv = mulAndCheck(fraction.numerator, denominator);
-            return new Fraction
-                (isAdd ? addAndCheck(uvp, upv) : subAndCheck(uvp, upv),
-                 mulPosAndCheck(denominator, fraction.denominator));
+            return of(isAdd ? addAndCheck(uvp, upv) : subAndCheck(uvp, upv),
+                      mulPosAndCheck(denominator, fraction.denominator));
         }
         // the quantity 't' requires 65 bits of precision; see knuth 4.5.1
         // exercise 7.  we're going to use a BigInteger.
@@ -771,9 +852,8 @@ public final class Fraction extends Number implements Comparable<Fraction> {
             throw new ArithmeticException
                 ("overflow: numerator too large after multiply");
         }
-        return new Fraction
-            (w.intValue(),
-             mulPosAndCheck(denominator/d1, fraction.denominator/d2));
+        return of(w.intValue(),
+                  mulPosAndCheck(denominator/d1, fraction.denominator/d2));
     }
 
     /**
@@ -18,6 +18,7 @@ package org.apache.commons.lang3.math;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.text.ParsePosition;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -463,6 +464,13 @@ public class NumberUtils {
             // a wrong value.
             return null;
         }
+        int length = str.length();
+        if (scanNumber(str, 0, length) == length) {
+            Number number = toNumber(str, 0, length);
+            if (number != null) {
+                return number;
+            }
+        }
         if (str.startsWith("0x") || str.startsWith("-0x")) {
             return createInteger(str);
         }   
@@ -601,6 +609,360 @@ public class NumberUtils {
         }
     }
 
+    /**
+     * <p>Parses a number from a <code>CharSequence</code>, starting at the index
+     * given by the <code>ParsePosition</code>.</p>
+     *
+     * <p>The longest prefix that forms a number is consumed and converted to
+     * the same type that {@link #createNumber(String)} would return for it.
+     * Hexadecimal (<code>0x</code>), octal (leading <code>0</code>), exponent
+     * and type qualifier (<code>'f','F','d','D','l','L'</code>) forms are
+     * supported. On success the index of the <code>ParsePosition</code> is
+     * updated to point after the last character used. On failure the index is
+     * not changed, the error index is set to the start index and
+     * <code>null</code> is returned.</p>
+     *
+     * <p>Unlike {@link #createNumber(String)}, this method does not use
+     * exceptions for control flow in the common cases and does not require
+     * the input to be copied into a <code>String</code>.</p>
+     *
+     * @param str  the text to parse, may be null
+     * @param pos  the position to start parsing at, updated on return, not null
+     * @return the parsed number, or <code>null</code> if no number could be parsed
+     * @throws NullPointerException if the position is null
+     * @since 3.2
+     */
+    public static Number parseNumber(CharSequence str, ParsePosition pos) {
+        return parseNumber(str, pos, str == null ? 0 : str.length());
+    }
+
+    /**
+     * <p>Parses a number from a range of a <code>CharSequence</code>, starting
+     * at the index given by the <code>ParsePosition</code> and not reading
+     * at or beyond the end index.</p>
+     *
+     * <p>This is useful for parsing fields in place, such as the cells of a
+     * line of delimited text. Behaves as {@link #parseNumber(CharSequence, ParsePosition)}
+     * otherwise.</p>
+     *
+     * @param str  the text to parse, may be null
+     * @param pos  the position to start parsing at, updated on return, not null
+     * @param endIndex  the index to stop parsing at, exclusive
+     * @return the parsed number, or <code>null</code> if no number could be parsed
+     * @throws NullPointerException if the position is null
+     * @since 3.2
+     */
+    public static Number parseNumber(CharSequence str, ParsePosition pos, int endIndex) {
+        int start = pos.getIndex();
+        if (str == null) {
+            pos.setErrorIndex(start);
+            return null;
+        }
+        if (endIndex > str.length()) {
+            endIndex = str.length();
+        }
+        int end = start < 0 ? start : scanNumber(str, start, endIndex);
+        if (end == start) {
+            pos.setErrorIndex(start);
+            return null;
+        }
+        Number number;
+        try {
+            number = toNumber(str, start, end);
+            if (number == null) {
+                number = createNumber(str.subSequence(start, end).toString());
+            }
+        } catch (NumberFormatException ex) {
+            number = null;
+        }
+        if (number == null) {
+            pos.setErrorIndex(start);
+            return null;
+        }
+        pos.setIndex(end);
+        return number;
+    }
+
+    /**
+     * <p>Utility method for {@link #createNumber(java.lang.String)} and
+     * {@link #parseNumber(CharSequence, ParsePosition, int)}.</p>
+     *
+     * <p>Finds the end of the longest number at the start of the range in a
+     * single pass. The syntax accepted is an optional minus sign followed by
+     * either <code>0x</code> and hexadecimal digits, or decimal digits with an
+     * optional fraction and exponent and an optional type qualifier.</p>
+     *
+     * @param str  the text to scan, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the end of the number, or <code>start</code> if there is no number
+     */
+    private static int scanNumber(CharSequence str, int start, int end) {
+        int i = start;
+        if (i < end && str.charAt(i) == '-') {
+            i++;
+        }
+        if (i + 2 < end && str.charAt(i) == '0' && str.charAt(i + 1) == 'x' && isHexDigit(str.charAt(i + 2))) {
+            i += 3;
+            while (i < end && isHexDigit(str.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+        int intStart = i;
+        while (i < end && isAsciiDigit(str.charAt(i))) {
+            i++;
+        }
+        boolean hasDigits = i > intStart;
+        boolean decimal = false;
+        if (i < end && str.charAt(i) == '.') {
+            int fracStart = i + 1;
+            int j = fracStart;
+            while (j < end && isAsciiDigit(str.charAt(j))) {
+                j++;
+            }
+            if (hasDigits || j > fracStart) {
+                hasDigits = true;
+                decimal = true;
+                i = j;
+            }
+        }
+        if (!hasDigits) {
+            return start;
+        }
+        if (i < end && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            int j = i + 1;
+            if (j < end && (str.charAt(j) == '+' || str.charAt(j) == '-')) {
+                j++;
+            }
+            int expStart = j;
+            while (j < end && isAsciiDigit(str.charAt(j))) {
+                j++;
+            }
+            if (j > expStart) {
+                decimal = true;
+                i = j;
+            }
+        }
+        if (i < end) {
+            switch (str.charAt(i)) {
+                case 'l' :
+                case 'L' :
+                    if (decimal) {
+                        break;
+                    }
+                    //$FALL-THROUGH$
+                case 'f' :
+                case 'F' :
+                case 'd' :
+                case 'D' :
+                    i++;
+                    break;
+                default :
+                    break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * <p>Utility method for {@link #createNumber(java.lang.String)} and
+     * {@link #parseNumber(CharSequence, ParsePosition, int)}.</p>
+     *
+     * <p>Converts a range previously accepted by {@link #scanNumber(CharSequence, int, int)}
+     * to the same type and value that {@link #createNumber(String)} has always
+     * returned for it, without throwing exceptions. Returns <code>null</code>
+     * for the rare inputs that need the general algorithm, such as integers
+     * too large for a <code>long</code> or invalid hexadecimal values.</p>
+     *
+     * @param str  the text to convert, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return the number, or <code>null</code> if the range needs the general algorithm
+     */
+    private static Number toNumber(CharSequence str, int start, int end) {
+        boolean negative = str.charAt(start) == '-';
+        int digitsStart = negative ? start + 1 : start;
+        if (end - digitsStart > 2 && str.charAt(digitsStart) == '0' && str.charAt(digitsStart + 1) == 'x') {
+            // Integer.decode semantics: an int or nothing
+            long value = parseDigits(str, digitsStart + 2, end, 16, 15);
+            if (value < 0) {
+                return null;
+            }
+            value = negative ? -value : value;
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                return null;
+            }
+            return Integer.valueOf((int) value);
+        }
+        char lastChar = str.charAt(end - 1);
+        char qualifier = isAsciiDigit(lastChar) || lastChar == '.' ? 0 : lastChar;
+        int numericEnd = qualifier == 0 ? end : end - 1;
+        int decPos = -1;
+        int expPos = -1;
+        for (int i = digitsStart; i < numericEnd; i++) {
+            char ch = str.charAt(i);
+            if (ch == '.') {
+                decPos = i;
+            } else if (ch == 'e' || ch == 'E') {
+                expPos = i;
+            }
+        }
+        if (decPos < 0 && expPos < 0 && (qualifier == 0 || qualifier == 'l' || qualifier == 'L')) {
+            return toWholeNumber(str, negative, digitsStart, numericEnd, qualifier != 0);
+        }
+
+        // the ranges createNumber(String) uses for its zero check
+        int mantEnd = decPos > -1 ? decPos : expPos > -1 ? expPos : end;
+        boolean allZeros = isAllZeros(str, start, mantEnd);
+        if (expPos > -1) {
+            allZeros = allZeros && isAllZeros(str, expPos + 1, numericEnd);
+        }
+        String numeric = str.subSequence(start, numericEnd).toString();
+        switch (qualifier) {
+            case 0 :
+                Float f = Float.valueOf(numeric);
+                if (!(f.isInfinite() || (f.floatValue() == 0.0F && !allZeros))) {
+                    return f;
+                }
+                Double d = Double.valueOf(numeric);
+                if (!(d.isInfinite() || (d.doubleValue() == 0.0D && !allZeros))) {
+                    return d;
+                }
+                break;
+            case 'f' :
+            case 'F' :
+                Float f2 = Float.valueOf(numeric);
+                if (!(f2.isInfinite() || (f2.floatValue() == 0.0F && !allZeros))) {
+                    return f2;
+                }
+                //$FALL-THROUGH$
+            default :
+                Double d2 = Double.valueOf(numeric);
+                if (!(d2.isInfinite() || (d2.floatValue() == 0.0D && !allZeros))) {
+                    return d2;
+                }
+                break;
+        }
+        try {
+            return new BigDecimal(numeric);
+        } catch (NumberFormatException ex) {
+            // exponent out of range, leave the error reporting to createNumber
+            return null;
+        }
+    }
+
+    /**
+     * <p>Utility method for {@link #toNumber(CharSequence, int, int)}.</p>
+     *
+     * <p>Converts decimal digits, with no fraction or exponent, following the
+     * rules of {@link #createInteger(String)} and {@link #createLong(String)}.</p>
+     *
+     * @param str  the text to convert, not null
+     * @param negative  whether a minus sign precedes the digits
+     * @param start  the index of the first digit
+     * @param end  the end index, exclusive
+     * @param requestLong  whether the <code>l</code> or <code>L</code> qualifier was present
+     * @return the <code>Integer</code> or <code>Long</code>, or <code>null</code> if too large
+     */
+    private static Number toWholeNumber(CharSequence str, boolean negative, int start, int end, boolean requestLong) {
+        if (!requestLong && end - start > 1 && str.charAt(start) == '0') {
+            // Integer.decode treats a leading zero as octal
+            if (end - start > 18) {
+                return null;
+            }
+            long octal = parseDigits(str, start + 1, end, 8, 18);
+            if (octal >= 0) {
+                octal = negative ? -octal : octal;
+                if (octal >= Integer.MIN_VALUE && octal <= Integer.MAX_VALUE) {
+                    return Integer.valueOf((int) octal);
+                }
+            }
+            // otherwise createLong, which parses as decimal
+            long value = parseDigits(str, start, end, 10, 18);
+            if (value < 0) {
+                return null;
+            }
+            return Long.valueOf(negative ? -value : value);
+        }
+        long value = parseDigits(str, start, end, 10, 18);
+        if (value < 0) {
+            return null;
+        }
+        value = negative ? -value : value;
+        if (!requestLong && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return Integer.valueOf((int) value);
+        }
+        return Long.valueOf(value);
+    }
+
+    /**
+     * <p>Utility method for {@link #toNumber(CharSequence, int, int)}.</p>
+     *
+     * <p>Accumulates digits in the given radix into a <code>long</code>.
+     * The maximum digit count must be small enough to avoid overflow.</p>
+     *
+     * @param str  the text to convert, not null
+     * @param start  the index of the first digit
+     * @param end  the end index, exclusive
+     * @param radix  the radix, 8, 10 or 16
+     * @param maxDigits  the maximum number of digits to accept
+     * @return the non-negative value, or <code>-1</code> if there are too many digits
+     *  or a digit is invalid for the radix
+     */
+    private static long parseDigits(CharSequence str, int start, int end, int radix, int maxDigits) {
+        if (end - start > maxDigits) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(str.charAt(i), radix);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * radix + digit;
+        }
+        return value;
+    }
+
+    /**
+     * <p>Checks whether the character is an ASCII digit.</p>
+     *
+     * @param ch  the character to check
+     * @return true if <code>'0'</code> to <code>'9'</code>
+     */
+    private static boolean isAsciiDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    /**
+     * <p>Checks whether the character is an ASCII hexadecimal digit.</p>
+     *
+     * @param ch  the character to check
+     * @return true if <code>'0'</code> to <code>'9'</code>, <code>'a'</code> to
+     *  <code>'f'</code> or <code>'A'</code> to <code>'F'</code>
+     */
+    private static boolean isHexDigit(char ch) {
+        return (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F');
+    }
+
+    /**
+     * <p>Range version of {@link #isAllZeros(String)}.</p>
+     *
+     * @param str  the text to check, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     * @return true if the range is not empty and contains only <code>'0'</code>
+     */
+    private static boolean isAllZeros(CharSequence str, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (str.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return end > start;
+    }
+
     /**
      * <p>Utility method for {@link #createNumber(java.lang.String)}.</p>
      *
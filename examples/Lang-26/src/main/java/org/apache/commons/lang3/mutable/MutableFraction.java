@@ -0,0 +1,583 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.mutable;
+
+import java.math.BigInteger;
+
+import org.apache.commons.lang3.math.Fraction;
+
+/**
+ * A mutable fraction with a <code>long</code> numerator and denominator,
+ * for accumulating sums and products without allocating a
+ * {@link Fraction} for each intermediate result.
+ * <p>
+ * Reduction by the greatest common divisor is lazy. The arithmetic methods
+ * only reduce when a result would overflow a <code>long</code>, so adding
+ * fractions with the same denominator, or one that divides the other, is
+ * a multiplication and an addition. The numerator and denominator are
+ * therefore not necessarily in lowest terms until {@link #reduce()} is
+ * called. Equality, hash codes and the string form use the reduced value.
+ * <p>
+ * An <code>ArithmeticException</code> is thrown, leaving the value unchanged,
+ * if a result cannot be represented even when reduced.
+ *
+ * @see Fraction
+ * @since 3.2
+ * @author Apache Software Foundation
+ * @version $Id$
+ */
+public class MutableFraction extends Number implements Comparable<MutableFraction>, Mutable<Number> {
+
+    /**
+     * Required for serialization support.
+     *
+     * @see java.io.Serializable
+     */
+    private static final long serialVersionUID = 7213586041234906241L;
+
+    /** The numerator. */
+    private long numerator;
+    /** The denominator, always positive. */
+    private long denominator = 1;
+
+    /**
+     * Constructs a new MutableFraction with the default value of zero.
+     */
+    public MutableFraction() {
+        super();
+    }
+
+    /**
+     * Constructs a new MutableFraction with the specified value.
+     *
+     * @param numerator  the numerator
+     * @param denominator  the denominator, not zero
+     * @throws ArithmeticException if the denominator is zero, or the fraction
+     *  cannot be normalized to a positive denominator
+     */
+    public MutableFraction(long numerator, long denominator) {
+        super();
+        setValue(numerator, denominator);
+    }
+
+    /**
+     * Constructs a new MutableFraction with the specified value.
+     *
+     * @param value  the initial value to store, not null
+     * @throws NullPointerException if the object is null
+     * @see #setValue(Number)
+     */
+    public MutableFraction(Number value) {
+        super();
+        setValue(value);
+    }
+
+    /**
+     * Constructs a new MutableFraction parsing the given string.
+     *
+     * @param value  the string to parse, in a format accepted by {@link Fraction#getFraction(String)}
+     * @throws IllegalArgumentException if the string is null
+     * @throws NumberFormatException if the string cannot be parsed
+     */
+    public MutableFraction(String value) throws NumberFormatException {
+        super();
+        setValue(Fraction.getFraction(value));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the numerator, which may not be in lowest terms.
+     *
+     * @return the numerator
+     */
+    public long getNumerator() {
+        return numerator;
+    }
+
+    /**
+     * Gets the denominator, which may not be in lowest terms.
+     *
+     * @return the denominator, always positive
+     */
+    public long getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Gets the value as a reduced Fraction instance.
+     *
+     * @return the value as a Fraction, never null
+     * @throws ArithmeticException if the reduced value does not fit in a Fraction
+     */
+    public Fraction getValue() {
+        return toFraction();
+    }
+
+    /**
+     * Sets the value.
+     *
+     * @param numerator  the numerator
+     * @param denominator  the denominator, not zero
+     * @throws ArithmeticException if the denominator is zero, or the fraction
+     *  cannot be normalized to a positive denominator
+     */
+    public void setValue(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("The denominator must not be zero");
+        }
+        if (denominator < 0) {
+            if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+                throw new ArithmeticException("overflow: can't negate");
+            }
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Sets the value from any Number instance.
+     * <p>
+     * A <code>Fraction</code> or <code>MutableFraction</code> is copied exactly,
+     * and any other number is truncated to a whole number by <code>longValue()</code>.
+     *
+     * @param value  the value to set, not null
+     * @throws NullPointerException if the object is null
+     */
+    public void setValue(Number value) {
+        if (value instanceof Fraction) {
+            Fraction fraction = (Fraction) value;
+            this.numerator = fraction.getNumerator();
+            this.denominator = fraction.getDenominator();
+        } else if (value instanceof MutableFraction) {
+            MutableFraction fraction = (MutableFraction) value;
+            this.numerator = fraction.numerator;
+            this.denominator = fraction.denominator;
+        } else {
+            this.numerator = value.longValue();
+            this.denominator = 1;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds a fraction to the value of this instance.
+     *
+     * @param numerator  the numerator to add
+     * @param denominator  the denominator to add, not zero
+     * @throws ArithmeticException if the denominator is zero, or the result overflows
+     */
+    public void add(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("The denominator must not be zero");
+        }
+        if (denominator < 0) {
+            if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+                addExact(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+                return;
+            }
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        long n1 = this.numerator;
+        long d1 = this.denominator;
+        if (denominator == d1) {
+            long sum = n1 + numerator;
+            if (((n1 ^ sum) & (numerator ^ sum)) >= 0) {
+                this.numerator = sum;
+                return;
+            }
+        } else if (d1 > denominator && d1 % denominator == 0) {
+            // the operand's denominator divides ours
+            long scale = d1 / denominator;
+            if (multiplyFits(numerator, scale)) {
+                long scaled = numerator * scale;
+                long sum = n1 + scaled;
+                if (((n1 ^ sum) & (scaled ^ sum)) >= 0) {
+                    this.numerator = sum;
+                    return;
+                }
+            }
+        } else if (denominator > d1 && denominator % d1 == 0) {
+            // our denominator divides the operand's
+            long scale = denominator / d1;
+            if (multiplyFits(n1, scale)) {
+                long scaled = n1 * scale;
+                long sum = scaled + numerator;
+                if (((scaled ^ sum) & (numerator ^ sum)) >= 0) {
+                    this.numerator = sum;
+                    this.denominator = denominator;
+                    return;
+                }
+            }
+        } else if (multiplyFits(n1, denominator) && multiplyFits(numerator, d1) && multiplyFits(d1, denominator)) {
+            long a = n1 * denominator;
+            long b = numerator * d1;
+            long sum = a + b;
+            if (((a ^ sum) & (b ^ sum)) >= 0) {
+                this.numerator = sum;
+                this.denominator = d1 * denominator;
+                return;
+            }
+        }
+        addExact(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * Adds a fraction to the value of this instance.
+     *
+     * @param operand  the value to add, not null
+     * @throws IllegalArgumentException if the fraction is null
+     * @throws ArithmeticException if the result overflows
+     */
+    public void add(Fraction operand) {
+        if (operand == null) {
+            throw new IllegalArgumentException("The fraction must not be null");
+        }
+        add(operand.getNumerator(), operand.getDenominator());
+    }
+
+    /**
+     * Subtracts a fraction from the value of this instance.
+     *
+     * @param numerator  the numerator to subtract
+     * @param denominator  the denominator to subtract, not zero
+     * @throws ArithmeticException if the denominator is zero, or the result overflows
+     */
+    public void subtract(long numerator, long denominator) {
+        if (numerator == Long.MIN_VALUE) {
+            if (denominator == 0) {
+                throw new ArithmeticException("The denominator must not be zero");
+            }
+            addExact(BigInteger.valueOf(numerator).negate(), BigInteger.valueOf(denominator));
+        } else {
+            add(-numerator, denominator);
+        }
+    }
+
+    /**
+     * Subtracts a fraction from the value of this instance.
+     *
+     * @param operand  the value to subtract, not null
+     * @throws IllegalArgumentException if the fraction is null
+     * @throws ArithmeticException if the result overflows
+     */
+    public void subtract(Fraction operand) {
+        if (operand == null) {
+            throw new IllegalArgumentException("The fraction must not be null");
+        }
+        subtract(operand.getNumerator(), operand.getDenominator());
+    }
+
+    /**
+     * Multiplies the value of this instance by a fraction.
+     *
+     * @param numerator  the numerator to multiply by
+     * @param denominator  the denominator to multiply by, not zero
+     * @throws ArithmeticException if the denominator is zero, or the result overflows
+     */
+    public void multiplyBy(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("The denominator must not be zero");
+        }
+        if (numerator == 0 || this.numerator == 0) {
+            this.numerator = 0;
+            this.denominator = 1;
+            return;
+        }
+        if (multiplyFits(this.numerator, numerator) && multiplyFits(this.denominator, denominator)) {
+            long n = this.numerator * numerator;
+            long d = this.denominator * denominator;
+            if (d > 0) {
+                this.numerator = n;
+                this.denominator = d;
+                return;
+            }
+            if (n != Long.MIN_VALUE && d != Long.MIN_VALUE) {
+                this.numerator = -n;
+                this.denominator = -d;
+                return;
+            }
+        }
+        setExact(BigInteger.valueOf(this.numerator).multiply(BigInteger.valueOf(numerator)),
+                 BigInteger.valueOf(this.denominator).multiply(BigInteger.valueOf(denominator)));
+    }
+
+    /**
+     * Multiplies the value of this instance by a fraction.
+     *
+     * @param operand  the value to multiply by, not null
+     * @throws IllegalArgumentException if the fraction is null
+     * @throws ArithmeticException if the result overflows
+     */
+    public void multiplyBy(Fraction operand) {
+        if (operand == null) {
+            throw new IllegalArgumentException("The fraction must not be null");
+        }
+        multiplyBy(operand.getNumerator(), operand.getDenominator());
+    }
+
+    /**
+     * Divides the value of this instance by a fraction.
+     *
+     * @param numerator  the numerator to divide by, not zero
+     * @param denominator  the denominator to divide by, not zero
+     * @throws ArithmeticException if either part is zero, or the result overflows
+     */
+    public void divideBy(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("The denominator must not be zero");
+        }
+        if (numerator == 0) {
+            throw new ArithmeticException("The fraction to divide by must not be zero");
+        }
+        multiplyBy(denominator, numerator);
+    }
+
+    /**
+     * Divides the value of this instance by a fraction.
+     *
+     * @param operand  the value to divide by, not null or zero
+     * @throws IllegalArgumentException if the fraction is null
+     * @throws ArithmeticException if the fraction is zero, or the result overflows
+     */
+    public void divideBy(Fraction operand) {
+        if (operand == null) {
+            throw new IllegalArgumentException("The fraction must not be null");
+        }
+        divideBy(operand.getNumerator(), operand.getDenominator());
+    }
+
+    /**
+     * Reduces the numerator and denominator to lowest terms.
+     */
+    public void reduce() {
+        long gcd = greatestCommonDivisor(numerator, denominator);
+        numerator /= gcd;
+        denominator /= gcd;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds a fraction exactly, then stores the reduced result.
+     *
+     * @param n2  the numerator to add
+     * @param d2  the denominator to add, not zero
+     * @throws ArithmeticException if the reduced result overflows
+     */
+    private void addExact(BigInteger n2, BigInteger d2) {
+        BigInteger n1 = BigInteger.valueOf(numerator);
+        BigInteger d1 = BigInteger.valueOf(denominator);
+        setExact(n1.multiply(d2).add(n2.multiply(d1)), d1.multiply(d2));
+    }
+
+    /**
+     * Stores a fraction, reducing it and normalizing its sign.
+     *
+     * @param n  the numerator
+     * @param d  the denominator, not zero
+     * @throws ArithmeticException if the reduced fraction overflows
+     */
+    private void setExact(BigInteger n, BigInteger d) {
+        if (d.signum() < 0) {
+            n = n.negate();
+            d = d.negate();
+        }
+        BigInteger gcd = n.gcd(d);
+        if (gcd.compareTo(BigInteger.ONE) > 0) {
+            n = n.divide(gcd);
+            d = d.divide(gcd);
+        }
+        if (n.bitLength() > 63 || d.bitLength() > 63) {
+            throw new ArithmeticException("overflow: the fraction is too large to represent");
+        }
+        numerator = n.longValue();
+        denominator = d.longValue();
+    }
+
+    /**
+     * Checks whether the product of two longs fits in a long.
+     *
+     * @param x  the first factor
+     * @param y  the second factor
+     * @return true if <code>x * y</code> does not overflow
+     */
+    private static boolean multiplyFits(long x, long y) {
+        if (((Math.abs(x) | Math.abs(y)) >>> 31) == 0) {
+            // both fit in 31 bits, so the product fits in 62
+            return true;
+        }
+        if (x == 0 || y == 0) {
+            return true;
+        }
+        if (x == Long.MIN_VALUE && y == -1 || y == Long.MIN_VALUE && x == -1) {
+            return false;
+        }
+        return (x * y) / y == x;
+    }
+
+    /**
+     * Gets the greatest common divisor of a numerator and denominator.
+     *
+     * @param u  the numerator
+     * @param v  the denominator, positive
+     * @return the greatest common divisor, positive; the denominator if the numerator is zero
+     */
+    private static long greatestCommonDivisor(long u, long v) {
+        // work with negative values, whose range includes that of the positive
+        if (u > 0) {
+            u = -u;
+        }
+        v = -v;
+        while (u != 0) {
+            long t = v % u;
+            v = u;
+            u = t;
+        }
+        return -v;
+    }
+
+    //-----------------------------------------------------------------------
+    // shortValue and bytValue rely on Number implementation
+    /**
+     * Returns the whole part of the value of this MutableFraction as an int.
+     *
+     * @return the whole part, truncated towards zero and then cast to an int
+     */
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    /**
+     * Returns the whole part of the value of this MutableFraction as a long.
+     *
+     * @return the whole part, truncated towards zero
+     */
+    @Override
+    public long longValue() {
+        return numerator / denominator;
+    }
+
+    /**
+     * Returns the value of this MutableFraction as a float.
+     *
+     * @return the numerical value represented by this object after conversion to type float.
+     */
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    /**
+     * Returns the value of this MutableFraction as a double.
+     *
+     * @return the numerical value represented by this object after conversion to type double.
+     */
+    @Override
+    public double doubleValue() {
+        return (double) numerator / (double) denominator;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets this mutable as an instance of Fraction, in lowest terms.
+     *
+     * @return a Fraction instance containing the reduced value from this mutable, never null
+     * @throws ArithmeticException if the reduced value does not fit in a Fraction
+     */
+    public Fraction toFraction() {
+        long gcd = greatestCommonDivisor(numerator, denominator);
+        long n = numerator / gcd;
+        long d = denominator / gcd;
+        if (n < Integer.MIN_VALUE || n > Integer.MAX_VALUE || d > Integer.MAX_VALUE) {
+            throw new ArithmeticException("overflow: the fraction is too large for a Fraction");
+        }
+        return Fraction.getFraction((int) n, (int) d);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares this object to the specified object. The result is <code>true</code> if and only if the argument
+     * is not <code>null</code> and is a <code>MutableFraction</code> object with the same value, in lowest terms,
+     * as this object.
+     *
+     * @param obj  the object to compare with, null returns false
+     * @return <code>true</code> if the objects are the same; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof MutableFraction) {
+            MutableFraction other = (MutableFraction) obj;
+            if (numerator == other.numerator && denominator == other.denominator) {
+                return true;
+            }
+            long gcd1 = greatestCommonDivisor(numerator, denominator);
+            long gcd2 = greatestCommonDivisor(other.numerator, other.denominator);
+            return numerator / gcd1 == other.numerator / gcd2 && denominator / gcd1 == other.denominator / gcd2;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a suitable hash code for this mutable, based on the value in lowest terms.
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        long gcd = greatestCommonDivisor(numerator, denominator);
+        long n = numerator / gcd;
+        long d = denominator / gcd;
+        return 37 * (37 * 17 + (int) (n ^ (n >>> 32))) + (int) (d ^ (d >>> 32));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares this mutable to another in ascending order.
+     *
+     * @param other  the other mutable to compare to, not null
+     * @return negative if this is less, zero if equal, positive if greater
+     */
+    public int compareTo(MutableFraction other) {
+        if (denominator == other.denominator) {
+            return numerator < other.numerator ? -1 : (numerator == other.numerator ? 0 : 1);
+        }
+        if (multiplyFits(numerator, other.denominator) && multiplyFits(other.numerator, denominator)) {
+            long first = numerator * other.denominator;
+            long second = other.numerator * denominator;
+            return first < second ? -1 : (first == second ? 0 : 1);
+        }
+        BigInteger first = BigInteger.valueOf(numerator).multiply(BigInteger.valueOf(other.denominator));
+        BigInteger second = BigInteger.valueOf(other.numerator).multiply(BigInteger.valueOf(denominator));
+        return first.compareTo(second);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns the String value of this mutable, in lowest terms, in the format 'X/Y'.
+     *
+     * @return the mutable value as a string
+     */
+    @Override
+    public String toString() {
+        long gcd = greatestCommonDivisor(numerator, denominator);
+        return new StringBuilder(32).append(numerator / gcd).append('/').append(denominator / gcd).toString();
+    }
+
+}
@@ -116,7 +116,7 @@ public class FieldUtils {
         // incase there is a public supersuperclass field hidden by a private/package
         // superclass field.
         Field match = null;
-        for (Iterator<Class<?>> intf = ClassUtils.getAllInterfaces(cls).iterator(); intf
+        for (Iterator<Class<?>> intf = ClassUtils.getCachedInterfaces(cls).iterator(); intf
                 .hasNext();) {
             try {
                 Field test = ((Class<?>) intf.next()).getField(fieldName);
@@ -23,11 +23,15 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.ClassUtils;
 
@@ -35,6 +39,12 @@ import org.apache.commons.lang3.ClassUtils;
  * <p> Utility methods focusing on type inspection, particularly with regard to
  * generics. </p>
  *
+ * <p> The results of {@link #getTypeArguments(Type, Class)} and
+ * {@link #isAssignable(Type, Type)} are cached, as resolving the same
+ * generic types repeatedly is common and walks the whole type hierarchy.
+ * The caches are bounded, but may hold on to a few recently used types
+ * after their class loader is discarded. </p>
+ *
  * @author David M. Sledge
  * @author Matt Benson
  * @author James Carman
@@ -43,6 +53,29 @@ import org.apache.commons.lang3.ClassUtils;
  */
 public class TypeUtils {
 
+    /**
+     * The maximum number of entries held by each cache.
+     */
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    /**
+     * The resolved type arguments, by subject type and target class.
+     */
+    private static final ConcurrentMap<TypePair, Map<TypeVariable<?>, Type>> TYPE_ARGUMENTS_CACHE =
+        new ConcurrentHashMap<TypePair, Map<TypeVariable<?>, Type>>();
+
+    /**
+     * The results of assignability checks, by subject and target type.
+     */
+    private static final ConcurrentMap<TypePair, Boolean> ASSIGNABLE_CACHE =
+        new ConcurrentHashMap<TypePair, Boolean>();
+
+    /**
+     * Cached in place of <code>null</code> when a type is not assignable to the target class.
+     */
+    private static final Map<TypeVariable<?>, Type> NOT_ASSIGNABLE =
+        Collections.unmodifiableMap(new HashMap<TypeVariable<?>, Type>());
+
     /**
      * <p> TypeUtils instances should NOT be constructed in standard
      * programming. Instead, the class should be used as
@@ -65,7 +98,16 @@ public class TypeUtils {
      * @return <code>true</code> if <code>type</code> is assignable to <code>toType</code>.
      */
     public static boolean isAssignable(Type type, Type toType) {
-        return isAssignable(type, toType, null);
+        if (type == null || toType == null || (type instanceof Class<?> && toType instanceof Class<?>)) {
+            return isAssignable(type, toType, null);
+        }
+        TypePair key = new TypePair(type, toType);
+        Boolean result = ASSIGNABLE_CACHE.get(key);
+        if (result == null) {
+            result = Boolean.valueOf(isAssignable(type, toType, null));
+            putInCache(ASSIGNABLE_CACHE, key, result);
+        }
+        return result.booleanValue();
     }
 
     /**
@@ -199,7 +241,7 @@ public class TypeUtils {
         Class<?> toClass = getRawType(toParameterizedType);
         // get the subject type's type arguments including owner type arguments
         // and supertype arguments up to and including the target class.
-        Map<TypeVariable<?>, Type> fromTypeVarAssigns = getTypeArguments(type, toClass, null);
+        Map<TypeVariable<?>, Type> fromTypeVarAssigns = getCachedTypeArguments(type, toClass);
 
         // null means the two types are not compatible
         if (fromTypeVarAssigns == null) {
@@ -214,8 +256,9 @@ public class TypeUtils {
         }
 
         // get the target type's type arguments including owner type arguments
-        Map<TypeVariable<?>, Type> toTypeVarAssigns = getTypeArguments(toParameterizedType,
-                toClass, typeVarAssigns);
+        Map<TypeVariable<?>, Type> toTypeVarAssigns = typeVarAssigns == null
+                ? getCachedTypeArguments(toParameterizedType, toClass)
+                : getTypeArguments(toParameterizedType, toClass, typeVarAssigns);
 
         // now to check each type argument
         for (Map.Entry<TypeVariable<?>, Type> entry : toTypeVarAssigns.entrySet()) {
@@ -480,7 +523,7 @@ public class TypeUtils {
      * @return a map of the type arguments to their respective type variables.
      */
     public static Map<TypeVariable<?>, Type> getTypeArguments(ParameterizedType type) {
-        return getTypeArguments(type, getRawType(type), null);
+        return copy(getCachedTypeArguments(type, getRawType(type)));
     }
 
     /**
@@ -516,7 +559,58 @@ public class TypeUtils {
      * <code>toClass</code> inclusive.
      */
     public static Map<TypeVariable<?>, Type> getTypeArguments(Type type, Class<?> toClass) {
-        return getTypeArguments(type, toClass, null);
+        return copy(getCachedTypeArguments(type, toClass));
+    }
+
+    /**
+     * <p> Gets the type arguments of <code>type</code> in the context of
+     * <code>toClass</code> from the cache, resolving them if necessary. </p>
+     *
+     * @param type the type from which to determine the type parameters
+     * @param toClass the class whose type parameters are to be determined
+     * @return an unmodifiable shared map of the type assignments, or
+     * <code>null</code> if <code>type</code> is not assignable to <code>toClass</code>
+     */
+    private static Map<TypeVariable<?>, Type> getCachedTypeArguments(Type type, Class<?> toClass) {
+        if (type == null || toClass == null) {
+            return getTypeArguments(type, toClass, null);
+        }
+        TypePair key = new TypePair(type, toClass);
+        Map<TypeVariable<?>, Type> typeVarAssigns = TYPE_ARGUMENTS_CACHE.get(key);
+        if (typeVarAssigns == null) {
+            typeVarAssigns = getTypeArguments(type, toClass, null);
+            typeVarAssigns = typeVarAssigns == null ? NOT_ASSIGNABLE : Collections.unmodifiableMap(typeVarAssigns);
+            putInCache(TYPE_ARGUMENTS_CACHE, key, typeVarAssigns);
+        }
+        return typeVarAssigns == NOT_ASSIGNABLE ? null : typeVarAssigns;
+    }
+
+    /**
+     * <p> Copies a map of type assignments so that the caller may modify it. </p>
+     *
+     * @param typeVarAssigns the type assignments, may be <code>null</code>
+     * @return a modifiable copy, <code>null</code> if null input
+     */
+    private static Map<TypeVariable<?>, Type> copy(Map<TypeVariable<?>, Type> typeVarAssigns) {
+        return typeVarAssigns == null ? null : new HashMap<TypeVariable<?>, Type>(typeVarAssigns);
+    }
+
+    /**
+     * <p> Adds an entry to a cache, discarding arbitrary entries if the cache
+     * has grown too large. </p>
+     *
+     * @param cache the cache
+     * @param key the key
+     * @param value the value
+     */
+    private static <V> void putInCache(ConcurrentMap<TypePair, V> cache, TypePair key, V value) {
+        cache.putIfAbsent(key, value);
+        if (cache.size() > MAX_CACHE_SIZE) {
+            for (Iterator<TypePair> it = cache.keySet().iterator(); it.hasNext() && cache.size() > MAX_CACHE_SIZE;) {
+                it.next();
+                it.remove();
+            }
+        }
     }
 
     /**
@@ -1020,7 +1114,7 @@ public class TypeUtils {
 
             // get the type arguments for the declaring class/interface based
             // on the enclosing type
-            Map<TypeVariable<?>, Type> typeVarAssigns = getTypeArguments(assigningType,
+            Map<TypeVariable<?>, Type> typeVarAssigns = getCachedTypeArguments(assigningType,
                     (Class<?>) genericDeclaration);
 
             // enclosingType has to be a subclass (or subinterface) of the
@@ -1082,4 +1176,48 @@ public class TypeUtils {
         return null;
     }
 
+    /**
+     * <p> A pair of types used as a cache key. The hash code is calculated
+     * once, as hashing a parameterized type walks all of its arguments. </p>
+     */
+    private static final class TypePair {
+        /** The subject type. */
+        private final Type type;
+        /** The target type. */
+        private final Type toType;
+        /** The hash code. */
+        private final int hash;
+
+        /**
+         * Constructs a pair.
+         *
+         * @param type the subject type, not null
+         * @param toType the target type, not null
+         */
+        TypePair(Type type, Type toType) {
+            this.type = type;
+            this.toType = toType;
+            this.hash = type.hashCode() * 31 + toType.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof TypePair == false) {
+                return false;
+            }
+            TypePair other = (TypePair) obj;
+            return hash == other.hash
+                && (type == other.type || type.equals(other.type))
+                && (toType == other.toType || toType.equals(other.toType));
+        }
+    }
+
 }
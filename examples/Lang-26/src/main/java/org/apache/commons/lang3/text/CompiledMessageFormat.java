@@ -0,0 +1,545 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text;
+
+import java.io.IOException;
+import java.text.ChoiceFormat;
+import java.text.DateFormat;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.IntArrayBuilder;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A thread-safe, precompiled form of {@link ExtendedMessageFormat}.
+ * <p>
+ * The pattern is parsed, and the <code>FormatFactory</code> registry consulted,
+ * once when the instance is created. The result is split into literal text and
+ * format elements, so formatting is a single pass that writes directly into
+ * the destination <code>Appendable</code>.
+ * <p>
+ * The output is the same as that of <code>ExtendedMessageFormat.format(Object[])</code>,
+ * including the handling of missing and null arguments and of choice formats
+ * that produce nested patterns. The exception is a malformed pattern with an
+ * unterminated format element, such as <code>"a {{b"</code>, which
+ * <code>ExtendedMessageFormat</code> accepts and formats by dropping the text
+ * from the element onwards. Such a pattern is rejected with an
+ * <code>IllegalArgumentException</code> instead.
+ * <p>
+ * The subformats, which are not thread-safe, are copied once per thread, and
+ * each thread reuses its own copies and scratch buffer for every call.
+ * <p>
+ * Instances are obtained with {@link #getInstance(String, Locale, Map)}, which
+ * caches compiled patterns keyed by pattern, locale and registry identity, or
+ * with {@link #compile(String, Locale, Map)}, which always compiles afresh.
+ * <pre>
+ * CompiledMessageFormat fmt = CompiledMessageFormat.getInstance("{0} has {1,number} items", locale, registry);
+ * fmt.appendTo(writer, name, count);
+ * </pre>
+ * <p>
+ * #ThreadSafe#
+ *
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public class CompiledMessageFormat {
+
+    /**
+     * The maximum number of compiled patterns held by the cache.
+     */
+    public static final int MAX_CACHE_SIZE = 256;
+
+    /** The largest scratch buffer retained between calls. */
+    private static final int MAX_BUFFER_SIZE = 1024;
+
+    private static final char START_FMT = ',';
+    private static final char END_FE = '}';
+    private static final char START_FE = '{';
+    private static final char QUOTE = '\'';
+
+    /** The cache of compiled patterns. */
+    private static final ConcurrentMap<CacheKey, CompiledMessageFormat> CACHE =
+        new ConcurrentHashMap<CacheKey, CompiledMessageFormat>();
+
+    /** The pattern, in the form returned by <code>ExtendedMessageFormat.toPattern()</code>. */
+    private final String pattern;
+    /** The locale. */
+    private final Locale locale;
+    /** The literal text, one more entry than there are format elements. */
+    private final String[] literals;
+    /** The argument index of each format element. */
+    private final int[] argumentIndices;
+    /** The format of each format element, null for the default; never used directly. */
+    private final Format[] formats;
+    /** The per-thread copies of the formats. */
+    private final ThreadLocal<FormatState> state = new ThreadLocal<FormatState>() {
+        @Override
+        protected FormatState initialValue() {
+            return new FormatState(formats);
+        }
+    };
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets a compiled format for the pattern in the default locale, using
+     * the cache.
+     *
+     * @param pattern  the pattern to use, not null
+     * @return a compiled format, never null
+     * @throws NullPointerException if the pattern is null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static CompiledMessageFormat getInstance(String pattern) {
+        return getInstance(pattern, null, null);
+    }
+
+    /**
+     * Gets a compiled format for the pattern and locale, using the cache.
+     *
+     * @param pattern  the pattern to use, not null
+     * @param locale  the locale to use, null means the default locale
+     * @return a compiled format, never null
+     * @throws NullPointerException if the pattern is null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static CompiledMessageFormat getInstance(String pattern, Locale locale) {
+        return getInstance(pattern, locale, null);
+    }
+
+    /**
+     * Gets a compiled format for the pattern, locale and registry, using the cache.
+     * <p>
+     * Registries are matched by identity, so the registry should not be
+     * modified once it has been used with this method.
+     *
+     * @param pattern  the pattern to use, not null
+     * @param locale  the locale to use, null means the default locale
+     * @param registry  the registry of format factories, may be null
+     * @return a compiled format, never null
+     * @throws NullPointerException if the pattern is null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static CompiledMessageFormat getInstance(String pattern, Locale locale,
+            Map<String, ? extends FormatFactory> registry) {
+        Validate.notNull(pattern, "The pattern must not be null");
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        CacheKey key = new CacheKey(pattern, locale, registry);
+        CompiledMessageFormat format = CACHE.get(key);
+        if (format == null) {
+            format = compile(pattern, locale, registry);
+            CompiledMessageFormat previous = CACHE.putIfAbsent(key, format);
+            if (previous != null) {
+                return previous;
+            }
+            trimCache();
+        }
+        return format;
+    }
+
+    /**
+     * Compiles the pattern without using the cache.
+     *
+     * @param pattern  the pattern to use, not null
+     * @param locale  the locale to use, null means the default locale
+     * @param registry  the registry of format factories, may be null
+     * @return a compiled format, never null
+     * @throws NullPointerException if the pattern is null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static CompiledMessageFormat compile(String pattern, Locale locale,
+            Map<String, ? extends FormatFactory> registry) {
+        Validate.notNull(pattern, "The pattern must not be null");
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        return new CompiledMessageFormat(pattern, new ExtendedMessageFormat(pattern, locale, registry));
+    }
+
+    /**
+     * Evicts arbitrary entries until the cache is within its bound.
+     */
+    private static void trimCache() {
+        if (CACHE.size() > MAX_CACHE_SIZE) {
+            for (Iterator<CacheKey> it = CACHE.keySet().iterator(); it.hasNext() && CACHE.size() > MAX_CACHE_SIZE;) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Constructs an instance from a parsed format.
+     * <p>
+     * The literal text is split from the original pattern rather than from
+     * <code>toPattern()</code>, which does not preserve the quoting inside
+     * choice subformats.
+     *
+     * @param original  the pattern the format was parsed from, not null
+     * @param format  the parsed format, not null
+     */
+    private CompiledMessageFormat(String original, ExtendedMessageFormat format) {
+        super();
+        this.pattern = format.toPattern();
+        this.locale = format.getLocale();
+        List<String> literalList = new ArrayList<String>();
+        IntArrayBuilder indexList = new IntArrayBuilder();
+        split(original, literalList, indexList);
+        this.literals = literalList.toArray(new String[literalList.size()]);
+        this.argumentIndices = indexList.toArray();
+        Format[] found = format.getFormats();
+        Validate.isTrue(found.length == argumentIndices.length,
+                "Unable to split pattern into %d format elements: %s", found.length, original);
+        this.formats = found;
+    }
+
+    /**
+     * Splits a pattern into unquoted literal text and argument indices,
+     * following the quoting rules of <code>MessageFormat.applyPattern()</code>.
+     * Within a format element, quoted text is skipped while looking for the
+     * closing brace, as the subformat handles its own quotes.
+     *
+     * @param pattern  the pattern to split
+     * @param literals  the list to add the literal text to
+     * @param indices  the builder to add the argument indices to
+     */
+    private static void split(String pattern, List<String> literals, IntArrayBuilder indices) {
+        StringBuilder literal = new StringBuilder();
+        boolean inQuote = false;
+        int len = pattern.length();
+        int i = 0;
+        while (i < len) {
+            char c = pattern.charAt(i);
+            if (c == QUOTE) {
+                if (i + 1 < len && pattern.charAt(i + 1) == QUOTE) {
+                    literal.append(QUOTE);
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+                i++;
+            } else if (c == START_FE && !inQuote) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                int start = ++i;
+                int end = -1;
+                int depth = 0;
+                boolean quoted = false;
+                for (; i < len; i++) {
+                    c = pattern.charAt(i);
+                    if (c == QUOTE) {
+                        quoted = !quoted;
+                    } else if (quoted) {
+                        continue;
+                    } else if (c == START_FMT && end < 0 && depth == 0) {
+                        end = i;
+                    } else if (c == START_FE) {
+                        depth++;
+                    } else if (c == END_FE) {
+                        if (depth == 0) {
+                            break;
+                        }
+                        depth--;
+                    }
+                }
+                Validate.isTrue(i < len, "Unterminated format element at position %d", start);
+                indices.append(Integer.parseInt(pattern.substring(start, end < 0 ? i : end).trim()));
+                i++;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the pattern, including any custom format descriptions.
+     *
+     * @return the pattern, not null
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the locale used by the formats.
+     *
+     * @return the locale, not null
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Gets the number of format elements in the pattern.
+     *
+     * @return the number of format elements
+     */
+    public int getFormatElementCount() {
+        return argumentIndices.length;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Formats the arguments to a String.
+     *
+     * @param arguments  the arguments, may be null
+     * @return the formatted message, not null
+     */
+    public String format(Object... arguments) {
+        return appendTo(new StringBuilder(pattern.length() + 16 * argumentIndices.length), arguments).toString();
+    }
+
+    /**
+     * Formats the arguments, appending the result to a <code>StringBuilder</code>.
+     *
+     * @param builder  the builder to append to, not null
+     * @param arguments  the arguments, may be null
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, Object... arguments) {
+        try {
+            appendTo((Appendable) builder, arguments);
+        } catch (IOException ex) {
+            // not thrown by StringBuilder
+            throw new IllegalStateException(ex);
+        }
+        return builder;
+    }
+
+    /**
+     * Formats the arguments, appending the result to an <code>Appendable</code>.
+     *
+     * @param appendable  the destination, not null
+     * @param arguments  the arguments, may be null
+     * @return the destination
+     * @throws IOException if an I/O error occurs
+     */
+    public Appendable appendTo(Appendable appendable, Object... arguments) throws IOException {
+        FormatState st = state.get();
+        if (st.active) {
+            // re-entered from an argument's toString() or a subformat
+            st = new FormatState(formats);
+        }
+        st.active = true;
+        try {
+            for (int i = 0; i < argumentIndices.length; i++) {
+                String literal = literals[i];
+                if (literal.length() > 0) {
+                    appendable.append(literal);
+                }
+                appendArgument(appendable, i, arguments, st);
+            }
+            String literal = literals[argumentIndices.length];
+            if (literal.length() > 0) {
+                appendable.append(literal);
+            }
+        } finally {
+            st.active = false;
+        }
+        return appendable;
+    }
+
+    /**
+     * Appends a single format element in the manner of <code>MessageFormat</code>.
+     *
+     * @param appendable  the destination
+     * @param element  the format element index
+     * @param arguments  the arguments, may be null
+     * @param st  the per-thread state
+     * @throws IOException if an I/O error occurs
+     */
+    private void appendArgument(Appendable appendable, int element, Object[] arguments, FormatState st)
+            throws IOException {
+        int argumentIndex = argumentIndices[element];
+        if (arguments == null || argumentIndex >= arguments.length) {
+            appendable.append(START_FE).append(Integer.toString(argumentIndex)).append(END_FE);
+            return;
+        }
+        Object obj = arguments[argumentIndex];
+        if (obj == null) {
+            appendable.append("null");
+        } else if (formats[element] != null) {
+            Format format = st.formats[element];
+            if (format instanceof ChoiceFormat) {
+                StringBuffer buf = st.format(format, obj);
+                if (buf.indexOf("{") >= 0) {
+                    getInstance(buf.toString(), locale).appendTo(appendable, arguments);
+                } else {
+                    appendable.append(buf);
+                }
+            } else {
+                appendFormatted(appendable, format, obj, st);
+            }
+        } else if (obj instanceof Number) {
+            appendFormatted(appendable, st.getNumberFormat(locale), obj, st);
+        } else if (obj instanceof Date) {
+            appendFormatted(appendable, st.getDateFormat(locale), obj, st);
+        } else if (obj instanceof String) {
+            appendable.append((String) obj);
+        } else {
+            String str = obj.toString();
+            appendable.append(str == null ? "null" : str);
+        }
+    }
+
+    /**
+     * Appends the result of a subformat, formatting straight into the
+     * destination where it is a <code>StringBuffer</code>.
+     *
+     * @param appendable  the destination
+     * @param format  the format to use
+     * @param obj  the object to format
+     * @param st  the per-thread state
+     * @throws IOException if an I/O error occurs
+     */
+    private void appendFormatted(Appendable appendable, Format format, Object obj, FormatState st)
+            throws IOException {
+        if (appendable instanceof StringBuffer) {
+            format.format(obj, (StringBuffer) appendable, st.position());
+        } else {
+            appendable.append(st.format(format, obj));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the pattern.
+     *
+     * @return the pattern
+     */
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The formats and scratch objects owned by one thread.
+     */
+    private static final class FormatState {
+        /** The copies of the formats. */
+        final Format[] formats;
+        /** The default number format, created lazily. */
+        private NumberFormat numberFormat;
+        /** The default date format, created lazily. */
+        private DateFormat dateFormat;
+        /** The scratch buffer. */
+        private StringBuffer buffer = new StringBuffer();
+        /** The scratch field position. */
+        private final FieldPosition position = new FieldPosition(0);
+        /** Whether a format call is in progress. */
+        boolean active;
+
+        /**
+         * Constructs the state, copying the formats.
+         *
+         * @param prototypes  the formats to copy
+         */
+        FormatState(Format[] prototypes) {
+            formats = new Format[prototypes.length];
+            for (int i = 0; i < prototypes.length; i++) {
+                if (prototypes[i] != null) {
+                    formats[i] = (Format) prototypes[i].clone();
+                }
+            }
+        }
+
+        NumberFormat getNumberFormat(Locale locale) {
+            if (numberFormat == null) {
+                numberFormat = NumberFormat.getInstance(locale);
+            }
+            return numberFormat;
+        }
+
+        DateFormat getDateFormat(Locale locale) {
+            if (dateFormat == null) {
+                dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+            }
+            return dateFormat;
+        }
+
+        FieldPosition position() {
+            position.setBeginIndex(0);
+            position.setEndIndex(0);
+            return position;
+        }
+
+        /**
+         * Formats into the scratch buffer, which is valid until the next call.
+         *
+         * @param format  the format to use
+         * @param obj  the object to format
+         * @return the scratch buffer
+         */
+        StringBuffer format(Format format, Object obj) {
+            if (buffer.capacity() > MAX_BUFFER_SIZE) {
+                buffer = new StringBuffer();
+            } else {
+                buffer.setLength(0);
+            }
+            return format.format(obj, buffer, position());
+        }
+    }
+
+    /**
+     * The cache key, matching the registry by identity.
+     */
+    private static final class CacheKey {
+        private final String pattern;
+        private final Locale locale;
+        private final Map<String, ? extends FormatFactory> registry;
+        private final int hashCode;
+
+        CacheKey(String pattern, Locale locale, Map<String, ? extends FormatFactory> registry) {
+            this.pattern = pattern;
+            this.locale = locale;
+            this.registry = registry;
+            this.hashCode = (pattern.hashCode() * 31 + locale.hashCode()) * 31 + System.identityHashCode(registry);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof CacheKey == false) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return registry == other.registry && pattern.equals(other.pattern) && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
@@ -61,6 +61,10 @@ import org.apache.commons.lang3.Validate;
  *     <code>ExtendedMessageFormat</code>, is not guaranteed.</li>
  * </ul>
  * </p>
+ *
+ * <p>Where the same pattern is formatted repeatedly, possibly from several threads,
+ * {@link CompiledMessageFormat} provides a cached, thread-safe compiled form.
+ * </p>
  * 
  * @author Apache Software Foundation
  * @author Matt Benson
@@ -16,13 +16,15 @@
  */
 package org.apache.commons.lang3.text;
 
+import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.CharBuffer;
 import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.SystemInfo;
 
 /**
  * Builds a string from constituent parts providing a more flexible and powerful API
@@ -52,6 +54,7 @@ import org.apache.commons.lang3.SystemUtils;
  *   <li>asTokenizer - uses the internal buffer as the source of a StrTokenizer</li>
  *   <li>asReader - uses the internal buffer as the source of a Reader</li>
  *   <li>asWriter - allows a Writer to write directly to the internal buffer</li>
+ *   <li>asCharBuffer - uses the internal buffer as the source of a CharBuffer</li>
  *  </ul>
  * </li>
  * </ul>
@@ -430,7 +433,7 @@ public class StrBuilder implements CharSequence, Appendable {
      */
     public StrBuilder appendNewLine() {
         if (newLine == null)  {
-            append(SystemUtils.LINE_SEPARATOR);
+            append(SystemInfo.getLineSeparator());
             return this;
         }
         return append(newLine);
@@ -2274,14 +2277,7 @@ public class StrBuilder implements CharSequence, Appendable {
         if (matcher == null || startIndex >= size) {
             return -1;
         }
-        int len = size;
-        char[] buf = buffer;
-        for (int i = startIndex; i < len; i++) {
-            if (matcher.isMatch(buf, i, startIndex, len) > 0) {
-                return i;
-            }
-        }
-        return -1;
+        return matcher.indexOf(buffer, startIndex, startIndex, size);
     }
 
     //-----------------------------------------------------------------------
@@ -2491,6 +2487,62 @@ public class StrBuilder implements CharSequence, Appendable {
         return new StrBuilderWriter();
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the contents of this builder as a read-only CharBuffer.
+     * <p>
+     * The internal character array is wrapped rather than copied, so this
+     * is the cheapest way to pass the contents to NIO. For example, to encode
+     * the builder into a byte buffer without creating an intermediate String:
+     * <pre>
+     * CharBuffer in = b.asCharBuffer();
+     * CoderResult result = encoder.encode(in, out, true);
+     * while (result.isOverflow()) {
+     *     // drain out, then continue from where the encoder stopped
+     *     result = encoder.encode(in, out, true);
+     * }
+     * encoder.flush(out);
+     * </pre>
+     * The buffer covers the characters present when this method is called.
+     * It shares the internal character array, so it must not be used after
+     * the builder is changed.
+     *
+     * @return a read-only buffer that reads from this builder
+     * @since 3.2
+     */
+    public CharBuffer asCharBuffer() {
+        return CharBuffer.wrap(buffer, 0, size).asReadOnlyBuffer();
+    }
+
+    /**
+     * Appends the contents of this builder to another Appendable without
+     * creating an intermediate String.
+     * <p>
+     * Writers, CharBuffers, StringBuilders, StringBuffers and StrBuilders
+     * receive the internal character array directly. Any other Appendable
+     * receives this builder as a CharSequence.
+     *
+     * @param appendable  the appendable to append to, not null
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if the appendable is null
+     * @since 3.2
+     */
+    public void appendTo(Appendable appendable) throws IOException {
+        if (appendable instanceof Writer) {
+            ((Writer) appendable).write(buffer, 0, size);
+        } else if (appendable instanceof CharBuffer) {
+            ((CharBuffer) appendable).put(buffer, 0, size);
+        } else if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(buffer, 0, size);
+        } else if (appendable instanceof StringBuffer) {
+            ((StringBuffer) appendable).append(buffer, 0, size);
+        } else if (appendable instanceof StrBuilder) {
+            ((StrBuilder) appendable).append(buffer, 0, size);
+        } else {
+            appendable.append(this);
+        }
+    }
+
     //-----------------------------------------------------------------------
 //    /**
 //     * Gets a String version of the string builder by calling the internal
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A pool of reusable {@link StrBuilder} instances.
+ * <p>
+ * Code that builds and discards many large strings spends much of its time
+ * growing new character arrays. A pool allows the builders, and their
+ * already grown arrays, to be reused:
+ * <pre>
+ * StrBuilder b = pool.acquire();
+ * try {
+ *     // populate b, then drain it with b.appendTo(writer)
+ * } finally {
+ *     pool.release(b);
+ * }
+ * </pre>
+ * To stop a single very large string from pinning memory, the pool holds
+ * at most a fixed number of builders, and a released builder whose capacity
+ * exceeds the configured maximum has its buffer replaced by a smaller one.
+ * <p>
+ * A builder must not be used after it has been released.
+ * <p>
+ * #ThreadSafe#
+ *
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public class StrBuilderPool {
+
+    /**
+     * The default maximum number of builders held by the pool.
+     */
+    public static final int DEFAULT_MAX_POOLED = 16;
+
+    /**
+     * The default maximum capacity retained by a pooled builder.
+     */
+    public static final int DEFAULT_MAX_CAPACITY = 16 * 1024;
+
+    /** The idle builders. */
+    private final Queue<StrBuilder> pool = new ConcurrentLinkedQueue<StrBuilder>();
+    /** The number of idle builders, tracked separately as queue size is O(n). */
+    private final AtomicInteger pooled = new AtomicInteger();
+    /** The maximum number of idle builders. */
+    private final int maxPooled;
+    /** The maximum capacity retained by an idle builder. */
+    private final int maxCapacity;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Constructs a pool holding up to 16 builders of up to 16K characters each.
+     */
+    public StrBuilderPool() {
+        this(DEFAULT_MAX_POOLED, DEFAULT_MAX_CAPACITY);
+    }
+
+    /**
+     * Constructs a pool with the specified limits.
+     *
+     * @param maxPooled  the maximum number of idle builders to hold, zero or more
+     * @param maxCapacity  the maximum capacity an idle builder may retain, one or more
+     * @throws IllegalArgumentException if either limit is out of range
+     */
+    public StrBuilderPool(int maxPooled, int maxCapacity) {
+        super();
+        Validate.isTrue(maxPooled >= 0, "The maximum pool size must not be negative: %d", maxPooled);
+        Validate.isTrue(maxCapacity > 0, "The maximum capacity must be positive: %d", maxCapacity);
+        this.maxPooled = maxPooled;
+        this.maxCapacity = maxCapacity;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the maximum number of idle builders the pool will hold.
+     *
+     * @return the maximum pool size
+     */
+    public int getMaxPooled() {
+        return maxPooled;
+    }
+
+    /**
+     * Gets the maximum capacity an idle builder may retain.
+     *
+     * @return the maximum capacity
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Gets the number of idle builders currently held by the pool.
+     *
+     * @return the number of idle builders
+     */
+    public int size() {
+        return pooled.get();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains an empty builder, reusing an idle one if available.
+     *
+     * @return an empty builder with default settings, never null
+     */
+    public StrBuilder acquire() {
+        StrBuilder builder = pool.poll();
+        if (builder == null) {
+            return new StrBuilder();
+        }
+        pooled.decrementAndGet();
+        return builder;
+    }
+
+    /**
+     * Returns a builder to the pool.
+     * <p>
+     * The builder is cleared and its new line and null text settings are
+     * reset. If the pool is full the builder is discarded.
+     *
+     * @param builder  the builder to return, null is ignored
+     */
+    public void release(StrBuilder builder) {
+        if (builder == null) {
+            return;
+        }
+        builder.clear();
+        builder.setNewLineText(null);
+        builder.setNullText(null);
+        if (builder.buffer.length > maxCapacity) {
+            builder.buffer = new char[maxCapacity];
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            pool.offer(builder);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the contents of a builder as a String and returns the builder to the pool.
+     *
+     * @param builder  the builder to convert and return, not null
+     * @return the contents of the builder
+     * @throws NullPointerException if the builder is null
+     */
+    public String toStringAndRelease(StrBuilder builder) {
+        String str = builder.toString();
+        release(builder);
+        return str;
+    }
+
+}
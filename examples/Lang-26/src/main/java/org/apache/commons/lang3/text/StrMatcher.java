@@ -267,13 +267,48 @@ public abstract class StrMatcher {
         return isMatch(buffer, pos, 0, buffer.length);
     }
 
+    /**
+     * Returns the first position at or after <code>pos</code> where this
+     * matcher matches, or -1 if there is no match before <code>bufferEnd</code>.
+     * <p>
+     * This is equivalent to calling {@link #isMatch(char[], int, int, int)}
+     * at each position in turn, which is what this implementation does.
+     * The matchers returned by the factory methods override it to scan
+     * the buffer directly, allowing callers to skip quickly over text that
+     * cannot match.
+     *
+     * @param buffer  the text content to match against, do not change
+     * @param pos  the first position to check, may be equal to bufferEnd
+     * @param bufferStart  the first active index in the buffer, valid for buffer
+     * @param bufferEnd  the end index (exclusive) of the active buffer, valid for buffer
+     * @return the position of the first match, -1 if none
+     * @since 3.2
+     */
+    public int indexOf(char[] buffer, int pos, int bufferStart, int bufferEnd) {
+        for (int i = pos; i < bufferEnd; i++) {
+            if (isMatch(buffer, i, bufferStart, bufferEnd) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Class used to define a set of characters for matching purposes.
+     * <p>
+     * The set is compiled into a two level bitmap: the high byte of a
+     * character selects a 256 bit block and the low byte selects a bit
+     * within it. Blocks with no members share a single empty block, so a
+     * set of ASCII characters costs one block rather than the 8K bytes of
+     * a flat bitmap, while a lookup is still two array reads.
      */
     static final class CharSetMatcher extends StrMatcher {
-        /** The set of characters to match. */
-        private final char[] chars;
+        /** The block shared by all ranges of 256 characters with no members. */
+        private static final long[] EMPTY_BLOCK = new long[4];
+
+        /** The blocks of 256 bits, indexed by the high byte of the character. */
+        private final long[][] blocks = new long[256][];
 
         /**
          * Constructor that creates a matcher from a character array.
@@ -282,8 +317,24 @@ public abstract class StrMatcher {
          */
         CharSetMatcher(char chars[]) {
             super();
-            this.chars = chars.clone();
-            Arrays.sort(this.chars);
+            Arrays.fill(blocks, EMPTY_BLOCK);
+            for (char ch : chars) {
+                int high = ch >>> 8;
+                if (blocks[high] == EMPTY_BLOCK) {
+                    blocks[high] = new long[4];
+                }
+                blocks[high][(ch >>> 6) & 3] |= 1L << ch;
+            }
+        }
+
+        /**
+         * Returns whether or not the character is in the set.
+         *
+         * @param ch  the character to check
+         * @return true if the character matches
+         */
+        private boolean contains(char ch) {
+            return (blocks[ch >>> 8][(ch >>> 6) & 3] & (1L << ch)) != 0;
         }
 
         /**
@@ -297,7 +348,28 @@ public abstract class StrMatcher {
          */
         @Override
         public int isMatch(char[] buffer, int pos, int bufferStart, int bufferEnd) {
-            return Arrays.binarySearch(chars, buffer[pos]) >= 0 ? 1 : 0;
+            return contains(buffer[pos]) ? 1 : 0;
+        }
+
+        /**
+         * Returns the position of the next character in the set.
+         *
+         * @param buffer  the text content to match against, do not change
+         * @param pos  the first position to check
+         * @param bufferStart  the first active index in the buffer, valid for buffer
+         * @param bufferEnd  the end index of the active buffer, valid for buffer
+         * @return the position of the first match, -1 if none
+         */
+        @Override
+        public int indexOf(char[] buffer, int pos, int bufferStart, int bufferEnd) {
+            long[][] blocks = this.blocks;
+            for (int i = pos; i < bufferEnd; i++) {
+                char ch = buffer[i];
+                if ((blocks[ch >>> 8][(ch >>> 6) & 3] & (1L << ch)) != 0) {
+                    return i;
+                }
+            }
+            return -1;
         }
     }
 
@@ -332,6 +404,26 @@ public abstract class StrMatcher {
         public int isMatch(char[] buffer, int pos, int bufferStart, int bufferEnd) {
             return ch == buffer[pos] ? 1 : 0;
         }
+
+        /**
+         * Returns the position of the next occurrence of the character.
+         *
+         * @param buffer  the text content to match against, do not change
+         * @param pos  the first position to check
+         * @param bufferStart  the first active index in the buffer, valid for buffer
+         * @param bufferEnd  the end index of the active buffer, valid for buffer
+         * @return the position of the first match, -1 if none
+         */
+        @Override
+        public int indexOf(char[] buffer, int pos, int bufferStart, int bufferEnd) {
+            char ch = this.ch;
+            for (int i = pos; i < bufferEnd; i++) {
+                if (buffer[i] == ch) {
+                    return i;
+                }
+            }
+            return -1;
+        }
     }
 
     //-----------------------------------------------------------------------
@@ -374,6 +466,28 @@ public abstract class StrMatcher {
             }
             return len;
         }
+
+        /**
+         * Returns the position of the next occurrence of the stored string,
+         * checking the whole string only where the first character matches.
+         *
+         * @param buffer  the text content to match against, do not change
+         * @param pos  the first position to check
+         * @param bufferStart  the first active index in the buffer, valid for buffer
+         * @param bufferEnd  the end index of the active buffer, valid for buffer
+         * @return the position of the first match, -1 if none
+         */
+        @Override
+        public int indexOf(char[] buffer, int pos, int bufferStart, int bufferEnd) {
+            char first = chars[0];
+            int last = bufferEnd - chars.length;
+            for (int i = pos; i <= last; i++) {
+                if (buffer[i] == first && isMatch(buffer, i, bufferStart, bufferEnd) > 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
     }
 
     //-----------------------------------------------------------------------
@@ -402,6 +516,20 @@ public abstract class StrMatcher {
         public int isMatch(char[] buffer, int pos, int bufferStart, int bufferEnd) {
             return 0;
         }
+
+        /**
+         * Always returns -1.
+         *
+         * @param buffer  the text content to match against, do not change
+         * @param pos  the first position to check
+         * @param bufferStart  the first active index in the buffer, valid for buffer
+         * @param bufferEnd  the end index of the active buffer, valid for buffer
+         * @return -1
+         */
+        @Override
+        public int indexOf(char[] buffer, int pos, int bufferStart, int bufferEnd) {
+            return -1;
+        }
     }
 
     //-----------------------------------------------------------------------
@@ -430,6 +558,25 @@ public abstract class StrMatcher {
         public int isMatch(char[] buffer, int pos, int bufferStart, int bufferEnd) {
             return buffer[pos] <= 32 ? 1 : 0;
         }
+
+        /**
+         * Returns the position of the next whitespace character.
+         *
+         * @param buffer  the text content to match against, do not change
+         * @param pos  the first position to check
+         * @param bufferStart  the first active index in the buffer, valid for buffer
+         * @param bufferEnd  the end index of the active buffer, valid for buffer
+         * @return the position of the first match, -1 if none
+         */
+        @Override
+        public int indexOf(char[] buffer, int pos, int bufferStart, int bufferEnd) {
+            for (int i = pos; i < bufferEnd; i++) {
+                if (buffer[i] <= 32) {
+                    return i;
+                }
+            }
+            return -1;
+        }
     }
 
 }
@@ -572,6 +572,11 @@ public class StrSubstitutor {
         int bufEnd = offset + length;
         int pos = offset;
         while (pos < bufEnd) {
+            // skip directly to the next possible variable start
+            pos = prefixMatcher.indexOf(chars, pos, offset, bufEnd);
+            if (pos < 0) {
+                break;
+            }
             int startMatchLen = prefixMatcher.isMatch(chars, pos, offset, bufEnd);
             if (startMatchLen == 0) {
                 pos++;
@@ -590,6 +595,11 @@ public class StrSubstitutor {
                     pos += startMatchLen;
                     int endMatchLen = 0;
                     while (pos < bufEnd) {
+                        pos = suffixMatcher.indexOf(chars, pos, offset, bufEnd);
+                        if (pos < 0) {
+                            pos = bufEnd;
+                            break;
+                        }
                         endMatchLen = suffixMatcher.isMatch(chars, pos, offset, bufEnd);
                         if (endMatchLen == 0) {
                             pos++;
@@ -0,0 +1,587 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizes text on demand, using the same rules as {@link StrTokenizer}.
+ * <p>
+ * <code>StrTokenizer</code> copies its input and splits all of it into a
+ * <code>String[]</code> as soon as the first token is requested. This class
+ * instead reads a <code>CharSequence</code> or <code>Reader</code> through a
+ * small reusable window and finds one token each time {@link #next()} is
+ * called, so memory use depends on the longest token rather than on the
+ * size of the input:
+ * <pre>
+ * StrTokenStream stream = new StrTokenStream(StrTokenizer.getCSVInstance());
+ * stream.reset(reader);
+ * while (stream.next()) {
+ *     int start = stream.getTokenStart();   // no String created
+ *     String value = stream.getToken();     // String created on request
+ * }
+ * </pre>
+ * The delimiter, quote, ignored and trimmer matchers and the empty token
+ * settings are copied from a <code>StrTokenizer</code> when the stream is
+ * created, and the tokens produced are the same as that tokenizer would
+ * produce for the whole input. Overriding {@link StrTokenizer#tokenize(char[], int, int)}
+ * has no effect on a stream. Matchers must not need to see more than 64
+ * characters past the position being matched.
+ * <p>
+ * A stream can be reused for many inputs by calling one of the
+ * <code>reset</code> methods, which keeps the internal buffers.
+ * <p>
+ * #NotThreadSafe#
+ *
+ * @author Apache Software Foundation
+ * @see StrTokenizer
+ * @since 3.2
+ * @version $Id$
+ */
+public class StrTokenStream {
+
+    /** The number of characters matchers may examine past the current position. */
+    static final int LOOKAHEAD = 64;
+    /** The initial size of the window. */
+    static final int CAPACITY = 1024;
+    /** The scan result indicating that more characters must be read. */
+    private static final int NEED_MORE = -2;
+
+    /** The delimiter matcher */
+    private final StrMatcher delimMatcher;
+    /** The quote matcher */
+    private final StrMatcher quoteMatcher;
+    /** The ignored matcher */
+    private final StrMatcher ignoredMatcher;
+    /** The trimmer matcher */
+    private final StrMatcher trimmerMatcher;
+    /** Whether to return empty tokens as null */
+    private final boolean emptyAsNull;
+    /** Whether to ignore empty tokens */
+    private final boolean ignoreEmptyTokens;
+
+    /** The source when reading a character sequence. */
+    private CharSequence sequence;
+    /** The source when reading a reader. */
+    private Reader reader;
+    /** The index of the next character to read from the sequence. */
+    private int sequencePos;
+    /** Whether the source has been read fully. */
+    private boolean eof;
+
+    /** The window onto the input. */
+    private char[] buf = new char[CAPACITY];
+    /** The number of valid characters in the window. */
+    private int bufLen;
+    /** The input offset of the first character in the window. */
+    private int bufOffset;
+    /** The window position to scan the next token from. */
+    private int pos;
+    /** Whether the last token ended with a delimiter. */
+    private boolean afterDelimiter;
+    /** Whether the end of the input has been reached. */
+    private boolean finished = true;
+
+    /** The token content, with quotes and ignored characters removed. */
+    private final StrBuilder workArea = new StrBuilder();
+    /** The length of the token content in the work area, excluding trailing trimmed characters. */
+    private int tokenLen;
+    /** Whether the current token is reported as null. */
+    private boolean tokenNull;
+    /** The input offset where the current token starts. */
+    private int tokenStart;
+    /** The input offset where the current token ends. */
+    private int tokenEnd;
+    /** Scratch window position where the content of the token being scanned ends. */
+    private int scanEnd;
+
+    /** Whether the scan of the current field stopped to read more input. */
+    private boolean resume;
+    /** Whether the stopped scan had passed the leading characters of the field. */
+    private boolean resumeInToken;
+    /** The window position to resume the stopped scan from. */
+    private int resumeIndex;
+    /** The window position where the content of the stopped token starts. */
+    private int resumeStart;
+    /** The window position of the opening quote of the stopped token. */
+    private int resumeQuoteStart;
+    /** The length of the opening quote of the stopped token, 0 if no quoting. */
+    private int resumeQuoteLen;
+    /** Whether the stopped scan was inside quotes. */
+    private boolean resumeQuoting;
+    /** The work area length of the stopped token, excluding trailing trimmed characters. */
+    private int resumeTrimStart;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Constructs a stream with the default settings of {@link StrTokenizer#StrTokenizer()},
+     * splitting on whitespace. Call a <code>reset</code> method to supply input.
+     */
+    public StrTokenStream() {
+        this(new StrTokenizer());
+    }
+
+    /**
+     * Constructs a stream with the settings of the specified tokenizer.
+     * Call a <code>reset</code> method to supply input.
+     *
+     * @param settings  the tokenizer to copy the matchers and empty token settings from, not null
+     * @throws NullPointerException if the tokenizer is null
+     */
+    public StrTokenStream(StrTokenizer settings) {
+        super();
+        this.delimMatcher = settings.getDelimiterMatcher();
+        this.quoteMatcher = settings.getQuoteMatcher();
+        this.ignoredMatcher = settings.getIgnoredMatcher();
+        this.trimmerMatcher = settings.getTrimmerMatcher();
+        this.emptyAsNull = settings.isEmptyTokenAsNull();
+        this.ignoreEmptyTokens = settings.isIgnoreEmptyTokens();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Resets this stream to tokenize a character sequence.
+     * <p>
+     * The sequence is read as tokenization proceeds, so it must not be
+     * changed until tokenization is complete.
+     *
+     * @param input  the text to tokenize, null means no tokens
+     * @return this, to enable chaining
+     */
+    public StrTokenStream reset(CharSequence input) {
+        resetState();
+        this.sequence = input;
+        this.finished = input == null;
+        this.eof = input == null;
+        return this;
+    }
+
+    /**
+     * Resets this stream to tokenize the characters of a reader.
+     * <p>
+     * The reader is read as tokenization proceeds and is not closed.
+     *
+     * @param input  the reader to tokenize, null means no tokens
+     * @return this, to enable chaining
+     */
+    public StrTokenStream reset(Reader input) {
+        resetState();
+        this.reader = input;
+        this.finished = input == null;
+        this.eof = input == null;
+        return this;
+    }
+
+    /**
+     * Clears all state except the buffers.
+     */
+    private void resetState() {
+        sequence = null;
+        reader = null;
+        sequencePos = 0;
+        bufLen = 0;
+        bufOffset = 0;
+        pos = 0;
+        afterDelimiter = false;
+        workArea.clear();
+        tokenLen = 0;
+        tokenNull = false;
+        tokenStart = 0;
+        tokenEnd = 0;
+        resume = false;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Moves to the next token.
+     *
+     * @return true if a token was found, false if there are no more tokens
+     * @throws IOException if the reader throws one
+     */
+    public boolean next() throws IOException {
+        while (!finished) {
+            if (pos + LOOKAHEAD > bufLen && !eof) {
+                fill();
+                continue;
+            }
+            if (pos >= bufLen) {
+                // the input ended, possibly with a delimiter
+                finished = true;
+                if (afterDelimiter) {
+                    workArea.clear();
+                    scanEnd = pos;
+                    if (acceptToken(bufOffset + pos, 0)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            int next = readNextToken(pos);
+            if (next == NEED_MORE) {
+                fill();
+                continue;
+            }
+            if (next < 0) {
+                finished = true;
+                afterDelimiter = false;
+            } else {
+                pos = next;
+                afterDelimiter = true;
+            }
+            if (acceptToken(tokenStart, tokenLen)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the current token, creating a String.
+     *
+     * @return the current token, null if empty and empty tokens are returned as null
+     */
+    public String getToken() {
+        if (tokenNull) {
+            return null;
+        }
+        return workArea.substring(0, tokenLen);
+    }
+
+    /**
+     * Appends the current token to a builder without creating a String.
+     *
+     * @param builder  the builder to append to, not null
+     * @return the builder
+     * @throws NullPointerException if the builder is null
+     */
+    public StrBuilder appendToken(StrBuilder builder) {
+        return builder.append(workArea, 0, tokenLen);
+    }
+
+    /**
+     * Gets the length of the current token, after quotes, ignored and
+     * trimmed characters have been removed.
+     *
+     * @return the length of the current token
+     */
+    public int getTokenLength() {
+        return tokenLen;
+    }
+
+    /**
+     * Gets the offset in the input where the current token starts,
+     * after any leading trimmed or ignored characters.
+     * An opening quote is included in the token.
+     *
+     * @return the start offset of the current token, inclusive
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * Gets the offset in the input where the current token ends,
+     * before any trailing trimmed characters or the delimiter.
+     * A closing quote is included in the token.
+     *
+     * @return the end offset of the current token, exclusive
+     */
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Records the token just scanned, paying attention to the empty token settings.
+     *
+     * @param start  the input offset of the token
+     * @param len  the length of the token content
+     * @return true if the token is to be returned, false if it is ignored
+     */
+    private boolean acceptToken(int start, int len) {
+        boolean empty = len == 0;
+        if (empty && ignoreEmptyTokens) {
+            return false;
+        }
+        tokenLen = len;
+        tokenNull = empty && emptyAsNull;
+        tokenStart = start;
+        tokenEnd = bufOffset + scanEnd;
+        return true;
+    }
+
+    /**
+     * Reads more input into the window, discarding the characters before
+     * the scan position and growing the window if the token does not fit.
+     * The window is filled completely unless the input ends, so that a reader
+     * returning few characters per read does not cause frequent refills.
+     *
+     * @throws IOException if the reader throws one
+     */
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, bufLen - pos);
+            bufOffset += pos;
+            bufLen -= pos;
+            if (resume) {
+                resumeIndex -= pos;
+                resumeStart -= pos;
+                resumeQuoteStart -= pos;
+                scanEnd -= pos;
+            }
+            pos = 0;
+        }
+        if (bufLen + LOOKAHEAD > buf.length) {
+            char[] old = buf;
+            buf = new char[old.length * 2];
+            System.arraycopy(old, 0, buf, 0, bufLen);
+        }
+        int space = buf.length - bufLen;
+        if (reader != null) {
+            while (bufLen < buf.length) {
+                int read = reader.read(buf, bufLen, buf.length - bufLen);
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+                bufLen += read;
+            }
+        } else {
+            int read = Math.min(space, sequence.length() - sequencePos);
+            int end = sequencePos + read;
+            if (sequence instanceof String) {
+                ((String) sequence).getChars(sequencePos, end, buf, bufLen);
+            } else if (sequence instanceof StringBuilder) {
+                ((StringBuilder) sequence).getChars(sequencePos, end, buf, bufLen);
+            } else if (sequence instanceof StringBuffer) {
+                ((StringBuffer) sequence).getChars(sequencePos, end, buf, bufLen);
+            } else if (sequence instanceof StrBuilder) {
+                ((StrBuilder) sequence).getChars(sequencePos, end, buf, bufLen);
+            } else {
+                for (int i = sequencePos, j = bufLen; i < end; i++, j++) {
+                    buf[j] = sequence.charAt(i);
+                }
+            }
+            sequencePos = end;
+            bufLen += read;
+            if (sequencePos >= sequence.length()) {
+                eof = true;
+            }
+        }
+    }
+
+    /**
+     * Checks whether more input is needed before matching at a window position.
+     *
+     * @param index  the window position about to be matched
+     * @return true if the window might end before the matchers have enough characters
+     */
+    private boolean needMore(int index) {
+        return !eof && index + LOOKAHEAD > bufLen;
+    }
+
+    /**
+     * Finds the next token in the window, in the same way as
+     * <code>StrTokenizer.readNextToken</code>.
+     * If the window had to be filled, the scan resumes where it stopped.
+     *
+     * @param start  the window position of the first character of the field
+     * @return the window position of the next field, -1 if the end of the
+     *  input was found, or {@link #NEED_MORE} if the window must be filled first
+     */
+    private int readNextToken(int start) {
+        if (resume) {
+            resume = false;
+            if (resumeInToken) {
+                return readWithQuotes(resumeStart, resumeIndex, resumeQuoteStart, resumeQuoteLen,
+                        resumeQuoting, resumeTrimStart);
+            }
+            start = resumeIndex;
+        }
+        int len = bufLen;
+        // skip all leading whitespace, unless it is the
+        // field delimiter or the quote character
+        while (start < len) {
+            if (needMore(start)) {
+                return suspend(start);
+            }
+            int removeLen = Math.max(
+                    ignoredMatcher.isMatch(buf, start, start, len),
+                    trimmerMatcher.isMatch(buf, start, start, len));
+            if (removeLen == 0 ||
+                delimMatcher.isMatch(buf, start, start, len) > 0 ||
+                quoteMatcher.isMatch(buf, start, start, len) > 0) {
+                break;
+            }
+            start += removeLen;
+        }
+        if (needMore(start)) {
+            return suspend(start);
+        }
+        workArea.clear();
+        tokenStart = bufOffset + start;
+        scanEnd = start;
+
+        // handle reaching end
+        if (start >= len) {
+            tokenLen = 0;
+            return -1;
+        }
+
+        // handle empty token
+        int delimLen = delimMatcher.isMatch(buf, start, start, len);
+        if (delimLen > 0) {
+            tokenLen = 0;
+            return start + delimLen;
+        }
+
+        // handle found token
+        int quoteLen = quoteMatcher.isMatch(buf, start, start, len);
+        if (quoteLen > 0) {
+            scanEnd = start + quoteLen;
+            return readWithQuotes(start + quoteLen, start + quoteLen, start, quoteLen, true, 0);
+        }
+        return readWithQuotes(start, start, 0, 0, false, 0);
+    }
+
+    /**
+     * Records where the scan of the leading characters of a field stopped.
+     *
+     * @param index  the window position to resume from
+     * @return {@link #NEED_MORE}
+     */
+    private int suspend(int index) {
+        resume = true;
+        resumeInToken = false;
+        resumeIndex = index;
+        return NEED_MORE;
+    }
+
+    /**
+     * Reads a possibly quoted token, in the same way as
+     * <code>StrTokenizer.readWithQuotes</code>.
+     * The end of the content scanned so far is held in <code>scanEnd</code>.
+     *
+     * @param start  the window position of the first character of the field
+     * @param index  the window position to continue the scan from
+     * @param quoteStart  the window position of the matched quote, 0 if no quoting
+     * @param quoteLen  the length of the matched quote, 0 if no quoting
+     * @param quoting  whether the scan is inside quotes
+     * @param trimStart  the work area length, excluding trailing trimmed characters
+     * @return the window position of the next field, -1 if the end of the
+     *  input was found, or {@link #NEED_MORE} if the window must be filled first
+     */
+    private int readWithQuotes(int start, int index, int quoteStart, int quoteLen,
+            boolean quoting, int trimStart) {
+        int len = bufLen;
+        int contentEnd = scanEnd;
+
+        while (index < len) {
+            if (needMore(index)) {
+                resume = true;
+                resumeInToken = true;
+                resumeIndex = index;
+                resumeStart = start;
+                resumeQuoteStart = quoteStart;
+                resumeQuoteLen = quoteLen;
+                resumeQuoting = quoting;
+                resumeTrimStart = trimStart;
+                scanEnd = contentEnd;
+                return NEED_MORE;
+            }
+            if (quoting) {
+                if (isQuote(index, len, quoteStart, quoteLen)) {
+                    if (isQuote(index + quoteLen, len, quoteStart, quoteLen)) {
+                        // matched pair of quotes, thus an escaped quote
+                        workArea.append(buf, index, quoteLen);
+                        index += quoteLen * 2;
+                        trimStart = workArea.size();
+                        contentEnd = index;
+                        continue;
+                    }
+                    // end of quoting
+                    quoting = false;
+                    index += quoteLen;
+                    contentEnd = index;
+                    continue;
+                }
+                // copy regular character from inside quotes
+                workArea.append(buf[index++]);
+                trimStart = workArea.size();
+                contentEnd = index;
+
+            } else {
+                // check for delimiter, and thus end of token
+                int delimLen = delimMatcher.isMatch(buf, index, start, len);
+                if (delimLen > 0) {
+                    tokenLen = trimStart;
+                    scanEnd = contentEnd;
+                    return index + delimLen;
+                }
+                // check for quote, and thus back into quoting mode
+                if (quoteLen > 0 && isQuote(index, len, quoteStart, quoteLen)) {
+                    quoting = true;
+                    index += quoteLen;
+                    contentEnd = index;
+                    continue;
+                }
+                // check for ignored (outside quotes), and ignore
+                int ignoredLen = ignoredMatcher.isMatch(buf, index, start, len);
+                if (ignoredLen > 0) {
+                    index += ignoredLen;
+                    continue;
+                }
+                // check for trimmed character, which may turn out to be inside the token
+                int trimmedLen = trimmerMatcher.isMatch(buf, index, start, len);
+                if (trimmedLen > 0) {
+                    workArea.append(buf, index, trimmedLen);
+                    index += trimmedLen;
+                    continue;
+                }
+                // copy regular character from outside quotes
+                workArea.append(buf[index++]);
+                trimStart = workArea.size();
+                contentEnd = index;
+            }
+        }
+
+        // return condition when end of input found
+        tokenLen = trimStart;
+        scanEnd = contentEnd;
+        return -1;
+    }
+
+    /**
+     * Checks if the characters at the window position match the opening quote.
+     *
+     * @param index  the window position to check for a quote
+     * @param len  the number of valid characters in the window
+     * @param quoteStart  the window position of the matched quote
+     * @param quoteLen  the length of the matched quote
+     * @return true if a quote is matched
+     */
+    private boolean isQuote(int index, int len, int quoteStart, int quoteLen) {
+        for (int i = 0; i < quoteLen; i++) {
+            if (index + i >= len || buf[index + i] != buf[quoteStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -57,6 +57,9 @@ import org.apache.commons.lang3.ArrayUtils;
  * "a, ", b ,", c" - Three tokens "a, " , " b ", ", c" (quoted text untouched)
  * </pre>
  * <p>
+ * The whole input is tokenized when the first token is requested. To tokenize
+ * large input one token at a time, use {@link StrTokenStream}.
+ * <p>
  *
  * This tokenizer has the following properties and options:
  *
@@ -16,8 +16,12 @@
  */
 package org.apache.commons.lang3.text;
 
+import java.io.IOException;
+import java.io.Reader;
+
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.lang3.SystemInfo;
+import org.apache.commons.lang3.Validate;
 
 /**
  * <p>Operations on Strings that contain words.</p>
@@ -94,7 +98,7 @@ public class WordUtils {
             return null;
         }
         if (newLineStr == null) {
-            newLineStr = SystemUtils.LINE_SEPARATOR;
+            newLineStr = SystemInfo.getLineSeparator();
         }
         if (wrapLength < 1) {
             wrapLength = 1;
@@ -144,6 +148,66 @@ public class WordUtils {
         return wrappedLine.toString();
     }
 
+    /**
+     * <p>Wraps text read from a <code>Reader</code>, appending the wrapped text
+     * to an <code>Appendable</code>.</p>
+     *
+     * <p>Each line of the input is wrapped as by {@link #wrap(String, int, String, boolean)},
+     * and the existing line breaks (<code>\n</code>, <code>\r\n</code> or <code>\r</code>)
+     * are copied unchanged. The wrap length is measured in code points, so a
+     * surrogate pair counts as one column and is never split.</p>
+     *
+     * <p>Only one line of look-ahead is held in memory, so arbitrarily large
+     * documents can be wrapped. The reader is read in blocks and is not closed.
+     * The appendable is written a character at a time, so should be buffered.</p>
+     *
+     * @param reader  the text to be word wrapped, null appends nothing
+     * @param appendable  the destination of the wrapped text, not null
+     * @param wrapLength  the column to wrap the words at, less than 1 is treated as 1
+     * @param newLineStr  the string to insert for a new line,
+     *  <code>null</code> uses the system property line separator
+     * @param wrapLongWords  true if long words (such as URLs) should be wrapped
+     * @return the appendable
+     * @throws NullPointerException if the appendable is null
+     * @throws IOException if an I/O error occurs
+     * @since 3.2
+     */
+    public static Appendable wrap(Reader reader, Appendable appendable, int wrapLength, String newLineStr,
+            boolean wrapLongWords) throws IOException {
+        Validate.notNull(appendable, "The appendable must not be null");
+        if (reader != null) {
+            new WordWrapper(null, reader, wrapLength, newLineStr, wrapLongWords).wrap(appendable);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Wraps a <code>CharSequence</code>, appending the wrapped text to an
+     * <code>Appendable</code>.</p>
+     *
+     * <p>This behaves as {@link #wrap(Reader, Appendable, int, String, boolean)},
+     * reading the characters directly from the sequence.</p>
+     *
+     * @param str  the text to be word wrapped, null appends nothing
+     * @param appendable  the destination of the wrapped text, not null
+     * @param wrapLength  the column to wrap the words at, less than 1 is treated as 1
+     * @param newLineStr  the string to insert for a new line,
+     *  <code>null</code> uses the system property line separator
+     * @param wrapLongWords  true if long words (such as URLs) should be wrapped
+     * @return the appendable
+     * @throws NullPointerException if the appendable is null
+     * @throws IOException if an I/O error occurs
+     * @since 3.2
+     */
+    public static Appendable wrap(CharSequence str, Appendable appendable, int wrapLength, String newLineStr,
+            boolean wrapLongWords) throws IOException {
+        Validate.notNull(appendable, "The appendable must not be null");
+        if (str != null) {
+            new WordWrapper(str, null, wrapLength, newLineStr, wrapLongWords).wrap(appendable);
+        }
+        return appendable;
+    }
+
     // Capitalizing
     //-----------------------------------------------------------------------
     /**
@@ -573,4 +637,245 @@ public class WordUtils {
         return result.toString();
     }
 
+    /**
+     * Wraps a stream of text a line at a time, holding at most
+     * <code>wrapLength + 1</code> code points of the current line.
+     */
+    private static final class WordWrapper {
+        /** The size of the blocks read from a reader. */
+        private static final int CHUNK_SIZE = 1024;
+
+        /** The source when reading a character sequence. */
+        private final CharSequence sequence;
+        /** The source when reading a reader. */
+        private final Reader reader;
+        /** The block read from the reader. */
+        private final char[] chunk;
+        /** The position in the sequence or the chunk. */
+        private int pos;
+        /** The end of the valid characters in the chunk. */
+        private int chunkEnd;
+        /** The column to wrap at. */
+        private final int wrapLength;
+        /** The new line string. */
+        private final String newLineStr;
+        /** Whether to wrap long words. */
+        private final boolean wrapLongWords;
+        /** The look-ahead code points of the current line. */
+        private int[] window;
+        /** The start of the look-ahead in the window. */
+        private int start;
+        /** The end of the look-ahead in the window. */
+        private int end;
+        /** Whether the end of the current line has been read. */
+        private boolean lineEnded;
+        /** The line break ending the current line, null at the end of the input. */
+        private String terminator;
+
+        /**
+         * Constructs a wrapper for one of a sequence or a reader.
+         *
+         * @param sequence  the sequence to read, null if reading a reader
+         * @param reader  the reader to read, null if reading a sequence
+         * @param wrapLength  the column to wrap the words at
+         * @param newLineStr  the string to insert for a new line, may be null
+         * @param wrapLongWords  whether to wrap long words
+         */
+        WordWrapper(CharSequence sequence, Reader reader, int wrapLength, String newLineStr,
+                boolean wrapLongWords) {
+            this.sequence = sequence;
+            this.reader = reader;
+            this.chunk = reader == null ? null : new char[CHUNK_SIZE];
+            this.wrapLength = wrapLength < 1 ? 1 : wrapLength;
+            this.newLineStr = newLineStr == null ? SystemInfo.getLineSeparator() : newLineStr;
+            this.wrapLongWords = wrapLongWords;
+            this.window = new int[Math.min(this.wrapLength, 127) * 2 + 2];
+        }
+
+        /**
+         * Wraps all the input.
+         *
+         * @param out  the destination, not null
+         * @throws IOException if an I/O error occurs
+         */
+        void wrap(Appendable out) throws IOException {
+            do {
+                wrapLine(out);
+                if (terminator != null) {
+                    out.append(terminator);
+                }
+            } while (terminator != null);
+        }
+
+        /**
+         * Wraps the next line of input, following the algorithm of
+         * {@link WordUtils#wrap(String, int, String, boolean)}.
+         *
+         * @param out  the destination, not null
+         * @throws IOException if an I/O error occurs
+         */
+        private void wrapLine(Appendable out) throws IOException {
+            lineEnded = false;
+            start = 0;
+            end = 0;
+            fill();
+            while (end - start > wrapLength) {
+                if (window[start] == ' ') {
+                    start++;
+                    fill();
+                    continue;
+                }
+                int spaceToWrapAt = start + wrapLength;
+                while (spaceToWrapAt >= start && window[spaceToWrapAt] != ' ') {
+                    spaceToWrapAt--;
+                }
+                if (spaceToWrapAt >= start) {
+                    // normal case
+                    append(out, spaceToWrapAt);
+                    out.append(newLineStr);
+                    start = spaceToWrapAt + 1;
+                } else if (wrapLongWords) {
+                    // wrap really long word one line at a time
+                    append(out, start + wrapLength);
+                    out.append(newLineStr);
+                    start += wrapLength;
+                } else {
+                    // do not wrap really long word, stream it up to the next space
+                    append(out, end);
+                    start = 0;
+                    end = 0;
+                    int cp;
+                    while ((cp = readCodePoint()) >= 0 && cp != ' ') {
+                        appendCodePoint(out, cp);
+                    }
+                    if (cp == ' ') {
+                        out.append(newLineStr);
+                    }
+                }
+                fill();
+            }
+            // Whatever is left in line is short enough to just pass through
+            append(out, end);
+        }
+
+        /**
+         * Reads ahead until the window holds more than the wrap length, or the line ends.
+         *
+         * @throws IOException if an I/O error occurs
+         */
+        private void fill() throws IOException {
+            while (end - start <= wrapLength) {
+                int cp = readCodePoint();
+                if (cp < 0) {
+                    return;
+                }
+                if (end == window.length) {
+                    if (end - start < window.length / 2) {
+                        System.arraycopy(window, start, window, 0, end - start);
+                    } else {
+                        int[] grown = new int[window.length * 2];
+                        System.arraycopy(window, start, grown, 0, end - start);
+                        window = grown;
+                    }
+                    end -= start;
+                    start = 0;
+                }
+                window[end++] = cp;
+            }
+        }
+
+        /**
+         * Appends code points from the start of the window.
+         *
+         * @param out  the destination, not null
+         * @param to  the index to append up to, exclusive
+         * @throws IOException if an I/O error occurs
+         */
+        private void append(Appendable out, int to) throws IOException {
+            for (int i = start; i < to; i++) {
+                appendCodePoint(out, window[i]);
+            }
+        }
+
+        /**
+         * Appends a code point.
+         *
+         * @param out  the destination, not null
+         * @param cp  the code point
+         * @throws IOException if an I/O error occurs
+         */
+        private static void appendCodePoint(Appendable out, int cp) throws IOException {
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                out.append((char) cp);
+            } else {
+                int offset = cp - Character.MIN_SUPPLEMENTARY_CODE_POINT;
+                out.append((char) (Character.MIN_HIGH_SURROGATE + (offset >>> 10)));
+                out.append((char) (Character.MIN_LOW_SURROGATE + (offset & 0x3FF)));
+            }
+        }
+
+        /**
+         * Reads the next code point of the current line.
+         *
+         * @return the code point, -1 at the end of the line
+         * @throws IOException if an I/O error occurs
+         */
+        private int readCodePoint() throws IOException {
+            if (lineEnded) {
+                return -1;
+            }
+            int ch = peek();
+            if (ch < 0) {
+                lineEnded = true;
+                terminator = null;
+                return -1;
+            }
+            pos++;
+            if (ch == '\n') {
+                lineEnded = true;
+                terminator = "\n";
+                return -1;
+            }
+            if (ch == '\r') {
+                lineEnded = true;
+                if (peek() == '\n') {
+                    pos++;
+                    terminator = "\r\n";
+                } else {
+                    terminator = "\r";
+                }
+                return -1;
+            }
+            if (Character.isHighSurrogate((char) ch)) {
+                int low = peek();
+                if (low >= 0 && Character.isLowSurrogate((char) low)) {
+                    pos++;
+                    return Character.toCodePoint((char) ch, (char) low);
+                }
+            }
+            return ch;
+        }
+
+        /**
+         * Gets the next character without consuming it.
+         *
+         * @return the character, -1 at the end of the input
+         * @throws IOException if an I/O error occurs
+         */
+        private int peek() throws IOException {
+            if (sequence != null) {
+                return pos < sequence.length() ? sequence.charAt(pos) : -1;
+            }
+            if (pos == chunkEnd) {
+                int read = reader.read(chunk, 0, chunk.length);
+                if (read <= 0) {
+                    return -1;
+                }
+                pos = 0;
+                chunkEnd = read;
+            }
+            return chunk[pos];
+        }
+    }
+
 }
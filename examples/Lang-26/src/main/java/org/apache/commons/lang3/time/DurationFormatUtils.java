@@ -119,42 +119,16 @@ public class DurationFormatUtils {
      * <p>This method formats durations using the days and lower fields of the
      * format pattern. Months and larger are not used.</p>
      * 
+     * <p>Where the same format is used repeatedly, a {@link DurationFormatter}
+     * may be held and used directly.</p>
+     * 
      * @param durationMillis  the duration to format
      * @param format  the way in which to format the duration
      * @param padWithZeros  whether to pad the left hand side of numbers with 0's
      * @return the time as a String
      */
     public static String formatDuration(long durationMillis, String format, boolean padWithZeros) {
-
-        Token[] tokens = lexx(format);
-
-        int days         = 0;
-        int hours        = 0;
-        int minutes      = 0;
-        int seconds      = 0;
-        int milliseconds = 0;
-        
-        if (Token.containsTokenWithValue(tokens, d) ) {
-            days = (int) (durationMillis / DateUtils.MILLIS_PER_DAY);
-            durationMillis = durationMillis - (days * DateUtils.MILLIS_PER_DAY);
-        }
-        if (Token.containsTokenWithValue(tokens, H) ) {
-            hours = (int) (durationMillis / DateUtils.MILLIS_PER_HOUR);
-            durationMillis = durationMillis - (hours * DateUtils.MILLIS_PER_HOUR);
-        }
-        if (Token.containsTokenWithValue(tokens, m) ) {
-            minutes = (int) (durationMillis / DateUtils.MILLIS_PER_MINUTE);
-            durationMillis = durationMillis - (minutes * DateUtils.MILLIS_PER_MINUTE);
-        }
-        if (Token.containsTokenWithValue(tokens, s) ) {
-            seconds = (int) (durationMillis / DateUtils.MILLIS_PER_SECOND);
-            durationMillis = durationMillis - (seconds * DateUtils.MILLIS_PER_SECOND);
-        }
-        if (Token.containsTokenWithValue(tokens, S) ) {
-            milliseconds = (int) durationMillis;
-        }
-
-        return format(tokens, 0, 0, days, hours, minutes, seconds, milliseconds, padWithZeros);
+        return DurationFormatter.getInstance(format, padWithZeros).format(durationMillis);
     }
 
     /**
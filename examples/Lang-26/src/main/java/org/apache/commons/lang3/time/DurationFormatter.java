@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>A compiled duration format.</p>
+ *
+ * <p>The pattern is lexed once, using the pattern language described in
+ * {@link DurationFormatUtils}, into an immutable form that may be shared
+ * between threads. Each call then formats using integer arithmetic only,
+ * appending to a caller supplied <code>StringBuilder</code>:</p>
+ * <pre>
+ * private static final DurationFormatter ELAPSED = DurationFormatter.getInstance("H:mm:ss.SSS");
+ * ...
+ * ELAPSED.appendTo(logLine, System.currentTimeMillis() - start);
+ * </pre>
+ *
+ * <p>The output is identical to that of
+ * {@link DurationFormatUtils#formatDuration(long, String, boolean)}, which
+ * now uses this class. Only days and smaller fields are used; any years
+ * and months in the pattern are output as zero.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ *
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public class DurationFormatter {
+
+    /** The maximum number of formatters held by each cache. */
+    private static final int MAX_CACHE_SIZE = 64;
+
+    /** The cache of zero padding formatters. */
+    private static final ConcurrentMap<String, DurationFormatter> PADDED_CACHE =
+        new ConcurrentHashMap<String, DurationFormatter>();
+    /** The cache of unpadded formatters. */
+    private static final ConcurrentMap<String, DurationFormatter> UNPADDED_CACHE =
+        new ConcurrentHashMap<String, DurationFormatter>();
+
+    // the field codes, LITERAL marks a literal text element
+    private static final int LITERAL = 0;
+    private static final int YEARS = 1;
+    private static final int MONTHS = 2;
+    private static final int DAYS = 3;
+    private static final int HOURS = 4;
+    private static final int MINUTES = 5;
+    private static final int SECONDS = 6;
+    private static final int MILLIS = 7;
+
+    /** The pattern. */
+    private final String pattern;
+    /** Whether to pad numbers with zeros. */
+    private final boolean padWithZeros;
+    /** The field code of each element. */
+    private final int[] fields;
+    /** The minimum width of each field element. */
+    private final int[] widths;
+    /** The text of each literal element. */
+    private final String[] literals;
+    /** Whether the pattern contains each field code. */
+    private final boolean[] present = new boolean[MILLIS + 1];
+    /** The estimated length of the output. */
+    private final int estimatedLength;
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets a formatter for the pattern that pads numbers with zeros.</p>
+     *
+     * @param pattern  the duration pattern, not null
+     * @return a shared formatter, not null
+     * @throws NullPointerException if the pattern is null
+     */
+    public static DurationFormatter getInstance(String pattern) {
+        return getInstance(pattern, true);
+    }
+
+    /**
+     * <p>Gets a formatter for the pattern.</p>
+     *
+     * <p>Formatters are cached, so repeated calls with the same arguments
+     * usually return the same instance.</p>
+     *
+     * @param pattern  the duration pattern, not null
+     * @param padWithZeros  whether to pad the left hand side of numbers with 0's
+     * @return a shared formatter, not null
+     * @throws NullPointerException if the pattern is null
+     */
+    public static DurationFormatter getInstance(String pattern, boolean padWithZeros) {
+        Validate.notNull(pattern, "The pattern must not be null");
+        ConcurrentMap<String, DurationFormatter> cache = padWithZeros ? PADDED_CACHE : UNPADDED_CACHE;
+        DurationFormatter formatter = cache.get(pattern);
+        if (formatter == null) {
+            formatter = new DurationFormatter(pattern, padWithZeros);
+            DurationFormatter previous = cache.putIfAbsent(pattern, formatter);
+            if (previous != null) {
+                return previous;
+            }
+            if (cache.size() > MAX_CACHE_SIZE) {
+                for (Iterator<String> it = cache.keySet().iterator(); it.hasNext() && cache.size() > MAX_CACHE_SIZE;) {
+                    it.next();
+                    it.remove();
+                }
+            }
+        }
+        return formatter;
+    }
+
+    /**
+     * <p>Constructs a formatter, lexing the pattern.</p>
+     *
+     * @param pattern  the duration pattern, not null
+     * @param padWithZeros  whether to pad the left hand side of numbers with 0's
+     */
+    private DurationFormatter(String pattern, boolean padWithZeros) {
+        super();
+        this.pattern = pattern;
+        this.padWithZeros = padWithZeros;
+        DurationFormatUtils.Token[] tokens = DurationFormatUtils.lexx(pattern);
+        fields = new int[tokens.length];
+        widths = new int[tokens.length];
+        literals = new String[tokens.length];
+        int length = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            Object value = tokens[i].getValue();
+            int field = toField(value);
+            fields[i] = field;
+            present[field] = true;
+            if (field == LITERAL) {
+                literals[i] = value.toString();
+                length += literals[i].length();
+            } else {
+                widths[i] = tokens[i].getCount();
+                length += Math.max(widths[i], 2);
+            }
+        }
+        estimatedLength = length;
+    }
+
+    /**
+     * <p>Converts a token value to a field code.</p>
+     *
+     * @param value  the token value
+     * @return the field code
+     */
+    private static int toField(Object value) {
+        if (value == DurationFormatUtils.y) {
+            return YEARS;
+        } else if (value == DurationFormatUtils.M) {
+            return MONTHS;
+        } else if (value == DurationFormatUtils.d) {
+            return DAYS;
+        } else if (value == DurationFormatUtils.H) {
+            return HOURS;
+        } else if (value == DurationFormatUtils.m) {
+            return MINUTES;
+        } else if (value == DurationFormatUtils.s) {
+            return SECONDS;
+        } else if (value == DurationFormatUtils.S) {
+            return MILLIS;
+        }
+        return LITERAL;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the pattern.</p>
+     *
+     * @return the pattern, not null
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * <p>Gets whether numbers are padded with zeros.</p>
+     *
+     * @return true if numbers are padded to the width of their field
+     */
+    public boolean isPadWithZeros() {
+        return padWithZeros;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Formats a duration.</p>
+     *
+     * @param durationMillis  the duration to format
+     * @return the formatted duration, not null
+     */
+    public String format(long durationMillis) {
+        return appendTo(new StringBuilder(estimatedLength), durationMillis).toString();
+    }
+
+    /**
+     * <p>Formats a duration, appending to a <code>StringBuilder</code>.</p>
+     *
+     * @param buffer  the builder to append to, not null
+     * @param durationMillis  the duration to format
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder buffer, long durationMillis) {
+        int days = 0;
+        int hours = 0;
+        int minutes = 0;
+        int seconds = 0;
+        int milliseconds = 0;
+        if (present[DAYS]) {
+            days = (int) (durationMillis / DateUtils.MILLIS_PER_DAY);
+            durationMillis = durationMillis - (days * DateUtils.MILLIS_PER_DAY);
+        }
+        if (present[HOURS]) {
+            hours = (int) (durationMillis / DateUtils.MILLIS_PER_HOUR);
+            durationMillis = durationMillis - (hours * DateUtils.MILLIS_PER_HOUR);
+        }
+        if (present[MINUTES]) {
+            minutes = (int) (durationMillis / DateUtils.MILLIS_PER_MINUTE);
+            durationMillis = durationMillis - (minutes * DateUtils.MILLIS_PER_MINUTE);
+        }
+        if (present[SECONDS]) {
+            seconds = (int) (durationMillis / DateUtils.MILLIS_PER_SECOND);
+            durationMillis = durationMillis - (seconds * DateUtils.MILLIS_PER_SECOND);
+        }
+        if (present[MILLIS]) {
+            milliseconds = (int) durationMillis;
+        }
+
+        boolean lastOutputSeconds = false;
+        for (int i = 0; i < fields.length; i++) {
+            switch (fields[i]) {
+                case LITERAL:
+                    buffer.append(literals[i]);
+                    break;
+                case YEARS:
+                case MONTHS:
+                    appendNumber(buffer, 0, widths[i]);
+                    lastOutputSeconds = false;
+                    break;
+                case DAYS:
+                    appendNumber(buffer, days, widths[i]);
+                    lastOutputSeconds = false;
+                    break;
+                case HOURS:
+                    appendNumber(buffer, hours, widths[i]);
+                    lastOutputSeconds = false;
+                    break;
+                case MINUTES:
+                    appendNumber(buffer, minutes, widths[i]);
+                    lastOutputSeconds = false;
+                    break;
+                case SECONDS:
+                    appendNumber(buffer, seconds, widths[i]);
+                    lastOutputSeconds = true;
+                    break;
+                default:
+                    if (lastOutputSeconds) {
+                        // output as a fraction of the seconds, dropping the leading digit
+                        milliseconds += 1000;
+                        int start = buffer.length();
+                        appendNumber(buffer, milliseconds, widths[i]);
+                        buffer.deleteCharAt(start);
+                    } else {
+                        appendNumber(buffer, milliseconds, widths[i]);
+                    }
+                    lastOutputSeconds = false;
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * <p>Appends a number, left padded with zeros to the width if required.</p>
+     *
+     * @param buffer  the builder to append to
+     * @param value  the value to append
+     * @param width  the minimum width
+     */
+    private void appendNumber(StringBuilder buffer, int value, int width) {
+        if (padWithZeros) {
+            for (int i = stringSize(value); i < width; i++) {
+                buffer.append('0');
+            }
+        }
+        buffer.append(value);
+    }
+
+    /**
+     * <p>Gets the number of characters in the decimal form of a value,
+     * including any minus sign.</p>
+     *
+     * @param value  the value
+     * @return the number of characters
+     */
+    private static int stringSize(int value) {
+        long remaining = value;
+        int size = 1;
+        if (remaining < 0) {
+            remaining = -remaining;
+            size++;
+        }
+        while (remaining >= 10) {
+            remaining /= 10;
+            size++;
+        }
+        return size;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Compares two formatters for equality, based on the pattern and padding.</p>
+     *
+     * @param obj  the object to compare to
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof DurationFormatter == false) {
+            return false;
+        }
+        DurationFormatter other = (DurationFormatter) obj;
+        return pattern.equals(other.pattern) && padWithZeros == other.padWithZeros;
+    }
+
+    /**
+     * <p>Gets a hash code compatible with equals.</p>
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        return pattern.hashCode() + (padWithZeros ? 1 : 0);
+    }
+
+    /**
+     * <p>Gets a debugging string version of this formatter.</p>
+     *
+     * @return a debugging string
+     */
+    @Override
+    public String toString() {
+        return "DurationFormatter[" + pattern + "]";
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>A registry of named {@link TimingHistogram}s.</p>
+ *
+ * <p>Timers are created on first use and shared thereafter, so
+ * instrumentation code needs only the registry and a name:</p>
+ * <pre>
+ * StopWatch watch = registry.start("query");
+ * ... run the query ...
+ * registry.stop("query", watch);
+ * ...
+ * for (TimingSnapshot snapshot : registry.snapshot().values()) {
+ *     log(snapshot);
+ * }
+ * </pre>
+ *
+ * <p>Code that times the same operation often should hold on to the
+ * timer returned by {@link #getTimer(String)}, avoiding the name lookup.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ *
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public class TimerRegistry {
+
+    /** The timers by name. */
+    private final ConcurrentMap<String, TimingHistogram> timers =
+        new ConcurrentHashMap<String, TimingHistogram>();
+
+    /**
+     * <p>Constructs an empty registry.</p>
+     */
+    public TimerRegistry() {
+        super();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the timer with the specified name, creating it if necessary.</p>
+     *
+     * @param name  the name of the timer, not null
+     * @return the timer, not null
+     * @throws NullPointerException if the name is null
+     */
+    public TimingHistogram getTimer(String name) {
+        TimingHistogram timer = timers.get(Validate.notNull(name, "The name must not be null"));
+        if (timer == null) {
+            timer = new TimingHistogram(name);
+            TimingHistogram previous = timers.putIfAbsent(name, timer);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * <p>Creates and starts a stop watch for a timing of the named timer.</p>
+     *
+     * @param name  the name of the timer, not null
+     * @return a running stop watch, not null
+     * @throws NullPointerException if the name is null
+     */
+    public StopWatch start(String name) {
+        return getTimer(name).start();
+    }
+
+    /**
+     * <p>Stops a running stop watch and records its time in the named timer.</p>
+     *
+     * @param name  the name of the timer, not null
+     * @param watch  the running stop watch, not null
+     * @return the time recorded in nanoseconds
+     * @throws NullPointerException if the name or stop watch is null
+     * @throws IllegalStateException if the stop watch is not running or suspended
+     */
+    public long stop(String name, StopWatch watch) {
+        return getTimer(name).stop(watch);
+    }
+
+    /**
+     * <p>Records a timing in the named timer.</p>
+     *
+     * @param name  the name of the timer, not null
+     * @param nanos  the time in nanoseconds
+     * @throws NullPointerException if the name is null
+     */
+    public void record(String name, long nanos) {
+        getTimer(name).record(nanos);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the names of the timers, in order.</p>
+     *
+     * @return an unmodifiable sorted set of names, not null
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(new TreeSet<String>(timers.keySet()));
+    }
+
+    /**
+     * <p>Removes the named timer, discarding its timings.</p>
+     *
+     * <p>A timer obtained earlier may still be used, but its timings are
+     * no longer part of this registry.</p>
+     *
+     * @param name  the name of the timer
+     * @return the removed timer, null if there was none
+     */
+    public TimingHistogram remove(String name) {
+        return name == null ? null : timers.remove(name);
+    }
+
+    /**
+     * <p>Removes all the timers.</p>
+     */
+    public void clear() {
+        timers.clear();
+    }
+
+    /**
+     * <p>Takes a snapshot of every timer.</p>
+     *
+     * @return an unmodifiable map of snapshots sorted by name, not null
+     */
+    public Map<String, TimingSnapshot> snapshot() {
+        Map<String, TimingSnapshot> snapshots = new TreeMap<String, TimingSnapshot>();
+        for (TimingHistogram timer : timers.values()) {
+            snapshots.put(timer.getName(), timer.snapshot());
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * <p>Gets a debugging string with a line for each timer.</p>
+     *
+     * @return a debugging string
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder();
+        for (TimingSnapshot snapshot : snapshot().values()) {
+            buf.append(snapshot).append('\n');
+        }
+        return buf.toString();
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>A named timer that aggregates many timings into a histogram.</p>
+ *
+ * <p>Timings are recorded in nanoseconds, either directly or from a
+ * {@link StopWatch}:</p>
+ * <pre>
+ * StopWatch watch = histogram.start();
+ * ... work ...
+ * histogram.stop(watch);
+ * </pre>
+ *
+ * <p>The histogram is log-linear: each power of two is divided into
+ * 32 equal buckets, so any recorded value is known to
+ * within about 3% however large it is. Recording updates a few atomic
+ * counters without locking or allocating. Percentiles and the other
+ * statistics are read from a {@link TimingSnapshot}.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ *
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ * @see TimerRegistry
+ */
+public class TimingHistogram {
+
+    /** The number of bits used to divide each power of two. */
+    private static final int SUB_BITS = 5;
+    /** The number of buckets each power of two is divided into. */
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** The number of buckets needed to cover all non-negative longs. */
+    static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    /** The name of the timer. */
+    private final String name;
+    /** The number of values recorded in each bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    /** The sum of the recorded values. */
+    private final AtomicLong total = new AtomicLong();
+    /** The smallest recorded value. */
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    /** The largest recorded value. */
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * <p>Constructs an empty histogram.</p>
+     *
+     * @param name  the name of the timer, not null
+     * @throws NullPointerException if the name is null
+     */
+    public TimingHistogram(String name) {
+        super();
+        this.name = Validate.notNull(name, "The name must not be null");
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the index of the bucket holding a value.</p>
+     *
+     * @param value  the non-negative value
+     * @return the bucket index
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift << SUB_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * <p>Gets the smallest value held by a bucket.</p>
+     *
+     * @param index  the bucket index
+     * @return the lowest value of the bucket
+     */
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BITS) - 1;
+        return (long) (index - (shift << SUB_BITS)) << shift;
+    }
+
+    /**
+     * <p>Gets the largest value held by a bucket.</p>
+     *
+     * @param index  the bucket index
+     * @return the highest value of the bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BITS) - 1;
+        return bucketLowerBound(index) + (1L << shift) - 1;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the name of the timer.</p>
+     *
+     * @return the name, not null
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * <p>Records a timing.</p>
+     *
+     * @param nanos  the time in nanoseconds, negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(nanos));
+        total.addAndGet(nanos);
+        long current = min.get();
+        while (nanos < current && !min.compareAndSet(current, nanos)) {
+            current = min.get();
+        }
+        current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * <p>Records the time of a stop watch.</p>
+     *
+     * @param watch  the stop watch, not null
+     * @throws NullPointerException if the stop watch is null
+     */
+    public void record(StopWatch watch) {
+        record(watch.getNanoTime());
+    }
+
+    /**
+     * <p>Creates and starts a stop watch for use with {@link #stop(StopWatch)}.</p>
+     *
+     * @return a running stop watch, not null
+     */
+    public StopWatch start() {
+        StopWatch watch = new StopWatch();
+        watch.start();
+        return watch;
+    }
+
+    /**
+     * <p>Stops a running stop watch and records its time.</p>
+     *
+     * @param watch  the running stop watch, not null
+     * @return the time recorded in nanoseconds
+     * @throws NullPointerException if the stop watch is null
+     * @throws IllegalStateException if the stop watch is not running or suspended
+     */
+    public long stop(StopWatch watch) {
+        watch.stop();
+        long nanos = watch.getNanoTime();
+        record(nanos);
+        return nanos;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Takes a snapshot of the timings recorded so far.</p>
+     *
+     * <p>Recording continues while the snapshot is taken, so a timing
+     * recorded concurrently may be reflected in some statistics and not
+     * others. The counts used for percentiles are always self consistent.</p>
+     *
+     * @return an immutable snapshot, not null
+     */
+    public TimingSnapshot snapshot() {
+        int used = 0;
+        int[] indices = new int[16];
+        long[] counts = new long[16];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = buckets.get(i);
+            if (count != 0) {
+                if (used == indices.length) {
+                    int[] newIndices = new int[used * 2];
+                    System.arraycopy(indices, 0, newIndices, 0, used);
+                    indices = newIndices;
+                    long[] newCounts = new long[used * 2];
+                    System.arraycopy(counts, 0, newCounts, 0, used);
+                    counts = newCounts;
+                }
+                indices[used] = i;
+                counts[used] = count;
+                used++;
+            }
+        }
+        return new TimingSnapshot(name, indices, counts, used, total.get(), min.get(), max.get());
+    }
+
+    /**
+     * <p>Gets a debugging string version of this timer.</p>
+     *
+     * @return a debugging string
+     */
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+}
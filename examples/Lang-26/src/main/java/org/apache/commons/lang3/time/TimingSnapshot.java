@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * <p>An immutable snapshot of the timings recorded by a {@link TimingHistogram}.</p>
+ *
+ * <p>All times are in nanoseconds. Percentiles are calculated from the
+ * histogram buckets, so are accurate to about 3%, but never lie outside
+ * the minimum and maximum recorded times.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ *
+ * @author Apache Software Foundation
+ * @since 3.2
+ * @version $Id$
+ */
+public final class TimingSnapshot {
+
+    /** The name of the timer. */
+    private final String name;
+    /** The indices of the non-empty buckets, ascending. */
+    private final int[] indices;
+    /** The number of values in each non-empty bucket. */
+    private final long[] counts;
+    /** The number of non-empty buckets. */
+    private final int used;
+    /** The number of recorded values. */
+    private final long count;
+    /** The sum of the recorded values. */
+    private final long total;
+    /** The smallest recorded value. */
+    private final long min;
+    /** The largest recorded value. */
+    private final long max;
+
+    /**
+     * <p>Constructs a snapshot, taking ownership of the arrays.</p>
+     *
+     * @param name  the name of the timer
+     * @param indices  the indices of the non-empty buckets
+     * @param counts  the counts of the non-empty buckets
+     * @param used  the number of non-empty buckets
+     * @param total  the sum of the values
+     * @param min  the smallest value
+     * @param max  the largest value
+     */
+    TimingSnapshot(String name, int[] indices, long[] counts, int used, long total, long min, long max) {
+        super();
+        this.name = name;
+        this.indices = indices;
+        this.counts = counts;
+        this.used = used;
+        long sum = 0;
+        for (int i = 0; i < used; i++) {
+            sum += counts[i];
+        }
+        this.count = sum;
+        this.total = total;
+        if (sum == 0) {
+            this.min = 0;
+            this.max = 0;
+        } else {
+            // a value recorded during the snapshot may not have reached min or max yet
+            this.min = Math.min(min, TimingHistogram.bucketUpperBound(indices[0]));
+            this.max = Math.max(max, TimingHistogram.bucketLowerBound(indices[used - 1]));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the name of the timer.</p>
+     *
+     * @return the name, not null
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * <p>Gets the number of recorded timings.</p>
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * <p>Gets the sum of the recorded timings.</p>
+     *
+     * @return the total time in nanoseconds
+     */
+    public long getTotalNanoTime() {
+        return total;
+    }
+
+    /**
+     * <p>Gets the smallest recorded timing.</p>
+     *
+     * @return the minimum time in nanoseconds, zero if there are no timings
+     */
+    public long getMinNanoTime() {
+        return min;
+    }
+
+    /**
+     * <p>Gets the largest recorded timing.</p>
+     *
+     * @return the maximum time in nanoseconds, zero if there are no timings
+     */
+    public long getMaxNanoTime() {
+        return max;
+    }
+
+    /**
+     * <p>Gets the mean of the recorded timings.</p>
+     *
+     * @return the mean time in nanoseconds, zero if there are no timings
+     */
+    public double getMeanNanoTime() {
+        return count == 0 ? 0.0 : (double) total / count;
+    }
+
+    /**
+     * <p>Gets a percentile of the recorded timings.</p>
+     *
+     * <p>The result is the upper end of the bucket holding the timing at
+     * that rank, so <code>getPercentileNanoTime(100)</code> is the maximum.
+     * The zeroth percentile is the minimum.</p>
+     *
+     * @param percentile  the percentile, from 0 to 100 inclusive
+     * @return the time in nanoseconds, zero if there are no timings
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getPercentileNanoTime(double percentile) {
+        Validate.isTrue(percentile >= 0.0 && percentile <= 100.0,
+                "The percentile must be between 0 and 100: %s", percentile);
+        if (percentile == 0.0) {
+            return min;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < used; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long value = TimingHistogram.bucketUpperBound(indices[i]);
+                return Math.max(min, Math.min(value, max));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * <p>Gets a summary of the snapshot, with times in microseconds.</p>
+     *
+     * @return a debugging string
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(128);
+        buf.append(name)
+            .append("[count=").append(count)
+            .append(", mean=").append(Math.round(getMeanNanoTime() / 1000.0))
+            .append("us, min=").append(min / 1000)
+            .append("us, p50=").append(getPercentileNanoTime(50) / 1000)
+            .append("us, p99=").append(getPercentileNanoTime(99) / 1000)
+            .append("us, max=").append(max / 1000)
+            .append("us]");
+        return buf.toString();
+    }
+
+}
@@ -52,6 +52,12 @@ public class CharSetTest extends TestCase {
         assertSame(CharSet.ASCII_NUMERIC, CharSet.getInstance("0-9"));
     }
 
+    public void testCommonAcceptsNull() {
+        // subclasses may rely on the null tolerance of the protected map
+        assertSame(CharSet.EMPTY, CharSet.COMMON.get(null));
+        assertTrue(CharSet.COMMON.containsKey(null));
+    }
+
     //-----------------------------------------------------------------------
     public void testGetInstance_Stringarray() {
         assertEquals(null, CharSet.getInstance((String[]) null));
@@ -418,6 +424,59 @@ public class CharSetTest extends TestCase {
         assertEquals(1, array.length);
     }
     
+    public void testContains_MatchesRanges() {
+        String[] definitions = {"a", "^a", "a-e", "^a-e", "be-f^a-z", "\u0100-\u0200^\u0150",
+            "^\u0000", "^\uffff", "\u0000-\uffff", "a-cx-z\u4e00-\u9fff\uffff"};
+        for (String definition : definitions) {
+            assertMatchesRanges(CharSet.getInstance(definition));
+        }
+        // many intervals, compiled to a full bitmap
+        StringBuilder sb = new StringBuilder();
+        for (char ch = 0x300; ch < 0x3000; ch += 0x80) {
+            sb.append(ch).append('-').append((char) (ch + 0x20));
+        }
+        assertMatchesRanges(CharSet.getInstance(sb.toString()));
+        assertMatchesRanges(CharSet.getInstance(new String[] {sb.toString(), "^\u0310"}));
+    }
+
+    private void assertMatchesRanges(CharSet set) {
+        CharRange[] ranges = set.getCharRanges();
+        for (int ch = Character.MIN_VALUE; ch <= Character.MAX_VALUE; ch++) {
+            boolean expected = false;
+            for (CharRange range : ranges) {
+                expected |= range.contains((char) ch);
+            }
+            assertEquals(set + " " + ch, expected, set.contains((char) ch));
+        }
+    }
+
+    public void testContains_AfterAdd() {
+        CharSet set = new CharSet("a") {
+            private static final long serialVersionUID = 1L;
+            {
+                assertTrue(contains('a'));
+                assertFalse(contains('b'));
+                add("b");
+            }
+        };
+        assertTrue(set.contains('b'));
+    }
+
+    public void testGetInstance_Cached() {
+        CharSet set = CharSet.getInstance("a-cq");
+        assertSame(set, CharSet.getInstance(new String("a-cq")));
+        assertSame(set, CharSet.getInstance(new String[] {"a-cq"}));
+        String[] array = new String[] {"a-c", "q"};
+        CharSet fromArray = CharSet.getInstance(array);
+        array[1] = "r";
+        assertSame(fromArray, CharSet.getInstance(new String[] {"a-c", "q"}));
+        assertTrue(fromArray.contains('q'));
+        assertFalse(CharSet.getInstance(array).contains('q'));
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(CharSet.getInstance(Integer.toString(i)).contains((char) ('0' + i % 10)));
+        }
+    }
+
     //-----------------------------------------------------------------------    
     public void testSerialization() {
         CharSet set = CharSet.getInstance("a");
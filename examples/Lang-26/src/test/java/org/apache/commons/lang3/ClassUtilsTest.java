@@ -16,9 +16,12 @@
  */
 package org.apache.commons.lang3;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -168,6 +171,64 @@ public class ClassUtilsTest extends TestCase {
         assertEquals(null, ClassUtils.getAllInterfaces(null));
     }
 
+    public void test_getCachedSuperclasses_Class() {
+        List<Class<?>> list = ClassUtils.getCachedSuperclasses(CY.class);
+        assertEquals(ClassUtils.getAllSuperclasses(CY.class), list);
+        assertSame(list, ClassUtils.getCachedSuperclasses(CY.class));
+        try {
+            list.clear();
+            fail();
+        } catch (UnsupportedOperationException ex) {}
+        assertEquals(0, ClassUtils.getCachedSuperclasses(Object.class).size());
+        assertEquals(null, ClassUtils.getCachedSuperclasses(null));
+
+        // the uncached list is a modifiable copy
+        List<Class<?>> copy = ClassUtils.getAllSuperclasses(CY.class);
+        copy.clear();
+        assertEquals(2, ClassUtils.getAllSuperclasses(CY.class).size());
+    }
+
+    public void test_getCachedInterfaces_Class() {
+        List<Class<?>> list = ClassUtils.getCachedInterfaces(CY.class);
+        assertEquals(ClassUtils.getAllInterfaces(CY.class), list);
+        assertSame(list, ClassUtils.getCachedInterfaces(CY.class));
+        try {
+            list.add(IA.class);
+            fail();
+        } catch (UnsupportedOperationException ex) {}
+        assertEquals(Arrays.asList(ID.class, IE.class, IF.class), ClassUtils.getCachedInterfaces(IC.class));
+        assertEquals(null, ClassUtils.getCachedInterfaces(null));
+
+        List<Class<?>> copy = ClassUtils.getAllInterfaces(CY.class);
+        copy.clear();
+        assertEquals(6, ClassUtils.getAllInterfaces(CY.class).size());
+    }
+
+    public void test_getCachedInterfaces_doesNotPreventUnloading() throws Exception {
+        URL classes = CY.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {classes}, null);
+        WeakReference<ClassLoader> loaderRef = new WeakReference<ClassLoader>(loader);
+        Class<?> cls = loader.loadClass(CY.class.getName());
+        assertNotSame(CY.class, cls);
+        List<Class<?>> superclasses = ClassUtils.getCachedSuperclasses(cls);
+        List<Class<?>> interfaces = ClassUtils.getCachedInterfaces(cls);
+        assertEquals(2, superclasses.size());
+        assertEquals(6, interfaces.size());
+        // the lists are shared while they are held
+        System.gc();
+        assertSame(superclasses, ClassUtils.getCachedSuperclasses(cls));
+        assertSame(interfaces, ClassUtils.getCachedInterfaces(cls));
+        superclasses = null;
+        interfaces = null;
+        cls = null;
+        loader = null;
+        for (int i = 0; i < 50 && loaderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("class loader not collected", loaderRef.get());
+    }
+
     private static interface IA {
     }
     private static interface IB {
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests {@link org.apache.commons.lang3.DoubleArrayBuilder}.
+ *
+ * @version $Id$
+ */
+public class DoubleArrayBuilderTest extends TestCase {
+
+    public void testAppendGrows() {
+        DoubleArrayBuilder db = new DoubleArrayBuilder(1);
+        for (int i = 0; i < 1000; i++) {
+            db.append(i / 2.0);
+        }
+        assertEquals(1000, db.size());
+        assertTrue(db.capacity() >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i / 2.0, db.get(i), 0.0);
+        }
+    }
+
+    public void testAppendAll() {
+        DoubleArrayBuilder db = new DoubleArrayBuilder(2);
+        db.appendAll(1.5, 2.5);
+        db.appendAll(new double[] {3.5, 4.5, 5.5}, 1, 1);
+        db.appendAll(new Double[] {Double.valueOf(6.5), null}, Double.NaN);
+        db.appendAll(new DoubleArrayBuilder(new double[] {7.5}));
+        assertTrue(Arrays.equals(new double[] {1.5, 2.5, 4.5, 6.5, Double.NaN, 7.5}, db.toArray()));
+        try {
+            db.set(6, 0.0);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+    public void testCapacity() {
+        DoubleArrayBuilder db = new DoubleArrayBuilder().appendAll(1.0, 2.0, 3.0);
+        assertEquals(3, db.minimizeCapacity().capacity());
+        assertEquals(3, db.getBuffer().length);
+        assertSame(ArrayUtils.EMPTY_DOUBLE_ARRAY, db.clear().toArray());
+    }
+
+    public void testArrayUtilsInterop() {
+        DoubleArrayBuilder db = new DoubleArrayBuilder(10).appendAll(1.0, 2.0, 3.0, 4.0);
+        double[] array = db.toArray();
+        assertEquals(ArrayUtils.indexOf(array, 3.0), db.indexOf(3.0));
+        assertFalse(db.contains(5.0));
+        assertTrue(Arrays.equals(ArrayUtils.subarray(array, 1, 3), db.subarray(1, 3)));
+        assertTrue(Arrays.equals(ArrayUtils.toObject(array), db.toObject()));
+        ArrayUtils.reverse(array);
+        assertTrue(Arrays.equals(array, db.reverse().toArray()));
+        assertEquals("{4.0,3.0,2.0,1.0}", db.toString());
+    }
+
+}
@@ -18,6 +18,12 @@
  */
 package org.apache.commons.lang3;
 
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 
@@ -69,8 +75,169 @@ public class EnumUtilsTest extends TestCase {
         assertEquals(null, EnumUtils.getEnum(Traffic.class, "PURPLE"));
     }
 
+    public void test_getEnum_nullName() {
+        try {
+            EnumUtils.isValidEnum(Traffic.class, null);
+            fail();
+        } catch (NullPointerException ex) {}
+        try {
+            EnumUtils.getEnum(Traffic.class, null);
+            fail();
+        } catch (NullPointerException ex) {}
+    }
+
+    public void test_getEnumIndex() {
+        EnumIndex<Traffic> index = EnumUtils.getEnumIndex(Traffic.class);
+        assertSame(index, EnumUtils.getEnumIndex(Traffic.class));
+        assertEquals(Traffic.class, index.getEnumClass());
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(Traffic.values()), index.asList());
+        assertEquals("{RED=RED, AMBER=AMBER, GREEN=GREEN}", index.asMap().toString());
+        assertEquals(Traffic.AMBER, index.get(1));
+        assertEquals(null, index.get(3));
+        assertEquals(null, index.get(-1));
+        assertEquals("EnumIndex[" + Traffic.class.getName() + "]", index.toString());
+        try {
+            index.asList().clear();
+            fail();
+        } catch (UnsupportedOperationException ex) {}
+        try {
+            index.asMap().clear();
+            fail();
+        } catch (UnsupportedOperationException ex) {}
+        // the utility results stay modifiable
+        EnumUtils.getEnumList(Traffic.class).clear();
+        EnumUtils.getEnumMap(Traffic.class).clear();
+        assertEquals(3, index.size());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void test_getEnumIndex_invalid() {
+        try {
+            EnumUtils.getEnumIndex(null);
+            fail();
+        } catch (NullPointerException ex) {}
+        try {
+            EnumUtils.getEnumIndex((Class) Object.class);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void test_getEnumIndex_doesNotPreventUnloading() throws Exception {
+        URL classes = Traffic.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {classes}, null);
+        WeakReference<ClassLoader> loaderRef = new WeakReference<ClassLoader>(loader);
+        Class<?> cls = loader.loadClass(Traffic.class.getName());
+        assertNotSame(Traffic.class, cls);
+        assertEquals(3, indexOf(cls).size());
+        cls = null;
+        loader = null;
+        for (int i = 0; i < 50 && loaderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("class loader not collected", loaderRef.get());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static EnumIndex<?> indexOf(Class<?> cls) {
+        return EnumUtils.getEnumIndex((Class) cls);
+    }
+
+    public void test_getEnumIgnoreCase() {
+        assertEquals(Traffic.RED, EnumUtils.getEnumIgnoreCase(Traffic.class, "red"));
+        assertEquals(Traffic.AMBER, EnumUtils.getEnumIgnoreCase(Traffic.class, "Amber"));
+        assertEquals(Traffic.GREEN, EnumUtils.getEnumIgnoreCase(Traffic.class, "GREEN"));
+        assertEquals(null, EnumUtils.getEnumIgnoreCase(Traffic.class, "purple"));
+        assertEquals(null, EnumUtils.getEnumIgnoreCase(Traffic.class, null));
+        // the first declared wins where names differ only in case
+        assertEquals(Mixed.ab, EnumUtils.getEnumIgnoreCase(Mixed.class, "AB"));
+        assertEquals(Mixed.AB, EnumUtils.getEnum(Mixed.class, "AB"));
+    }
+
+    public void test_getEnumsByPrefix() {
+        assertEquals(Arrays.asList(Mixed.ab, Mixed.abc), EnumUtils.getEnumsByPrefix(Mixed.class, "ab"));
+        assertEquals(Arrays.asList(Mixed.AB, Mixed.A), EnumUtils.getEnumsByPrefix(Mixed.class, "A"));
+        assertEquals(Arrays.asList(Mixed.values()), EnumUtils.getEnumsByPrefix(Mixed.class, ""));
+        assertEquals(0, EnumUtils.getEnumsByPrefix(Mixed.class, "x").size());
+        assertEquals(0, EnumUtils.getEnumsByPrefix(Mixed.class, null).size());
+    }
+
+    public void test_generateBitVector() {
+        assertEquals(0L, EnumUtils.generateBitVector(Traffic.class, EnumSet.noneOf(Traffic.class)));
+        assertEquals(1L, EnumUtils.generateBitVector(Traffic.class, EnumSet.of(Traffic.RED)));
+        assertEquals(6L, EnumUtils.generateBitVector(Traffic.class, Arrays.asList(Traffic.AMBER, Traffic.GREEN)));
+        assertEquals(7L, EnumUtils.generateBitVector(Traffic.class, EnumSet.allOf(Traffic.class)));
+        assertEquals(Long.MIN_VALUE, EnumUtils.generateBitVector(Big.class, EnumSet.of(Big.C63)));
+        try {
+            EnumUtils.generateBitVector(Huge.class, EnumSet.noneOf(Huge.class));
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            EnumUtils.generateBitVector(Traffic.class, null);
+            fail();
+        } catch (NullPointerException ex) {}
+        try {
+            EnumUtils.generateBitVector(Traffic.class, Arrays.asList(Traffic.RED, null));
+            fail();
+        } catch (NullPointerException ex) {}
+    }
+
+    public void test_processBitVector() {
+        assertEquals(EnumSet.noneOf(Traffic.class), EnumUtils.processBitVector(Traffic.class, 0L));
+        assertEquals(EnumSet.of(Traffic.RED), EnumUtils.processBitVector(Traffic.class, 1L));
+        assertEquals(EnumSet.of(Traffic.AMBER, Traffic.GREEN), EnumUtils.processBitVector(Traffic.class, 6L));
+        // bits beyond the constants are ignored
+        assertEquals(EnumSet.allOf(Traffic.class), EnumUtils.processBitVector(Traffic.class, -1L));
+        assertEquals(EnumSet.allOf(Big.class), EnumUtils.processBitVector(Big.class, -1L));
+        try {
+            EnumUtils.processBitVector(Huge.class, 0L);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void test_bitVectors() {
+        EnumSet<Huge> set = EnumSet.of(Huge.C0, Huge.C63, Huge.C64);
+        long[] vectors = EnumUtils.generateBitVectors(Huge.class, set);
+        assertEquals(2, vectors.length);
+        assertEquals(Long.MIN_VALUE | 1L, vectors[0]);
+        assertEquals(1L, vectors[1]);
+        assertEquals(set, EnumUtils.processBitVectors(Huge.class, vectors));
+        assertEquals(EnumSet.allOf(Huge.class), EnumUtils.processBitVectors(Huge.class, -1L, -1L, -1L));
+        assertEquals(EnumSet.noneOf(Huge.class), EnumUtils.processBitVectors(Huge.class));
+
+        List<Traffic> list = new ArrayList<Traffic>(Arrays.asList(Traffic.GREEN, Traffic.RED));
+        long[] small = EnumUtils.generateBitVectors(Traffic.class, list);
+        assertEquals(1, small.length);
+        assertEquals(5L, small[0]);
+        assertEquals(EnumSet.of(Traffic.RED, Traffic.GREEN), EnumUtils.processBitVectors(Traffic.class, small));
+        try {
+            EnumUtils.processBitVectors(Traffic.class, (long[]) null);
+            fail();
+        } catch (NullPointerException ex) {}
+    }
+
 }
 
 enum Traffic {
     RED, AMBER, GREEN
 }
+
+enum Mixed {
+    ab, AB, abc, A
+}
+
+enum Big {
+    C0, C1, C2, C3, C4, C5, C6, C7, C8, C9, C10, C11, C12, C13, C14, C15,
+    C16, C17, C18, C19, C20, C21, C22, C23, C24, C25, C26, C27, C28, C29, C30, C31,
+    C32, C33, C34, C35, C36, C37, C38, C39, C40, C41, C42, C43, C44, C45, C46, C47,
+    C48, C49, C50, C51, C52, C53, C54, C55, C56, C57, C58, C59, C60, C61, C62, C63
+}
+
+enum Huge {
+    C0, C1, C2, C3, C4, C5, C6, C7, C8, C9, C10, C11, C12, C13, C14, C15,
+    C16, C17, C18, C19, C20, C21, C22, C23, C24, C25, C26, C27, C28, C29, C30, C31,
+    C32, C33, C34, C35, C36, C37, C38, C39, C40, C41, C42, C43, C44, C45, C46, C47,
+    C48, C49, C50, C51, C52, C53, C54, C55, C56, C57, C58, C59, C60, C61, C62, C63,
+    C64
+}
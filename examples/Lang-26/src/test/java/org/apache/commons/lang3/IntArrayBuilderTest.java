@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests {@link org.apache.commons.lang3.IntArrayBuilder}.
+ *
+ * @version $Id$
+ */
+public class IntArrayBuilderTest extends TestCase {
+
+    public void testConstructors() {
+        IntArrayBuilder ib = new IntArrayBuilder();
+        assertEquals(IntArrayBuilder.CAPACITY, ib.capacity());
+        assertEquals(0, ib.size());
+        assertTrue(ib.isEmpty());
+
+        ib = new IntArrayBuilder(-1);
+        assertEquals(IntArrayBuilder.CAPACITY, ib.capacity());
+        ib = new IntArrayBuilder(3);
+        assertEquals(3, ib.capacity());
+
+        ib = new IntArrayBuilder((int[]) null);
+        assertEquals(0, ib.size());
+        int[] source = new int[] {1, 2, 3};
+        ib = new IntArrayBuilder(source);
+        assertEquals(3, ib.size());
+        assertEquals(3 + IntArrayBuilder.CAPACITY, ib.capacity());
+        source[0] = 99;
+        assertEquals(1, ib.get(0));
+    }
+
+    public void testAppendGrows() {
+        IntArrayBuilder ib = new IntArrayBuilder(1);
+        for (int i = 0; i < 1000; i++) {
+            ib.append(i);
+        }
+        assertEquals(1000, ib.size());
+        assertTrue(ib.capacity() >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, ib.get(i));
+        }
+    }
+
+    public void testAppendAll() {
+        IntArrayBuilder ib = new IntArrayBuilder(2);
+        assertSame(ib, ib.appendAll((int[]) null));
+        ib.appendAll(1, 2, 3);
+        ib.appendAll(new int[] {4, 5, 6, 7}, 1, 2);
+        assertTrue(Arrays.equals(new int[] {1, 2, 3, 5, 6}, ib.toArray()));
+        ib.appendAll(new Integer[] {Integer.valueOf(8), null}, -1);
+        assertTrue(Arrays.equals(new int[] {1, 2, 3, 5, 6, 8, -1}, ib.toArray()));
+        ib.appendAll(new IntArrayBuilder(new int[] {9}));
+        assertEquals(8, ib.size());
+        assertEquals(9, ib.get(7));
+        try {
+            ib.appendAll(new int[] {1}, 1, 1);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            ib.appendAll(new int[] {1}, -1, 1);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+    public void testGetSet() {
+        IntArrayBuilder ib = new IntArrayBuilder().appendAll(1, 2);
+        ib.set(1, 5);
+        assertEquals(5, ib.get(1));
+        try {
+            ib.get(2);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            ib.set(-1, 0);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+    public void testCapacity() {
+        IntArrayBuilder ib = new IntArrayBuilder().appendAll(1, 2, 3);
+        ib.ensureCapacity(40);
+        assertTrue(ib.capacity() >= 40);
+        ib.minimizeCapacity();
+        assertEquals(3, ib.capacity());
+        assertSame(ib.getBuffer(), ib.minimizeCapacity().getBuffer());
+        ib.clear();
+        assertEquals(0, ib.size());
+        assertEquals(3, ib.capacity());
+        assertSame(ArrayUtils.EMPTY_INT_ARRAY, ib.toArray());
+    }
+
+    public void testIndexOfContains() {
+        IntArrayBuilder ib = new IntArrayBuilder().appendAll(1, 2, 3);
+        assertEquals(1, ib.indexOf(2));
+        assertEquals(ArrayUtils.INDEX_NOT_FOUND, ib.indexOf(4));
+        assertTrue(ib.contains(3));
+        // elements past size are not visible
+        ib.clear();
+        assertFalse(ib.contains(1));
+    }
+
+    public void testReverse() {
+        IntArrayBuilder ib = new IntArrayBuilder(10).appendAll(1, 2, 3, 4);
+        int[] expected = ib.toArray();
+        ArrayUtils.reverse(expected);
+        assertTrue(Arrays.equals(expected, ib.reverse().toArray()));
+        assertTrue(Arrays.equals(ArrayUtils.EMPTY_INT_ARRAY, new IntArrayBuilder().reverse().toArray()));
+    }
+
+    public void testSubarray() {
+        IntArrayBuilder ib = new IntArrayBuilder(10).appendAll(1, 2, 3, 4);
+        int[] array = ib.toArray();
+        assertTrue(Arrays.equals(ArrayUtils.subarray(array, 1, 3), ib.subarray(1, 3)));
+        assertTrue(Arrays.equals(ArrayUtils.subarray(array, -1, 10), ib.subarray(-1, 10)));
+        assertSame(ArrayUtils.EMPTY_INT_ARRAY, ib.subarray(3, 1));
+    }
+
+    public void testToObject() {
+        IntArrayBuilder ib = new IntArrayBuilder().appendAll(1, 2, 3);
+        assertTrue(Arrays.equals(ArrayUtils.toObject(ib.toArray()), ib.toObject()));
+        assertSame(ArrayUtils.EMPTY_INTEGER_OBJECT_ARRAY, new IntArrayBuilder().toObject());
+        assertTrue(Arrays.equals(ib.toArray(), ArrayUtils.toPrimitive(ib.toObject())));
+    }
+
+    public void testToString() {
+        assertEquals("{1,2,3}", new IntArrayBuilder().appendAll(1, 2, 3).toString());
+        assertEquals("{}", new IntArrayBuilder().toString());
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * <p>
+ * Tests the {@link IntRangeSet}, {@link LongRangeSet} and {@link DoubleRangeSet} classes.
+ * </p>
+ *
+ * @version $Id$
+ */
+@SuppressWarnings("boxing")
+public class IntRangeSetTest extends TestCase {
+
+    public void testIntMerge() {
+        IntRangeSet set = new IntRangeSet(new int[] {20, 1, 4, 9, 40, Integer.MIN_VALUE, 100},
+            new int[] {30, 5, 7, 10, 40, Integer.MIN_VALUE, Integer.MAX_VALUE});
+        // adjacent ranges are merged as well as overlapping ones
+        assertEquals("IntRangeSet[-2147483648..-2147483648, 1..7, 9..10, 20..30, 40..40, 100..2147483647]",
+            set.toString());
+        assertEquals(6, set.size());
+        assertEquals(9, set.getMinimum(2));
+        assertEquals(10, set.getMaximum(2));
+        assertEquals(set, IntRangeSet.of(Arrays.asList(Range.between(1, 7), Range.between(9, 10),
+            Range.between(20, 30), Range.between(40, 40), Range.between(100, Integer.MAX_VALUE),
+            Range.is(Integer.MIN_VALUE))));
+        assertEquals("IntRangeSet[0..2147483647]", new IntRangeSet(new int[] {0, Integer.MAX_VALUE},
+            new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE}).toString());
+    }
+
+    public void testIntQueries() {
+        IntRangeSet set = new IntRangeSet(new int[] {1, 9, 20}, new int[] {7, 10, 30});
+        assertEquals(-1, set.indexOf(0));
+        assertEquals(0, set.indexOf(1));
+        assertEquals(-1, set.indexOf(8));
+        assertEquals(1, set.indexOf(10));
+        assertEquals(2, set.indexOf(25));
+        assertEquals(-1, set.indexOf(31));
+        assertTrue(set.contains(30));
+        assertFalse(set.contains(Integer.MIN_VALUE));
+        assertTrue(set.containsRange(20, 30));
+        assertFalse(set.containsRange(5, 9));
+        assertTrue(set.overlapsRange(8, 9));
+        assertFalse(set.overlapsRange(11, 19));
+        assertFalse(set.overlapsRange(31, 40));
+        assertFalse(new IntRangeSet(new int[0], new int[0]).contains(0));
+    }
+
+    public void testIntMatchesLinearScan() {
+        Random random = new Random(7);
+        int[] mins = new int[300];
+        int[] maxs = new int[300];
+        for (int i = 0; i < mins.length; i++) {
+            mins[i] = random.nextInt(20000);
+            maxs[i] = mins[i] + random.nextInt(30);
+        }
+        IntRangeSet set = new IntRangeSet(mins, maxs);
+        for (int value = -1; value < 20100; value++) {
+            boolean expected = false;
+            for (int i = 0; i < mins.length; i++) {
+                expected |= mins[i] <= value && value <= maxs[i];
+            }
+            assertEquals(String.valueOf(value), expected, set.contains(value));
+        }
+    }
+
+    public void testLong() {
+        List<Range<Long>> ranges = new ArrayList<Range<Long>>();
+        ranges.add(Range.between(10L, 20L));
+        ranges.add(Range.between(21L, 25L));
+        ranges.add(Range.between(1L << 40, (1L << 40) + 5));
+        LongRangeSet set = LongRangeSet.of(ranges);
+        assertEquals("LongRangeSet[10..25, 1099511627776..1099511627781]", set.toString());
+        assertTrue(set.contains((1L << 40) + 5));
+        assertFalse(set.contains(26L));
+        assertEquals(1, set.indexOf(1L << 40));
+        assertTrue(set.overlapsRange(0L, 10L));
+        assertTrue(set.containsRange(12L, 25L));
+    }
+
+    public void testDouble() {
+        DoubleRangeSet set = new DoubleRangeSet(new double[] {0.5, 1.0, 2.5, Double.NEGATIVE_INFINITY},
+            new double[] {1.0, 1.5, 3.0, -10.0});
+        // touching ranges are merged, but not those that are only close
+        assertEquals("DoubleRangeSet[-Infinity..-10.0, 0.5..1.5, 2.5..3.0]", set.toString());
+        assertTrue(set.contains(1.25));
+        assertFalse(set.contains(2.0));
+        assertFalse(set.contains(Double.NaN));
+        assertTrue(set.contains(-1e300));
+        assertTrue(set.overlapsRange(1.5, 2.5));
+        assertFalse(set.overlapsRange(1.6, 2.4));
+        assertEquals(set, DoubleRangeSet.of(Arrays.asList(Range.between(0.5, 1.5), Range.between(2.5, 3.0),
+            Range.between(Double.NEGATIVE_INFINITY, -10.0))));
+        try {
+            new DoubleRangeSet(new double[] {Double.NaN}, new double[] {1.0});
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testInvalid() {
+        try {
+            new IntRangeSet(new int[] {2}, new int[] {1});
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            new IntRangeSet(new int[] {1, 2}, new int[] {3});
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            new LongRangeSet(null, new long[0]);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            IntRangeSet.of(null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+}
@@ -125,6 +125,21 @@ public class LocaleUtilsTest extends TestCase {
         
     }
 
+    /**
+     * Test that toLocale() results are cached.
+     */
+    public void testToLocale_Cached() {
+        Locale locale = LocaleUtils.toLocale("fr_CA");
+        assertEquals(LOCALE_FR_CA, locale);
+        assertSame(locale, LocaleUtils.toLocale("fr_CA"));
+        for (int i = 0; i < 2; i++) {
+            try {
+                LocaleUtils.toLocale("fr_ca");
+                fail("Should fail as country is lowercase");
+            } catch (IllegalArgumentException iae) {}
+        }
+    }
+
     /**
      * Test toLocale() method.
      */
@@ -321,6 +336,21 @@ public class LocaleUtilsTest extends TestCase {
                 LOCALE_EN});
     }
 
+    /**
+     * Test that localeLookupList() results are cached.
+     */
+    public void testLocaleLookupList_Cached() {
+        List<Locale> list = LocaleUtils.localeLookupList(LOCALE_EN_US);
+        assertSame(list, LocaleUtils.localeLookupList(LOCALE_EN_US));
+        assertSame(list, LocaleUtils.localeLookupList(LOCALE_EN_US, LOCALE_EN));
+        List<Locale> withDefault = LocaleUtils.localeLookupList(LOCALE_EN_US, LOCALE_QQ);
+        assertSame(withDefault, LocaleUtils.localeLookupList(LOCALE_EN_US, LOCALE_QQ));
+        assertEquals(Arrays.asList(LOCALE_EN_US, LOCALE_EN, LOCALE_QQ), withDefault);
+        assertUnmodifiableCollection(withDefault);
+        // a null default locale is added, as before
+        assertEquals(Arrays.asList(LOCALE_EN_US, LOCALE_EN, null), LocaleUtils.localeLookupList(LOCALE_EN_US, null));
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Test availableLocaleList() method.
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests {@link org.apache.commons.lang3.LongArrayBuilder}.
+ *
+ * @version $Id$
+ */
+public class LongArrayBuilderTest extends TestCase {
+
+    public void testConstructors() {
+        LongArrayBuilder ib = new LongArrayBuilder();
+        assertEquals(LongArrayBuilder.CAPACITY, ib.capacity());
+        assertEquals(0, ib.size());
+        assertTrue(ib.isEmpty());
+
+        ib = new LongArrayBuilder(-1);
+        assertEquals(LongArrayBuilder.CAPACITY, ib.capacity());
+        ib = new LongArrayBuilder(3);
+        assertEquals(3, ib.capacity());
+
+        ib = new LongArrayBuilder((long[]) null);
+        assertEquals(0, ib.size());
+        long[] source = new long[] {1, 2, 3};
+        ib = new LongArrayBuilder(source);
+        assertEquals(3, ib.size());
+        assertEquals(3 + LongArrayBuilder.CAPACITY, ib.capacity());
+        source[0] = 99;
+        assertEquals(1, ib.get(0));
+    }
+
+    public void testAppendGrows() {
+        LongArrayBuilder ib = new LongArrayBuilder(1);
+        for (int i = 0; i < 1000; i++) {
+            ib.append(i);
+        }
+        assertEquals(1000, ib.size());
+        assertTrue(ib.capacity() >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, ib.get(i));
+        }
+    }
+
+    public void testAppendAll() {
+        LongArrayBuilder ib = new LongArrayBuilder(2);
+        assertSame(ib, ib.appendAll((long[]) null));
+        ib.appendAll(1, 2, 3);
+        ib.appendAll(new long[] {4, 5, 6, 7}, 1, 2);
+        assertTrue(Arrays.equals(new long[] {1, 2, 3, 5, 6}, ib.toArray()));
+        ib.appendAll(new Long[] {Long.valueOf(8), null}, -1);
+        assertTrue(Arrays.equals(new long[] {1, 2, 3, 5, 6, 8, -1}, ib.toArray()));
+        ib.appendAll(new LongArrayBuilder(new long[] {9}));
+        assertEquals(8, ib.size());
+        assertEquals(9, ib.get(7));
+        try {
+            ib.appendAll(new long[] {1}, 1, 1);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            ib.appendAll(new long[] {1}, -1, 1);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+    public void testGetSet() {
+        LongArrayBuilder ib = new LongArrayBuilder().appendAll(1, 2);
+        ib.set(1, 5);
+        assertEquals(5, ib.get(1));
+        try {
+            ib.get(2);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            ib.set(-1, 0);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+    public void testCapacity() {
+        LongArrayBuilder ib = new LongArrayBuilder().appendAll(1, 2, 3);
+        ib.ensureCapacity(40);
+        assertTrue(ib.capacity() >= 40);
+        ib.minimizeCapacity();
+        assertEquals(3, ib.capacity());
+        assertSame(ib.getBuffer(), ib.minimizeCapacity().getBuffer());
+        ib.clear();
+        assertEquals(0, ib.size());
+        assertEquals(3, ib.capacity());
+        assertSame(ArrayUtils.EMPTY_LONG_ARRAY, ib.toArray());
+    }
+
+    public void testIndexOfContains() {
+        LongArrayBuilder ib = new LongArrayBuilder().appendAll(1, 2, 3);
+        assertEquals(1, ib.indexOf(2));
+        assertEquals(ArrayUtils.INDEX_NOT_FOUND, ib.indexOf(4));
+        assertTrue(ib.contains(3));
+        // elements past size are not visible
+        ib.clear();
+        assertFalse(ib.contains(1));
+    }
+
+    public void testReverse() {
+        LongArrayBuilder ib = new LongArrayBuilder(10).appendAll(1, 2, 3, 4);
+        long[] expected = ib.toArray();
+        ArrayUtils.reverse(expected);
+        assertTrue(Arrays.equals(expected, ib.reverse().toArray()));
+        assertTrue(Arrays.equals(ArrayUtils.EMPTY_LONG_ARRAY, new LongArrayBuilder().reverse().toArray()));
+    }
+
+    public void testSubarray() {
+        LongArrayBuilder ib = new LongArrayBuilder(10).appendAll(1, 2, 3, 4);
+        long[] array = ib.toArray();
+        assertTrue(Arrays.equals(ArrayUtils.subarray(array, 1, 3), ib.subarray(1, 3)));
+        assertTrue(Arrays.equals(ArrayUtils.subarray(array, -1, 10), ib.subarray(-1, 10)));
+        assertSame(ArrayUtils.EMPTY_LONG_ARRAY, ib.subarray(3, 1));
+    }
+
+    public void testToObject() {
+        LongArrayBuilder ib = new LongArrayBuilder().appendAll(1, 2, 3);
+        assertTrue(Arrays.equals(ArrayUtils.toObject(ib.toArray()), ib.toObject()));
+        assertSame(ArrayUtils.EMPTY_LONG_OBJECT_ARRAY, new LongArrayBuilder().toObject());
+        assertTrue(Arrays.equals(ib.toArray(), ArrayUtils.toPrimitive(ib.toObject())));
+    }
+
+    public void testToString() {
+        assertEquals("{1,2,3}", new LongArrayBuilder().appendAll(1, 2, 3).toString());
+        assertEquals("{}", new LongArrayBuilder().toString());
+    }
+
+}
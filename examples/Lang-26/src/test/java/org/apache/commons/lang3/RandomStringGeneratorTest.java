@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests {@link org.apache.commons.lang3.RandomStringGenerator}.
+ *
+ * @version $Id$
+ */
+public class RandomStringGeneratorTest extends TestCase {
+
+    public void testAlphabets() {
+        assertEquals("abcdefghijklmnopqrstuvwxyz", new String(new RandomStringGenerator('a', 'z' + 1, false, false)
+            .getAlphabet()));
+        assertEquals("0123456789", new String(RandomStringGenerator.NUMERIC.getAlphabet()));
+        assertEquals("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz",
+            new String(RandomStringGenerator.ALPHABETIC.getAlphabet()));
+        assertEquals(62, RandomStringGenerator.ALPHANUMERIC.getAlphabet().length);
+        assertEquals(95, RandomStringGenerator.ASCII.getAlphabet().length);
+        // all characters, less the surrogates
+        char[] all = new RandomStringGenerator(0, 0, false, false).getAlphabet();
+        assertEquals(Character.MAX_VALUE + 1 - 2048, all.length);
+        char[] alphabet = RandomStringGenerator.ASCII.getAlphabet();
+        alphabet[0] = 'x';
+        assertEquals(' ', RandomStringGenerator.ASCII.getAlphabet()[0]);
+    }
+
+    public void testGenerate() {
+        RandomStringGenerator[] generators = {
+            RandomStringGenerator.ALPHANUMERIC,
+            RandomStringGenerator.NUMERIC,
+            new RandomStringGenerator("x"),
+            new RandomStringGenerator("ab"),
+            new RandomStringGenerator(0x4e00, 0xa000, true, false),
+        };
+        for (RandomStringGenerator generator : generators) {
+            String alphabet = new String(generator.getAlphabet());
+            for (int len = 0; len < 70; len++) {
+                String str = generator.generate(len);
+                assertEquals(len, str.length());
+                for (int i = 0; i < len; i++) {
+                    assertTrue(alphabet.indexOf(str.charAt(i)) >= 0);
+                }
+            }
+        }
+    }
+
+    public void testRepeatable() {
+        RandomStringGenerator generator = RandomStringGenerator.ALPHANUMERIC;
+        assertEquals(generator.generate(50, new Random(5)), generator.generate(50, new Random(5)));
+        assertTrue(Arrays.equals(generator.generate(10, 8, new Random(5)), generator.generate(10, 8, new Random(5))));
+    }
+
+    public void testBulk() {
+        String[] strings = RandomStringGenerator.ALPHABETIC.generate(100, 12);
+        assertEquals(100, strings.length);
+        for (String str : strings) {
+            assertEquals(12, str.length());
+            assertTrue(StringUtils.isAlpha(str));
+        }
+        assertEquals(0, RandomStringGenerator.NUMERIC.generate(0, 5).length);
+        assertEquals("", RandomStringGenerator.NUMERIC.generate(3, 0)[2]);
+
+        char[] buffer = new char[10];
+        Arrays.fill(buffer, '-');
+        assertSame(buffer, RandomStringGenerator.NUMERIC.fill(buffer, 2, 5, new Random()));
+        assertEquals("--", new String(buffer, 0, 2));
+        assertTrue(StringUtils.isNumeric(new String(buffer, 2, 5)));
+        assertEquals("---", new String(buffer, 7, 3));
+        assertTrue(StringUtils.isNumeric(new String(RandomStringGenerator.NUMERIC.fill(new char[20]))));
+    }
+
+    public void testUniform() {
+        // chi-square test over an alphabet whose size is not a power of two
+        RandomStringGenerator generator = new RandomStringGenerator("abcde");
+        int[] counts = new int[5];
+        char[] sample = generator.fill(new char[100000], 0, 100000, new Random(42));
+        for (char ch : sample) {
+            counts[ch - 'a']++;
+        }
+        double expected = sample.length / 5.0;
+        double chiSquare = 0;
+        for (int count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // critical value for 4 degrees of freedom at 0.001
+        assertTrue("Chi-square " + chiSquare, chiSquare < 18.47);
+    }
+
+    public void testExceptions() {
+        try {
+            new RandomStringGenerator("");
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            new RandomStringGenerator((String) null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            new RandomStringGenerator("a\ud800");
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            new RandomStringGenerator(5, 5, false, false);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            new RandomStringGenerator('a', 'z', false, true);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            RandomStringGenerator.NUMERIC.generate(-1);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            RandomStringGenerator.NUMERIC.generate(-1, 5);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            RandomStringGenerator.NUMERIC.generate(Integer.MAX_VALUE, 5);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            RandomStringGenerator.NUMERIC.fill(new char[5], 3, 3, new Random());
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+    }
+
+}
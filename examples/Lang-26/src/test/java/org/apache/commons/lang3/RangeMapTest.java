@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * <p>
+ * Tests the methods in the {@link org.apache.commons.lang3.RangeMap} class.
+ * </p>
+ *
+ * @version $Id$
+ */
+@SuppressWarnings("boxing")
+public class RangeMapTest extends TestCase {
+
+    public void testGet() {
+        Map<Range<Integer>, String> bands = new LinkedHashMap<Range<Integer>, String>();
+        bands.put(Range.between(0, 17), "child");
+        bands.put(Range.between(18, 64), "adult");
+        bands.put(Range.between(65, 150), "senior");
+        bands.put(Range.between(13, 19), "teen");
+        RangeMap<Integer, String> index = RangeMap.of(bands);
+        assertEquals(4, index.size());
+        assertEquals("adult", index.get(42));
+        assertEquals("child", index.get(15));
+        assertEquals(Arrays.asList("child", "teen"), index.getAll(15));
+        assertEquals(Arrays.asList("adult", "teen"), index.getAll(19));
+        assertNull(index.get(151));
+        assertNull(index.get(null));
+        assertEquals(Collections.emptyList(), index.getAll(-1));
+        assertTrue(index.contains(150));
+        assertFalse(index.contains(-1));
+        assertFalse(index.contains(null));
+        assertEquals(Arrays.asList("adult", "senior"), index.getOverlapping(Range.between(60, 70)));
+        assertEquals(Arrays.asList("child", "adult", "teen"), index.getOverlapping(Range.between(10, 20)));
+        assertEquals(Collections.emptyList(), index.getOverlapping(null));
+        assertEquals("RangeMap{Range[0,17]=child, Range[13,19]=teen, Range[18,64]=adult, Range[65,150]=senior}",
+            index.toString());
+
+        // the map is copied
+        bands.clear();
+        assertEquals("adult", index.get(42));
+    }
+
+    public void testEmpty() {
+        RangeMap<Integer, String> index = RangeMap.of(new LinkedHashMap<Range<Integer>, String>());
+        assertEquals(0, index.size());
+        assertNull(index.get(1));
+        assertFalse(index.contains(1));
+        assertEquals(Collections.emptyList(), index.getOverlapping(Range.between(1, 2)));
+    }
+
+    public void testMatchesLinearScan() {
+        Random random = new Random(5);
+        Map<Range<Integer>, Integer> map = new LinkedHashMap<Range<Integer>, Integer>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(10000);
+            map.put(Range.between(start, start + random.nextInt(i % 10 == 0 ? 3000 : 50)), i);
+        }
+        RangeMap<Integer, Integer> index = RangeMap.of(map);
+        for (int i = 0; i < 2000; i++) {
+            int low = random.nextInt(11000) - 500;
+            Range<Integer> query = Range.between(low, low + (i % 2 == 0 ? 0 : random.nextInt(100)));
+            List<Integer> expected = new ArrayList<Integer>();
+            for (Map.Entry<Range<Integer>, Integer> entry : map.entrySet()) {
+                if (entry.getKey().overlapsRange(query)) {
+                    expected.add(entry.getValue());
+                }
+            }
+            assertEquals(query.toString(), expected, index.getOverlapping(query));
+            if (query.getMinimum().equals(query.getMaximum())) {
+                assertEquals(!expected.isEmpty(), index.contains(low));
+                assertEquals(expected, index.getAll(low));
+                assertEquals(expected.isEmpty() ? null : expected.get(0), index.get(low));
+            }
+        }
+    }
+
+    public void testNulls() {
+        try {
+            RangeMap.of(null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        Map<Range<Integer>, String> map = new LinkedHashMap<Range<Integer>, String>();
+        map.put(null, "x");
+        try {
+            RangeMap.of(map);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+}
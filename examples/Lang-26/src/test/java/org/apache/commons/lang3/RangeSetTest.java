@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * <p>
+ * Tests the methods in the {@link org.apache.commons.lang3.RangeSet} class.
+ * </p>
+ *
+ * @version $Id$
+ */
+@SuppressWarnings({"boxing", "unchecked"})
+public class RangeSetTest extends TestCase {
+
+    public void testMerge() {
+        RangeSet<Integer> set = RangeSet.of(Range.between(20, 30), Range.between(1, 5), Range.between(4, 8),
+            Range.between(30, 35), Range.between(40, 40), Range.between(22, 25));
+        assertEquals(3, set.size());
+        assertEquals(Arrays.asList(Range.between(1, 8), Range.between(20, 35), Range.between(40, 40)),
+            set.asRanges());
+        assertEquals("RangeSet[Range[1,8], Range[20,35], Range[40,40]]", set.toString());
+        assertEquals(set, RangeSet.of(Arrays.asList(Range.between(1, 8), Range.between(40, 40),
+            Range.between(20, 35))));
+        assertEquals(set.hashCode(), RangeSet.of(Arrays.asList(Range.between(1, 8), Range.between(40, 40),
+            Range.between(20, 35))).hashCode());
+        assertFalse(set.equals(RangeSet.of(Range.between(1, 8))));
+        try {
+            set.asRanges().clear();
+            fail();
+        } catch (UnsupportedOperationException ex) {}
+    }
+
+    public void testContains() {
+        RangeSet<Integer> set = RangeSet.of(Range.between(1, 8), Range.between(20, 35), Range.between(40, 40));
+        assertFalse(set.contains(0));
+        assertTrue(set.contains(1));
+        assertTrue(set.contains(8));
+        assertFalse(set.contains(9));
+        assertTrue(set.contains(40));
+        assertFalse(set.contains(41));
+        assertFalse(set.contains(null));
+        assertEquals(1, set.indexOf(25));
+        assertEquals(-1, set.indexOf(15));
+        assertEquals(Range.between(20, 35), set.getRangeContaining(30));
+        assertNull(set.getRangeContaining(36));
+
+        assertTrue(set.containsRange(Range.between(21, 35)));
+        assertFalse(set.containsRange(Range.between(5, 20)));
+        assertFalse(set.containsRange(null));
+        assertTrue(set.overlapsRange(Range.between(5, 20)));
+        assertTrue(set.overlapsRange(Range.between(36, 50)));
+        assertFalse(set.overlapsRange(Range.between(9, 19)));
+        assertFalse(set.overlapsRange(Range.between(41, 50)));
+        assertFalse(set.overlapsRange(null));
+    }
+
+    public void testEmpty() {
+        RangeSet<String> set = RangeSet.of(new ArrayList<Range<String>>());
+        assertEquals(0, set.size());
+        assertFalse(set.contains("a"));
+        assertFalse(set.overlapsRange(Range.between("a", "z")));
+        assertEquals("RangeSet[]", set.toString());
+    }
+
+    public void testComparator() {
+        Comparator<String> lengthOrder = new Comparator<String>() {
+            public int compare(String s1, String s2) {
+                return s1.length() - s2.length();
+            }
+        };
+        RangeSet<String> set = RangeSet.of(Range.between("a", "bbb", lengthOrder));
+        assertTrue(set.contains("zz"));
+        assertFalse(set.contains("zzzz"));
+        try {
+            RangeSet.of(Range.between("a", "bbb", lengthOrder), Range.between("a", "b"));
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testMatchesLinearScan() {
+        java.util.Random random = new java.util.Random(11);
+        List<Range<Integer>> ranges = new ArrayList<Range<Integer>>();
+        for (int i = 0; i < 200; i++) {
+            int start = random.nextInt(10000);
+            ranges.add(Range.between(start, start + random.nextInt(40)));
+        }
+        RangeSet<Integer> set = RangeSet.of(ranges);
+        for (int value = -5; value < 10100; value++) {
+            boolean expected = false;
+            for (Range<Integer> range : ranges) {
+                expected |= range.contains(value);
+            }
+            assertEquals(String.valueOf(value), expected, set.contains(value));
+        }
+    }
+
+    public void testNulls() {
+        try {
+            RangeSet.of((Range<Integer>[]) null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            RangeSet.of(Range.between(1, 2), null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+}
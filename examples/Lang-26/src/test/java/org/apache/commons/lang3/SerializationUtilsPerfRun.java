@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+
+/**
+ * Tests the difference in performance between cloning by serializing to a
+ * new byte array and back, and {@link SerializationUtils#clone(java.io.Serializable)}.
+ *
+ * @version $Id$
+ */
+public class SerializationUtilsPerfRun {
+    final static String VERSION = "$Id$";
+
+    final static int WARM_UP = 2000;
+
+    final static int COUNT = 50000;
+
+    final static HashMap<String, Object> SAMPLE;
+    static {
+        SAMPLE = new HashMap<String, Object>();
+        for (int i = 0; i < 50; i++) {
+            ArrayList<Object> list = new ArrayList<Object>();
+            list.add("value" + i);
+            list.add(Integer.valueOf(i));
+            list.add(Double.valueOf(i / 3.0));
+            SAMPLE.put("key" + i, list);
+        }
+    }
+
+    public static void main(String[] args) {
+        new SerializationUtilsPerfRun().run();
+    }
+
+    private void printSysInfo() {
+        System.out.println(VERSION);
+        System.out.println("Now: " + Calendar.getInstance().getTime());
+        System.out.println(System.getProperty("java.vendor")
+                + " "
+                + System.getProperty("java.runtime.name")
+                + " "
+                + System.getProperty("java.runtime.version"));
+        System.out.println(System.getProperty("java.vm.vendor")
+                + " "
+                + System.getProperty("java.vm.name")
+                + " "
+                + System.getProperty("java.vm.version"));
+        System.out.println(System.getProperty("os.name")
+            + " "
+            + System.getProperty("os.version")
+            + " "
+            + System.getProperty("os.arch"));
+    }
+
+    private void run() {
+        this.printSysInfo();
+        long start;
+        run_serialize_deserialize(WARM_UP);
+        start = System.currentTimeMillis();
+        run_serialize_deserialize(COUNT);
+        this.printlnTotal("run_serialize_deserialize", start);
+        run_SerializationUtils_clone(WARM_UP);
+        start = System.currentTimeMillis();
+        run_SerializationUtils_clone(COUNT);
+        this.printlnTotal("run_SerializationUtils_clone", start);
+    }
+
+    private int run_serialize_deserialize(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            Object copy = SerializationUtils.deserialize(SerializationUtils.serialize(SAMPLE));
+            t += copy.hashCode();
+        }
+        return t;
+    }
+
+    private int run_SerializationUtils_clone(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            Object copy = SerializationUtils.clone(SAMPLE);
+            t += copy.hashCode();
+        }
+        return t;
+    }
+
+    private void printlnTotal(String prefix, long start) {
+        long total = System.currentTimeMillis() - start;
+        System.out.println(prefix + ": " + NumberFormat.getInstance().format(total) + " milliseconds.");
+    }
+}
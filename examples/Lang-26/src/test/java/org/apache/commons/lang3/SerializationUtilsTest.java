@@ -26,6 +26,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import junit.framework.TestCase;
@@ -352,6 +353,39 @@ public class SerializationUtilsTest extends TestCase {
         assertEquals(iMap, testMap);
     }
 
+    public void testCloneReusesBuffer() throws Exception {
+        // sizes either side of the retained buffer limit
+        for (int size : new int[] {10, 100000, 10, 200000, 0}) {
+            byte[] data = new byte[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = (byte) i;
+            }
+            byte[] copy = SerializationUtils.clone(data);
+            assertNotSame(data, copy);
+            assertTrue(Arrays.equals(data, copy));
+        }
+        assertEquals(iMap, SerializationUtils.clone(iMap));
+    }
+
+    public void testCloneNested() throws Exception {
+        NestedClone nested = new NestedClone(iMap);
+        NestedClone copy = SerializationUtils.clone(nested);
+        assertEquals(iMap, copy.map);
+        assertEquals(iMap, copy.inner);
+        assertNotSame(nested.map, copy.map);
+    }
+
+    public void testCloneAfterFailure() throws Exception {
+        iMap.put("BAD", new Object());
+        try {
+            SerializationUtils.clone(iMap);
+            fail();
+        } catch (SerializationException ex) {
+        }
+        iMap.remove("BAD");
+        assertEquals(iMap, SerializationUtils.clone(iMap));
+    }
+
     public void testCloneNull() throws Exception {
         Object test = SerializationUtils.clone(null);
         assertNull(test);
@@ -377,3 +411,21 @@ class ClassNotFoundSerialization implements Serializable
         throw new ClassNotFoundException(SerializationUtilsTest.CLASS_NOT_FOUND_MESSAGE);
     }
 }
+
+@SuppressWarnings("serial")
+class NestedClone implements Serializable
+{
+
+    final HashMap<Object, Object> map;
+    transient HashMap<Object, Object> inner;
+
+    NestedClone(HashMap<Object, Object> map) {
+        this.map = map;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // clones while the enclosing clone is still reading its buffer
+        inner = SerializationUtils.clone(map);
+    }
+}
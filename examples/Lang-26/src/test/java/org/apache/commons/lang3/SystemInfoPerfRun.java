@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.text.NumberFormat;
+import java.util.Calendar;
+
+/**
+ * Tests the difference in start up cost between reading an operating system
+ * flag from {@link SystemUtils}, which initializes every field, and from
+ * {@link SystemInfo}, which initializes only the operating system group.
+ * <p>
+ * Class initialization happens once per class loader, so each run loads the
+ * classes afresh in a new class loader.
+ * <p>
+ * Sample run:
+ * <pre>
+ * Temurin OpenJDK Runtime Environment 1.8.0_392-b08
+ * Temurin OpenJDK 64-Bit Server VM 25.392-b08
+ * Linux amd64
+ * run_SystemUtils_IS_OS_WINDOWS: 981 milliseconds.
+ * run_SystemInfo_isOsWindows: 327 milliseconds.
+ * </pre>
+ *
+ * @version $Id$
+ */
+public class SystemInfoPerfRun {
+    final static String VERSION = "$Id$";
+
+    final static int WARM_UP = 50;
+
+    final static int COUNT = 500;
+
+    final static URL LOCATION = SystemInfo.class.getProtectionDomain().getCodeSource().getLocation();
+
+    public static void main(String[] args) throws Exception {
+        new SystemInfoPerfRun().run();
+    }
+
+    private void printSysInfo() {
+        System.out.println(VERSION);
+        System.out.println("Now: " + Calendar.getInstance().getTime());
+        System.out.println(System.getProperty("java.vendor")
+                + " "
+                + System.getProperty("java.runtime.name")
+                + " "
+                + System.getProperty("java.runtime.version"));
+        System.out.println(System.getProperty("java.vm.vendor")
+                + " "
+                + System.getProperty("java.vm.name")
+                + " "
+                + System.getProperty("java.vm.version"));
+        System.out.println(System.getProperty("os.name")
+            + " "
+            + System.getProperty("os.version")
+            + " "
+            + System.getProperty("os.arch"));
+    }
+
+    private void run() throws Exception {
+        this.printSysInfo();
+        long start;
+        run_SystemUtils_IS_OS_WINDOWS(WARM_UP);
+        start = System.currentTimeMillis();
+        run_SystemUtils_IS_OS_WINDOWS(COUNT);
+        this.printlnTotal("run_SystemUtils_IS_OS_WINDOWS", start);
+        run_SystemInfo_isOsWindows(WARM_UP);
+        start = System.currentTimeMillis();
+        run_SystemInfo_isOsWindows(COUNT);
+        this.printlnTotal("run_SystemInfo_isOsWindows", start);
+    }
+
+    private int run_SystemUtils_IS_OS_WINDOWS(int loopCount) throws Exception {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            Class<?> cls = newLoader().loadClass(SystemUtils.class.getName());
+            if (cls.getField("IS_OS_WINDOWS").getBoolean(null)) {
+                t++;
+            }
+        }
+        return t;
+    }
+
+    private int run_SystemInfo_isOsWindows(int loopCount) throws Exception {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            Class<?> cls = newLoader().loadClass(SystemInfo.class.getName());
+            if (Boolean.TRUE.equals(cls.getMethod("isOsWindows").invoke(null))) {
+                t++;
+            }
+        }
+        return t;
+    }
+
+    private ClassLoader newLoader() {
+        return new URLClassLoader(new URL[] {LOCATION}, null);
+    }
+
+    private void printlnTotal(String prefix, long start) {
+        long total = System.currentTimeMillis() - start;
+        System.out.println(prefix + ": " + NumberFormat.getInstance().format(total) + " milliseconds.");
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.commons.lang3;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests {@link org.apache.commons.lang3.SystemInfo}.
+ *
+ * @version $Id$
+ */
+public class SystemInfoTest extends TestCase {
+
+    public SystemInfoTest(String name) {
+        super(name);
+    }
+
+    public void testConstructor() {
+        assertNotNull(new SystemInfo());
+        Constructor<?>[] cons = SystemInfo.class.getDeclaredConstructors();
+        assertEquals(1, cons.length);
+        assertEquals(true, Modifier.isPublic(cons[0].getModifiers()));
+        assertEquals(true, Modifier.isPublic(SystemInfo.class.getModifiers()));
+        assertEquals(false, Modifier.isFinal(SystemInfo.class.getModifiers()));
+    }
+
+    //-----------------------------------------------------------------------
+    public void testSeparatorsMatchSystemUtils() {
+        assertEquals(SystemUtils.LINE_SEPARATOR, SystemInfo.getLineSeparator());
+        assertEquals(SystemUtils.FILE_SEPARATOR, SystemInfo.getFileSeparator());
+        assertEquals(SystemUtils.PATH_SEPARATOR, SystemInfo.getPathSeparator());
+    }
+
+    public void testJavaVersionMatchesSystemUtils() {
+        assertEquals(SystemUtils.JAVA_VERSION, SystemInfo.getJavaVersion());
+        assertEquals(SystemUtils.JAVA_VERSION_TRIMMED, SystemInfo.getJavaVersionTrimmed());
+        assertEquals(SystemUtils.JAVA_VERSION_FLOAT, SystemInfo.getJavaVersionFloat(), 0f);
+        assertEquals(SystemUtils.JAVA_VERSION_INT, SystemInfo.getJavaVersionInt());
+        assertEquals(SystemUtils.IS_JAVA_1_5, SystemInfo.isJavaVersion("1.5"));
+        assertEquals(SystemUtils.IS_JAVA_1_6, SystemInfo.isJavaVersion("1.6"));
+        assertEquals(SystemUtils.IS_JAVA_1_7, SystemInfo.isJavaVersion("1.7"));
+        assertEquals(SystemUtils.isJavaVersionAtLeast(1.5f), SystemInfo.isJavaVersionAtLeast(1.5f));
+        assertEquals(SystemUtils.isJavaVersionAtLeast(160), SystemInfo.isJavaVersionAtLeast(160));
+        assertEquals(true, SystemInfo.isJavaVersionAtLeast(0));
+    }
+
+    public void testOperatingSystemMatchesSystemUtils() {
+        assertEquals(SystemUtils.OS_NAME, SystemInfo.getOsName());
+        assertEquals(SystemUtils.OS_VERSION, SystemInfo.getOsVersion());
+        assertEquals(SystemUtils.OS_ARCH, SystemInfo.getOsArch());
+        assertEquals(SystemUtils.IS_OS_WINDOWS, SystemInfo.isOsWindows());
+        assertEquals(SystemUtils.IS_OS_UNIX, SystemInfo.isOsUnix());
+        assertEquals(SystemUtils.IS_OS_LINUX, SystemInfo.isOsLinux());
+        assertEquals(SystemUtils.IS_OS_MAC_OSX, SystemInfo.isOsMacOsx());
+        assertEquals(SystemUtils.IS_OS_SOLARIS, SystemInfo.isOsName("Solaris"));
+        assertEquals(SystemUtils.IS_OS_WINDOWS_XP, SystemInfo.isOs("Windows", "5.1"));
+        assertEquals(true, SystemInfo.isOsName(""));
+    }
+
+    public void testToJavaVersionIntArray() {
+        assertEquals(0, SystemInfo.toJavaVersionIntArray(null, 3).length);
+        assertEquals(0, SystemInfo.toJavaVersionIntArray("", 3).length);
+        assertEquals(0, SystemInfo.toJavaVersionIntArray("abc", 3).length);
+        assertTrue(ArrayUtils.isEquals(new int[] {1, 6, 0}, SystemInfo.toJavaVersionIntArray("1.6.0_20", 3)));
+        assertTrue(ArrayUtils.isEquals(new int[] {1, 6, 0, 20},
+                SystemInfo.toJavaVersionIntArray("1.6.0_20", Integer.MAX_VALUE)));
+        assertTrue(ArrayUtils.isEquals(new int[] {1, 3, 1}, SystemInfo.toJavaVersionIntArray("JavaVM-1.3.1", 3)));
+        assertTrue(ArrayUtils.isEquals(new int[] {1, 3}, SystemInfo.toJavaVersionIntArray("XXX-1.3.x", 3)));
+    }
+
+    public void testTrimJavaVersion() {
+        assertEquals(null, SystemInfo.trimJavaVersion(null));
+        assertEquals(null, SystemInfo.trimJavaVersion("abc"));
+        assertEquals("1.3.1", SystemInfo.trimJavaVersion("JavaVM-1.3.1"));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks in a new class loader that using SystemInfo does not initialize SystemUtils.
+     */
+    public void testDoesNotLoadSystemUtils() throws Exception {
+        URL location = SystemInfo.class.getProtectionDomain().getCodeSource().getLocation();
+        IsolatedLoader loader = new IsolatedLoader(location);
+        Class<?> cls = loader.loadClass(SystemInfo.class.getName());
+        assertNotSame(SystemInfo.class, cls);
+        assertEquals(SystemInfo.isOsUnix(), cls.getMethod("isOsUnix").invoke(null));
+        assertEquals(SystemInfo.getLineSeparator(), cls.getMethod("getLineSeparator").invoke(null));
+        assertEquals(false, loader.isLoaded(SystemUtils.class.getName()));
+    }
+
+    /**
+     * A class loader that loads classes from a location independently of the application.
+     */
+    static class IsolatedLoader extends URLClassLoader {
+        IsolatedLoader(URL location) {
+            super(new URL[] {location}, null);
+        }
+
+        boolean isLoaded(String name) {
+            return findLoadedClass(name) != null;
+        }
+    }
+
+}
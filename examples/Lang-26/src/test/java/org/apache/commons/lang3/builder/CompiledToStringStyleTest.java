@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.builder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Unit tests {@link org.apache.commons.lang3.builder.CompiledToStringStyle}
+ * and {@link org.apache.commons.lang3.builder.ToStringAppender}.
+ *
+ * @author Apache Software Foundation
+ * @version $Id$
+ */
+public class CompiledToStringStyleTest extends TestCase {
+
+    private static final StandardToStringStyle CUSTOM = new StandardToStringStyle();
+
+    static {
+        CUSTOM.setUseShortClassName(true);
+        CUSTOM.setUseIdentityHashCode(false);
+        CUSTOM.setFieldNameValueSeparator(": ");
+        CUSTOM.setFieldSeparator("; ");
+        CUSTOM.setFieldSeparatorAtStart(true);
+        CUSTOM.setFieldSeparatorAtEnd(true);
+        CUSTOM.setArrayStart("[");
+        CUSTOM.setArraySeparator(", ");
+        CUSTOM.setArrayEnd("]");
+        CUSTOM.setArrayContentDetail(false);
+        CUSTOM.setDefaultFullDetail(false);
+        CUSTOM.setNullText("%NULL%");
+        CUSTOM.setSizeStartText("%SIZE=");
+        CUSTOM.setSizeEndText("%");
+        CUSTOM.setSummaryObjectStartText("%");
+        CUSTOM.setSummaryObjectEndText("%");
+    }
+
+    private static final ToStringStyle[] STYLES = new ToStringStyle[] {
+        ToStringStyle.DEFAULT_STYLE,
+        ToStringStyle.MULTI_LINE_STYLE,
+        ToStringStyle.NO_FIELD_NAMES_STYLE,
+        ToStringStyle.SHORT_PREFIX_STYLE,
+        ToStringStyle.SIMPLE_STYLE,
+        CUSTOM,
+    };
+
+    public CompiledToStringStyleTest(String name) {
+        super(name);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testNoFields() {
+        Object object = new Object();
+        for (ToStringStyle style : STYLES) {
+            assertEquals(new ToStringBuilder(object, style).toString(),
+                CompiledToStringStyle.compile(style).start(object).toString());
+        }
+    }
+
+    public void testPrimitives() {
+        Object object = new Object();
+        for (ToStringStyle style : STYLES) {
+            String expected = new ToStringBuilder(object, style)
+                .append("z", true).append("b", (byte) -3).append("c", 'x').append("s", (short) 300)
+                .append("i", 42).append("l", -7L).append("f", 1.5f).append("d", Double.NaN)
+                .toString();
+            String actual = CompiledToStringStyle.compile(style).start(object)
+                .append("z", true).append("b", (byte) -3).append("c", 'x').append("s", (short) 300)
+                .append("i", 42).append("l", -7L).append("f", 1.5f).append("d", Double.NaN)
+                .toString();
+            assertEquals(expected, actual);
+        }
+    }
+
+    public void testObjects() {
+        Object object = new Object();
+        List<String> list = Arrays.asList("a", "b");
+        HashMap<String, Integer> map = new HashMap<String, Integer>();
+        map.put("k", Integer.valueOf(1));
+        for (ToStringStyle style : STYLES) {
+            String expected = new ToStringBuilder(object, style)
+                .append("str", "text").append("num", Integer.valueOf(5)).append("null", (Object) null)
+                .append("list", list).append("map", map).append(null, "unnamed")
+                .append("summary", list, false).append("detail", new ArrayList<String>(), true)
+                .append("object", object.getClass(), false)
+                .toString();
+            String actual = CompiledToStringStyle.compile(style).start(object)
+                .append("str", "text").append("num", Integer.valueOf(5)).append("null", (Object) null)
+                .append("list", list).append("map", map).append(null, "unnamed")
+                .append("summary", list, false).append("detail", new ArrayList<String>(), true)
+                .append("object", object.getClass(), false)
+                .toString();
+            assertEquals(expected, actual);
+        }
+    }
+
+    public void testArrays() {
+        Object object = new Object();
+        Object[] objects = new Object[] {"a", null, new int[] {1, 2}, Integer.valueOf(3)};
+        for (ToStringStyle style : STYLES) {
+            String expected = new ToStringBuilder(object, style)
+                .append("longs", (Object) new long[] {1, 2}).append("ints", (Object) new int[0])
+                .append("shorts", (Object) new short[] {3}).append("chars", (Object) new char[] {'a', 'b'})
+                .append("bytes", (Object) new byte[] {-1}).append("doubles", (Object) new double[] {0.5})
+                .append("floats", (Object) new float[] {2f, -0f}).append("booleans", (Object) new boolean[] {true})
+                .append("objects", (Object) objects).append("multi", (Object) new long[][] {{1}, null})
+                .append("summary", (Object) new int[3], false)
+                .toString();
+            String actual = CompiledToStringStyle.compile(style).start(object)
+                .append("longs", new long[] {1, 2}).append("ints", new int[0])
+                .append("shorts", new short[] {3}).append("chars", new char[] {'a', 'b'})
+                .append("bytes", new byte[] {-1}).append("doubles", new double[] {0.5})
+                .append("floats", new float[] {2f, -0f}).append("booleans", new boolean[] {true})
+                .append("objects", objects).append("multi", new long[][] {{1}, null})
+                .append("summary", new int[3], false)
+                .toString();
+            assertEquals(expected, actual);
+        }
+    }
+
+    public void testAppendSuperAndToString() {
+        Object object = new Object();
+        for (ToStringStyle style : STYLES) {
+            String superToString = new ToStringBuilder(object, style).append("a", 1).append("b", 2).toString();
+            String expected = new ToStringBuilder(object, style)
+                .appendSuper(superToString).append("c", 3).appendToString(null).appendToString(superToString)
+                .toString();
+            String actual = CompiledToStringStyle.compile(style).start(object)
+                .appendSuper(superToString).append("c", 3).appendToString(null).appendToString(superToString)
+                .toString();
+            assertEquals(expected, actual);
+        }
+    }
+
+    public void testNullObject() {
+        for (ToStringStyle style : STYLES) {
+            assertEquals(new ToStringBuilder(null, style).toString(),
+                CompiledToStringStyle.compile(style).start(null).toString());
+            assertEquals(new ToStringBuilder(null, style).append("a", 1).append("b", "x").toString(),
+                CompiledToStringStyle.compile(style).start(null).append("a", 1).append("b", "x").toString());
+        }
+    }
+
+    public void testCycle() {
+        final CompiledToStringStyle compiled = CompiledToStringStyle.compile(ToStringStyle.SHORT_PREFIX_STYLE);
+        Object self = new Object() {
+            @Override
+            public String toString() {
+                return compiled.start(this).append("self", this).append("array", new Object[] {this}).toString();
+            }
+        };
+        String identity = self.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(self));
+        assertEquals(ClassUtils.getShortClassName(self.getClass())
+            + "[self=" + identity + ",array={" + identity + "}]", self.toString());
+        assertTrue(ToStringStyle.getRegistry() == null || ToStringStyle.getRegistry().isEmpty());
+    }
+
+    public void testStartAppendsToDestination() throws IOException {
+        CompiledToStringStyle compiled = CompiledToStringStyle.compile(ToStringStyle.SIMPLE_STYLE);
+        StringBuilder builder = new StringBuilder("x=");
+        assertSame(builder, compiled.start(builder, "ignored").append("a", 1).append("b", 2).end());
+        assertEquals("x=1,2", builder.toString());
+
+        StringWriter writer = new StringWriter();
+        writer.write("y=");
+        assertSame(writer, compiled.start(writer, "ignored").append("a", 1.5d).append("b", 'c').end());
+        assertEquals("y=1.5,c", writer.toString());
+    }
+
+    public void testSnapshotOfStyle() {
+        StandardToStringStyle style = new StandardToStringStyle();
+        style.setUseIdentityHashCode(false);
+        CompiledToStringStyle compiled = CompiledToStringStyle.compile(style);
+        style.setFieldSeparator("|");
+        assertEquals("java.lang.Object[a=1,b=2]", compiled.start(new Object()).append("a", 1).append("b", 2).toString());
+    }
+
+    public void testEndTwice() throws IOException {
+        ToStringAppender appender = CompiledToStringStyle.compile(ToStringStyle.SIMPLE_STYLE).start("x").append("a", 1);
+        assertEquals("1", appender.toString());
+        assertEquals("1", appender.end().toString());
+        try {
+            appender.append("b", 2);
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    public void testIOException() {
+        final IOException failure = new IOException("closed");
+        Writer writer = new Writer() {
+            private int count;
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                if (++count > 3) {
+                    throw failure;
+                }
+            }
+            @Override
+            public void flush() {
+            }
+            @Override
+            public void close() {
+            }
+        };
+        ToStringAppender appender = CompiledToStringStyle.compile(ToStringStyle.DEFAULT_STYLE).start(writer, this);
+        appender.append("a", 1).append("b", new int[] {1, 2}).appendSuper("x[y=1]");
+        try {
+            appender.end();
+            fail();
+        } catch (IOException ex) {
+            assertSame(failure, ex);
+        }
+        try {
+            appender.toString();
+            fail();
+        } catch (IllegalStateException ex) {
+            assertSame(failure, ex.getCause());
+        }
+        assertTrue(ToStringStyle.getRegistry() == null || ToStringStyle.getRegistry().isEmpty());
+    }
+
+    public void testNullArguments() {
+        try {
+            CompiledToStringStyle.compile(null);
+            fail();
+        } catch (NullPointerException ex) {
+            // expected
+        }
+        try {
+            CompiledToStringStyle.compile(ToStringStyle.DEFAULT_STYLE).start((Appendable) null, this);
+            fail();
+        } catch (NullPointerException ex) {
+            // expected
+        }
+        try {
+            CompiledToStringStyle.compile(ToStringStyle.DEFAULT_STYLE).start((StringBuilder) null, this);
+            fail();
+        } catch (NullPointerException ex) {
+            // expected
+        }
+    }
+
+}
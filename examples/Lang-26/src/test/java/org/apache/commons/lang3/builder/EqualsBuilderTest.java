@@ -537,6 +537,30 @@ public class EqualsBuilderTest extends TestCase {
         assertTrue(new EqualsBuilder().append(obj1, obj2).isEquals());
     }
 
+    public void testFloatingPointArraysCompareBits() {
+        double[] doubles1 = new double[] {1.0, Double.NaN, 0.0};
+        double[] doubles2 = new double[] {1.0, Double.NaN, 0.0};
+        assertTrue(new EqualsBuilder().append(doubles1, doubles2).isEquals());
+        assertTrue(new EqualsBuilder().append((Object) doubles1, (Object) doubles2).isEquals());
+        doubles2[2] = -0.0;
+        assertFalse(new EqualsBuilder().append(doubles1, doubles2).isEquals());
+
+        float[] floats1 = new float[] {1.0f, Float.NaN, 0.0f};
+        float[] floats2 = new float[] {1.0f, Float.NaN, 0.0f};
+        assertTrue(new EqualsBuilder().append(floats1, floats2).isEquals());
+        assertTrue(new EqualsBuilder().append((Object) floats1, (Object) floats2).isEquals());
+        floats2[2] = -0.0f;
+        assertFalse(new EqualsBuilder().append(floats1, floats2).isEquals());
+    }
+
+    public void testArrayAfterNotEquals() {
+        long[] array = new long[] {1, 2, 3};
+        EqualsBuilder builder = new EqualsBuilder().append(1, 2).append(array, array.clone());
+        assertFalse(builder.isEquals());
+        builder = new EqualsBuilder().append(array, new long[] {1, 2}).append(array, array.clone());
+        assertFalse(builder.isEquals());
+    }
+
     public void testFloatArray() {
         float[] obj1 = new float[2];
         obj1[0] = 5;
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.builder;
+
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Compares hashing and comparing large primitive arrays through
+ * {@link HashCodeBuilder} and {@link EqualsBuilder} with {@link Arrays}.
+ * <p>
+ * Sample run:
+ * <pre>
+ * Temurin OpenJDK Runtime Environment 1.8.0_392-b08
+ * Temurin OpenJDK 64-Bit Server VM 25.392-b08
+ * Linux amd64
+ * run_HashCodeBuilder_intArray: 134 milliseconds.
+ * run_Arrays_hashCode_intArray: 225 milliseconds.
+ * run_HashCodeBuilder_doubleArray: 241 milliseconds.
+ * run_Arrays_hashCode_doubleArray: 406 milliseconds.
+ * run_EqualsBuilder_longArray: 116 milliseconds.
+ * run_Arrays_equals_longArray: 107 milliseconds.
+ * </pre>
+ *
+ * @version $Id$
+ */
+public class HashCodeBuilderPerfRun {
+    final static String VERSION = "$Id$";
+
+    final static int WARM_UP = 20000;
+
+    final static int COUNT = 200000;
+
+    final static int[] INTS = new int[1024];
+
+    final static double[] DOUBLES = new double[1024];
+
+    final static long[] LONGS1 = new long[1024];
+
+    final static long[] LONGS2 = new long[1024];
+
+    static {
+        for (int i = 0; i < INTS.length; i++) {
+            INTS[i] = i * 7919;
+            DOUBLES[i] = i / 3.0d;
+            LONGS1[i] = i * 104729L;
+            LONGS2[i] = i * 104729L;
+        }
+    }
+
+    public static void main(String[] args) {
+        new HashCodeBuilderPerfRun().run();
+    }
+
+    private void printSysInfo() {
+        System.out.println(VERSION);
+        System.out.println("Now: " + Calendar.getInstance().getTime());
+        System.out.println(System.getProperty("java.vendor")
+                + " "
+                + System.getProperty("java.runtime.name")
+                + " "
+                + System.getProperty("java.runtime.version"));
+        System.out.println(System.getProperty("java.vm.vendor")
+                + " "
+                + System.getProperty("java.vm.name")
+                + " "
+                + System.getProperty("java.vm.version"));
+        System.out.println(System.getProperty("os.name")
+            + " "
+            + System.getProperty("os.version")
+            + " "
+            + System.getProperty("os.arch"));
+    }
+
+    private void run() {
+        this.printSysInfo();
+        long start;
+        run_HashCodeBuilder_intArray(WARM_UP);
+        start = System.currentTimeMillis();
+        run_HashCodeBuilder_intArray(COUNT);
+        this.printlnTotal("run_HashCodeBuilder_intArray", start);
+        run_Arrays_hashCode_intArray(WARM_UP);
+        start = System.currentTimeMillis();
+        run_Arrays_hashCode_intArray(COUNT);
+        this.printlnTotal("run_Arrays_hashCode_intArray", start);
+        run_HashCodeBuilder_doubleArray(WARM_UP);
+        start = System.currentTimeMillis();
+        run_HashCodeBuilder_doubleArray(COUNT);
+        this.printlnTotal("run_HashCodeBuilder_doubleArray", start);
+        run_Arrays_hashCode_doubleArray(WARM_UP);
+        start = System.currentTimeMillis();
+        run_Arrays_hashCode_doubleArray(COUNT);
+        this.printlnTotal("run_Arrays_hashCode_doubleArray", start);
+        run_EqualsBuilder_longArray(WARM_UP);
+        start = System.currentTimeMillis();
+        run_EqualsBuilder_longArray(COUNT);
+        this.printlnTotal("run_EqualsBuilder_longArray", start);
+        run_Arrays_equals_longArray(WARM_UP);
+        start = System.currentTimeMillis();
+        run_Arrays_equals_longArray(COUNT);
+        this.printlnTotal("run_Arrays_equals_longArray", start);
+    }
+
+    private int run_HashCodeBuilder_intArray(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            t += new HashCodeBuilder().append(INTS).toHashCode();
+        }
+        return t;
+    }
+
+    private int run_Arrays_hashCode_intArray(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            t += Arrays.hashCode(INTS);
+        }
+        return t;
+    }
+
+    private int run_HashCodeBuilder_doubleArray(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            t += new HashCodeBuilder().append(DOUBLES).toHashCode();
+        }
+        return t;
+    }
+
+    private int run_Arrays_hashCode_doubleArray(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            t += Arrays.hashCode(DOUBLES);
+        }
+        return t;
+    }
+
+    private int run_EqualsBuilder_longArray(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            if (new EqualsBuilder().append(LONGS1, LONGS2).isEquals()) {
+                t++;
+            }
+        }
+        return t;
+    }
+
+    private int run_Arrays_equals_longArray(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            if (Arrays.equals(LONGS1, LONGS2)) {
+                t++;
+            }
+        }
+        return t;
+    }
+
+    private void printlnTotal(String prefix, long start) {
+        long total = System.currentTimeMillis() - start;
+        System.out.println(prefix + ": " + NumberFormat.getInstance().format(total) + " milliseconds.");
+    }
+}
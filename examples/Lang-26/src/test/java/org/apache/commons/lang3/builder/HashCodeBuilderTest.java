@@ -17,6 +17,8 @@
 
 package org.apache.commons.lang3.builder;
 
+import java.util.Arrays;
+
 import junit.framework.TestCase;
 
 /**
@@ -466,6 +468,70 @@ public class HashCodeBuilderTest extends TestCase {
         assertEquals((((17 * 37 + 0) * 37 + 1) * 37 + 1), new HashCodeBuilder(17, 37).append(obj).toHashCode());
     }
 
+    public void testArraysMatchElementByElement() {
+        // lengths either side of the four element unrolled loop
+        for (int length = 0; length <= 9; length++) {
+            long[] longs = new long[length];
+            int[] ints = new int[length];
+            short[] shorts = new short[length];
+            char[] chars = new char[length];
+            byte[] bytes = new byte[length];
+            double[] doubles = new double[length];
+            float[] floats = new float[length];
+            boolean[] booleans = new boolean[length];
+            HashCodeBuilder expected = new HashCodeBuilder(19, 41);
+            for (int i = 0; i < length; i++) {
+                longs[i] = (i + 1) * 0x123456789L * (i % 2 == 0 ? 1 : -1);
+                ints[i] = (i + 3) * 0x12345 * (i % 3 == 0 ? 1 : -1);
+                shorts[i] = (short) (i * 1000 - 3000);
+                chars[i] = (char) ('a' + i);
+                bytes[i] = (byte) (i * 31 - 100);
+                doubles[i] = i == 5 ? Double.NaN : (i - 4) * 1.5d;
+                floats[i] = i == 6 ? -0.0f : (i - 4) * 2.5f;
+                booleans[i] = i % 3 == 1;
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(longs[i]);
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(ints[i]);
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(shorts[i]);
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(chars[i]);
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(bytes[i]);
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(doubles[i]);
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(floats[i]);
+            }
+            for (int i = 0; i < length; i++) {
+                expected.append(booleans[i]);
+            }
+            HashCodeBuilder actual = new HashCodeBuilder(19, 41)
+                .append(longs).append(ints).append(shorts).append(chars)
+                .append(bytes).append(doubles).append(floats).append(booleans);
+            assertEquals("length " + length, expected.toHashCode(), actual.toHashCode());
+            Object[] asObjects = new Object[] {longs, ints, shorts, chars, bytes, doubles, floats, booleans};
+            HashCodeBuilder dispatched = new HashCodeBuilder(19, 41);
+            for (Object array : asObjects) {
+                dispatched.append(array);
+            }
+            assertEquals("length " + length, expected.toHashCode(), dispatched.toHashCode());
+        }
+    }
+
+    public void testIntArrayLikeArraysHashCode() {
+        int[] array = new int[] {3, -7, 11, 1 << 30, 0, 42, -1};
+        assertEquals(Arrays.hashCode(array), new HashCodeBuilder(1, 31).append(array).toHashCode());
+    }
+
     public void testReflectionHashCodeExcludeFields() throws Exception {
         TestObjectWithMultipleFields x = new TestObjectWithMultipleFields(1, 2, 3);
 
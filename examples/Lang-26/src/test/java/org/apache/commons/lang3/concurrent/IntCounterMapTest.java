@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link IntCounterMap}.
+ *
+ * @version $Id$
+ */
+public class IntCounterMapTest {
+    /**
+     * Tests counting and reading keys.
+     */
+    @Test
+    public void testCounting() {
+        IntCounterMap map = new IntCounterMap();
+        assertEquals(0, map.size());
+        assertEquals(0L, map.get(5));
+        assertFalse(map.containsKey(5));
+        assertEquals(0, map.size());
+
+        map.increment(5);
+        map.increment(5);
+        map.add(-3, 10);
+        map.increment(0);
+        assertEquals(2L, map.get(5));
+        assertEquals(10L, map.get(-3));
+        assertEquals(1L, map.get(0));
+        assertTrue(map.containsKey(0));
+        assertEquals(3, map.size());
+        assertEquals(13L, map.total());
+        assertArrayEquals(new int[] {-3, 0, 5}, map.keys());
+        assertEquals("{-3=10, 0=1, 5=2}", map.toString());
+        assertSame(map.getCounter(5), map.getCounter(5));
+
+        map.reset();
+        assertEquals(3, map.size());
+        assertEquals(0L, map.total());
+    }
+
+    /**
+     * Tests that the tables grow, with one segment.
+     */
+    @Test
+    public void testGrowth() {
+        IntCounterMap map = new IntCounterMap(1);
+        for (int i = 0; i < 1000; i++) {
+            map.add(i * 64, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(i * 64));
+        }
+        Map<Integer, Long> snapshot = map.snapshot();
+        assertEquals(1000, snapshot.size());
+        assertEquals(Long.valueOf(999), snapshot.get(Integer.valueOf(999 * 64)));
+    }
+
+    /**
+     * Tests an invalid concurrency level.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConcurrencyLevel() {
+        new IntCounterMap(0);
+    }
+
+    /**
+     * Tests that no key or update is lost when threads add keys concurrently.
+     */
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        final IntCounterMap map = new IntCounterMap(4);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 20000; j++) {
+                        map.increment(j % 500);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(500, map.size());
+        assertEquals(8L * 20000, map.total());
+        for (int key = 0; key < 500; key++) {
+            assertEquals(8L * 40, map.get(key));
+        }
+    }
+}
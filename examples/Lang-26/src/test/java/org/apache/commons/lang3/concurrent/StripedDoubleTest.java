@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+/**
+ * Test class for {@link StripedDouble}.
+ *
+ * @version $Id$
+ */
+public class StripedDoubleTest {
+    /**
+     * Tests the constructors.
+     */
+    @Test
+    public void testConstructors() {
+        assertEquals(0d, new StripedDouble().doubleValue(), 0d);
+        assertEquals(1.5d, new StripedDouble(1.5d).doubleValue(), 0d);
+        assertEquals(2d, new StripedDouble(Integer.valueOf(2)).doubleValue(), 0d);
+        assertEquals(3.25d, new StripedDouble("3.25").doubleValue(), 0d);
+        try {
+            new StripedDouble((Number) null);
+            fail();
+        } catch (NullPointerException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests the operations shared with MutableDouble.
+     */
+    @Test
+    public void testOperations() {
+        StripedDouble sum = new StripedDouble(10d);
+        sum.increment();
+        sum.decrement();
+        sum.add(0.5d);
+        sum.add(Integer.valueOf(2));
+        sum.subtract(1d);
+        sum.subtract(Double.valueOf(0.25d));
+        assertEquals(Double.valueOf(11.25d), sum.getValue());
+        assertEquals(Double.valueOf(11.25d), sum.toDouble());
+        assertEquals(11, sum.intValue());
+        assertEquals(11L, sum.longValue());
+        assertEquals(11.25f, sum.floatValue(), 0f);
+        assertEquals("11.25", sum.toString());
+
+        sum.setValue(-1d);
+        assertEquals(-1d, sum.doubleValue(), 0d);
+        sum.setValue(Double.valueOf(2d));
+        assertEquals(2d, sum.getAndReset(), 0d);
+        assertEquals(0d, sum.doubleValue(), 0d);
+        sum.add(Double.NaN);
+        assertTrue(sum.isNaN());
+        sum.reset();
+        assertFalse(sum.isNaN());
+        sum.add(Double.POSITIVE_INFINITY);
+        assertTrue(sum.isInfinite());
+    }
+
+    /**
+     * Tests that no update is lost under contention.
+     */
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        final StripedDouble sum = new StripedDouble();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        sum.add(0.5d);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // halves sum exactly in any order
+        assertEquals(40000d, sum.doubleValue(), 0d);
+    }
+
+    /**
+     * Tests that serialization keeps the value.
+     */
+    @Test
+    public void testSerialization() {
+        StripedDouble copy = (StripedDouble) SerializationUtils.clone(new StripedDouble(4.5d));
+        assertEquals(4.5d, copy.doubleValue(), 0d);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+/**
+ * Test class for {@link StripedLong}.
+ *
+ * @version $Id$
+ */
+public class StripedLongTest {
+    /** The number of threads updating concurrently. */
+    private static final int THREADS = 8;
+    /** The number of updates by each thread. */
+    private static final int UPDATES = 20000;
+
+    /**
+     * Tests the constructors.
+     */
+    @Test
+    public void testConstructors() {
+        assertEquals(0L, new StripedLong().longValue());
+        assertEquals(1L, new StripedLong(1).longValue());
+        assertEquals(2L, new StripedLong(Long.valueOf(2)).longValue());
+        assertEquals(3L, new StripedLong("3").longValue());
+        try {
+            new StripedLong((Number) null);
+            fail();
+        } catch (NullPointerException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests the operations shared with MutableLong.
+     */
+    @Test
+    public void testOperations() {
+        StripedLong counter = new StripedLong(10);
+        counter.increment();
+        assertEquals(11L, counter.longValue());
+        counter.decrement();
+        counter.add(5);
+        counter.add(Integer.valueOf(5));
+        assertEquals(20L, counter.longValue());
+        counter.subtract(3);
+        counter.subtract(Long.valueOf(2));
+        assertEquals(Long.valueOf(15), counter.getValue());
+        assertEquals(Long.valueOf(15), counter.toLong());
+        assertEquals(15, counter.intValue());
+        assertEquals(15f, counter.floatValue(), 0f);
+        assertEquals(15d, counter.doubleValue(), 0d);
+        assertEquals("15", counter.toString());
+
+        counter.setValue(7);
+        assertEquals(7L, counter.longValue());
+        counter.setValue(Long.valueOf(8));
+        assertEquals(8L, counter.longValue());
+        assertEquals(8L, counter.getAndReset());
+        assertEquals(0L, counter.longValue());
+        counter.add(4);
+        counter.reset();
+        assertEquals(0L, counter.longValue());
+    }
+
+    /**
+     * Tests that equality is by identity, as the value changes.
+     */
+    @Test
+    public void testEqualsIsIdentity() {
+        assertFalse(new StripedLong(1).equals(new StripedLong(1)));
+    }
+
+    /**
+     * Tests that no update is lost under contention.
+     */
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        final StripedLong counter = new StripedLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    for (int j = 0; j < UPDATES; j++) {
+                        counter.increment();
+                        counter.add(2);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(3L * THREADS * UPDATES, counter.longValue());
+        assertEquals(3L * THREADS * UPDATES, counter.getAndReset());
+        assertEquals(0L, counter.longValue());
+    }
+
+    /**
+     * Tests that serialization keeps the value.
+     */
+    @Test
+    public void testSerialization() {
+        StripedLong counter = new StripedLong(42);
+        StripedLong copy = (StripedLong) SerializationUtils.clone(counter);
+        assertEquals(42L, copy.longValue());
+        copy.increment();
+        assertEquals(43L, copy.longValue());
+    }
+}
@@ -22,10 +22,13 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.List;
 
 import junit.framework.TestCase;
 
+import org.apache.commons.lang3.SystemUtils;
+
 /**
  * Tests {@link org.apache.commons.lang3.exception.ExceptionUtils}.
  * 
@@ -439,6 +442,104 @@ public class ExceptionUtilsTest extends TestCase {
         }
     }
 
+    public void testRemoveCommonElements() throws Exception {
+        try {
+            ExceptionUtils.removeCommonElements(null, new StackTraceElement[0]);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        StackTraceElement a = new StackTraceElement("A", "a", "A.java", 1);
+        StackTraceElement b = new StackTraceElement("B", "b", "B.java", 2);
+        StackTraceElement c = new StackTraceElement("C", "c", "C.java", 3);
+        StackTraceElement d = new StackTraceElement("D", "d", "D.java", 4);
+        StackTraceElement[] cause = {a, b, c, d};
+        assertSame(cause, ExceptionUtils.removeCommonElements(cause, new StackTraceElement[] {d, c}));
+        assertEquals(Arrays.asList(a, b), Arrays.asList(ExceptionUtils.removeCommonElements(cause,
+                new StackTraceElement[] {c, d})));
+        // aligned from the end, matching the List version
+        assertEquals(Arrays.asList(c), Arrays.asList(ExceptionUtils.removeCommonElements(cause,
+                new StackTraceElement[] {d, a, b, a, d})));
+        assertEquals(0, ExceptionUtils.removeCommonElements(cause, new StackTraceElement[] {d, a, b, c, d}).length);
+
+        Throwable withCause = createExceptionWithCause();
+        List<String> causeFrames = ExceptionUtils.getStackFrameList(withCause.getCause());
+        ExceptionUtils.removeCommonFrames(causeFrames, ExceptionUtils.getStackFrameList(withCause));
+        StackTraceElement[] causeTrace = ExceptionUtils.removeCommonElements(withCause.getCause().getStackTrace(),
+                withCause.getStackTrace());
+        assertEquals(causeFrames.size(), causeTrace.length);
+        for (int i = 0; i < causeTrace.length; i++) {
+            assertEquals("\tat " + causeTrace[i], causeFrames.get(i));
+        }
+    }
+
+    public void testAppendRootCauseStackTrace() throws Exception {
+        StringBuilder buffer = new StringBuilder();
+        ExceptionUtils.appendRootCauseStackTrace(null, buffer, -1);
+        assertEquals(0, buffer.length());
+        try {
+            ExceptionUtils.appendRootCauseStackTrace(withCause, null, -1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+
+        Throwable[] throwables = {createExceptionWithCause(), withoutCause, withCause, jdkNoCause, cyclicCause};
+        for (Throwable throwable : throwables) {
+            buffer.setLength(0);
+            ExceptionUtils.appendRootCauseStackTrace(throwable, buffer, -1);
+            StringBuilder expected = new StringBuilder();
+            for (String frame : ExceptionUtils.getRootCauseStackTrace(throwable)) {
+                expected.append(frame).append(SystemUtils.LINE_SEPARATOR);
+            }
+            assertEquals(expected.toString(), buffer.toString());
+        }
+
+        Throwable throwable = createExceptionWithCause();
+        StringWriter writer = new StringWriter();
+        ExceptionUtils.appendRootCauseStackTrace(throwable, writer, 0);
+        String[] lines = writer.toString().split(SystemUtils.LINE_SEPARATOR);
+        assertEquals(ExceptionUtils.getRootCauseStackTrace(throwable)[0], lines[0]);
+        int wrapped = 0;
+        for (String line : lines) {
+            assertTrue(line, line.startsWith("\t... ") || !line.startsWith("\t"));
+            if (line.startsWith(ExceptionUtils.WRAPPED_MARKER)) {
+                wrapped++;
+            }
+        }
+        assertEquals(2, wrapped);
+
+        buffer.setLength(0);
+        ExceptionUtils.appendRootCauseStackTrace(jdkNoCause, buffer, 0);
+        assertEquals(jdkNoCause.toString() + SystemUtils.LINE_SEPARATOR + "\t... "
+                + jdkNoCause.getStackTrace().length + " more" + SystemUtils.LINE_SEPARATOR, buffer.toString());
+    }
+
+    private static Throwable createIllegalState(String message) {
+        return new IllegalStateException(message);
+    }
+
+    public void testGetStackTraceFingerprint() {
+        assertEquals(0L, ExceptionUtils.getStackTraceFingerprint(null));
+        Throwable[] first = new Throwable[2];
+        for (int i = 0; i < 2; i++) {
+            // same place, different messages
+            first[i] = createIllegalState("message " + i);
+        }
+        Throwable second = createIllegalState("other");
+        assertEquals(ExceptionUtils.getStackTraceFingerprint(first[0]),
+                ExceptionUtils.getStackTraceFingerprint(first[1]));
+        assertFalse(ExceptionUtils.getStackTraceFingerprint(first[0])
+                == ExceptionUtils.getStackTraceFingerprint(second));
+        // the innermost frame is shared, the caller differs
+        assertEquals(ExceptionUtils.getStackTraceFingerprint(first[0], 1),
+                ExceptionUtils.getStackTraceFingerprint(second, 1));
+        assertFalse(ExceptionUtils.getStackTraceFingerprint(first[0], 0)
+                == ExceptionUtils.getStackTraceFingerprint(new IllegalArgumentException(), 0));
+        assertFalse(ExceptionUtils.getStackTraceFingerprint(new ExceptionWithCause(first[0]))
+                == ExceptionUtils.getStackTraceFingerprint(new ExceptionWithCause(second)));
+        assertEquals(ExceptionUtils.getStackTraceFingerprint(cyclicCause),
+                ExceptionUtils.getStackTraceFingerprint(cyclicCause));
+    }
+
     public void test_getMessage_Throwable() {
         Throwable th = null;
         assertEquals("", ExceptionUtils.getMessage(th));
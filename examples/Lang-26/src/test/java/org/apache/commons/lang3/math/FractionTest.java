@@ -1335,4 +1335,38 @@ public class FractionTest extends TestCase {
 
         assertEquals("-1", Fraction.getFraction(-1).toProperString());
     }
+
+    public void testInterned() {
+        assertSame(Fraction.ONE_HALF, Fraction.getFraction(1, 2));
+        assertSame(Fraction.ONE_HALF, Fraction.getFraction(-1, -2));
+        assertSame(Fraction.TWO_QUARTERS, Fraction.getFraction(2, 4));
+        assertSame(Fraction.ONE_HALF, Fraction.getReducedFraction(2, 4));
+        assertSame(Fraction.ZERO, Fraction.getFraction(0, 1));
+        assertSame(Fraction.getFraction(3, 8), Fraction.getFraction(3, 8));
+        assertSame(Fraction.getFraction(3, 8), Fraction.getFraction(1, 8).add(Fraction.ONE_QUARTER));
+        assertEquals(3, Fraction.getFraction(3, 8).getNumerator());
+        assertEquals(8, Fraction.getFraction(3, 8).getDenominator());
+        
+        // outside the interned range
+        assertNotSame(Fraction.getFraction(3, 17), Fraction.getFraction(3, 17));
+        assertNotSame(Fraction.getFraction(-1, 2), Fraction.getFraction(-1, 2));
+        assertNotSame(Fraction.getFraction(3, 2), Fraction.getFraction(3, 2));
+    }
+    
+    public void testFactory_String_cached() {
+        Fraction f = Fraction.getFraction("7/11");
+        assertSame(f, Fraction.getFraction("7/11"));
+        assertEquals(7, f.getNumerator());
+        assertEquals(11, f.getDenominator());
+        assertSame(Fraction.ONE_HALF, Fraction.getFraction("1/2"));
+        
+        try {
+            Fraction.getFraction("1/0");
+            fail("expecting ArithmeticException");
+        } catch (ArithmeticException ex) {}
+        try {
+            Fraction.getFraction("1/0");
+            fail("expecting ArithmeticException");
+        } catch (ArithmeticException ex) {}
+    }
 }
@@ -20,6 +20,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.text.ParsePosition;
 
 import junit.framework.TestCase;
 
@@ -216,6 +217,71 @@ public class NumberUtilsTest extends TestCase {
         assertFalse("createNumber(String) succeeded", checkCreateNumber("1eE"));
     }
 
+    public void testCreateNumberOctal() {
+        assertEquals(Integer.valueOf(0777), NumberUtils.createNumber("0777"));
+        assertEquals(Integer.valueOf(-0777), NumberUtils.createNumber("-0777"));
+        // not octal, so createLong parses it as decimal
+        assertEquals(Long.valueOf(8), NumberUtils.createNumber("08"));
+        assertEquals(Long.valueOf(9), NumberUtils.createNumber("09L"));
+    }
+
+    public void testParseNumber() {
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(Integer.valueOf(12), NumberUtils.parseNumber("12,-3.5e2f,0x1F,99999999999,1.5L", pos));
+        assertEquals(2, pos.getIndex());
+        pos.setIndex(3);
+        assertEquals(Float.valueOf(-350f), NumberUtils.parseNumber("12,-3.5e2f,0x1F,99999999999,1.5L", pos));
+        assertEquals(10, pos.getIndex());
+        pos.setIndex(11);
+        assertEquals(Integer.valueOf(0x1F), NumberUtils.parseNumber("12,-3.5e2f,0x1F,99999999999,1.5L", pos));
+        assertEquals(15, pos.getIndex());
+        pos.setIndex(16);
+        assertEquals(Long.valueOf(99999999999L), NumberUtils.parseNumber("12,-3.5e2f,0x1F,99999999999,1.5L", pos));
+        assertEquals(27, pos.getIndex());
+        pos.setIndex(28);
+        // the qualifier is not consumed as it is not valid for a decimal
+        assertEquals(Float.valueOf(1.5f), NumberUtils.parseNumber("12,-3.5e2f,0x1F,99999999999,1.5L", pos));
+        assertEquals(31, pos.getIndex());
+        assertEquals(-1, pos.getErrorIndex());
+    }
+
+    public void testParseNumberRange() {
+        StringBuilder buf = new StringBuilder("x123456789");
+        ParsePosition pos = new ParsePosition(1);
+        assertEquals(Integer.valueOf(123), NumberUtils.parseNumber(buf, pos, 4));
+        assertEquals(4, pos.getIndex());
+        assertEquals(Integer.valueOf(456789), NumberUtils.parseNumber(buf, pos, 100));
+        assertEquals(10, pos.getIndex());
+    }
+
+    public void testParseNumberFailure() {
+        ParsePosition pos = new ParsePosition(0);
+        assertNull(NumberUtils.parseNumber(null, pos));
+        assertEquals(0, pos.getErrorIndex());
+        String[] invalid = {"", "-", ".", "-.", "e5", "x", "--1", "+1", " 1", "0x80000000"};
+        for (String str : invalid) {
+            pos = new ParsePosition(0);
+            assertNull(str, NumberUtils.parseNumber(str, pos));
+            assertEquals(str, 0, pos.getIndex());
+            assertEquals(str, 0, pos.getErrorIndex());
+        }
+        pos = new ParsePosition(2);
+        assertNull(NumberUtils.parseNumber("1", pos));
+        assertEquals(2, pos.getErrorIndex());
+    }
+
+    public void testParseNumberMatchesCreateNumber() {
+        String[] values = {"0", "-0", "1", "00", "0777", "08", "2147483647", "2147483648", "-2147483648",
+            "-2147483649", "9223372036854775807", "9223372036854775808", "12345678901234567890", "0x7FFFFFFF",
+            "-0x80000000", "1L", "09L", "12345678901234567890L", "1f", "0f", "1d", "0d", "2.", ".5", "-.5", "1.5",
+            "0.000", "1e5", "1E-5", "1e+5", "1.1E200", "1.1E-700", "1.1E-700F", "1.5D", "-0.0f", "1e400"};
+        for (String str : values) {
+            ParsePosition pos = new ParsePosition(0);
+            assertEquals(str, NumberUtils.createNumber(str), NumberUtils.parseNumber(str, pos));
+            assertEquals(str, str.length(), pos.getIndex());
+        }
+    }
+
     public void testCreateFloat() {
         assertEquals("createFloat(String) failed", new Float("1234.5"), NumberUtils.createFloat("1234.5"));
         assertEquals("createFloat(null) failed", null, NumberUtils.createFloat(null));
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.mutable;
+
+import junit.framework.TestCase;
+
+import org.apache.commons.lang3.math.Fraction;
+
+/**
+ * JUnit tests.
+ *
+ * @version $Id$
+ * @see MutableFraction
+ */
+public class MutableFractionTest extends TestCase {
+
+    public MutableFractionTest(String testName) {
+        super(testName);
+    }
+
+    // ----------------------------------------------------------------
+    public void testConstructors() {
+        assertEquals(0, new MutableFraction().getNumerator());
+        assertEquals(1, new MutableFraction().getDenominator());
+
+        MutableFraction f = new MutableFraction(2, -4);
+        assertEquals(-2, f.getNumerator());
+        assertEquals(4, f.getDenominator());
+
+        f = new MutableFraction(Fraction.getFraction(3, 5));
+        assertEquals(3, f.getNumerator());
+        assertEquals(5, f.getDenominator());
+
+        f = new MutableFraction(Long.valueOf(7));
+        assertEquals(7, f.getNumerator());
+        assertEquals(1, f.getDenominator());
+
+        assertEquals("7/3", new MutableFraction("2 1/3").toString());
+
+        try {
+            new MutableFraction(1, 0);
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            new MutableFraction(Long.MIN_VALUE, -1);
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            new MutableFraction((Number) null);
+            fail();
+        } catch (NullPointerException ex) {}
+    }
+
+    public void testGetSet() {
+        MutableFraction f = new MutableFraction();
+        f.setValue(6, 8);
+        assertEquals(6, f.getNumerator());
+        assertEquals(8, f.getDenominator());
+        assertEquals(Fraction.getFraction(3, 4), f.getValue());
+
+        f.setValue(new MutableFraction(1, 3));
+        assertEquals(1, f.getNumerator());
+        assertEquals(3, f.getDenominator());
+
+        f.setValue(Double.valueOf(2.9d));
+        assertEquals(2, f.getNumerator());
+        assertEquals(1, f.getDenominator());
+    }
+
+    public void testAdd() {
+        MutableFraction f = new MutableFraction();
+        f.add(1, 4);
+        f.add(1, 4);
+        assertEquals(2, f.getNumerator());
+        assertEquals(4, f.getDenominator());
+        f.add(1, 2);
+        assertEquals(4, f.getNumerator());
+        assertEquals(4, f.getDenominator());
+        f.add(1, 8);
+        assertEquals(9, f.getNumerator());
+        assertEquals(8, f.getDenominator());
+        f.add(Fraction.getFraction(1, 3));
+        assertEquals(35, f.getNumerator());
+        assertEquals(24, f.getDenominator());
+        f.add(-1, -24);
+        assertEquals("3/2", f.toString());
+
+        try {
+            f.add(1, 0);
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            f.add(null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testAddManyWithoutOverflow() {
+        MutableFraction f = new MutableFraction();
+        for (int i = 1; i <= 100; i++) {
+            f.add(1, i * (i + 1));
+        }
+        // telescoping sum of 1/i - 1/(i+1)
+        assertEquals(Fraction.getFraction(100, 101), f.toFraction());
+
+        f = new MutableFraction();
+        for (int i = 0; i < 1000000; i++) {
+            f.add(3, 10);
+        }
+        assertEquals(3000000, f.getNumerator());
+        assertEquals(10, f.getDenominator());
+    }
+
+    public void testAddReducesOnOverflow() {
+        long prime1 = 2147483647L;
+        long prime2 = 2147483629L;
+        MutableFraction f = new MutableFraction(1, prime1 * prime2);
+        f.add(1, prime1 * prime2);
+        assertEquals(2, f.getNumerator());
+        assertEquals(prime1 * prime2, f.getDenominator());
+        f.add(prime1 - 2, prime1 * prime2);
+        assertEquals(prime1, f.getNumerator());
+        assertEquals("1/" + prime2, f.toString());
+
+        // the product of the denominators overflows, so the sum is reduced
+        f = new MutableFraction(1, prime1 * prime2);
+        f.add(1, 2 * prime1);
+        assertEquals(prime2 + 2, f.getNumerator());
+        assertEquals(2 * prime1 * prime2, f.getDenominator());
+
+        f = new MutableFraction(Long.MAX_VALUE, 2);
+        try {
+            f.add(Long.MAX_VALUE, 3);
+            fail();
+        } catch (ArithmeticException ex) {}
+        assertEquals(Long.MAX_VALUE, f.getNumerator());
+        assertEquals(2, f.getDenominator());
+
+        f = new MutableFraction(1, 1);
+        f.add(Long.MIN_VALUE, -2);
+        assertEquals("4611686018427387905/1", f.toString());
+        f.subtract(Long.MIN_VALUE, -2);
+        assertEquals(new MutableFraction(1, 1), f);
+    }
+
+    public void testSubtract() {
+        MutableFraction f = new MutableFraction(1, 2);
+        f.subtract(1, 3);
+        assertEquals("1/6", f.toString());
+        f.subtract(Fraction.ONE_HALF);
+        assertEquals("-1/3", f.toString());
+
+        f = new MutableFraction(0, 1);
+        f.subtract(Long.MIN_VALUE + 1, 1);
+        assertEquals(Long.MAX_VALUE, f.getNumerator());
+        try {
+            f.subtract(Long.MIN_VALUE, 1);
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            f.subtract(null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testMultiplyDivide() {
+        MutableFraction f = new MutableFraction(2, 3);
+        f.multiplyBy(3, 4);
+        assertEquals(6, f.getNumerator());
+        assertEquals(12, f.getDenominator());
+        f.multiplyBy(-1, 2);
+        assertEquals("-1/4", f.toString());
+        f.divideBy(Fraction.getFraction(-1, 8));
+        assertEquals("2/1", f.toString());
+        f.multiplyBy(0, 5);
+        assertEquals(0, f.getNumerator());
+        assertEquals(1, f.getDenominator());
+
+        f = new MutableFraction(Long.MAX_VALUE, 3);
+        f.multiplyBy(3, Long.MAX_VALUE);
+        assertEquals("1/1", f.toString());
+
+        f = new MutableFraction(Long.MAX_VALUE, 1);
+        try {
+            f.multiplyBy(2, 1);
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            f.divideBy(0, 1);
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            f.multiplyBy(1, 0);
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            f.divideBy(null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        assertEquals(Long.MAX_VALUE, f.getNumerator());
+    }
+
+    public void testReduce() {
+        MutableFraction f = new MutableFraction(-12, 18);
+        f.reduce();
+        assertEquals(-2, f.getNumerator());
+        assertEquals(3, f.getDenominator());
+
+        f = new MutableFraction(0, 5);
+        f.reduce();
+        assertEquals(0, f.getNumerator());
+        assertEquals(1, f.getDenominator());
+
+        f = new MutableFraction(Long.MIN_VALUE, 2);
+        f.reduce();
+        assertEquals(Long.MIN_VALUE / 2, f.getNumerator());
+        assertEquals(1, f.getDenominator());
+    }
+
+    public void testToFraction() {
+        assertSame(Fraction.ONE_HALF, new MutableFraction(4, 8).toFraction());
+        assertEquals(Fraction.getFraction(Integer.MIN_VALUE, 1), new MutableFraction(Integer.MIN_VALUE, 1).toFraction());
+        try {
+            new MutableFraction(1L + Integer.MAX_VALUE, 1).toFraction();
+            fail();
+        } catch (ArithmeticException ex) {}
+        try {
+            new MutableFraction(1, 1L + Integer.MAX_VALUE).getValue();
+            fail();
+        } catch (ArithmeticException ex) {}
+    }
+
+    public void testEqualsHashCodeCompareTo() {
+        MutableFraction f1 = new MutableFraction(1, 2);
+        MutableFraction f2 = new MutableFraction(2, 4);
+        MutableFraction f3 = new MutableFraction(2, 3);
+        assertTrue(f1.equals(f1));
+        assertTrue(f1.equals(f2));
+        assertTrue(f2.equals(f1));
+        assertFalse(f1.equals(f3));
+        assertFalse(f1.equals(null));
+        assertFalse(f1.equals(Fraction.ONE_HALF));
+        assertEquals(f1.hashCode(), f2.hashCode());
+        assertFalse(f1.hashCode() == f3.hashCode());
+        assertEquals(2, f2.getNumerator());
+
+        assertEquals(0, f1.compareTo(f2));
+        assertEquals(-1, f1.compareTo(f3));
+        assertEquals(1, f3.compareTo(f1));
+        assertEquals(1, new MutableFraction(Long.MAX_VALUE, 3).compareTo(new MutableFraction(Long.MAX_VALUE - 1, 3)));
+        assertEquals(-1, new MutableFraction(Long.MAX_VALUE - 1, Long.MAX_VALUE).compareTo(
+                new MutableFraction(Long.MAX_VALUE, Long.MAX_VALUE - 1)));
+    }
+
+    public void testPrimitiveValues() {
+        MutableFraction f = new MutableFraction(-7, 2);
+        assertEquals(-3, f.intValue());
+        assertEquals(-3L, f.longValue());
+        assertEquals(-3.5d, f.doubleValue(), 0d);
+        assertEquals(-3.5f, f.floatValue(), 0f);
+        assertEquals((short) -3, f.shortValue());
+        assertEquals((byte) -3, f.byteValue());
+    }
+
+    public void testToString() {
+        assertEquals("0/1", new MutableFraction().toString());
+        assertEquals("-5/3", new MutableFraction(10, -6).toString());
+        assertEquals(Long.MIN_VALUE + "/1", new MutableFraction(Long.MIN_VALUE, 1).toString());
+    }
+
+}
@@ -503,6 +503,26 @@ public class TypeUtilsTest<B> {
         Assert.assertEquals(String.class, typeVarAssigns.get(AAClass.BBClass.class.getTypeParameters()[0]));
     }
 
+    @Test
+    public void testGetTypeArgumentsCached() throws SecurityException, NoSuchFieldException {
+        Type iterableType = getClass().getField("iterable").getGenericType();
+        Map<TypeVariable<?>, Type> first = TypeUtils.getTypeArguments(iterableType, Iterable.class);
+        Map<TypeVariable<?>, Type> second = TypeUtils.getTypeArguments(iterableType, Iterable.class);
+        Assert.assertEquals(first, second);
+        Assert.assertNotSame(first, second);
+        // the results are copies, so may be modified without affecting later calls
+        first.clear();
+        Assert.assertEquals(second, TypeUtils.getTypeArguments(iterableType, Iterable.class));
+        Assert.assertNull(TypeUtils.getTypeArguments(iterableType, Map.class));
+        Assert.assertNull(TypeUtils.getTypeArguments(iterableType, Map.class));
+
+        Type uriComparableType = getClass().getField("uriComparable").getGenericType();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(TypeUtils.isAssignable(iterableType, Iterable.class));
+            Assert.assertFalse(TypeUtils.isAssignable(Integer.class, uriComparableType));
+        }
+    }
+
     @Test
     public void testTypesSatisfyVariables() throws SecurityException, NoSuchFieldException,
             NoSuchMethodException {
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text;
+
+import java.io.StringWriter;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link CompiledMessageFormat}.
+ *
+ * @version $Id$
+ */
+public class CompiledMessageFormatTest extends TestCase {
+
+    private static final String[] PATTERNS = {
+        "",
+        "no elements",
+        "{0}",
+        "Hello {0}, you have {1} items",
+        "it''s a {0,upper} 'test' {1}!",
+        "'#'{0} {1,number,#.##} {2,date,short} {2,time,long}",
+        "{1} then {0} then {1}",
+        "Upper: {0 , upper} Lower: {1,lower}",
+        "There {0,choice,0#are no files|1#is one file|1<are {0,number,integer} files}.",
+        "{0,choice,0#'{'none'}'|1#'' {1}}",
+        "{0,number,percent} {0,number,integer} {0,number,currency}",
+        "{3} out of range",
+    };
+
+    private final Map<String, FormatFactory> registry = new HashMap<String, FormatFactory>();
+    private Object[] arguments;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        registry.put("upper", new CaseFormatFactory());
+        registry.put("lower", new CaseFormatFactory());
+        Calendar cal = Calendar.getInstance();
+        cal.set(2010, Calendar.MARCH, 4, 5, 6, 7);
+        arguments = new Object[] {Integer.valueOf(3), "Bob", cal.getTime()};
+    }
+
+    //-----------------------------------------------------------------------
+    public void testMatchesExtendedMessageFormat() {
+        Locale[] locales = {Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("ar", "EG")};
+        Object[][] argumentSets = {
+            arguments,
+            {Integer.valueOf(0), null, new Object()},
+            {Double.valueOf(1.5), Long.valueOf(123456789L), arguments[2]},
+            {Integer.valueOf(1)},
+            {},
+            null,
+        };
+        for (String pattern : PATTERNS) {
+            for (Locale locale : locales) {
+                CompiledMessageFormat compiled = CompiledMessageFormat.compile(pattern, locale, registry);
+                ExtendedMessageFormat emf = new ExtendedMessageFormat(pattern, locale, registry);
+                assertEquals(emf.toPattern(), compiled.getPattern());
+                for (Object[] args : argumentSets) {
+                    String expected;
+                    try {
+                        expected = emf.format(args);
+                    } catch (IllegalArgumentException ex) {
+                        try {
+                            compiled.format(args);
+                            fail(pattern);
+                        } catch (IllegalArgumentException ex2) {}
+                        continue;
+                    }
+                    assertEquals(pattern, expected, compiled.format(args));
+                    assertEquals(pattern, expected, compiled.appendTo(new StringBuilder(), args).toString());
+                }
+            }
+        }
+    }
+
+    public void testQuotedBraces() {
+        String pattern = "'{'{0}'}' '{1}' {2}";
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile(pattern, Locale.US, null);
+        assertEquals(new ExtendedMessageFormat(pattern, Locale.US).format(arguments), compiled.format(arguments));
+        assertEquals("{3} {1} {2}", compiled.format(arguments[0]));
+    }
+
+    public void testQuotesInChoiceSubformats() {
+        String[] patterns = {
+            "{0,choice,0#a'}'|1#y}",
+            "{0,choice,0#'{'x|1#y}",
+            "{0,choice,0#a'|'b|1#y'|'z}",
+            "{0,choice,0#it''s '{'q'}'|1#'''{'1'}'''}",
+            "x ''{0,choice,0#'a''b'|1#c '}'{1}}'' y",
+            "{0,choice,0#'{0}'|1#{1}|2#'a,b'}",
+        };
+        Object[][] argumentSets = {
+            {Integer.valueOf(0), "Bob"},
+            {Integer.valueOf(1), "Bob"},
+            {Integer.valueOf(2), "Bob"},
+        };
+        for (String pattern : patterns) {
+            for (Map<String, FormatFactory> reg : Arrays.asList(null, registry)) {
+                ExtendedMessageFormat emf;
+                try {
+                    emf = new ExtendedMessageFormat(pattern, Locale.US, reg);
+                } catch (IllegalArgumentException ex) {
+                    try {
+                        CompiledMessageFormat.compile(pattern, Locale.US, reg);
+                        fail(pattern);
+                    } catch (IllegalArgumentException ex2) {}
+                    continue;
+                }
+                CompiledMessageFormat compiled = CompiledMessageFormat.compile(pattern, Locale.US, reg);
+                assertEquals(pattern, emf.getFormats().length, compiled.getFormatElementCount());
+                for (Object[] args : argumentSets) {
+                    String expected;
+                    try {
+                        expected = emf.format(args);
+                    } catch (IllegalArgumentException ex) {
+                        try {
+                            compiled.format(args);
+                            fail(pattern);
+                        } catch (IllegalArgumentException ex2) {}
+                        continue;
+                    }
+                    assertEquals(pattern, expected, compiled.format(args));
+                }
+            }
+        }
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile("{0,choice,0#a'}'|1#y}", Locale.US, null);
+        assertEquals("a}", compiled.format(Integer.valueOf(0)));
+        assertEquals("y", compiled.format(Integer.valueOf(1)));
+        compiled = CompiledMessageFormat.getInstance("{0,choice,0#'{'x|1#y}", Locale.US);
+        assertEquals("y", compiled.format(Integer.valueOf(1)));
+    }
+
+    public void testAppendTo() throws Exception {
+        CompiledMessageFormat compiled = CompiledMessageFormat.getInstance("[{0}] {1,number,#.0}", Locale.US);
+        StringWriter writer = new StringWriter();
+        assertSame(writer, compiled.appendTo(writer, "a", Double.valueOf(2)));
+        assertEquals("[a] 2.0", writer.toString());
+        StrBuilder sb = new StrBuilder("x");
+        compiled.appendTo(sb, "b", Integer.valueOf(3));
+        assertEquals("x[b] 3.0", sb.toString());
+        StringBuffer buf = new StringBuffer();
+        compiled.appendTo(buf, "c", Integer.valueOf(4));
+        assertEquals("[c] 4.0", buf.toString());
+    }
+
+    public void testAccessors() {
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile("{0} {1,upper}", Locale.GERMANY, registry);
+        assertEquals(Locale.GERMANY, compiled.getLocale());
+        assertEquals(2, compiled.getFormatElementCount());
+        assertEquals("{0} {1,upper}", compiled.toString());
+        assertEquals(Locale.getDefault(), CompiledMessageFormat.compile("", null, null).getLocale());
+    }
+
+    public void testInvalidPattern() {
+        try {
+            CompiledMessageFormat.getInstance(null);
+            fail();
+        } catch (NullPointerException ex) {}
+        try {
+            CompiledMessageFormat.getInstance("{0");
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            CompiledMessageFormat.getInstance("{x}");
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testUnterminatedFormatElement() {
+        // ExtendedMessageFormat silently drops the text from the element onwards
+        String[] patterns = {"0,{{{", "{{u b", "un b{{baa"};
+        String[] truncated = {"0,", "", "un b"};
+        for (int i = 0; i < patterns.length; i++) {
+            assertEquals(truncated[i], new ExtendedMessageFormat(patterns[i], Locale.US).format(arguments));
+            try {
+                CompiledMessageFormat.compile(patterns[i], Locale.US, null);
+                fail(patterns[i]);
+            } catch (IllegalArgumentException ex) {}
+        }
+    }
+
+    public void testCache() {
+        CompiledMessageFormat compiled = CompiledMessageFormat.getInstance("{0} cached", Locale.US, registry);
+        assertSame(compiled, CompiledMessageFormat.getInstance(new String("{0} cached"), Locale.US, registry));
+        assertNotSame(compiled, CompiledMessageFormat.getInstance("{0} cached", Locale.UK, registry));
+        assertNotSame(compiled, CompiledMessageFormat.getInstance("{0} cached", Locale.US, null));
+        assertNotSame(compiled, CompiledMessageFormat.getInstance("{0} cached", Locale.US,
+                new HashMap<String, FormatFactory>(registry)));
+        assertNotSame(compiled, CompiledMessageFormat.compile("{0} cached", Locale.US, registry));
+        for (int i = 0; i < CompiledMessageFormat.MAX_CACHE_SIZE * 2; i++) {
+            assertEquals("x-" + i, CompiledMessageFormat.getInstance("{0}-" + i, Locale.US).format("x"));
+        }
+    }
+
+    public void testReentrant() {
+        final CompiledMessageFormat compiled = CompiledMessageFormat.getInstance("<{0,upper}>", Locale.US, registry);
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return compiled.format("inner");
+            }
+        };
+        assertEquals("<<INNER>>", compiled.format(nested));
+    }
+
+    public void testConcurrentUse() throws Exception {
+        final CompiledMessageFormat compiled = CompiledMessageFormat.getInstance(
+                "{0,number,#,##0.00} {1,upper} {2,date,yyyy-MM-dd}", Locale.US, registry);
+        final String expected = new ExtendedMessageFormat(compiled.getPattern(), Locale.US, registry)
+            .format(new Object[] {Double.valueOf(1234.5), "abc", arguments[2]});
+        final Object[] args = new Object[] {Double.valueOf(1234.5), "abc", arguments[2]};
+        final Throwable[] failure = new Throwable[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 2000; i++) {
+                            assertEquals(expected, compiled.format(args));
+                        }
+                    } catch (Throwable ex) {
+                        failure[0] = ex;
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(String.valueOf(failure[0]), failure[0]);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Case changing Format implementation.
+     */
+    private static class CaseFormat extends Format {
+        private static final long serialVersionUID = 1L;
+        private final boolean upper;
+
+        CaseFormat(boolean upper) {
+            this.upper = upper;
+        }
+
+        @Override
+        public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+            String str = String.valueOf(obj);
+            return toAppendTo.append(upper ? str.toUpperCase() : str.toLowerCase());
+        }
+
+        @Override
+        public Object parseObject(String source, ParsePosition pos) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Case changing FormatFactory, keyed by "upper" or "lower".
+     */
+    private static class CaseFormatFactory implements FormatFactory {
+        public Format getFormat(String name, String arguments, Locale locale) {
+            return new CaseFormat("upper".equals(name));
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.text;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.StrBuilderPool}.
+ *
+ * @version $Id$
+ */
+public class StrBuilderPoolTest extends TestCase {
+
+    public void testConstructor() {
+        StrBuilderPool pool = new StrBuilderPool();
+        assertEquals(StrBuilderPool.DEFAULT_MAX_POOLED, pool.getMaxPooled());
+        assertEquals(StrBuilderPool.DEFAULT_MAX_CAPACITY, pool.getMaxCapacity());
+        assertEquals(0, pool.size());
+        try {
+            new StrBuilderPool(-1, 10);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            new StrBuilderPool(1, 0);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testAcquireRelease() {
+        StrBuilderPool pool = new StrBuilderPool(2, 100);
+        StrBuilder sb = pool.acquire();
+        assertNotNull(sb);
+        sb.setNullText("null").setNewLineText("\r\n").append("abc");
+        pool.release(sb);
+        assertEquals(1, pool.size());
+
+        StrBuilder reused = pool.acquire();
+        assertSame(sb, reused);
+        assertEquals(0, pool.size());
+        assertTrue(reused.isEmpty());
+        assertNull(reused.getNullText());
+        assertNull(reused.getNewLineText());
+
+        pool.release(null);
+        assertEquals(0, pool.size());
+    }
+
+    public void testMaxPooled() {
+        StrBuilderPool pool = new StrBuilderPool(2, 100);
+        pool.release(new StrBuilder());
+        pool.release(new StrBuilder());
+        pool.release(new StrBuilder());
+        assertEquals(2, pool.size());
+        pool.acquire();
+        pool.acquire();
+        assertEquals(0, pool.size());
+        assertNotNull(pool.acquire());
+        assertEquals(0, pool.size());
+    }
+
+    public void testMaxCapacity() {
+        StrBuilderPool pool = new StrBuilderPool(2, 100);
+        StrBuilder sb = pool.acquire();
+        sb.appendPadding(500, 'x');
+        assertTrue(sb.capacity() >= 500);
+        pool.release(sb);
+        assertEquals(100, pool.acquire().capacity());
+
+        StrBuilder small = new StrBuilder(50);
+        pool.release(small);
+        assertEquals(50, pool.acquire().capacity());
+    }
+
+    public void testToStringAndRelease() {
+        StrBuilderPool pool = new StrBuilderPool();
+        StrBuilder sb = pool.acquire().append("abc");
+        assertEquals("abc", pool.toStringAndRelease(sb));
+        assertEquals(1, pool.size());
+        assertTrue(sb.isEmpty());
+    }
+
+}
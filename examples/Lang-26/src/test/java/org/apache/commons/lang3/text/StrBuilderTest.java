@@ -17,8 +17,15 @@
 
 package org.apache.commons.lang3.text;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.util.Arrays;
 
 import junit.framework.TestCase;
@@ -1661,6 +1668,79 @@ public class StrBuilderTest extends TestCase {
         assertEquals("based", sb.toString());
     }
 
+    //-----------------------------------------------------------------------
+    public void testAsCharBuffer() throws Exception {
+        StrBuilder sb = new StrBuilder("some text");
+        CharBuffer buf = sb.asCharBuffer();
+        assertTrue(buf.isReadOnly());
+        assertEquals(9, buf.remaining());
+        assertEquals("some text", buf.toString());
+
+        CharsetEncoder encoder = Charset.forName("UTF-8").newEncoder();
+        ByteBuffer out = ByteBuffer.allocate(4);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CoderResult result = encoder.encode(buf, out, true);
+        while (result.isOverflow()) {
+            bytes.write(out.array(), 0, out.position());
+            out.clear();
+            result = encoder.encode(buf, out, true);
+        }
+        encoder.flush(out);
+        bytes.write(out.array(), 0, out.position());
+        assertEquals("some text", bytes.toString("UTF-8"));
+    }
+
+    public void testAppendTo() throws Exception {
+        StrBuilder sb = new StrBuilder("abc");
+
+        StringWriter writer = new StringWriter();
+        sb.appendTo(writer);
+        assertEquals("abc", writer.toString());
+
+        CharBuffer buf = CharBuffer.allocate(5);
+        buf.put('x');
+        sb.appendTo(buf);
+        buf.flip();
+        assertEquals("xabc", buf.toString());
+
+        StringBuilder builder = new StringBuilder("x");
+        sb.appendTo(builder);
+        assertEquals("xabc", builder.toString());
+
+        StringBuffer buffer = new StringBuffer("x");
+        sb.appendTo(buffer);
+        assertEquals("xabc", buffer.toString());
+
+        StrBuilder other = new StrBuilder("x");
+        sb.appendTo(other);
+        assertEquals("xabc", other.toString());
+        sb.appendTo(sb);
+        assertEquals("abcabc", sb.toString());
+
+        final StringBuilder target = new StringBuilder();
+        Appendable appendable = new Appendable() {
+            public Appendable append(CharSequence csq) {
+                target.append(csq);
+                return this;
+            }
+            public Appendable append(CharSequence csq, int start, int end) {
+                target.append(csq, start, end);
+                return this;
+            }
+            public Appendable append(char c) {
+                target.append(c);
+                return this;
+            }
+        };
+        new StrBuilder("def").appendTo(appendable);
+        assertEquals("def", target.toString());
+
+        try {
+            sb.appendTo(null);
+            fail();
+        } catch (NullPointerException ex) {}
+    }
+
     //-----------------------------------------------------------------------
     public void testEqualsIgnoreCase() {
         StrBuilder sb1 = new StrBuilder();
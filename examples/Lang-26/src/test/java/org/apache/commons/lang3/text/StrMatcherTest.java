@@ -204,4 +204,49 @@ public class StrMatcherTest extends TestCase {
         assertEquals(0, matcher.isMatch(BUFFER2, 1, 0, 2));
     }
 
+    //-----------------------------------------------------------------------
+    public void testCharSetMatcher_NonAscii() {
+        StrMatcher matcher = StrMatcher.charSetMatcher("\u00e9\u4e2d\uffff\u0000?");
+        char[] buffer = "a\u00e9\u4e2d\u4e2e\uffff\u0000?\u0100".toCharArray();
+        assertEquals(0, matcher.isMatch(buffer, 0));
+        assertEquals(1, matcher.isMatch(buffer, 1));
+        assertEquals(1, matcher.isMatch(buffer, 2));
+        assertEquals(0, matcher.isMatch(buffer, 3));
+        assertEquals(1, matcher.isMatch(buffer, 4));
+        assertEquals(1, matcher.isMatch(buffer, 5));
+        assertEquals(1, matcher.isMatch(buffer, 6));
+        assertEquals(0, matcher.isMatch(buffer, 7));
+        for (char ch = 0; ch < Character.MAX_VALUE; ch++) {
+            boolean expected = ch == '\u00e9' || ch == '\u4e2d' || ch == '\u0000' || ch == '?';
+            assertEquals(String.valueOf((int) ch), expected ? 1 : 0, matcher.isMatch(new char[] {ch}, 0));
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    public void testIndexOf() {
+        char[] buffer = "abc, def\tghi".toCharArray();
+        int end = buffer.length;
+        assertEquals(3, StrMatcher.commaMatcher().indexOf(buffer, 0, 0, end));
+        assertEquals(-1, StrMatcher.commaMatcher().indexOf(buffer, 4, 0, end));
+        assertEquals(4, StrMatcher.splitMatcher().indexOf(buffer, 0, 0, end));
+        assertEquals(8, StrMatcher.splitMatcher().indexOf(buffer, 5, 0, end));
+        assertEquals(-1, StrMatcher.splitMatcher().indexOf(buffer, 5, 0, 8));
+        assertEquals(4, StrMatcher.trimMatcher().indexOf(buffer, 0, 0, end));
+        assertEquals(-1, StrMatcher.noneMatcher().indexOf(buffer, 0, 0, end));
+        assertEquals(9, StrMatcher.stringMatcher("gh").indexOf(buffer, 0, 0, end));
+        assertEquals(-1, StrMatcher.stringMatcher("gh").indexOf(buffer, 0, 0, 10));
+        assertEquals(-1, StrMatcher.stringMatcher("ghij").indexOf(buffer, 0, 0, end));
+        assertEquals(-1, StrMatcher.commaMatcher().indexOf(buffer, end, 0, end));
+
+        // the default implementation, used by custom matchers
+        StrMatcher custom = new StrMatcher() {
+            @Override
+            public int isMatch(char[] buf, int pos, int bufferStart, int bufferEnd) {
+                return buf[pos] == 'e' ? 1 : 0;
+            }
+        };
+        assertEquals(6, custom.indexOf(buffer, 0, 0, end));
+        assertEquals(-1, custom.indexOf(buffer, 7, 0, end));
+    }
+
 }
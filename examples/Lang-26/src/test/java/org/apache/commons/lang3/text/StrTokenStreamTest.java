@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.StrTokenStream}.
+ *
+ * @version $Id$
+ */
+public class StrTokenStreamTest extends TestCase {
+
+    /**
+     * A reader that returns very few characters per read, to exercise
+     * tokens that span window refills.
+     */
+    private static class TrickleReader extends Reader {
+        private final String str;
+        private final Random random;
+        private int pos;
+
+        TrickleReader(String str, Random random) {
+            this.str = str;
+            this.random = random;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (pos >= str.length()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(len, 1 + random.nextInt(3)), str.length() - pos);
+            str.getChars(pos, pos + count, cbuf, off);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static List<String> tokens(StrTokenStream stream) throws IOException {
+        List<String> list = new ArrayList<String>();
+        while (stream.next()) {
+            list.add(stream.getToken());
+        }
+        return list;
+    }
+
+    //-----------------------------------------------------------------------
+    public void testBasic() throws Exception {
+        StrTokenStream stream = new StrTokenStream();
+        stream.reset("a b  c");
+        assertTrue(stream.next());
+        assertEquals("a", stream.getToken());
+        assertEquals(0, stream.getTokenStart());
+        assertEquals(1, stream.getTokenEnd());
+        assertTrue(stream.next());
+        assertEquals("b", stream.getToken());
+        assertTrue(stream.next());
+        assertEquals("c", stream.getToken());
+        assertEquals(5, stream.getTokenStart());
+        assertEquals(6, stream.getTokenEnd());
+        assertFalse(stream.next());
+        assertFalse(stream.next());
+    }
+
+    public void testNullAndEmpty() throws Exception {
+        StrTokenStream stream = new StrTokenStream(StrTokenizer.getCSVInstance());
+        assertFalse(stream.reset((CharSequence) null).next());
+        assertFalse(stream.reset((Reader) null).next());
+        assertFalse(stream.reset("").next());
+        assertFalse(new StrTokenStream().next());
+    }
+
+    public void testOffsets() throws Exception {
+        String input = " a ,\"b\"\"c\" , , d";
+        StrTokenStream stream = new StrTokenStream(StrTokenizer.getCSVInstance());
+        stream.reset(input);
+        assertTrue(stream.next());
+        assertEquals("a", stream.getToken());
+        assertEquals("a", input.substring(stream.getTokenStart(), stream.getTokenEnd()));
+        assertTrue(stream.next());
+        assertEquals("b\"c", stream.getToken());
+        assertEquals(3, stream.getTokenLength());
+        assertEquals("\"b\"\"c\"", input.substring(stream.getTokenStart(), stream.getTokenEnd()));
+        assertTrue(stream.next());
+        assertEquals("", stream.getToken());
+        assertEquals(stream.getTokenStart(), stream.getTokenEnd());
+        assertTrue(stream.next());
+        assertEquals("d", input.substring(stream.getTokenStart(), stream.getTokenEnd()));
+        assertEquals("xd", stream.appendToken(new StrBuilder("x")).toString());
+        assertFalse(stream.next());
+    }
+
+    public void testEmptyTokenSettings() throws Exception {
+        StrTokenizer settings = new StrTokenizer();
+        settings.setDelimiterChar(',');
+        settings.setIgnoreEmptyTokens(false);
+        settings.setEmptyTokenAsNull(true);
+        StrTokenStream stream = new StrTokenStream(settings);
+        List<String> expected = new ArrayList<String>();
+        expected.add("a");
+        expected.add(null);
+        expected.add("b");
+        expected.add(null);
+        assertEquals(expected, tokens(stream.reset("a,,b,")));
+    }
+
+    public void testReuse() throws Exception {
+        StrTokenStream stream = new StrTokenStream(StrTokenizer.getCSVInstance());
+        assertEquals(new StrTokenizer("a,b", ',').getTokenList(), tokens(stream.reset("a,b")));
+        assertEquals(new StrTokenizer("c", ',').getTokenList(), tokens(stream.reset(new StringReader("c"))));
+    }
+
+    public void testLongTokens() throws Exception {
+        StrBuilder input = new StrBuilder();
+        input.appendPadding(5000, 'x').append(',').append('"').appendPadding(3000, 'y').append('"');
+        StrTokenStream stream = new StrTokenStream(StrTokenizer.getCSVInstance());
+        stream.reset(new TrickleReader(input.toString(), new Random(0)));
+        assertTrue(stream.next());
+        assertEquals(5000, stream.getTokenLength());
+        assertTrue(stream.next());
+        assertEquals(3000, stream.getTokenLength());
+        assertEquals(5001, stream.getTokenStart());
+        assertEquals(8003, stream.getTokenEnd());
+        assertFalse(stream.next());
+    }
+
+    public void testLongTokensFromShortReads() throws Exception {
+        // each token is scanned once, however few characters each read returns
+        StrBuilder input = new StrBuilder();
+        input.appendPadding(1000000, 'x').append(',').append('"').appendPadding(300000, 'y').append("\",z");
+        StrTokenStream stream = new StrTokenStream(StrTokenizer.getCSVInstance());
+        stream.reset(new TrickleReader(input.toString(), new Random(0)));
+        assertTrue(stream.next());
+        assertEquals(1000000, stream.getTokenLength());
+        assertTrue(stream.next());
+        assertEquals(300000, stream.getTokenLength());
+        assertEquals(1000001, stream.getTokenStart());
+        assertEquals(1300003, stream.getTokenEnd());
+        assertTrue(stream.next());
+        assertEquals("z", stream.getToken());
+        assertFalse(stream.next());
+    }
+
+    public void testMatchesStrTokenizer() throws Exception {
+        StrTokenizer[] configs = new StrTokenizer[5];
+        configs[0] = new StrTokenizer();
+        configs[1] = StrTokenizer.getCSVInstance();
+        configs[2] = StrTokenizer.getTSVInstance();
+        configs[3] = new StrTokenizer().setDelimiterString("::").setQuoteChar('\'')
+            .setIgnoredChar('#').setTrimmerMatcher(StrMatcher.trimMatcher());
+        configs[4] = new StrTokenizer().setDelimiterChar(',').setQuoteMatcher(StrMatcher.quoteMatcher())
+            .setIgnoreEmptyTokens(false).setEmptyTokenAsNull(true);
+        String alphabet = "ab ,,\t\"':#x\n";
+        Random random = new Random(42);
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder input = new StringBuilder();
+            int len = random.nextInt(i < 2900 ? 30 : 3000);
+            for (int j = 0; j < len; j++) {
+                input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String str = input.toString();
+            for (StrTokenizer config : configs) {
+                List<String> expected = ((StrTokenizer) config.clone()).reset(str).getTokenList();
+                StrTokenStream stream = new StrTokenStream(config);
+                assertEquals(str, expected, tokens(stream.reset(str)));
+                assertEquals(str, expected, tokens(stream.reset(new StringBuilder(str))));
+                assertEquals(str, expected, tokens(stream.reset(new TrickleReader(str, random))));
+            }
+        }
+    }
+
+}
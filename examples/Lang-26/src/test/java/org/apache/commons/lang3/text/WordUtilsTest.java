@@ -16,8 +16,12 @@
  */
 package org.apache.commons.lang3.text;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.util.Random;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -152,6 +156,84 @@ public class WordUtilsTest extends TestCase {
 //        System.err.println(WordUtils.wrap(input, 20, "\n", false));
     }
     
+    //-----------------------------------------------------------------------
+    public void testWrap_ReaderAppendable() throws IOException {
+        StringBuilder out = new StringBuilder();
+        assertSame(out, WordUtils.wrap((Reader) null, out, 20, "\n", false));
+        assertSame(out, WordUtils.wrap((CharSequence) null, out, 20, "\n", false));
+        assertEquals("", out.toString());
+        assertEquals("", wrapStream("", 20, "\n", false));
+        try {
+            WordUtils.wrap("text", null, 20, "\n", false);
+            fail();
+        } catch (NullPointerException ex) {}
+
+        String input = "Here is one line of text that is going to be wrapped after 20 columns.";
+        String expected = "Here is one line of\ntext that is going\nto be wrapped after\n20 columns.";
+        assertEquals(expected, wrapStream(input, 20, "\n", false));
+        assertEquals(expected, wrapStream(input, 20, "\n", true));
+        assertEquals(WordUtils.wrap(input, 20, null, false), wrapStream(input, 20, null, false));
+        assertEquals("Here\nis\none\nline", wrapStream("Here is one line", -1, "\n", false));
+
+        // long words
+        input = "Click here, http://commons.apache.org, to jump to the commons website";
+        assertEquals(WordUtils.wrap(input, 20, "\n", false), wrapStream(input, 20, "\n", false));
+        assertEquals(WordUtils.wrap(input, 20, "\n", true), wrapStream(input, 20, "\n", true));
+    }
+
+    public void testWrap_ReaderAppendableNewLines() throws IOException {
+        // existing line breaks are kept and restart the column count
+        String input = "Here is one line\nand another line\r\nand a last\rline.\n";
+        String expected = "Here is\none line\nand\nanother\nline\r\nand a\nlast\rline.\n";
+        assertEquals(expected, wrapStream(input, 8, "\n", false));
+        assertEquals("\n\r\n\r", wrapStream("\n\r\n\r", 8, "\n", false));
+    }
+
+    public void testWrap_ReaderAppendableSurrogatePairs() throws IOException {
+        String clef = "\uD834\uDD1E";
+        String input = clef + clef + clef + " " + clef;
+        // a pair is one column and is never split
+        assertEquals(clef + clef + "\n" + clef + "\n" + clef, wrapStream(input, 2, "\n", true));
+        assertEquals(clef + clef + clef + "\n" + clef, wrapStream(input, 2, "\n", false));
+        // unpaired surrogates pass through
+        assertEquals("\uD834a\n\uDD1E", wrapStream("\uD834a \uDD1E", 2, "\n", false));
+    }
+
+    public void testWrap_ReaderAppendableMatchesString() throws IOException {
+        Random random = new Random(42);
+        char[] chars = {'a', 'b', ' ', ' ', 'c'};
+        for (int i = 0; i < 500; i++) {
+            char[] text = new char[random.nextInt(80)];
+            for (int j = 0; j < text.length; j++) {
+                text[j] = chars[random.nextInt(chars.length)];
+            }
+            String input = new String(text);
+            int wrapLength = random.nextInt(12);
+            boolean wrapLongWords = random.nextBoolean();
+            String expected = WordUtils.wrap(input, wrapLength, "|", wrapLongWords);
+            assertEquals(input, expected, wrapStream(input, wrapLength, "|", wrapLongWords));
+        }
+    }
+
+    /**
+     * Wraps using a character sequence and a reader returning one character
+     * at a time, checking both give the same result.
+     */
+    private static String wrapStream(String input, int wrapLength, String newLineStr, boolean wrapLongWords)
+            throws IOException {
+        String result = WordUtils.wrap(input, new StringBuilder(), wrapLength, newLineStr, wrapLongWords).toString();
+        Reader reader = new StringReader(input) {
+            @Override
+            public int read(char[] buf, int off, int len) throws IOException {
+                return super.read(buf, off, Math.min(len, 1));
+            }
+        };
+        StringBuilder out = new StringBuilder();
+        WordUtils.wrap(reader, out, wrapLength, newLineStr, wrapLongWords);
+        assertEquals(result, out.toString());
+        return result;
+    }
+
     //-----------------------------------------------------------------------
     public void testCapitalize_String() {
         assertEquals(null, WordUtils.capitalize(null));
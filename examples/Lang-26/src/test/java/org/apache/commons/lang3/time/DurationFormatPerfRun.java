@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.text.NumberFormat;
+import java.util.Calendar;
+
+/**
+ * Tests the difference in performance between lexing a duration pattern
+ * on every call and using a compiled {@link DurationFormatter}.
+ *
+ * @version $Id$
+ */
+public class DurationFormatPerfRun {
+    final static String VERSION = "$Id$";
+
+    final static int WARM_UP = 100;
+
+    final static int COUNT = 2000;
+
+    final static String PATTERN = "H:mm:ss.SSS";
+
+    final static long[] SAMPLES;
+    static {
+        SAMPLES = new long[1000];
+        for (int i = 0; i < SAMPLES.length; i++) {
+            SAMPLES[i] = i * 7919L * 1009L;
+        }
+    }
+
+    public static void main(String[] args) {
+        new DurationFormatPerfRun().run();
+    }
+
+    private void printSysInfo() {
+        System.out.println(VERSION);
+        System.out.println("Now: " + Calendar.getInstance().getTime());
+        System.out.println(System.getProperty("java.vendor")
+                + " "
+                + System.getProperty("java.runtime.name")
+                + " "
+                + System.getProperty("java.runtime.version"));
+        System.out.println(System.getProperty("java.vm.vendor")
+                + " "
+                + System.getProperty("java.vm.name")
+                + " "
+                + System.getProperty("java.vm.version"));
+        System.out.println(System.getProperty("os.name")
+            + " "
+            + System.getProperty("os.version")
+            + " "
+            + System.getProperty("os.arch"));
+    }
+
+    private void run() {
+        this.printSysInfo();
+        long start;
+        run_legacy_formatDuration(WARM_UP);
+        start = System.currentTimeMillis();
+        run_legacy_formatDuration(COUNT);
+        this.printlnTotal("run_legacy_formatDuration", start);
+        run_DurationFormatUtils_formatDuration(WARM_UP);
+        start = System.currentTimeMillis();
+        run_DurationFormatUtils_formatDuration(COUNT);
+        this.printlnTotal("run_DurationFormatUtils_formatDuration", start);
+        run_DurationFormatter_appendTo(WARM_UP);
+        start = System.currentTimeMillis();
+        run_DurationFormatter_appendTo(COUNT);
+        this.printlnTotal("run_DurationFormatter_appendTo", start);
+    }
+
+    private int run_legacy_formatDuration(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            for (int j = 0; j < SAMPLES.length; j++) {
+                t += DurationFormatterTest.legacyFormatDuration(SAMPLES[j], PATTERN, true).length();
+            }
+        }
+        return t;
+    }
+
+    private int run_DurationFormatUtils_formatDuration(int loopCount) {
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            for (int j = 0; j < SAMPLES.length; j++) {
+                t += DurationFormatUtils.formatDuration(SAMPLES[j], PATTERN).length();
+            }
+        }
+        return t;
+    }
+
+    private int run_DurationFormatter_appendTo(int loopCount) {
+        DurationFormatter formatter = DurationFormatter.getInstance(PATTERN);
+        StringBuilder buffer = new StringBuilder(32);
+        int t = 0;
+        for (int i = 0; i < loopCount; i++) {
+            for (int j = 0; j < SAMPLES.length; j++) {
+                buffer.setLength(0);
+                t += formatter.appendTo(buffer, SAMPLES[j]).length();
+            }
+        }
+        return t;
+    }
+
+    private void printlnTotal(String prefix, long start) {
+        long total = System.currentTimeMillis() - start;
+        System.out.println(prefix + ": " + NumberFormat.getInstance().format(total) + " milliseconds.");
+    }
+}
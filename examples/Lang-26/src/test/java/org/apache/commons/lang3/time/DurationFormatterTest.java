@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests {@link org.apache.commons.lang3.time.DurationFormatter}.
+ *
+ * @version $Id$
+ */
+public class DurationFormatterTest extends TestCase {
+
+    private static final String[] PATTERNS = {
+        "",
+        "'literal only'",
+        "H:mm:ss.SSS",
+        "d'd' HH'h' mm'm' ss's'",
+        "s.S",
+        "s.SSSSS",
+        "s.S S SS",
+        "S",
+        "yyyy-MM-dd",
+        "mm:ss",
+        "HHHHHHHHHHHH",
+        DurationFormatUtils.ISO_EXTENDED_FORMAT_PATTERN,
+        "'P'dd'D'x",
+    };
+
+    /**
+     * The implementation of <code>formatDuration</code> before the compiled formatter.
+     */
+    static String legacyFormatDuration(long durationMillis, String format, boolean padWithZeros) {
+        DurationFormatUtils.Token[] tokens = DurationFormatUtils.lexx(format);
+        int days = 0;
+        int hours = 0;
+        int minutes = 0;
+        int seconds = 0;
+        int milliseconds = 0;
+        if (DurationFormatUtils.Token.containsTokenWithValue(tokens, DurationFormatUtils.d)) {
+            days = (int) (durationMillis / DateUtils.MILLIS_PER_DAY);
+            durationMillis = durationMillis - (days * DateUtils.MILLIS_PER_DAY);
+        }
+        if (DurationFormatUtils.Token.containsTokenWithValue(tokens, DurationFormatUtils.H)) {
+            hours = (int) (durationMillis / DateUtils.MILLIS_PER_HOUR);
+            durationMillis = durationMillis - (hours * DateUtils.MILLIS_PER_HOUR);
+        }
+        if (DurationFormatUtils.Token.containsTokenWithValue(tokens, DurationFormatUtils.m)) {
+            minutes = (int) (durationMillis / DateUtils.MILLIS_PER_MINUTE);
+            durationMillis = durationMillis - (minutes * DateUtils.MILLIS_PER_MINUTE);
+        }
+        if (DurationFormatUtils.Token.containsTokenWithValue(tokens, DurationFormatUtils.s)) {
+            seconds = (int) (durationMillis / DateUtils.MILLIS_PER_SECOND);
+            durationMillis = durationMillis - (seconds * DateUtils.MILLIS_PER_SECOND);
+        }
+        if (DurationFormatUtils.Token.containsTokenWithValue(tokens, DurationFormatUtils.S)) {
+            milliseconds = (int) durationMillis;
+        }
+        return DurationFormatUtils.format(tokens, 0, 0, days, hours, minutes, seconds, milliseconds, padWithZeros);
+    }
+
+    //-----------------------------------------------------------------------
+    public void testMatchesLegacyFormat() {
+        Random random = new Random(7);
+        long[] values = new long[2000];
+        for (int i = 0; i < values.length; i++) {
+            switch (i % 4) {
+                case 0:
+                    values[i] = random.nextInt(100000);
+                    break;
+                case 1:
+                    values[i] = random.nextInt();
+                    break;
+                case 2:
+                    values[i] = random.nextLong() % (DateUtils.MILLIS_PER_DAY * 1000L);
+                    break;
+                default:
+                    values[i] = random.nextLong();
+            }
+        }
+        values[0] = 0;
+        values[1] = Long.MAX_VALUE;
+        values[2] = Long.MIN_VALUE;
+        values[3] = -1;
+        for (String pattern : PATTERNS) {
+            for (int pad = 0; pad < 2; pad++) {
+                DurationFormatter formatter = DurationFormatter.getInstance(pattern, pad == 1);
+                for (long value : values) {
+                    String expected = legacyFormatDuration(value, pattern, pad == 1);
+                    assertEquals(pattern + " " + value, expected, formatter.format(value));
+                    assertEquals(pattern + " " + value, expected,
+                            DurationFormatUtils.formatDuration(value, pattern, pad == 1));
+                }
+            }
+        }
+    }
+
+    public void testAppendTo() {
+        DurationFormatter formatter = DurationFormatter.getInstance("H:mm:ss.SSS");
+        StringBuilder buffer = new StringBuilder("took ");
+        assertSame(buffer, formatter.appendTo(buffer, 3723004L));
+        assertEquals("took 1:02:03.004", buffer.toString());
+        assertEquals("1:2:3.004", DurationFormatter.getInstance("H:m:s.S", false).format(3723004L));
+    }
+
+    public void testGetInstance() {
+        DurationFormatter formatter = DurationFormatter.getInstance("mm:ss");
+        assertSame(formatter, DurationFormatter.getInstance(new String("mm:ss"), true));
+        assertNotSame(formatter, DurationFormatter.getInstance("mm:ss", false));
+        assertEquals("mm:ss", formatter.getPattern());
+        assertTrue(formatter.isPadWithZeros());
+        assertFalse(formatter.equals(DurationFormatter.getInstance("mm:ss", false)));
+        for (int i = 0; i < 200; i++) {
+            assertEquals(DurationFormatter.getInstance("ss" + i), DurationFormatter.getInstance("ss" + i));
+        }
+        assertEquals(formatter.hashCode(), DurationFormatter.getInstance("mm:ss").hashCode());
+        assertEquals("DurationFormatter[mm:ss]", formatter.toString());
+        try {
+            DurationFormatter.getInstance(null);
+            fail();
+        } catch (NullPointerException ex) {}
+    }
+
+}
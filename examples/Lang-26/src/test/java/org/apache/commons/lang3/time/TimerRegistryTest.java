@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests {@link TimerRegistry}, {@link TimingHistogram} and {@link TimingSnapshot}.
+ *
+ * @version $Id$
+ */
+public class TimerRegistryTest extends TestCase {
+
+    public void testBuckets() {
+        int last = -1;
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 65, 127, 128, 1000, 1000000, 123456789L,
+            1L << 40, (1L << 40) + 1, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = TimingHistogram.bucketIndex(value);
+            assertTrue(index >= last);
+            assertTrue(index < TimingHistogram.BUCKET_COUNT);
+            assertTrue(value + " " + index, TimingHistogram.bucketLowerBound(index) <= value);
+            assertTrue(value + " " + index, TimingHistogram.bucketUpperBound(index) >= value);
+            last = index;
+        }
+        assertEquals(TimingHistogram.BUCKET_COUNT - 1, TimingHistogram.bucketIndex(Long.MAX_VALUE));
+        for (int i = 1; i < TimingHistogram.BUCKET_COUNT; i++) {
+            assertEquals(TimingHistogram.bucketUpperBound(i - 1) + 1, TimingHistogram.bucketLowerBound(i));
+            assertEquals(i, TimingHistogram.bucketIndex(TimingHistogram.bucketLowerBound(i)));
+            assertEquals(i, TimingHistogram.bucketIndex(TimingHistogram.bucketUpperBound(i)));
+        }
+    }
+
+    public void testPercentiles() {
+        TimingHistogram histogram = new TimingHistogram("test");
+        Random random = new Random(3);
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1000 + random.nextInt(10000000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        TimingSnapshot snapshot = histogram.snapshot();
+        assertEquals("test", snapshot.getName());
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[0], snapshot.getMinNanoTime());
+        assertEquals(values[values.length - 1], snapshot.getMaxNanoTime());
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        assertEquals(total, snapshot.getTotalNanoTime());
+        assertEquals((double) total / values.length, snapshot.getMeanNanoTime(), 0.001);
+        for (double p : new double[] {1, 10, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long estimate = snapshot.getPercentileNanoTime(p);
+            assertTrue(p + " " + exact + " " + estimate, estimate >= exact);
+            assertTrue(p + " " + exact + " " + estimate, estimate <= exact * 1.04);
+        }
+        assertEquals(values[0], snapshot.getPercentileNanoTime(0));
+        assertEquals(values[values.length - 1], snapshot.getPercentileNanoTime(100));
+
+        // the snapshot does not change
+        histogram.record(1L << 40);
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(1L << 40, histogram.snapshot().getMaxNanoTime());
+
+        try {
+            snapshot.getPercentileNanoTime(101);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+    }
+
+    public void testEmpty() {
+        TimingSnapshot snapshot = new TimingHistogram("empty").snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMinNanoTime());
+        assertEquals(0, snapshot.getMaxNanoTime());
+        assertEquals(0, snapshot.getPercentileNanoTime(50));
+        assertEquals(0.0, snapshot.getMeanNanoTime(), 0.0);
+        assertEquals("empty[count=0, mean=0us, min=0us, p50=0us, p99=0us, max=0us]", snapshot.toString());
+    }
+
+    public void testStopWatch() {
+        TimerRegistry registry = new TimerRegistry();
+        StopWatch watch = registry.start("sleep");
+        try {Thread.sleep(20);} catch (InterruptedException ex) {}
+        long nanos = registry.stop("sleep", watch);
+        assertTrue(nanos >= 15000000L);
+        TimingSnapshot snapshot = registry.snapshot().get("sleep");
+        assertEquals(1, snapshot.getCount());
+        assertEquals(nanos, snapshot.getMaxNanoTime());
+        try {
+            registry.stop("sleep", watch);
+            fail();
+        } catch (IllegalStateException ex) {}
+        registry.getTimer("sleep").record(watch);
+        assertEquals(2, registry.getTimer("sleep").snapshot().getCount());
+    }
+
+    public void testRegistry() {
+        TimerRegistry registry = new TimerRegistry();
+        TimingHistogram b = registry.getTimer("b");
+        assertSame(b, registry.getTimer("b"));
+        registry.record("a", 5);
+        registry.record("a", -5);
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(registry.getNames().toArray()));
+        Map<String, TimingSnapshot> snapshots = registry.snapshot();
+        assertEquals(2, snapshots.size());
+        assertEquals(2, snapshots.get("a").getCount());
+        assertEquals(0, snapshots.get("a").getMinNanoTime());
+        assertEquals(0, snapshots.get("b").getCount());
+        assertTrue(registry.toString().startsWith("a[count=2"));
+        assertSame(b, registry.remove("b"));
+        assertNull(registry.remove(null));
+        assertNotSame(b, registry.getTimer("b"));
+        registry.clear();
+        assertTrue(registry.getNames().isEmpty());
+        try {
+            registry.getTimer(null);
+            fail();
+        } catch (NullPointerException ex) {}
+    }
+
+    public void testConcurrentRecording() throws InterruptedException {
+        final TimingHistogram histogram = new TimingHistogram("concurrent");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        histogram.record(offset * 10000 + i);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        TimingSnapshot snapshot = histogram.snapshot();
+        assertEquals(40000, snapshot.getCount());
+        assertEquals(0, snapshot.getMinNanoTime());
+        assertEquals(39999, snapshot.getMaxNanoTime());
+        assertEquals(39999L * 40000 / 2, snapshot.getTotalNanoTime());
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2001-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.Random;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+/**
+ * Test data shared by the benchmarks.
+ * <p>
+ * Each benchmark cycles through a fixed array of inputs, so that the JIT
+ * cannot fold the result into a constant and the branch predictor sees a
+ * realistic mix of values. The inputs are generated from a fixed seed to
+ * keep runs comparable.
+ */
+final class BenchmarkData {
+
+    /** The number of inputs in each array, a power of two. */
+    static final int SIZE = 1024;
+    /** The mask to wrap an index into an array of inputs. */
+    static final int MASK = SIZE - 1;
+
+    /** The seed for the random inputs. */
+    private static final long SEED = 20110101L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates random instants between two years, inclusive of the start
+     * and exclusive of the end.
+     *
+     * @param startYear  the first year, in UTC
+     * @param endYear  the year after the last, in UTC
+     * @return the instants, in random order
+     */
+    static long[] instants(int startYear, int endYear) {
+        long start = new DateTime(startYear, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis();
+        long end = new DateTime(endYear, 1, 1, 0, 0, 0, 0, DateTimeZone.UTC).getMillis();
+        Random random = new Random(SEED);
+        long[] instants = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            instants[i] = start + (long) (random.nextDouble() * (end - start));
+        }
+        return instants;
+    }
+
+    /**
+     * Creates random integers.
+     *
+     * @param bound  the upper bound, exclusive
+     * @return the integers
+     */
+    static int[] ints(int bound) {
+        Random random = new Random(SEED);
+        int[] ints = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ints[i] = random.nextInt(bound);
+        }
+        return ints;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2001-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the field getters and the day and month arithmetic of
+ * {@link LocalDate} and {@link DateTime}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateFieldBenchmark {
+
+    private LocalDate[] dates;
+    private DateTime[] dateTimes;
+    private int[] amounts;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        long[] instants = BenchmarkData.instants(1990, 2030);
+        DateTimeZone zone = DateTimeZone.forID("Europe/London");
+        dates = new LocalDate[instants.length];
+        dateTimes = new DateTime[instants.length];
+        for (int i = 0; i < instants.length; i++) {
+            dates[i] = new LocalDate(instants[i], zone);
+            dateTimes[i] = new DateTime(instants[i], zone);
+        }
+        amounts = BenchmarkData.ints(60);
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public void localDateGetters(Blackhole blackhole) {
+        index = (index + 1) & BenchmarkData.MASK;
+        LocalDate date = dates[index];
+        blackhole.consume(date.getYear());
+        blackhole.consume(date.getMonthOfYear());
+        blackhole.consume(date.getDayOfMonth());
+        blackhole.consume(date.getDayOfWeek());
+    }
+
+    @Benchmark
+    public void dateTimeGetters(Blackhole blackhole) {
+        index = (index + 1) & BenchmarkData.MASK;
+        DateTime dateTime = dateTimes[index];
+        blackhole.consume(dateTime.getYear());
+        blackhole.consume(dateTime.getMonthOfYear());
+        blackhole.consume(dateTime.getDayOfMonth());
+        blackhole.consume(dateTime.getHourOfDay());
+        blackhole.consume(dateTime.getMinuteOfHour());
+    }
+
+    //-----------------------------------------------------------------------
+    @Benchmark
+    public LocalDate localDatePlusDays() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return dates[index].plusDays(amounts[index]);
+    }
+
+    @Benchmark
+    public LocalDate localDatePlusMonths() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return dates[index].plusMonths(amounts[index]);
+    }
+
+    @Benchmark
+    public DateTime dateTimePlusDays() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return dateTimes[index].plusDays(amounts[index]);
+    }
+
+    @Benchmark
+    public DateTime dateTimePlusMonths() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return dateTimes[index].plusMonths(amounts[index]);
+    }
+
+}
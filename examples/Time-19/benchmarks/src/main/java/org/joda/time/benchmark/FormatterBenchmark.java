@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2001-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks printing and parsing with {@link DateTimeFormatter}.
+ * <p>
+ * The formatters print in a zone with daylight saving time, so that the
+ * zone offset varies between instants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+
+    /**
+     * The format, either the name of an ISO formatter or a pattern.
+     */
+    @Param({"dateTime", "basicDateTime", "yyyy-MM-dd HH:mm:ss", "dd MMM yyyy HH:mm"})
+    public String format;
+
+    private DateTimeFormatter formatter;
+    private long[] instants;
+    private String[] texts;
+    private StringBuilder buffer;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        DateTimeFormatter base;
+        if ("dateTime".equals(format)) {
+            base = ISODateTimeFormat.dateTime();
+        } else if ("basicDateTime".equals(format)) {
+            base = ISODateTimeFormat.basicDateTime();
+        } else {
+            base = DateTimeFormat.forPattern(format);
+        }
+        formatter = base.withZone(DateTimeZone.forID("Europe/London")).withLocale(Locale.ENGLISH);
+        instants = BenchmarkData.instants(1990, 2030);
+        texts = new String[instants.length];
+        for (int i = 0; i < instants.length; i++) {
+            texts[i] = formatter.print(instants[i]);
+        }
+        buffer = new StringBuilder(64);
+    }
+
+    @Benchmark
+    public String print() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return formatter.print(instants[index]);
+    }
+
+    @Benchmark
+    public StringBuilder printToAppendable() throws IOException {
+        index = (index + 1) & BenchmarkData.MASK;
+        buffer.setLength(0);
+        formatter.printTo(buffer, instants[index]);
+        return buffer;
+    }
+
+    @Benchmark
+    public long parseMillis() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return formatter.parseMillis(texts[index]);
+    }
+
+}
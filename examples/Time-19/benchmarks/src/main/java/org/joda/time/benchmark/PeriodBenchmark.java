@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2001-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Period;
+import org.joda.time.PeriodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the normalization of {@link Period}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeriodBenchmark {
+
+    private Period[] periods;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        int[] values = BenchmarkData.ints(100);
+        periods = new Period[BenchmarkData.SIZE];
+        for (int i = 0; i < periods.length; i++) {
+            // every field overflows its standard range in some periods
+            int value = values[i];
+            periods[i] = new Period(value % 3, value % 15, value % 6, value % 40,
+                    value % 30, value, value * 7, value * 111);
+        }
+    }
+
+    @Benchmark
+    public Period normalizedStandard() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return periods[index].normalizedStandard();
+    }
+
+    @Benchmark
+    public Period normalizedStandardYearMonthDayTime() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return periods[index].normalizedStandard(PeriodType.yearMonthDayTime());
+    }
+
+}
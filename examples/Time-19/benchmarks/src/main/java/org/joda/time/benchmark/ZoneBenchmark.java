@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2001-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.joda.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.tz.CachedDateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the offset calculations of {@link DateTimeZone}.
+ * <p>
+ * The kinds of zone are:
+ * <ul>
+ * <li>fixed - a fixed offset zone
+ * <li>cached - a zone from the provider, which caches the offsets of
+ *  each year in front of a precalculated zone
+ * <li>precalculated - the precalculated zone behind the cache, which
+ *  binary searches its table of transitions
+ * <li>dst - the precalculated zone after its last transition, where the
+ *  offsets are calculated from the recurring daylight saving rules
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneBenchmark {
+
+    /**
+     * The kind of zone.
+     */
+    @Param({"fixed", "cached", "precalculated", "dst"})
+    public String kind;
+
+    private DateTimeZone zone;
+    private long[] instants;
+    private long[] localInstants;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        DateTimeZone london = DateTimeZone.forID("Europe/London");
+        if (!(london instanceof CachedDateTimeZone)) {
+            throw new IllegalStateException("Expected a cached zone from the provider: " + london.getClass());
+        }
+        if ("fixed".equals(kind)) {
+            zone = DateTimeZone.forOffsetHoursMinutes(5, 30);
+            instants = BenchmarkData.instants(1990, 2030);
+        } else if ("cached".equals(kind)) {
+            zone = london;
+            instants = BenchmarkData.instants(1990, 2030);
+        } else if ("precalculated".equals(kind)) {
+            zone = ((CachedDateTimeZone) london).getUncachedZone();
+            instants = BenchmarkData.instants(1990, 2030);
+        } else if ("dst".equals(kind)) {
+            zone = ((CachedDateTimeZone) london).getUncachedZone();
+            instants = BenchmarkData.instants(2100, 2200);
+        } else {
+            throw new IllegalArgumentException("Unknown kind of zone: " + kind);
+        }
+        localInstants = new long[instants.length];
+        for (int i = 0; i < instants.length; i++) {
+            localInstants[i] = instants[i] + zone.getOffset(instants[i]);
+        }
+    }
+
+    @Benchmark
+    public int getOffset() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return zone.getOffset(instants[index]);
+    }
+
+    @Benchmark
+    public int getOffsetFromLocal() {
+        index = (index + 1) & BenchmarkData.MASK;
+        return zone.getOffsetFromLocal(localInstants[index]);
+    }
+
+}
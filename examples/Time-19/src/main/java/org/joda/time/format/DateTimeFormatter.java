@@ -21,6 +21,7 @@ import java.util.Locale;
 
 import org.joda.time.Chronology;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
@@ -30,6 +31,7 @@ import org.joda.time.MutableDateTime;
 import org.joda.time.ReadWritableInstant;
 import org.joda.time.ReadableInstant;
 import org.joda.time.ReadablePartial;
+import org.joda.time.chrono.ISOChronology;
 
 /**
  * Controls the printing and parsing of a datetime to and from a string.
@@ -78,6 +80,9 @@ import org.joda.time.ReadablePartial;
  */
 public class DateTimeFormatter {
 
+    /** The number of characters printed before a batch is appended to its destination. */
+    private static final int BATCH_CHUNK_SIZE = 8192;
+
     /** The internal printer used to output the datetime. */
     private final DateTimePrinter iPrinter;
     /** The internal parser used to output the datetime. */
@@ -518,6 +523,143 @@ public class DateTimeFormatter {
         appendable.append(print(instant));
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Prints an array of instants from milliseconds since 1970-01-01T00:00:00Z,
+     * using ISO chronology in the default DateTimeZone.
+     * <p>
+     * See {@link #printTo(Appendable, long[], int, int, String)}.
+     *
+     * @param appendable  the destination to format to, not null
+     * @param instants  millis since 1970-01-01T00:00:00Z, not null
+     * @param separator  the text to append between instants, not null
+     * @throws IOException if the destination throws one
+     * @since 2.1
+     */
+    public void printTo(Appendable appendable, long[] instants, String separator) throws IOException {
+        if (instants == null) {
+            throw new IllegalArgumentException("The instants must not be null");
+        }
+        printTo(appendable, instants, 0, instants.length, separator);
+    }
+
+    /**
+     * Prints a range of an array of instants from milliseconds since
+     * 1970-01-01T00:00:00Z, using ISO chronology in the default DateTimeZone.
+     * <p>
+     * The output is the same as printing each instant with
+     * {@link #printTo(Appendable, long)} and appending the separator between
+     * them, but large batches of instants in ascending order are printed
+     * faster. The printer, chronology and zone are resolved once. The zone
+     * offset is reused until the next transition of the zone. When the
+     * chronology is ISO, the date fields at the start of the format are only
+     * printed again when the local date changes.
+     * <p>
+     * To print into a <code>char[]</code>, pass a <code>CharBuffer</code>
+     * wrapping the array.
+     *
+     * @param appendable  the destination to format to, not null
+     * @param instants  millis since 1970-01-01T00:00:00Z, not null
+     * @param fromIndex  the index of the first instant to print, inclusive
+     * @param toIndex  the index of the last instant to print, exclusive
+     * @param separator  the text to append between instants, not null
+     * @throws IOException if the destination throws one
+     * @throws IndexOutOfBoundsException if the range is invalid
+     * @since 2.1
+     */
+    public void printTo(Appendable appendable, long[] instants,
+            int fromIndex, int toIndex, String separator) throws IOException {
+        DateTimePrinter printer = requirePrinter();
+        if (appendable == null) {
+            throw new IllegalArgumentException("The appendable must not be null");
+        }
+        if (instants == null) {
+            throw new IllegalArgumentException("The instants must not be null");
+        }
+        if (separator == null) {
+            throw new IllegalArgumentException("The separator must not be null");
+        }
+        if (fromIndex < 0 || toIndex > instants.length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                "Invalid range " + fromIndex + " to " + toIndex + " for length " + instants.length);
+        }
+        Chronology chrono = selectChronology(null);
+        DateTimeZone zone = chrono.getZone();
+        Chronology chronoUTC = chrono.withUTC();
+
+        // The date fields of ISO are constant over each day of local time,
+        // so the text of a date prefix can be reused within the day.
+        DateTimePrinter datePrinter = null;
+        DateTimePrinter timePrinter = printer;
+        if (chronoUTC == ISOChronology.getInstanceUTC() && printer instanceof DateTimeFormatterBuilder.Composite) {
+            DateTimePrinter[] split = ((DateTimeFormatterBuilder.Composite) printer).splitDatePrefix();
+            if (split != null) {
+                datePrinter = split[0];
+                timePrinter = split[1];
+            }
+        }
+        StringBuffer dateText = (datePrinter == null ? null : new StringBuffer(datePrinter.estimatePrintedLength()));
+        long dateDay = Long.MIN_VALUE;
+
+        // Print directly into a StringBuffer, otherwise print in chunks.
+        StringBuffer buf;
+        if (appendable instanceof StringBuffer) {
+            buf = (StringBuffer) appendable;
+        } else {
+            buf = new StringBuffer(BATCH_CHUNK_SIZE + printer.estimatePrintedLength() + separator.length());
+        }
+
+        // The offset is valid from windowStart, inclusive, to windowEnd, exclusive.
+        int windowOffset = 0;
+        long windowStart = Long.MAX_VALUE;
+        long windowEnd = Long.MIN_VALUE;
+        for (int i = fromIndex; i < toIndex; i++) {
+            long instant = instants[i];
+            if (i > fromIndex) {
+                buf.append(separator);
+            }
+            if (instant < windowStart || instant >= windowEnd) {
+                windowOffset = zone.getOffset(instant);
+                windowStart = instant;
+                long next = zone.nextTransition(instant);
+                windowEnd = (next > instant ? next : Long.MAX_VALUE);
+            }
+            DateTimeZone displayZone = zone;
+            int offset = windowOffset;
+            long adjustedInstant = instant + offset;
+            if ((instant ^ adjustedInstant) < 0 && (instant ^ offset) >= 0) {
+                // Time zone offset overflow, so revert to UTC.
+                displayZone = DateTimeZone.UTC;
+                offset = 0;
+                adjustedInstant = instant;
+            }
+            if (datePrinter == null) {
+                printer.printTo(buf, adjustedInstant, chronoUTC, offset, displayZone, iLocale);
+            } else {
+                long day = adjustedInstant / DateTimeConstants.MILLIS_PER_DAY;
+                if (adjustedInstant < 0 && day * DateTimeConstants.MILLIS_PER_DAY != adjustedInstant) {
+                    day--;
+                }
+                if (day != dateDay) {
+                    dateText.setLength(0);
+                    datePrinter.printTo(dateText, adjustedInstant, chronoUTC, offset, displayZone, iLocale);
+                    dateDay = day;
+                }
+                buf.append(dateText);
+                if (timePrinter != null) {
+                    timePrinter.printTo(buf, adjustedInstant, chronoUTC, offset, displayZone, iLocale);
+                }
+            }
+            if (buf != appendable && buf.length() >= BATCH_CHUNK_SIZE) {
+                appendable.append(buf);
+                buf.setLength(0);
+            }
+        }
+        if (buf != appendable && buf.length() > 0) {
+            appendable.append(buf);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Prints a ReadablePartial.
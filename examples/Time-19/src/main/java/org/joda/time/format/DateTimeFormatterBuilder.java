@@ -30,6 +30,7 @@ import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeField;
 import org.joda.time.DateTimeFieldType;
 import org.joda.time.DateTimeZone;
+import org.joda.time.DurationFieldType;
 import org.joda.time.MutableDateTime;
 import org.joda.time.ReadablePartial;
 import org.joda.time.MutableDateTime.Property;
@@ -2705,6 +2706,73 @@ public class DateTimeFormatterBuilder {
             return iParsers != null;
         }
 
+        /**
+         * Splits the printers after those at the start which print only
+         * literals and fields of the local date. In a chronology where such
+         * fields are constant over each day, the first printer prints the same
+         * text for every instant of a local day.
+         *
+         * @return the date printer and the printer for the rest, which is null
+         *  if everything is printed from the date; null if no printer at the
+         *  start prints from the date
+         */
+        DateTimePrinter[] splitDatePrefix() {
+            DateTimePrinter[] elements = iPrinters;
+            if (elements == null) {
+                return null;
+            }
+            int len = 0;
+            while (len < elements.length && isDatePrinter(elements[len])) {
+                len++;
+            }
+            if (len == 0) {
+                return null;
+            }
+            return new DateTimePrinter[] {
+                createPrinter(elements, 0, len),
+                len == elements.length ? null : createPrinter(elements, len, elements.length),
+            };
+        }
+
+        /**
+         * Checks whether a printer prints only a literal or a field whose
+         * duration is a day or longer.
+         */
+        private static boolean isDatePrinter(DateTimePrinter printer) {
+            DateTimeFieldType type;
+            if (printer instanceof CharacterLiteral || printer instanceof StringLiteral) {
+                return true;
+            } else if (printer instanceof NumberFormatter) {
+                type = ((NumberFormatter) printer).iFieldType;
+            } else if (printer instanceof TextField) {
+                type = ((TextField) printer).iFieldType;
+            } else if (printer instanceof TwoDigitYear) {
+                type = ((TwoDigitYear) printer).iType;
+            } else {
+                return false;
+            }
+            DurationFieldType duration = type.getDurationType();
+            return duration == DurationFieldType.days()
+                || duration == DurationFieldType.weeks()
+                || duration == DurationFieldType.weekyears()
+                || duration == DurationFieldType.months()
+                || duration == DurationFieldType.years()
+                || duration == DurationFieldType.centuries()
+                || duration == DurationFieldType.eras();
+        }
+
+        /**
+         * Creates a composite printing with a range of the printers.
+         */
+        private static Composite createPrinter(DateTimePrinter[] elements, int start, int end) {
+            List<Object> elementPairs = new ArrayList<Object>();
+            for (int i = start; i < end; i++) {
+                elementPairs.add(elements[i]);
+                elementPairs.add(null);
+            }
+            return new Composite(elementPairs);
+        }
+
         /**
          * Processes the element pairs, putting results into the given printer
          * and parser lists.
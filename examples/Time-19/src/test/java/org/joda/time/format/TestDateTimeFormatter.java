@@ -16,7 +16,9 @@
 package org.joda.time.format;
 
 import java.io.CharArrayWriter;
+import java.nio.CharBuffer;
 import java.util.Locale;
+import java.util.Random;
 import java.util.TimeZone;
 
 import junit.framework.TestCase;
@@ -222,6 +224,134 @@ public class TestDateTimeFormatter extends TestCase {
         } catch (IllegalArgumentException ex) {}
     }
 
+    //-----------------------------------------------------------------------
+    public void testPrint_batchMethods() throws Exception {
+        long[] instants = new long[] {
+            new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC).getMillis(),
+            new DateTime(2004, 6, 9, 23, 20, 30, 40, UTC).getMillis(),
+            new DateTime(2004, 12, 9, 10, 20, 30, 40, UTC).getMillis(),
+        };
+        StringBuilder buf = new StringBuilder("x");
+        f.printTo(buf, instants, ", ");
+        assertEquals("xWed 2004-06-09T11:20:30+01:00, Thu 2004-06-10T00:20:30+01:00, Thu 2004-12-09T10:20:30Z",
+                buf.toString());
+        
+        StringBuffer sbuf = new StringBuffer();
+        g.withZone(PARIS).printTo(sbuf, instants, 1, 3, "\n");
+        assertEquals("2004-06-10T01:20:30+02:00\n2004-12-09T11:20:30+01:00", sbuf.toString());
+        
+        char[] chars = new char[32];
+        CharBuffer charBuf = CharBuffer.wrap(chars);
+        ISODateTimeFormat.date().printTo(charBuf, instants, 0, 2, "|");
+        assertEquals(21, charBuf.position());
+        assertEquals("2004-06-09|2004-06-10", new String(chars, 0, charBuf.position()));
+        
+        buf = new StringBuilder();
+        f.printTo(buf, instants, 2, 2, ",");
+        assertEquals("", buf.toString());
+    }
+
+    public void testPrint_batchMatchesSingle() throws Exception {
+        DateTimeFormatter[] formatters = new DateTimeFormatter[] {
+            f,
+            ISODateTimeFormat.dateTime(),
+            ISODateTimeFormat.basicWeekDateTime(),
+            ISODateTimeFormat.date(),
+            ISODateTimeFormat.time(),
+            DateTimeFormat.forPattern("EEEE dd MMMM yyyy G HH:mm:ss.SSS zzz ZZZ"),
+            DateTimeFormat.forPattern("yy/MM/dd a hh:mm"),
+            DateTimeFormat.forPattern("'day' D 'of' yyyy"),
+        };
+        DateTimeZone[] zones = new DateTimeZone[] {
+            UTC, LONDON, NEWYORK, TOKYO, DateTimeZone.forOffsetHoursMinutes(-3, 30),
+        };
+        Random random = new Random(20110101L);
+        long[] instants = new long[2000];
+        long start = new DateTime(1990, 1, 1, 0, 0, 0, 0, UTC).getMillis();
+        for (int i = 0; i < instants.length; i++) {
+            // mostly within the same day, sometimes across a DST transition
+            start += (i % 100 == 0 ? random.nextInt(200) * DateTimeConstants.MILLIS_PER_DAY : 0L)
+                    + random.nextInt(DateTimeConstants.MILLIS_PER_HOUR);
+            instants[i] = start;
+        }
+        long[] unsorted = (long[]) instants.clone();
+        for (int i = unsorted.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = unsorted[i];
+            unsorted[i] = unsorted[j];
+            unsorted[j] = tmp;
+        }
+        for (int i = 0; i < formatters.length; i++) {
+            for (int j = 0; j < zones.length; j++) {
+                DateTimeFormatter fmt = formatters[i].withZone(zones[j]);
+                assertBatch(fmt, instants);
+                assertBatch(fmt, unsorted);
+                assertBatch(fmt.withLocale(Locale.FRENCH), instants);
+                assertBatch(fmt.withChronology(GJChronology.getInstance(zones[j])), instants);
+                assertBatch(fmt.withChronology(BuddhistChronology.getInstance(zones[j])), instants);
+            }
+        }
+    }
+
+    public void testPrint_batchExtremes() throws Exception {
+        long[] instants = new long[] {
+            Long.MIN_VALUE, Long.MIN_VALUE + 1, -1L, 0L, 1L, Long.MAX_VALUE - 1, Long.MAX_VALUE,
+        };
+        assertBatch(ISODateTimeFormat.dateTime().withZone(TOKYO), instants);
+        assertBatch(ISODateTimeFormat.dateTime().withZone(NEWYORK), instants);
+        assertBatch(f, instants);
+    }
+
+    private void assertBatch(DateTimeFormatter fmt, long[] instants) throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < instants.length; i++) {
+            if (i > 0) {
+                expected.append(';');
+            }
+            fmt.printTo(expected, instants[i]);
+        }
+        StringBuilder buf = new StringBuilder();
+        fmt.printTo(buf, instants, ";");
+        assertEquals(expected.toString(), buf.toString());
+        CharArrayWriter out = new CharArrayWriter();
+        fmt.printTo(out, instants, ";");
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    public void testPrint_batchInvalid() throws Exception {
+        long[] instants = new long[3];
+        StringBuilder buf = new StringBuilder();
+        try {
+            f.printTo(null, instants, ",");
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            f.printTo(buf, (long[]) null, ",");
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            f.printTo(buf, instants, null);
+            fail();
+        } catch (IllegalArgumentException ex) {}
+        try {
+            f.printTo(buf, instants, -1, 2, ",");
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            f.printTo(buf, instants, 0, 4, ",");
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            f.printTo(buf, instants, 2, 1, ",");
+            fail();
+        } catch (IndexOutOfBoundsException ex) {}
+        try {
+            new DateTimeFormatter(null, ISODateTimeFormat.date().getParser()).printTo(buf, instants, ",");
+            fail();
+        } catch (UnsupportedOperationException ex) {}
+        assertEquals(0, buf.length());
+    }
+
     //-----------------------------------------------------------------------
     public void testPrint_chrono_and_zone() {
         DateTime dt = new DateTime(2004, 6, 9, 10, 20, 30, 40, UTC);